@@ -16,6 +16,7 @@ interface CommandRunner {
             String driver,
             DatabaseConnection target,
             boolean noCreate,
+            TransactionOverride transaction,
             Map<String, String> filterProperties);
 
     void createWithDataset(
@@ -24,6 +25,7 @@ interface CommandRunner {
             DatabaseConnection target,
             boolean noCreate,
             String dataset,
+            TransactionOverride transaction,
             Map<String, String> filterProperties);
 
     void drop(
@@ -38,6 +40,9 @@ interface CommandRunner {
             DatabaseConnection target,
             Map<String, String> filterProperties);
 
+    void planMigrations(
+            @Nullable String databaseKey, String driver, DatabaseConnection target, List<Path> historyFiles);
+
     void databaseImport(
             @Nullable String databaseKey,
             String driver,
@@ -46,6 +51,8 @@ interface CommandRunner {
             DatabaseConnection target,
             DatabaseConnection source,
             @Nullable String resumeAt,
+            boolean delta,
+            TransactionOverride transaction,
             Map<String, String> filterProperties);
 
     void createByImport(
@@ -56,6 +63,7 @@ interface CommandRunner {
             DatabaseConnection source,
             @Nullable String resumeAt,
             boolean noCreate,
+            TransactionOverride transaction,
             Map<String, String> filterProperties);
 
     void loadDataset(
@@ -63,6 +71,7 @@ interface CommandRunner {
             String driver,
             String dataset,
             DatabaseConnection target,
+            TransactionOverride transaction,
             Map<String, String> filterProperties);
 
     void upModuleGroup(
@@ -70,6 +79,7 @@ interface CommandRunner {
             String driver,
             String moduleGroup,
             DatabaseConnection target,
+            TransactionOverride transaction,
             Map<String, String> filterProperties);
 
     void downModuleGroup(
@@ -102,4 +112,11 @@ interface CommandRunner {
 
     void exportDatabaseStatistics(
             @Nullable String databaseKey, String driver, DatabaseConnection target, Path outputFile);
+
+    void exportMigrationHistory(
+            @Nullable String databaseKey,
+            String driver,
+            DatabaseConnection target,
+            String environment,
+            Path outputFile);
 }
@@ -14,6 +14,7 @@ import org.realityforge.jdbt.files.FileResolver;
 import org.realityforge.jdbt.packaging.DatabaseDataPackager;
 import org.realityforge.jdbt.packaging.DeterministicZipPackager;
 import org.realityforge.jdbt.runtime.DatabaseStatisticsExporter;
+import org.realityforge.jdbt.runtime.MigrationHistory;
 import org.realityforge.jdbt.runtime.RuntimeEngine;
 import org.realityforge.jdbt.runtime.RuntimeExecutionException;
 import org.realityforge.jdbt.runtime.StandardImportEmitter;
@@ -54,9 +55,11 @@ final class DefaultCommandRunner implements CommandRunner {
             final String driver,
             final DatabaseConnection target,
             final boolean noCreate,
+            final TransactionOverride transaction,
             final Map<String, String> filterProperties) {
         final var runtime = projectRuntimeLoader.load(databaseKey);
-        runtimeEngine(driver).create(runtime.database(), target, noCreate, filterProperties);
+        final var database = transaction.applyTo(runtime.database());
+        runtimeEngine(driver).create(database, target, noCreate, filterProperties);
     }
 
     @Override
@@ -66,9 +69,11 @@ final class DefaultCommandRunner implements CommandRunner {
             final DatabaseConnection target,
             final boolean noCreate,
             final String dataset,
+            final TransactionOverride transaction,
             final Map<String, String> filterProperties) {
         final var runtime = projectRuntimeLoader.load(databaseKey);
-        runtimeEngine(driver).createWithDataset(runtime.database(), target, noCreate, dataset, filterProperties);
+        final var database = transaction.applyTo(runtime.database());
+        runtimeEngine(driver).createWithDataset(database, target, noCreate, dataset, filterProperties);
     }
 
     @Override
@@ -91,6 +96,17 @@ final class DefaultCommandRunner implements CommandRunner {
         runtimeEngine(driver).migrate(runtime.database(), target, filterProperties);
     }
 
+    @Override
+    public void planMigrations(
+            final @Nullable String databaseKey,
+            final String driver,
+            final DatabaseConnection target,
+            final List<Path> historyFiles) {
+        final var runtime = projectRuntimeLoader.load(databaseKey);
+        final var history = MigrationHistory.read(historyFiles);
+        System.out.print(runtimeEngine(driver).planMigrations(runtime.database(), target, history));
+    }
+
     @Override
     public void databaseImport(
             final @Nullable String databaseKey,
@@ -100,12 +116,15 @@ final class DefaultCommandRunner implements CommandRunner {
             final DatabaseConnection target,
             final DatabaseConnection source,
             final @Nullable String resumeAt,
+            final boolean delta,
+            final TransactionOverride transaction,
             final Map<String, String> filterProperties) {
         final var runtime = projectRuntimeLoader.load(databaseKey);
+        final var database = transaction.applyTo(runtime.database());
         final var resolvedImport = resolveImportKey(runtime, importKey);
         runtimeEngine(driver)
                 .databaseImport(
-                        runtime.database(), resolvedImport, moduleGroup, target, source, resumeAt, filterProperties);
+                        database, resolvedImport, moduleGroup, target, source, resumeAt, delta, filterProperties);
     }
 
     @Override
@@ -117,12 +136,13 @@ final class DefaultCommandRunner implements CommandRunner {
             final DatabaseConnection source,
             final @Nullable String resumeAt,
             final boolean noCreate,
+            final TransactionOverride transaction,
             final Map<String, String> filterProperties) {
         final var runtime = projectRuntimeLoader.load(databaseKey);
+        final var database = transaction.applyTo(runtime.database());
         final var resolvedImport = resolveImportKey(runtime, importKey);
         runtimeEngine(driver)
-                .createByImport(
-                        runtime.database(), resolvedImport, target, source, resumeAt, noCreate, filterProperties);
+                .createByImport(database, resolvedImport, target, source, resumeAt, noCreate, filterProperties);
     }
 
     @Override
@@ -131,9 +151,11 @@ final class DefaultCommandRunner implements CommandRunner {
             final String driver,
             final String dataset,
             final DatabaseConnection target,
+            final TransactionOverride transaction,
             final Map<String, String> filterProperties) {
         final var runtime = projectRuntimeLoader.load(databaseKey);
-        runtimeEngine(driver).loadDataset(runtime.database(), dataset, target, filterProperties);
+        final var database = transaction.applyTo(runtime.database());
+        runtimeEngine(driver).loadDataset(database, dataset, target, filterProperties);
     }
 
     @Override
@@ -142,9 +164,11 @@ final class DefaultCommandRunner implements CommandRunner {
             final String driver,
             final String moduleGroup,
             final DatabaseConnection target,
+            final TransactionOverride transaction,
             final Map<String, String> filterProperties) {
         final var runtime = projectRuntimeLoader.load(databaseKey);
-        runtimeEngine(driver).upModuleGroup(runtime.database(), moduleGroup, target, filterProperties);
+        final var database = transaction.applyTo(runtime.database());
+        runtimeEngine(driver).upModuleGroup(database, moduleGroup, target, filterProperties);
     }
 
     @Override
@@ -230,6 +254,20 @@ final class DefaultCommandRunner implements CommandRunner {
                 + outputFile.toAbsolutePath().normalize());
     }
 
+    @Override
+    public void exportMigrationHistory(
+            final @Nullable String databaseKey,
+            final String driver,
+            final DatabaseConnection target,
+            final String environment,
+            final Path outputFile) {
+        final var runtime = projectRuntimeLoader.load(databaseKey);
+        final var count =
+                runtimeEngine(driver).exportMigrationHistory(runtime.database(), target, environment, outputFile);
+        System.out.println("Exported " + count + " migration history records to "
+                + outputFile.toAbsolutePath().normalize());
+    }
+
     private static String resolveImportKey(
             final ProjectRuntimeLoader.LoadedRuntime runtime, final @Nullable String importKey) {
         if (null != importKey) {
@@ -244,7 +282,7 @@ final class DefaultCommandRunner implements CommandRunner {
 
     private RuntimeEngine runtimeEngine(final String driver) {
         final var dbDriver = dbDriverFactory.create(driver);
-        return new RuntimeEngine(dbDriver, fileResolver);
+        return new RuntimeEngine(dbDriver, () -> dbDriverFactory.create(driver), fileResolver, System.out::println);
     }
 
     private static void deleteRecursively(final Path directory) {
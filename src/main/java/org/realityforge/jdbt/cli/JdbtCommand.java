@@ -10,6 +10,7 @@ import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.function.Function;
 import org.jspecify.annotations.Nullable;
+import org.realityforge.jdbt.config.TransactionMode;
 import org.realityforge.jdbt.db.DatabaseConnection;
 import picocli.CommandLine;
 import picocli.CommandLine.Model.CommandSpec;
@@ -34,7 +35,8 @@ import picocli.CommandLine.Model.CommandSpec;
             JdbtCommand.EmitStandardImportsCommand.class,
             JdbtCommand.VerifyConstraintsCommand.class,
             JdbtCommand.ExportFixturesCommand.class,
-            JdbtCommand.ExportDatabaseStatisticsCommand.class
+            JdbtCommand.ExportDatabaseStatisticsCommand.class,
+            JdbtCommand.ExportMigrationHistoryCommand.class
         })
 public final class JdbtCommand implements Callable<Integer> {
     static final int USAGE_EXIT_CODE = 2;
@@ -156,6 +158,25 @@ public final class JdbtCommand implements Callable<Integer> {
         private String driver = "sqlserver";
     }
 
+    private static final class TransactionOptions {
+        @CommandLine.Option(
+                names = "--transaction-mode",
+                paramLabel = "MODE",
+                description = "Transaction policy for loads and imports. Supported values: autocommit, table, rows")
+        private @Nullable String transactionMode;
+
+        @CommandLine.Option(
+                names = "--commit-interval",
+                paramLabel = "ROWS",
+                description = "Rows inserted per transaction when the transaction mode is rows")
+        private @Nullable Integer commitInterval;
+
+        private TransactionOverride toOverride() {
+            return new TransactionOverride(
+                    null == transactionMode ? null : TransactionMode.fromConfigValue(transactionMode), commitInterval);
+        }
+    }
+
     @SuppressWarnings("FieldCanBeFinal")
     private static final class TargetConnectionOptions {
         @CommandLine.Option(names = "--target-host", required = true, description = "Target database host")
@@ -285,6 +306,9 @@ public final class JdbtCommand implements Callable<Integer> {
         @CommandLine.Option(names = "--no-create", description = "Skip dropping and creating the target database")
         private boolean noCreate;
 
+        @CommandLine.Mixin
+        private TransactionOptions transaction = new TransactionOptions();
+
         @Override
         public Integer call() {
             runner().create(
@@ -292,6 +316,7 @@ public final class JdbtCommand implements Callable<Integer> {
                             driver(),
                             target.toConnection(passwordResolver()),
                             noCreate,
+                            transaction.toOverride(),
                             filterProperties());
             return 0;
         }
@@ -309,6 +334,9 @@ public final class JdbtCommand implements Callable<Integer> {
         @CommandLine.Option(names = "--no-create", description = "Skip dropping and creating the target database")
         private boolean noCreate;
 
+        @CommandLine.Mixin
+        private TransactionOptions transaction = new TransactionOptions();
+
         @Override
         public Integer call() {
             runner().createWithDataset(
@@ -317,6 +345,7 @@ public final class JdbtCommand implements Callable<Integer> {
                             target.toConnection(passwordResolver()),
                             noCreate,
                             dataset,
+                            transaction.toOverride(),
                             filterProperties());
             return 0;
         }
@@ -338,12 +367,34 @@ public final class JdbtCommand implements Callable<Integer> {
     @CommandLine.Command(name = "migrate", description = "Run migrations")
     @SuppressWarnings("FieldCanBeFinal")
     static final class MigrateCommand extends BaseSqlCommand {
+        @CommandLine.Option(
+                names = "--plan",
+                description = "List pending migrations with their recorded durations instead of running them")
+        private boolean plan;
+
+        @CommandLine.Option(
+                names = "--history",
+                description = "Migration history CSV exported from another environment. May be specified multiple"
+                        + " times.")
+        private List<Path> historyFiles = new ArrayList<>();
+
         @CommandLine.Mixin
         private TargetConnectionOptions target = new TargetConnectionOptions();
 
+        @CommandLine.Spec
+        private @Nullable CommandSpec spec;
+
         @Override
         public Integer call() {
-            runner().migrate(databaseKey(), driver(), target.toConnection(passwordResolver()), filterProperties());
+            if (plan) {
+                final var history = List.copyOf(historyFiles);
+                runner().planMigrations(databaseKey(), driver(), target.toConnection(passwordResolver()), history);
+            } else if (!historyFiles.isEmpty()) {
+                throw new CommandLine.ParameterException(
+                        Objects.requireNonNull(spec).commandLine(), "--history requires --plan.");
+            } else {
+                runner().migrate(databaseKey(), driver(), target.toConnection(passwordResolver()), filterProperties());
+            }
             return 0;
         }
     }
@@ -360,12 +411,18 @@ public final class JdbtCommand implements Callable<Integer> {
         @CommandLine.Option(names = "--resume-at", description = "Resume import at table or sequence")
         private @Nullable String resumeAt;
 
+        @CommandLine.Option(names = "--delta", description = "Skip tables unchanged since the last delta import")
+        private boolean delta;
+
         @CommandLine.Mixin
         private TargetConnectionOptions target = new TargetConnectionOptions();
 
         @CommandLine.Mixin
         private SourceConnectionOptions source = new SourceConnectionOptions();
 
+        @CommandLine.Mixin
+        private TransactionOptions transaction = new TransactionOptions();
+
         @Override
         public Integer call() {
             runner().databaseImport(
@@ -376,6 +433,8 @@ public final class JdbtCommand implements Callable<Integer> {
                             target.toConnection(passwordResolver()),
                             source.toConnection(passwordResolver()),
                             resumeAt,
+                            delta,
+                            transaction.toOverride(),
                             filterProperties());
             return 0;
         }
@@ -399,6 +458,9 @@ public final class JdbtCommand implements Callable<Integer> {
         @CommandLine.Mixin
         private SourceConnectionOptions source = new SourceConnectionOptions();
 
+        @CommandLine.Mixin
+        private TransactionOptions transaction = new TransactionOptions();
+
         @Override
         public Integer call() {
             runner().createByImport(
@@ -409,6 +471,7 @@ public final class JdbtCommand implements Callable<Integer> {
                             source.toConnection(passwordResolver()),
                             resumeAt,
                             noCreate,
+                            transaction.toOverride(),
                             filterProperties());
             return 0;
         }
@@ -423,6 +486,9 @@ public final class JdbtCommand implements Callable<Integer> {
         @CommandLine.Mixin
         private TargetConnectionOptions target = new TargetConnectionOptions();
 
+        @CommandLine.Mixin
+        private TransactionOptions transaction = new TransactionOptions();
+
         @Override
         public Integer call() {
             runner().loadDataset(
@@ -430,6 +496,7 @@ public final class JdbtCommand implements Callable<Integer> {
                             driver(),
                             dataset,
                             target.toConnection(passwordResolver()),
+                            transaction.toOverride(),
                             filterProperties());
             return 0;
         }
@@ -444,6 +511,9 @@ public final class JdbtCommand implements Callable<Integer> {
         @CommandLine.Mixin
         private TargetConnectionOptions target = new TargetConnectionOptions();
 
+        @CommandLine.Mixin
+        private TransactionOptions transaction = new TransactionOptions();
+
         @Override
         public Integer call() {
             runner().upModuleGroup(
@@ -451,6 +521,7 @@ public final class JdbtCommand implements Callable<Integer> {
                             driver(),
                             moduleGroup,
                             target.toConnection(passwordResolver()),
+                            transaction.toOverride(),
                             filterProperties());
             return 0;
         }
@@ -603,4 +674,30 @@ public final class JdbtCommand implements Callable<Integer> {
             return 0;
         }
     }
+
+    @CommandLine.Command(
+            name = "export-migration-history",
+            mixinStandardHelpOptions = true,
+            description = "Export applied migrations with their recorded durations, row counts and checksums")
+    @SuppressWarnings("FieldCanBeFinal")
+    static final class ExportMigrationHistoryCommand extends BaseCommand {
+        @CommandLine.Option(names = "--output", required = true, description = "Output CSV file")
+        private Path outputFile = Path.of("migration-history.csv");
+
+        @CommandLine.Option(
+                names = "--environment",
+                required = true,
+                description = "Environment name recorded against each exported migration")
+        private String environment = "";
+
+        @CommandLine.Mixin
+        private TargetConnectionOptions target = new TargetConnectionOptions();
+
+        @Override
+        public Integer call() {
+            runner().exportMigrationHistory(
+                            databaseKey(), driver(), target.toConnection(passwordResolver()), environment, outputFile);
+            return 0;
+        }
+    }
 }
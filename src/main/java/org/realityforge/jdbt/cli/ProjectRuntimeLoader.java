@@ -108,6 +108,20 @@ final class ProjectRuntimeLoader {
                         "preDatasetDirs",
                         "postDatasetDirs",
                         "fixtureDirName",
+                        "fixtureBatchSize",
+                        "fixtureLoadParallelism",
+                        "importParallelism",
+                        "importChunkSize",
+                        "deferIndexesOnImport",
+                        "importStatisticsFile",
+                        "importRecoveryModel",
+                        "importReplicaRole",
+                        "importUnloggedTables",
+                        "transactionMode",
+                        "commitInterval",
+                        "fixtureLoadMode",
+                        "sqlBatchGroupSize",
+                        "migrationParallelism",
                         "migrations",
                         "migrationsAppliedAtCreate",
                         "migrationsDirName",
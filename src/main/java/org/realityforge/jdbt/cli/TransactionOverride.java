@@ -0,0 +1,25 @@
+package org.realityforge.jdbt.cli;
+
+import org.jspecify.annotations.Nullable;
+import org.realityforge.jdbt.config.TransactionMode;
+import org.realityforge.jdbt.runtime.RuntimeDatabase;
+
+record TransactionOverride(@Nullable TransactionMode mode, @Nullable Integer commitInterval) {
+    static final TransactionOverride NONE = new TransactionOverride(null, null);
+
+    TransactionOverride {
+        if (null != commitInterval && commitInterval < 1) {
+            throw new IllegalArgumentException(
+                    "Invalid --commit-interval value '" + commitInterval + "'. Expected a positive integer.");
+        }
+    }
+
+    RuntimeDatabase applyTo(final RuntimeDatabase database) {
+        if (null == mode && null == commitInterval) {
+            return database;
+        }
+        return database.withTransactionPolicy(
+                null == mode ? database.transactionMode() : mode,
+                null == commitInterval ? database.commitInterval() : commitInterval);
+    }
+}
@@ -18,6 +18,20 @@ public record DatabaseConfig(
         List<String> preDatasetDirs,
         List<String> postDatasetDirs,
         String fixtureDirName,
+        int fixtureBatchSize,
+        int fixtureLoadParallelism,
+        int importParallelism,
+        int importChunkSize,
+        boolean deferIndexesOnImport,
+        @Nullable String importStatisticsFile,
+        @Nullable ImportRecoveryModel importRecoveryModel,
+        boolean importReplicaRole,
+        boolean importUnloggedTables,
+        TransactionMode transactionMode,
+        int commitInterval,
+        FixtureLoadMode fixtureLoadMode,
+        int sqlBatchGroupSize,
+        int migrationParallelism,
         boolean migrations,
         boolean migrationsAppliedAtCreate,
         String migrationsDirName,
@@ -33,8 +47,49 @@ public record DatabaseConfig(
         Map<String, FilterPropertyConfig> filterProperties,
         Map<String, ImportConfig> imports,
         Map<String, ModuleGroupConfig> moduleGroups) {
+    public static final int DEFAULT_FIXTURE_BATCH_SIZE = 1000;
+    public static final int DEFAULT_FIXTURE_LOAD_PARALLELISM = 1;
+    public static final int DEFAULT_IMPORT_PARALLELISM = 1;
+    public static final int DEFAULT_IMPORT_CHUNK_SIZE = 0;
+    public static final boolean DEFAULT_DEFER_INDEXES_ON_IMPORT = false;
+    public static final @Nullable String DEFAULT_IMPORT_STATISTICS_FILE = null;
+    public static final @Nullable ImportRecoveryModel DEFAULT_IMPORT_RECOVERY_MODEL = null;
+    public static final boolean DEFAULT_IMPORT_REPLICA_ROLE = false;
+    public static final boolean DEFAULT_IMPORT_UNLOGGED_TABLES = false;
+    public static final TransactionMode DEFAULT_TRANSACTION_MODE = TransactionMode.AUTOCOMMIT;
+    public static final int DEFAULT_COMMIT_INTERVAL = 10000;
+    public static final FixtureLoadMode DEFAULT_FIXTURE_LOAD_MODE = FixtureLoadMode.REPLACE;
+    public static final int DEFAULT_SQL_BATCH_GROUP_SIZE = 1;
+    public static final int DEFAULT_MIGRATION_PARALLELISM = 1;
 
     public DatabaseConfig {
+        if (fixtureBatchSize < 1) {
+            throw new ConfigException(
+                    "fixtureBatchSize must be a positive integer but was " + fixtureBatchSize + '.');
+        }
+        if (fixtureLoadParallelism < 1) {
+            throw new ConfigException("fixtureLoadParallelism must be a positive integer but was "
+                    + fixtureLoadParallelism + '.');
+        }
+        if (importParallelism < 1) {
+            throw new ConfigException(
+                    "importParallelism must be a positive integer but was " + importParallelism + '.');
+        }
+        if (importChunkSize < 0) {
+            throw new ConfigException(
+                    "importChunkSize must be zero or a positive integer but was " + importChunkSize + '.');
+        }
+        if (commitInterval < 1) {
+            throw new ConfigException("commitInterval must be a positive integer but was " + commitInterval + '.');
+        }
+        if (sqlBatchGroupSize < 1) {
+            throw new ConfigException(
+                    "sqlBatchGroupSize must be a positive integer but was " + sqlBatchGroupSize + '.');
+        }
+        if (migrationParallelism < 1) {
+            throw new ConfigException(
+                    "migrationParallelism must be a positive integer but was " + migrationParallelism + '.');
+        }
         upDirs = List.copyOf(upDirs);
         downDirs = List.copyOf(downDirs);
         finalizeDirs = List.copyOf(finalizeDirs);
@@ -82,6 +137,20 @@ public record DatabaseConfig(
                 preDatasetDirs,
                 postDatasetDirs,
                 fixtureDirName,
+                DEFAULT_FIXTURE_BATCH_SIZE,
+                DEFAULT_FIXTURE_LOAD_PARALLELISM,
+                DEFAULT_IMPORT_PARALLELISM,
+                DEFAULT_IMPORT_CHUNK_SIZE,
+                DEFAULT_DEFER_INDEXES_ON_IMPORT,
+                DEFAULT_IMPORT_STATISTICS_FILE,
+                DEFAULT_IMPORT_RECOVERY_MODEL,
+                DEFAULT_IMPORT_REPLICA_ROLE,
+                DEFAULT_IMPORT_UNLOGGED_TABLES,
+                DEFAULT_TRANSACTION_MODE,
+                DEFAULT_COMMIT_INTERVAL,
+                DEFAULT_FIXTURE_LOAD_MODE,
+                DEFAULT_SQL_BATCH_GROUP_SIZE,
+                DEFAULT_MIGRATION_PARALLELISM,
                 migrations,
                 migrationsAppliedAtCreate,
                 migrationsDirName,
@@ -132,6 +201,20 @@ public record DatabaseConfig(
                 preDatasetDirs,
                 postDatasetDirs,
                 fixtureDirName,
+                DEFAULT_FIXTURE_BATCH_SIZE,
+                DEFAULT_FIXTURE_LOAD_PARALLELISM,
+                DEFAULT_IMPORT_PARALLELISM,
+                DEFAULT_IMPORT_CHUNK_SIZE,
+                DEFAULT_DEFER_INDEXES_ON_IMPORT,
+                DEFAULT_IMPORT_STATISTICS_FILE,
+                DEFAULT_IMPORT_RECOVERY_MODEL,
+                DEFAULT_IMPORT_REPLICA_ROLE,
+                DEFAULT_IMPORT_UNLOGGED_TABLES,
+                DEFAULT_TRANSACTION_MODE,
+                DEFAULT_COMMIT_INTERVAL,
+                DEFAULT_FIXTURE_LOAD_MODE,
+                DEFAULT_SQL_BATCH_GROUP_SIZE,
+                DEFAULT_MIGRATION_PARALLELISM,
                 migrations,
                 migrationsAppliedAtCreate,
                 migrationsDirName,
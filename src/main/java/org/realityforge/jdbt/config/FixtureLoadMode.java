@@ -0,0 +1,24 @@
+package org.realityforge.jdbt.config;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+public enum FixtureLoadMode {
+    REPLACE,
+    RECONCILE;
+
+    public String configValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static FixtureLoadMode fromConfigValue(final String value) {
+        for (final var mode : values()) {
+            if (mode.configValue().equals(value)) {
+                return mode;
+            }
+        }
+        throw new ConfigException("fixtureLoadMode must be one of "
+                + Arrays.stream(values()).map(FixtureLoadMode::configValue).toList()
+                + " but was '" + value + "'.");
+    }
+}
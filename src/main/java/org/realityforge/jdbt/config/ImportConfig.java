@@ -3,10 +3,24 @@ package org.realityforge.jdbt.config;
 import java.util.List;
 
 public record ImportConfig(
-        String key, List<String> modules, String dir, List<String> preImportDirs, List<String> postImportDirs) {
+        String key,
+        List<String> modules,
+        String dir,
+        List<String> preImportDirs,
+        List<String> postImportDirs,
+        ImportDeleteStrategy deleteStrategy) {
     public ImportConfig {
         modules = List.copyOf(modules);
         preImportDirs = List.copyOf(preImportDirs);
         postImportDirs = List.copyOf(postImportDirs);
     }
+
+    public ImportConfig(
+            final String key,
+            final List<String> modules,
+            final String dir,
+            final List<String> preImportDirs,
+            final List<String> postImportDirs) {
+        this(key, modules, dir, preImportDirs, postImportDirs, ImportDeleteStrategy.DELETE);
+    }
 }
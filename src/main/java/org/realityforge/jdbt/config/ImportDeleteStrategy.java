@@ -0,0 +1,24 @@
+package org.realityforge.jdbt.config;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+public enum ImportDeleteStrategy {
+    DELETE,
+    TRUNCATE;
+
+    public String configValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static ImportDeleteStrategy fromConfigValue(final String value) {
+        for (final var strategy : values()) {
+            if (strategy.configValue().equals(value)) {
+                return strategy;
+            }
+        }
+        throw new ConfigException("deleteStrategy must be one of "
+                + Arrays.stream(values()).map(ImportDeleteStrategy::configValue).toList()
+                + " but was '" + value + "'.");
+    }
+}
@@ -0,0 +1,24 @@
+package org.realityforge.jdbt.config;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+public enum ImportRecoveryModel {
+    BULK_LOGGED,
+    SIMPLE;
+
+    public String configValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static ImportRecoveryModel fromConfigValue(final String value) {
+        for (final var model : values()) {
+            if (model.configValue().equals(value)) {
+                return model;
+            }
+        }
+        throw new ConfigException("importRecoveryModel must be one of "
+                + Arrays.stream(values()).map(ImportRecoveryModel::configValue).toList()
+                + " but was '" + value + "'.");
+    }
+}
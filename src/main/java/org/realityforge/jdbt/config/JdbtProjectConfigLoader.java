@@ -5,6 +5,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import org.jspecify.annotations.Nullable;
 
 public final class JdbtProjectConfigLoader {
     private static final Set<String> RESERVED_FILTER_PROPERTY_KEYS =
@@ -26,6 +27,20 @@ public final class JdbtProjectConfigLoader {
                         "preDatasetDirs",
                         "postDatasetDirs",
                         "fixtureDirName",
+                        "fixtureBatchSize",
+                        "fixtureLoadParallelism",
+                        "importParallelism",
+                        "importChunkSize",
+                        "deferIndexesOnImport",
+                        "importStatisticsFile",
+                        "importRecoveryModel",
+                        "importReplicaRole",
+                        "importUnloggedTables",
+                        "transactionMode",
+                        "commitInterval",
+                        "fixtureLoadMode",
+                        "sqlBatchGroupSize",
+                        "migrationParallelism",
                         "migrations",
                         "migrationsAppliedAtCreate",
                         "migrationsDirName",
@@ -70,6 +85,20 @@ public final class JdbtProjectConfigLoader {
                         "preDatasetDirs",
                         "postDatasetDirs",
                         "fixtureDirName",
+                        "fixtureBatchSize",
+                        "fixtureLoadParallelism",
+                        "importParallelism",
+                        "importChunkSize",
+                        "deferIndexesOnImport",
+                        "importStatisticsFile",
+                        "importRecoveryModel",
+                        "importReplicaRole",
+                        "importUnloggedTables",
+                        "transactionMode",
+                        "commitInterval",
+                        "fixtureLoadMode",
+                        "sqlBatchGroupSize",
+                        "migrationParallelism",
                         "migrations",
                         "migrationsAppliedAtCreate",
                         "migrationsDirName",
@@ -112,6 +141,20 @@ public final class JdbtProjectConfigLoader {
                 YamlMapSupport.optionalString(body, "fixtureDirName", path) == null
                         ? defaults.fixtureDirName()
                         : YamlMapSupport.requireString(body, "fixtureDirName", path),
+                intDefault(body, "fixtureBatchSize", path, DatabaseConfig.DEFAULT_FIXTURE_BATCH_SIZE),
+                intDefault(body, "fixtureLoadParallelism", path, DatabaseConfig.DEFAULT_FIXTURE_LOAD_PARALLELISM),
+                intDefault(body, "importParallelism", path, DatabaseConfig.DEFAULT_IMPORT_PARALLELISM),
+                intDefault(body, "importChunkSize", path, DatabaseConfig.DEFAULT_IMPORT_CHUNK_SIZE),
+                booleanDefault(body, "deferIndexesOnImport", path, DatabaseConfig.DEFAULT_DEFER_INDEXES_ON_IMPORT),
+                YamlMapSupport.optionalString(body, "importStatisticsFile", path),
+                importRecoveryModel(body, path),
+                booleanDefault(body, "importReplicaRole", path, DatabaseConfig.DEFAULT_IMPORT_REPLICA_ROLE),
+                booleanDefault(body, "importUnloggedTables", path, DatabaseConfig.DEFAULT_IMPORT_UNLOGGED_TABLES),
+                transactionMode(body, path),
+                intDefault(body, "commitInterval", path, DatabaseConfig.DEFAULT_COMMIT_INTERVAL),
+                fixtureLoadMode(body, path),
+                intDefault(body, "sqlBatchGroupSize", path, DatabaseConfig.DEFAULT_SQL_BATCH_GROUP_SIZE),
+                intDefault(body, "migrationParallelism", path, DatabaseConfig.DEFAULT_MIGRATION_PARALLELISM),
                 migrations,
                 migrationsAppliedAtCreate == null ? migrations : migrationsAppliedAtCreate,
                 YamlMapSupport.optionalString(body, "migrationsDirName", path) == null
@@ -137,6 +180,30 @@ public final class JdbtProjectConfigLoader {
         return null == value ? defaultValue : value;
     }
 
+    private static TransactionMode transactionMode(final Map<String, Object> body, final String path) {
+        final var value = YamlMapSupport.optionalString(body, "transactionMode", path);
+        return null == value ? DatabaseConfig.DEFAULT_TRANSACTION_MODE : TransactionMode.fromConfigValue(value);
+    }
+
+    private static FixtureLoadMode fixtureLoadMode(final Map<String, Object> body, final String path) {
+        final var value = YamlMapSupport.optionalString(body, "fixtureLoadMode", path);
+        return null == value ? DatabaseConfig.DEFAULT_FIXTURE_LOAD_MODE : FixtureLoadMode.fromConfigValue(value);
+    }
+
+    private static @Nullable ImportRecoveryModel importRecoveryModel(
+            final Map<String, Object> body, final String path) {
+        final var value = YamlMapSupport.optionalString(body, "importRecoveryModel", path);
+        return null == value
+                ? DatabaseConfig.DEFAULT_IMPORT_RECOVERY_MODEL
+                : ImportRecoveryModel.fromConfigValue(value);
+    }
+
+    private static int intDefault(
+            final Map<String, Object> body, final String key, final String path, final int defaultValue) {
+        final var value = YamlMapSupport.optionalInteger(body, key, path);
+        return null == value ? defaultValue : value;
+    }
+
     private static Map<String, FilterPropertyConfig> loadFilterProperties(
             final Map<String, Object> body, final String databasePath) {
         final var propertiesNode = YamlMapSupport.optionalMap(body, "filterProperties", databasePath);
@@ -257,7 +324,8 @@ public final class JdbtProjectConfigLoader {
             }
             final var path = databasePath + ".imports." + importKey;
             final var importNode = YamlMapSupport.toStringMap(importBody, path);
-            YamlMapSupport.assertKeys(importNode, Set.of("modules", "dir", "preImportDirs", "postImportDirs"), path);
+            YamlMapSupport.assertKeys(
+                    importNode, Set.of("modules", "dir", "preImportDirs", "postImportDirs", "deleteStrategy"), path);
 
             final var modules = YamlMapSupport.optionalStringList(importNode, "modules", path, repositoryModules);
             validateModulesExist(modules, repositoryModules, "import", importKey, databaseKey);
@@ -265,6 +333,7 @@ public final class JdbtProjectConfigLoader {
             final var dir = YamlMapSupport.optionalString(importNode, "dir", path) == null
                     ? defaults.importDir()
                     : YamlMapSupport.requireString(importNode, "dir", path);
+            final var deleteStrategy = YamlMapSupport.optionalString(importNode, "deleteStrategy", path);
             imports.put(
                     importKey,
                     new ImportConfig(
@@ -274,7 +343,10 @@ public final class JdbtProjectConfigLoader {
                             YamlMapSupport.optionalStringList(
                                     importNode, "preImportDirs", path, defaults.preImportDirs()),
                             YamlMapSupport.optionalStringList(
-                                    importNode, "postImportDirs", path, defaults.postImportDirs())));
+                                    importNode, "postImportDirs", path, defaults.postImportDirs()),
+                            null == deleteStrategy
+                                    ? ImportDeleteStrategy.DELETE
+                                    : ImportDeleteStrategy.fromConfigValue(deleteStrategy)));
         }
         return Collections.unmodifiableMap(new LinkedHashMap<>(imports));
     }
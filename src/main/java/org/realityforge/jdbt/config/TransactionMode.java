@@ -0,0 +1,25 @@
+package org.realityforge.jdbt.config;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+public enum TransactionMode {
+    AUTOCOMMIT,
+    TABLE,
+    ROWS;
+
+    public String configValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static TransactionMode fromConfigValue(final String value) {
+        for (final var mode : values()) {
+            if (mode.configValue().equals(value)) {
+                return mode;
+            }
+        }
+        throw new ConfigException("transactionMode must be one of "
+                + Arrays.stream(values()).map(TransactionMode::configValue).toList()
+                + " but was '" + value + "'.");
+    }
+}
@@ -32,6 +32,10 @@ public final class YamlMapSupport {
     }
 
     public static @Nullable Object parseDocument(final String yaml, final String sourceName) {
+        return new Load(loadSettings(sourceName)).loadFromString(yaml);
+    }
+
+    public static LoadSettings loadSettings(final String sourceName) {
         final var omapConstructor = new OmapConstructNode();
         final var settings = LoadSettings.builder()
                 .setAllowDuplicateKeys(false)
@@ -40,7 +44,11 @@ public final class YamlMapSupport {
                 .setLabel(sourceName)
                 .build();
         omapConstructor.setSettings(settings);
-        return new Load(settings).loadFromString(yaml);
+        return settings;
+    }
+
+    public static boolean isOmapTag(final String tag) {
+        return LOCAL_OMAP_TAG.getValue().equals(tag) || YAML_OMAP_TAG.getValue().equals(tag);
     }
 
     public static void assertKeys(final Map<String, Object> map, final Set<String> allowedKeys, final String path) {
@@ -103,6 +111,18 @@ public final class YamlMapSupport {
         return flag;
     }
 
+    public static @Nullable Integer optionalInteger(
+            final Map<String, Object> map, final String key, final String path) {
+        final var value = map.get(key);
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof Integer number)) {
+            throw new ConfigException("Expected integer for key '" + key + "' at " + path + '.');
+        }
+        return number;
+    }
+
     public static List<String> optionalStringList(
             final Map<String, Object> map, final String key, final String path, final List<String> defaultValue) {
         final var value = map.get(key);
@@ -0,0 +1,186 @@
+package org.realityforge.jdbt.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+import org.jspecify.annotations.Nullable;
+
+final class BatchWriter implements AutoCloseable {
+    private final Connection connection;
+    private final Function<List<String>, String> sqlForColumns;
+    private final int batchSize;
+    private final ToIntFunction<String> columnTypes;
+    private final Map<List<String>, PreparedStatement> statements = new HashMap<>();
+    private final Map<List<String>, int[]> statementTypes = new HashMap<>();
+    private @Nullable PreparedStatement pending;
+    private int pendingCount;
+
+    private BatchWriter(
+            final Connection connection,
+            final Function<List<String>, String> sqlForColumns,
+            final int batchSize,
+            final ToIntFunction<String> columnTypes) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive but was " + batchSize);
+        }
+        this.connection = connection;
+        this.sqlForColumns = sqlForColumns;
+        this.batchSize = batchSize;
+        this.columnTypes = columnTypes;
+    }
+
+    static BatchWriter inserts(
+            final Connection connection,
+            final String tableName,
+            final UnaryOperator<String> quoter,
+            final int batchSize,
+            final ToIntFunction<String> columnTypes) {
+        return new BatchWriter(connection, columns -> insertSql(tableName, columns, quoter), batchSize, columnTypes);
+    }
+
+    static BatchWriter updates(
+            final Connection connection,
+            final String tableName,
+            final UnaryOperator<String> quoter,
+            final List<String> keyColumns,
+            final int batchSize,
+            final ToIntFunction<String> columnTypes) {
+        return new BatchWriter(
+                connection,
+                columns -> "UPDATE " + tableName + " SET "
+                        + String.join(
+                                ", ",
+                                columns.subList(0, columns.size() - keyColumns.size()).stream()
+                                        .map(column -> quoter.apply(column) + " = ?")
+                                        .toList())
+                        + whereSql(keyColumns, quoter),
+                batchSize,
+                columnTypes);
+    }
+
+    static BatchWriter resets(
+            final Connection connection,
+            final String tableName,
+            final UnaryOperator<String> quoter,
+            final List<String> resetColumns,
+            final List<String> keyColumns,
+            final int batchSize,
+            final ToIntFunction<String> columnTypes) {
+        final var sql = "UPDATE " + tableName + " SET "
+                + String.join(
+                        ", ",
+                        resetColumns.stream()
+                                .map(column -> quoter.apply(column) + " = DEFAULT")
+                                .toList())
+                + whereSql(keyColumns, quoter);
+        return new BatchWriter(connection, columns -> sql, batchSize, columnTypes);
+    }
+
+    static BatchWriter deletes(
+            final Connection connection,
+            final String tableName,
+            final UnaryOperator<String> quoter,
+            final List<String> keyColumns,
+            final int batchSize,
+            final ToIntFunction<String> columnTypes) {
+        return new BatchWriter(
+                connection,
+                columns -> "DELETE FROM " + tableName + whereSql(keyColumns, quoter),
+                batchSize,
+                columnTypes);
+    }
+
+    void add(final Map<String, Object> record) throws SQLException {
+        final var columns = List.copyOf(record.keySet());
+        final var statement = statementFor(columns);
+        if (statement != pending) {
+            flush();
+            pending = statement;
+        }
+        final var sqlTypes = Objects.requireNonNull(statementTypes.get(columns));
+        for (int i = 0; i < columns.size(); i++) {
+            bind(statement, i + 1, record.get(columns.get(i)), sqlTypes[i]);
+        }
+        statement.addBatch();
+        pendingCount++;
+        if (pendingCount >= batchSize) {
+            flush();
+        }
+    }
+
+    void flush() throws SQLException {
+        if (null != pending && 0 != pendingCount) {
+            pending.executeBatch();
+        }
+        pendingCount = 0;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        @Nullable SQLException failure = null;
+        for (final var statement : statements.values()) {
+            try {
+                statement.close();
+            } catch (final SQLException sqle) {
+                if (null == failure) {
+                    failure = sqle;
+                } else {
+                    failure.addSuppressed(sqle);
+                }
+            }
+        }
+        statements.clear();
+        statementTypes.clear();
+        pending = null;
+        if (null != failure) {
+            throw failure;
+        }
+    }
+
+    static void bind(
+            final PreparedStatement statement, final int index, final @Nullable Object value, final int sqlType)
+            throws SQLException {
+        if (Types.OTHER == sqlType) {
+            statement.setObject(index, value);
+        } else if (null == value) {
+            statement.setNull(index, sqlType);
+        } else if (JdbcValueConverter.isText(sqlType) && !(value instanceof String)) {
+            statement.setObject(index, value);
+        } else {
+            statement.setObject(index, JdbcValueConverter.convert(value, sqlType), sqlType);
+        }
+    }
+
+    static String insertSql(final String tableName, final List<String> columns, final UnaryOperator<String> quoter) {
+        final var columnSql = String.join(", ", columns.stream().map(quoter).toList());
+        final var placeholderSql =
+                String.join(", ", columns.stream().map(column -> "?").toList());
+        return "INSERT INTO " + tableName + " (" + columnSql + ") VALUES (" + placeholderSql + ")";
+    }
+
+    private static String whereSql(final List<String> keyColumns, final UnaryOperator<String> quoter) {
+        return " WHERE "
+                + String.join(
+                        " AND ",
+                        keyColumns.stream().map(column -> quoter.apply(column) + " = ?").toList());
+    }
+
+    private PreparedStatement statementFor(final List<String> columns) throws SQLException {
+        final var existing = statements.get(columns);
+        if (null != existing) {
+            return existing;
+        }
+        final var statement = connection.prepareStatement(sqlForColumns.apply(columns));
+        statements.put(columns, statement);
+        statementTypes.put(columns, columns.stream().mapToInt(columnTypes).toArray());
+        return statement;
+    }
+}
@@ -1,6 +1,7 @@
 package org.realityforge.jdbt.db;
 
 import org.jspecify.annotations.Nullable;
+import org.realityforge.jdbt.config.ImportRecoveryModel;
 
 public record DatabaseMetadata(
         String key,
@@ -11,8 +12,92 @@ public record DatabaseMetadata(
         boolean forceDrop,
         boolean deleteBackupHistory,
         boolean reindexOnImport,
-        boolean shrinkOnImport) {
+        boolean shrinkOnImport,
+        @Nullable ImportRecoveryModel importRecoveryModel,
+        boolean importReplicaRole,
+        boolean importUnloggedTables) {
     public DatabaseMetadata(final String key, final @Nullable String version, final @Nullable String schemaHash) {
         this(key, version, schemaHash, null, null, false, true, true, false);
     }
+
+    public DatabaseMetadata(
+            final String key,
+            final @Nullable String version,
+            final @Nullable String schemaHash,
+            final @Nullable String dataPath,
+            final @Nullable String logPath,
+            final boolean forceDrop,
+            final boolean deleteBackupHistory,
+            final boolean reindexOnImport,
+            final boolean shrinkOnImport) {
+        this(
+                key,
+                version,
+                schemaHash,
+                dataPath,
+                logPath,
+                forceDrop,
+                deleteBackupHistory,
+                reindexOnImport,
+                shrinkOnImport,
+                null);
+    }
+
+    public DatabaseMetadata(
+            final String key,
+            final @Nullable String version,
+            final @Nullable String schemaHash,
+            final @Nullable String dataPath,
+            final @Nullable String logPath,
+            final boolean forceDrop,
+            final boolean deleteBackupHistory,
+            final boolean reindexOnImport,
+            final boolean shrinkOnImport,
+            final @Nullable ImportRecoveryModel importRecoveryModel) {
+        this(
+                key,
+                version,
+                schemaHash,
+                dataPath,
+                logPath,
+                forceDrop,
+                deleteBackupHistory,
+                reindexOnImport,
+                shrinkOnImport,
+                importRecoveryModel,
+                false,
+                false);
+    }
+
+    public DatabaseMetadata withImportReplicaRole(final boolean replicaRole) {
+        return new DatabaseMetadata(
+                key,
+                version,
+                schemaHash,
+                dataPath,
+                logPath,
+                forceDrop,
+                deleteBackupHistory,
+                reindexOnImport,
+                shrinkOnImport,
+                importRecoveryModel,
+                replicaRole,
+                importUnloggedTables);
+    }
+
+    public DatabaseMetadata withImportUnloggedTables(final boolean unloggedTables) {
+        return new DatabaseMetadata(
+                key,
+                version,
+                schemaHash,
+                dataPath,
+                logPath,
+                forceDrop,
+                deleteBackupHistory,
+                reindexOnImport,
+                shrinkOnImport,
+                importRecoveryModel,
+                importReplicaRole,
+                unloggedTables);
+    }
 }
@@ -1,7 +1,10 @@
 package org.realityforge.jdbt.db;
 
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.realityforge.jdbt.config.ImportConfig;
 
 public interface DbDriver {
@@ -19,18 +22,141 @@ public interface DbDriver {
 
     void execute(String sql, boolean executeInControlDatabase);
 
+    default long executeUpdate(final String sql, final boolean executeInControlDatabase) {
+        execute(sql, executeInControlDatabase);
+        return 0;
+    }
+
+    default void invalidateMetadata() {}
+
     void preFixtureImport(String tableName);
 
     void insert(String tableName, Map<String, Object> record);
 
+    default void insertAll(final String tableName, final Iterator<Map<String, Object>> records, final int batchSize) {
+        while (records.hasNext()) {
+            insert(tableName, records.next());
+        }
+    }
+
     void postFixtureImport(String tableName);
 
+    default boolean supportsBulkLoad() {
+        return false;
+    }
+
+    default void bulkLoad(final String tableName, final Iterator<Map<String, Object>> records, final int batchSize) {
+        throw new DatabaseException("Bulk load is not supported by this driver");
+    }
+
+    default void deferIndexes(final String tableName, final List<String> indexNames) {}
+
+    default void rebuildIndexes(final String tableName) {}
+
+    default boolean supportsChunkedImport(final String tableName) {
+        return false;
+    }
+
+    default int chunkedImport(
+            final String tableName,
+            final String targetDatabase,
+            final String sourceDatabase,
+            final List<String> columns,
+            final int chunkSize,
+            final boolean resume) {
+        throw new DatabaseException("Chunked import is not supported by this driver");
+    }
+
+    default void setupImportCheckpoints() {}
+
+    default void clearImportCheckpoints() {}
+
+    default boolean supportsStreamingImport() {
+        return false;
+    }
+
+    default long streamImport(final DatabaseConnection source, final String tableName, final int batchSize) {
+        throw new DatabaseException("Streaming import is not supported by this driver");
+    }
+
+    default void streamSequenceImport(final DatabaseConnection source, final String sequenceName) {
+        throw new DatabaseException("Streaming import is not supported by this driver");
+    }
+
+    default boolean supportsReconcile() {
+        return false;
+    }
+
+    default FixtureReconciliation reconcile(
+            final String tableName, final Iterator<Map<String, Object>> records, final int batchSize) {
+        throw new DatabaseException("Fixture reconcile is not supported by this driver");
+    }
+
+    default void deleteRows(final String tableName, final List<Map<String, Object>> keys, final int batchSize) {
+        throw new DatabaseException("Fixture reconcile is not supported by this driver");
+    }
+
+    default boolean supportsBatchGrouping() {
+        return false;
+    }
+
+    default void executeBatches(final List<String> batches, final boolean executeInControlDatabase) {
+        for (var i = 0; i < batches.size(); i++) {
+            try {
+                execute(batches.get(i), executeInControlDatabase);
+            } catch (final RuntimeException e) {
+                throw new SqlBatchException(i, e);
+            }
+        }
+    }
+
+    default void beginTransaction() {}
+
+    default void commitTransaction() {}
+
+    default void rollbackTransaction() {}
+
     void updateSequence(String sequenceName, long value);
 
+    default Map<String, Long> approximateRowCounts(
+            final DatabaseConnection source, final List<String> tableNames) {
+        return Map.of();
+    }
+
+    default Map<String, String> sourceFingerprints(final DatabaseConnection source, final List<String> tableNames) {
+        return Map.of();
+    }
+
+    default Map<String, String> targetFingerprints(final List<String> tableNames) {
+        return Map.of();
+    }
+
+    default Map<String, ImportFingerprint> importFingerprints(final String importKey) {
+        return Map.of();
+    }
+
+    default void setupImportFingerprints() {}
+
+    default void recordImportFingerprint(
+            final String importKey, final String tableName, final ImportFingerprint fingerprint) {}
+
+    default void truncateTables(final List<String> tableNames) {
+        for (final var tableName : tableNames) {
+            execute("DELETE FROM " + tableName, false);
+        }
+    }
+
+    default void preDatabaseImport(final DatabaseMetadata database, final ImportConfig importConfig) {}
+
+    default void abortDatabaseImport(final DatabaseMetadata database, final ImportConfig importConfig) {}
+
     void preTableImport(DatabaseMetadata database, ImportConfig importConfig, String tableName);
 
     void postTableImport(DatabaseMetadata database, ImportConfig importConfig, String tableName);
 
+    default void abortTableImport(
+            final DatabaseMetadata database, final ImportConfig importConfig, final String tableName) {}
+
     void postDataModuleImport(
             DatabaseMetadata database, ImportConfig importConfig, String moduleName, List<String> tablesInOrder);
 
@@ -40,14 +166,26 @@ public interface DbDriver {
         return false;
     }
 
+    default boolean supportsBracketIdentifiers() {
+        return false;
+    }
+
     default boolean supportsStandardImportScripts() {
         return false;
     }
 
+    default boolean executesImportSqlInControlDatabase() {
+        return true;
+    }
+
     List<String> columnNamesForTable(String tableName);
 
     List<String> primaryKeyColumnNamesForTable(String tableName);
 
+    default Map<String, Set<String>> foreignKeyDependencies(final List<String> tableNames) {
+        return Map.of();
+    }
+
     QueryResult query(String sql);
 
     QueryResult verifySchemaConstraints(String schemaName);
@@ -58,9 +196,43 @@ public interface DbDriver {
 
     void markMigrationAsRun(String namespace, String migrationName);
 
+    default void markMigrationAsRun(
+            final String namespace, final String migrationName, final MigrationExecution execution) {
+        markMigrationAsRun(namespace, migrationName);
+    }
+
+    default Set<String> appliedMigrations(final String namespace, final List<String> migrationNames) {
+        final var applied = new HashSet<String>();
+        for (final var migrationName : migrationNames) {
+            if (!shouldMigrate(namespace, migrationName)) {
+                applied.add(migrationName);
+            }
+        }
+        return applied;
+    }
+
+    default void markMigrationsAsRun(final String namespace, final List<String> migrationNames) {
+        for (final var migrationName : migrationNames) {
+            markMigrationAsRun(namespace, migrationName);
+        }
+    }
+
+    default List<MigrationRecord> migrationHistory(final String namespace) {
+        throw new DatabaseException("Migration history is not supported by this driver");
+    }
+
     String generateStandardImportSql(
             String tableName, String targetDatabase, String sourceDatabase, List<String> columns);
 
+    default String generateStandardImportSql(
+            final String tableName,
+            final String targetDatabase,
+            final String sourceDatabase,
+            final List<String> columns,
+            final boolean tableLock) {
+        return generateStandardImportSql(tableName, targetDatabase, sourceDatabase, columns);
+    }
+
     String generateStandardSequenceImportSql(String sequenceName, String targetDatabase, String sourceDatabase);
 
     String generateDefaultSequenceExportSql(String sequenceName);
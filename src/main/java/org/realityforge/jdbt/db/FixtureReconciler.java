@@ -0,0 +1,249 @@
+package org.realityforge.jdbt.db;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+import org.jspecify.annotations.Nullable;
+
+final class FixtureReconciler {
+    private final Connection connection;
+    private final String tableName;
+    private final UnaryOperator<String> quoter;
+    private final SchemaMetadataCache.TableMetadata table;
+    private final boolean caseSensitive;
+    private final int batchSize;
+
+    FixtureReconciler(
+            final Connection connection,
+            final String tableName,
+            final UnaryOperator<String> quoter,
+            final SchemaMetadataCache.TableMetadata table,
+            final boolean caseSensitive,
+            final int batchSize) {
+        this.connection = connection;
+        this.tableName = tableName;
+        this.quoter = quoter;
+        this.table = table;
+        this.caseSensitive = caseSensitive;
+        this.batchSize = batchSize;
+    }
+
+    FixtureReconciliation reconcile(final Iterator<Map<String, Object>> records) throws SQLException {
+        final var keyColumns = table.primaryKey();
+        if (keyColumns.isEmpty()) {
+            return replace(records);
+        }
+        final var existing = readExisting(keyColumns);
+        var inserted = 0;
+        var updated = 0;
+        final var resets = new HashMap<List<String>, BatchWriter>();
+        try (var inserts = BatchWriter.inserts(connection, tableName, quoter, batchSize, table::sqlType);
+                var updates =
+                        BatchWriter.updates(connection, tableName, quoter, keyColumns, batchSize, table::sqlType)) {
+            while (records.hasNext()) {
+                final var record = records.next();
+                final var current = existing.remove(key(record, keyColumns));
+                if (null == current) {
+                    inserts.add(record);
+                    inserted++;
+                } else {
+                    final var update = changedColumns(record, current, keyColumns);
+                    final var reset = omittedColumns(record, current, keyColumns);
+                    if (!update.isEmpty()) {
+                        update.putAll(keyValues(current, keyColumns));
+                        updates.add(update);
+                    }
+                    if (!reset.isEmpty()) {
+                        resets.computeIfAbsent(
+                                        reset,
+                                        columns -> BatchWriter.resets(
+                                                connection,
+                                                tableName,
+                                                quoter,
+                                                columns,
+                                                keyColumns,
+                                                batchSize,
+                                                table::sqlType))
+                                .add(keyValues(current, keyColumns));
+                    }
+                    if (!update.isEmpty() || !reset.isEmpty()) {
+                        updated++;
+                    }
+                }
+            }
+            inserts.flush();
+            updates.flush();
+            for (final var writer : resets.values()) {
+                writer.flush();
+            }
+        } finally {
+            close(resets.values());
+        }
+        final var staleKeys = new ArrayList<Map<String, Object>>();
+        for (final var row : existing.values()) {
+            staleKeys.add(keyValues(row, keyColumns));
+        }
+        return new FixtureReconciliation(inserted, updated, staleKeys);
+    }
+
+    void delete(final List<Map<String, Object>> keys) throws SQLException {
+        try (var deletes =
+                BatchWriter.deletes(connection, tableName, quoter, table.primaryKey(), batchSize, table::sqlType)) {
+            for (final var key : keys) {
+                deletes.add(key);
+            }
+            deletes.flush();
+        }
+    }
+
+    private FixtureReconciliation replace(final Iterator<Map<String, Object>> records) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute("DELETE FROM " + tableName);
+        }
+        var inserted = 0;
+        try (var inserts = BatchWriter.inserts(connection, tableName, quoter, batchSize, table::sqlType)) {
+            while (records.hasNext()) {
+                inserts.add(records.next());
+                inserted++;
+            }
+            inserts.flush();
+        }
+        return new FixtureReconciliation(inserted, 0, List.of());
+    }
+
+    private Map<List<Object>, Map<String, Object>> readExisting(final List<String> keyColumns) throws SQLException {
+        final var columns = table.columns();
+        final var sql = "SELECT " + String.join(", ", columns.stream().map(quoter).toList()) + " FROM " + tableName;
+        final var rows = new HashMap<List<Object>, Map<String, Object>>();
+        try (var statement = connection.createStatement();
+                var resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                final var row = new HashMap<String, Object>();
+                for (int i = 0; i < columns.size(); i++) {
+                    final var value = resultSet.getObject(i + 1);
+                    if (null != value) {
+                        row.put(columns.get(i), value);
+                    }
+                }
+                rows.put(key(row, keyColumns), row);
+            }
+        }
+        return rows;
+    }
+
+    private List<Object> key(final Map<String, Object> record, final List<String> keyColumns) {
+        final var key = new ArrayList<Object>();
+        for (final var column : keyColumns) {
+            final var value = normalize(value(record, column), table.sqlType(column));
+            key.add(!caseSensitive && value instanceof String text ? text.toLowerCase(Locale.ROOT) : value);
+        }
+        return key;
+    }
+
+    private LinkedHashMap<String, Object> changedColumns(
+            final Map<String, Object> record, final Map<String, Object> current, final List<String> keyColumns) {
+        final var changed = new LinkedHashMap<String, Object>();
+        for (final var entry : record.entrySet()) {
+            final var column = columnName(entry.getKey());
+            if (keyColumns.contains(column) || table.identityColumns().contains(column)) {
+                continue;
+            }
+            final var sqlType = table.sqlType(column);
+            if (!Objects.equals(normalize(entry.getValue(), sqlType), normalize(current.get(column), sqlType))) {
+                changed.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return changed;
+    }
+
+    private List<String> omittedColumns(
+            final Map<String, Object> record, final Map<String, Object> current, final List<String> keyColumns) {
+        // Delete-then-insert left columns that a fixture omits at their defaults, so non-NULL values are reset
+        final var omitted = new ArrayList<String>();
+        for (final var column : table.columns()) {
+            if (!keyColumns.contains(column)
+                    && !table.identityColumns().contains(column)
+                    && !table.generatedColumns().contains(column)
+                    && null != current.get(column)
+                    && record.keySet().stream().noneMatch(column::equalsIgnoreCase)) {
+                omitted.add(column);
+            }
+        }
+        return omitted;
+    }
+
+    private static Map<String, Object> keyValues(final Map<String, Object> row, final List<String> keyColumns) {
+        final var key = new LinkedHashMap<String, Object>();
+        for (final var column : keyColumns) {
+            key.put(column, Objects.requireNonNull(row.get(column)));
+        }
+        return key;
+    }
+
+    private static void close(final Iterable<BatchWriter> writers) throws SQLException {
+        @Nullable SQLException failure = null;
+        for (final var writer : writers) {
+            try {
+                writer.close();
+            } catch (final SQLException sqle) {
+                if (null == failure) {
+                    failure = sqle;
+                } else {
+                    failure.addSuppressed(sqle);
+                }
+            }
+        }
+        if (null != failure) {
+            throw failure;
+        }
+    }
+
+    private String columnName(final String fixtureColumn) {
+        for (final var column : table.columns()) {
+            if (column.equalsIgnoreCase(fixtureColumn)) {
+                return column;
+            }
+        }
+        return fixtureColumn;
+    }
+
+    private static @Nullable Object value(final Map<String, Object> record, final String column) {
+        final var value = record.get(column);
+        if (null != value) {
+            return value;
+        }
+        for (final var entry : record.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(column)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static @Nullable Object normalize(final @Nullable Object value, final int sqlType) {
+        if (null == value) {
+            return null;
+        }
+        // Text columns are compared as text because the converter leaves non-string values to the driver
+        final var converted =
+                Types.OTHER == sqlType || (JdbcValueConverter.isText(sqlType) && !(value instanceof byte[]))
+                        ? String.valueOf(value)
+                        : JdbcValueConverter.convert(value, sqlType);
+        if (converted instanceof BigDecimal decimal) {
+            return decimal.stripTrailingZeros();
+        } else if ((Types.CHAR == sqlType || Types.NCHAR == sqlType) && converted instanceof String text) {
+            return text.stripTrailing();
+        }
+        return converted;
+    }
+}
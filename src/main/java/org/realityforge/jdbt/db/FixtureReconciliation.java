@@ -0,0 +1,14 @@
+package org.realityforge.jdbt.db;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public record FixtureReconciliation(int inserted, int updated, List<Map<String, Object>> staleKeys) {
+    public FixtureReconciliation {
+        staleKeys = staleKeys.stream()
+                .map(key -> Collections.unmodifiableMap(new LinkedHashMap<>(key)))
+                .toList();
+    }
+}
@@ -0,0 +1,58 @@
+package org.realityforge.jdbt.db;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.jspecify.annotations.Nullable;
+
+final class ForeignKeyGraph {
+    private ForeignKeyGraph() {}
+
+    static Map<String, Set<String>> dependencies(
+            final List<String> tableNames, final Function<String, @Nullable Set<String>> referencedTables) {
+        final var tablesByKey = new HashMap<String, String>();
+        for (final var tableName : tableNames) {
+            tablesByKey.put(key(tableName), tableName);
+        }
+        final var dependencies = new LinkedHashMap<String, Set<String>>();
+        for (final var table : tableNames) {
+            final var references = referencedTables.apply(table);
+            // A table whose references are unknown is left out so callers can fall back for it
+            if (null == references) {
+                continue;
+            }
+            final var tableDependencies = new LinkedHashSet<String>();
+            for (final var referencedTable : references) {
+                final var referenced = tablesByKey.get(key(referencedTable));
+                if (null != referenced && !table.equals(referenced)) {
+                    tableDependencies.add(referenced);
+                }
+            }
+            dependencies.put(table, tableDependencies);
+        }
+        final var result = new LinkedHashMap<String, Set<String>>();
+        for (final var entry : dependencies.entrySet()) {
+            result.put(entry.getKey(), Collections.unmodifiableSet(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    static @Nullable Set<String> referencedTables(final SchemaMetadataCache.TableMetadata table) {
+        return table.columns().isEmpty() ? null : table.referencedTables();
+    }
+
+    static String key(final String tableName) {
+        return tableName
+                .trim()
+                .replace("[", "")
+                .replace("]", "")
+                .replace("\"", "")
+                .toLowerCase(Locale.ROOT);
+    }
+}
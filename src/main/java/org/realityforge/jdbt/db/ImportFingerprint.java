@@ -0,0 +1,3 @@
+package org.realityforge.jdbt.db;
+
+public record ImportFingerprint(String sourceDatabase, String source, String target) {}
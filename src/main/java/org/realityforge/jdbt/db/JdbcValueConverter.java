@@ -0,0 +1,148 @@
+package org.realityforge.jdbt.db;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import org.jspecify.annotations.Nullable;
+
+final class JdbcValueConverter {
+    private static final List<DateTimeFormatter> TIMESTAMP_FORMATS = List.of(
+            new DateTimeFormatterBuilder()
+                    .append(DateTimeFormatter.ISO_LOCAL_DATE)
+                    .optionalStart()
+                    .appendLiteral('T')
+                    .optionalEnd()
+                    .optionalStart()
+                    .appendLiteral(' ')
+                    .optionalEnd()
+                    .append(DateTimeFormatter.ISO_LOCAL_TIME)
+                    .toFormatter(Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("dd MMM yyyy HH:mm[:ss]", Locale.ENGLISH));
+
+    private JdbcValueConverter() {}
+
+    static @Nullable Object convert(final @Nullable Object value, final int sqlType) {
+        if (null == value) {
+            return null;
+        }
+        try {
+            if (isText(sqlType)) {
+                // Non-string values are left to the driver's own conversion so the stored text does not change
+                return value;
+            }
+            return switch (sqlType) {
+                case Types.BIT, Types.BOOLEAN -> toBoolean(value);
+                case Types.TINYINT, Types.SMALLINT, Types.INTEGER ->
+                    value instanceof Number number ? number.intValue() : Integer.parseInt(text(value));
+                case Types.BIGINT -> value instanceof Number number ? number.longValue() : Long.parseLong(text(value));
+                case Types.DECIMAL, Types.NUMERIC ->
+                    value instanceof BigDecimal ? value : new BigDecimal(text(value));
+                case Types.REAL ->
+                    value instanceof Number number ? number.floatValue() : Float.parseFloat(text(value));
+                case Types.FLOAT, Types.DOUBLE ->
+                    value instanceof Number number ? number.doubleValue() : Double.parseDouble(text(value));
+                case Types.DATE -> toDate(value);
+                case Types.TIME -> toTime(value);
+                case Types.TIMESTAMP -> toTimestamp(value);
+                default -> value;
+            };
+        } catch (final NumberFormatException | DateTimeParseException e) {
+            throw new DatabaseException(
+                    "Unable to convert value '" + value + "' to JDBC type " + sqlType + ": " + e.getMessage());
+        }
+    }
+
+    static boolean isText(final int sqlType) {
+        return switch (sqlType) {
+            case Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR, Types.NCHAR, Types.NVARCHAR, Types.LONGNVARCHAR,
+                    Types.CLOB, Types.NCLOB -> true;
+            default -> false;
+        };
+    }
+
+    private static Object toBoolean(final Object value) {
+        if (value instanceof Boolean) {
+            return value;
+        } else if (value instanceof Number number) {
+            return 0 != number.intValue();
+        }
+        final var text = text(value);
+        if ("1".equals(text) || "true".equalsIgnoreCase(text)) {
+            return Boolean.TRUE;
+        } else if ("0".equals(text) || "false".equalsIgnoreCase(text)) {
+            return Boolean.FALSE;
+        }
+        throw new NumberFormatException("Not a boolean value");
+    }
+
+    private static Object toDate(final Object value) {
+        if (value instanceof Date) {
+            return value;
+        } else if (value instanceof java.util.Date date) {
+            return new Date(date.getTime());
+        } else if (value instanceof LocalDate date) {
+            return Date.valueOf(date);
+        } else if (value instanceof LocalDateTime dateTime) {
+            return Date.valueOf(dateTime.toLocalDate());
+        }
+        final var text = text(value);
+        return 10 == text.length()
+                ? Date.valueOf(LocalDate.parse(text))
+                : Date.valueOf(parseDateTime(text).toLocalDate());
+    }
+
+    private static Object toTime(final Object value) {
+        if (value instanceof Time) {
+            return value;
+        } else if (value instanceof LocalTime time) {
+            return Time.valueOf(time);
+        }
+        return Time.valueOf(LocalTime.parse(text(value)));
+    }
+
+    private static Object toTimestamp(final Object value) {
+        if (value instanceof Timestamp) {
+            return value;
+        } else if (value instanceof java.util.Date date) {
+            return new Timestamp(date.getTime());
+        } else if (value instanceof LocalDateTime dateTime) {
+            return Timestamp.valueOf(dateTime);
+        } else if (value instanceof LocalDate date) {
+            return Timestamp.valueOf(date.atStartOfDay());
+        }
+        final var text = text(value);
+        return 10 == text.length()
+                ? Timestamp.valueOf(LocalDate.parse(text).atStartOfDay())
+                : Timestamp.valueOf(parseDateTime(text));
+    }
+
+    private static LocalDateTime parseDateTime(final String text) {
+        @Nullable DateTimeParseException failure = null;
+        for (final var format : TIMESTAMP_FORMATS) {
+            try {
+                return LocalDateTime.parse(text, format);
+            } catch (final DateTimeParseException e) {
+                if (null == failure) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        throw null == failure ? new DateTimeParseException("Unparseable timestamp", text, 0) : failure;
+    }
+
+    private static String text(final Object value) {
+        return String.valueOf(value).trim();
+    }
+}
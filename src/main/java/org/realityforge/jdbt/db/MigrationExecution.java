@@ -0,0 +1,3 @@
+package org.realityforge.jdbt.db;
+
+public record MigrationExecution(long durationMillis, long rowCount, String checksum) {}
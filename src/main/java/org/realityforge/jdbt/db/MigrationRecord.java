@@ -0,0 +1,20 @@
+package org.realityforge.jdbt.db;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import org.jspecify.annotations.Nullable;
+
+public record MigrationRecord(String migration, @Nullable Instant appliedAt, @Nullable MigrationExecution execution) {
+    static MigrationRecord read(final ResultSet resultSet) throws SQLException {
+        final var appliedAt = resultSet.getTimestamp(2);
+        final var durationMillis = resultSet.getLong(3);
+        final var timed = !resultSet.wasNull();
+        final var rowCount = resultSet.getLong(4);
+        final var checksum = resultSet.getString(5);
+        return new MigrationRecord(
+                resultSet.getString(1),
+                null == appliedAt ? null : appliedAt.toInstant(),
+                timed && null != checksum ? new MigrationExecution(durationMillis, rowCount, checksum) : null);
+    }
+}
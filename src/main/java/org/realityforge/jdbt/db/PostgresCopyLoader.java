@@ -0,0 +1,127 @@
+package org.realityforge.jdbt.db;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import org.jspecify.annotations.Nullable;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+final class PostgresCopyLoader {
+    private final CopyManager copyManager;
+    private final String tableName;
+    private final UnaryOperator<String> quoter;
+    private final int batchSize;
+    private final StringBuilder buffer = new StringBuilder();
+    private List<String> columns = List.of();
+    private @Nullable CopyIn copy;
+    private int pendingCount;
+
+    PostgresCopyLoader(
+            final CopyManager copyManager,
+            final String tableName,
+            final UnaryOperator<String> quoter,
+            final int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive but was " + batchSize);
+        }
+        this.copyManager = copyManager;
+        this.tableName = tableName;
+        this.quoter = quoter;
+        this.batchSize = batchSize;
+    }
+
+    void add(final Map<String, Object> record) throws SQLException {
+        final var recordColumns = List.copyOf(record.keySet());
+        final var current = copy;
+        final var active = null == current || !recordColumns.equals(columns) ? start(recordColumns) : current;
+        appendRow(buffer, columns, record);
+        pendingCount++;
+        if (pendingCount >= batchSize) {
+            write(active);
+        }
+    }
+
+    void finish() throws SQLException {
+        final var current = copy;
+        if (null != current) {
+            write(current);
+            current.endCopy();
+            copy = null;
+        }
+    }
+
+    void cancel(final Exception failure) {
+        final var current = copy;
+        copy = null;
+        buffer.setLength(0);
+        pendingCount = 0;
+        if (null != current && current.isActive()) {
+            try {
+                current.cancelCopy();
+            } catch (final SQLException sqle) {
+                failure.addSuppressed(sqle);
+            }
+        }
+    }
+
+    static String copySql(final String tableName, final List<String> columns, final UnaryOperator<String> quoter) {
+        return "COPY " + tableName + " (" + String.join(", ", columns.stream().map(quoter).toList())
+                + ") FROM STDIN";
+    }
+
+    static void appendRow(final StringBuilder output, final List<String> columns, final Map<String, Object> record) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (0 != i) {
+                output.append('\t');
+            }
+            appendValue(output, record.get(columns.get(i)));
+        }
+        output.append('\n');
+    }
+
+    private CopyIn start(final List<String> recordColumns) throws SQLException {
+        finish();
+        columns = recordColumns;
+        final var started = copyManager.copyIn(copySql(tableName, recordColumns, quoter));
+        copy = started;
+        return started;
+    }
+
+    private void write(final CopyIn target) throws SQLException {
+        if (!buffer.isEmpty()) {
+            final var bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            target.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+        pendingCount = 0;
+    }
+
+    private static void appendValue(final StringBuilder output, final @Nullable Object value) {
+        if (null == value) {
+            output.append("\\N");
+        } else if (value instanceof Boolean flag) {
+            output.append(flag ? 't' : 'f');
+        } else if (value instanceof byte[] bytes) {
+            output.append("\\\\x").append(HexFormat.of().formatHex(bytes));
+        } else {
+            appendEscaped(output, String.valueOf(value));
+        }
+    }
+
+    private static void appendEscaped(final StringBuilder output, final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            final var c = value.charAt(i);
+            switch (c) {
+                case '\\' -> output.append("\\\\");
+                case '\n' -> output.append("\\n");
+                case '\r' -> output.append("\\r");
+                case '\t' -> output.append("\\t");
+                default -> output.append(c);
+            }
+        }
+    }
+}
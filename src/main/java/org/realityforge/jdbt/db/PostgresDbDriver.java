@@ -3,23 +3,66 @@ package org.realityforge.jdbt.db;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.jspecify.annotations.Nullable;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
 import org.realityforge.jdbt.config.ImportConfig;
 
 final class PostgresDbDriver implements DbDriver {
     private static final Logger LOGGER = Logger.getLogger(PostgresDbDriver.class.getName());
+    private static final String MARK_MIGRATION_SQL =
+            "INSERT INTO \"tblMigration\"(\"Namespace\",\"Migration\",\"AppliedAt\") VALUES (?, ?, current_timestamp)";
+    private static final String MARK_MIGRATION_EXECUTION_SQL =
+            "INSERT INTO \"tblMigration\"(\"Namespace\",\"Migration\",\"AppliedAt\",\"DurationMs\",\"RowCount\","
+                    + "\"Checksum\") VALUES (?, ?, current_timestamp, ?, ?, ?)";
+    private static final String SAVE_DEFERRED_INDEX_SQL =
+            "INSERT INTO \"tblDeferredIndex\"(\"TableName\",\"IndexName\",\"Definition\") VALUES (?, ?, ?)"
+                    + " ON CONFLICT (\"TableName\", \"IndexName\")"
+                    + " DO UPDATE SET \"Definition\" = EXCLUDED.\"Definition\"";
+    private static final String DELETE_DEFERRED_INDEX_SQL =
+            "DELETE FROM \"tblDeferredIndex\" WHERE \"TableName\" = ? AND \"IndexName\" = ?";
+    private static final int MIGRATION_BATCH_SIZE = 1000;
+    private static final Map<String, Integer> SQL_TYPES = Map.ofEntries(
+            Map.entry("bool", Types.BOOLEAN),
+            Map.entry("int2", Types.SMALLINT),
+            Map.entry("int4", Types.INTEGER),
+            Map.entry("int8", Types.BIGINT),
+            Map.entry("numeric", Types.NUMERIC),
+            Map.entry("float4", Types.REAL),
+            Map.entry("float8", Types.DOUBLE),
+            Map.entry("bpchar", Types.CHAR),
+            Map.entry("varchar", Types.VARCHAR),
+            Map.entry("text", Types.VARCHAR),
+            Map.entry("date", Types.DATE),
+            Map.entry("time", Types.TIME),
+            Map.entry("timestamp", Types.TIMESTAMP));
 
     @FunctionalInterface
     interface ConnectionFactory {
         Connection connect(DatabaseConnection config, boolean controlDatabase) throws SQLException;
     }
 
+    @FunctionalInterface
+    private interface SqlAction {
+        void run(Connection connection) throws SQLException;
+    }
+
     private final ConnectionFactory connectionFactory;
+    private final SchemaMetadataCache metadata = new SchemaMetadataCache(this::loadSchemaMetadata, true);
+    private final Set<String> importedTables = new LinkedHashSet<>();
+    private final Set<String> unloggedTables = new HashSet<>();
+    private @Nullable String replicationRoleToRestore;
     private @Nullable DatabaseConnection config;
     private @Nullable Connection targetConnection;
     private @Nullable Connection controlConnection;
@@ -49,6 +92,12 @@ final class PostgresDbDriver implements DbDriver {
         closeQuietly(controlConnection);
         targetConnection = null;
         controlConnection = null;
+        metadata.invalidate();
+    }
+
+    @Override
+    public void invalidateMetadata() {
+        metadata.invalidate();
     }
 
     @Override
@@ -75,24 +124,87 @@ final class PostgresDbDriver implements DbDriver {
 
     @Override
     public void execute(final String sql, final boolean executeInControlDatabase) {
+        metadata.invalidateIfDdl(sql);
         final var connection = executeInControlDatabase ? controlConnection() : targetConnection();
         executeSql(connection, sql);
     }
 
+    @Override
+    public long executeUpdate(final String sql, final boolean executeInControlDatabase) {
+        metadata.invalidateIfDdl(sql);
+        final var connection = executeInControlDatabase ? controlConnection() : targetConnection();
+        return executeCountingRows(connection, sql);
+    }
+
+    @Override
+    public boolean supportsReconcile() {
+        return true;
+    }
+
+    @Override
+    public FixtureReconciliation reconcile(
+            final String tableName, final Iterator<Map<String, Object>> records, final int batchSize) {
+        try {
+            return reconciler(tableName, batchSize).reconcile(records);
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to reconcile records in " + tableName, sqle);
+        }
+    }
+
+    @Override
+    public void deleteRows(final String tableName, final List<Map<String, Object>> keys, final int batchSize) {
+        try {
+            reconciler(tableName, batchSize).delete(keys);
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to delete records from " + tableName, sqle);
+        }
+    }
+
+    @Override
+    public void beginTransaction() {
+        try {
+            targetConnection().setAutoCommit(false);
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to begin transaction", sqle);
+        }
+    }
+
+    @Override
+    public void commitTransaction() {
+        final var connection = targetConnection();
+        try {
+            connection.commit();
+            connection.setAutoCommit(true);
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to commit transaction", sqle);
+        }
+    }
+
+    @Override
+    public void rollbackTransaction() {
+        final var connection = targetConnection;
+        if (null == connection) {
+            return;
+        }
+        try {
+            connection.rollback();
+            connection.setAutoCommit(true);
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to rollback transaction", sqle);
+        }
+    }
+
     @Override
     public void preFixtureImport(final String tableName) {}
 
     @Override
     public void insert(final String tableName, final Map<String, Object> record) {
         final var columns = new ArrayList<>(record.keySet());
-        final var columnSql = String.join(
-                ", ", columns.stream().map(PostgresDbDriver::quoteIdentifier).toList());
-        final var placeholderSql =
-                String.join(", ", columns.stream().map(column -> "?").toList());
-        final var sql = "INSERT INTO " + tableName + " (" + columnSql + ") VALUES (" + placeholderSql + ")";
+        final var sql = BatchWriter.insertSql(tableName, columns, PostgresDbDriver::quoteIdentifier);
         try (var statement = targetConnection().prepareStatement(sql)) {
+            final var table = tableMetadata(tableName);
             for (int i = 0; i < columns.size(); i++) {
-                statement.setObject(i + 1, record.get(columns.get(i)));
+                BatchWriter.bind(statement, i + 1, record.get(columns.get(i)), table.sqlType(columns.get(i)));
             }
             statement.executeUpdate();
         } catch (final SQLException sqle) {
@@ -100,74 +212,451 @@ final class PostgresDbDriver implements DbDriver {
         }
     }
 
+    @Override
+    public void insertAll(final String tableName, final Iterator<Map<String, Object>> records, final int batchSize) {
+        final var table = tableMetadata(tableName);
+        try (var inserter = BatchWriter.inserts(
+                targetConnection(), tableName, PostgresDbDriver::quoteIdentifier, batchSize, table::sqlType)) {
+            while (records.hasNext()) {
+                inserter.add(records.next());
+            }
+            inserter.flush();
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to insert records into " + tableName, sqle);
+        }
+    }
+
     @Override
     public void postFixtureImport(final String tableName) {}
 
+    @Override
+    public boolean supportsBulkLoad() {
+        return true;
+    }
+
+    @Override
+    public void bulkLoad(final String tableName, final Iterator<Map<String, Object>> records, final int batchSize) {
+        final var loader = copyLoader(tableName, batchSize);
+        try {
+            while (records.hasNext()) {
+                loader.add(records.next());
+            }
+            loader.finish();
+        } catch (final SQLException sqle) {
+            loader.cancel(sqle);
+            throw new DatabaseException("Failed to bulk load records into " + tableName, sqle);
+        } catch (final RuntimeException e) {
+            loader.cancel(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void deferIndexes(final String tableName, final List<String> indexNames) {
+        final var resolved = parseTableName(tableName);
+        final var sql = "SELECT i.indexname, i.indexdef FROM pg_indexes i JOIN pg_index x"
+                + " ON x.indexrelid = (quote_ident(i.schemaname) || '.' || quote_ident(i.indexname))::regclass"
+                + " WHERE i.schemaname = ? AND i.tablename = ? AND NOT x.indisunique AND NOT x.indisprimary";
+        final var candidates = new LinkedHashMap<String, String>();
+        try (var statement = targetConnection().prepareStatement(sql)) {
+            statement.setString(1, resolved.schema());
+            statement.setString(2, resolved.table());
+            try (var resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    if (indexNames.contains(resultSet.getString(1))) {
+                        candidates.put(resultSet.getString(1), resultSet.getString(2));
+                    }
+                }
+            }
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to query indexes for " + tableName, sqle);
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+        if (!tableExists("public", "tblDeferredIndex")) {
+            execute(
+                    "CREATE TABLE \"tblDeferredIndex\"(\"TableName\" varchar(400) NOT NULL,\"IndexName\""
+                            + " varchar(255) NOT NULL,\"Definition\" text NOT NULL,"
+                            + "PRIMARY KEY(\"TableName\", \"IndexName\"))",
+                    false);
+        }
+        // Definitions are saved in the transaction that drops the indexes so an interrupted run can rebuild them
+        inTransaction("Failed to defer indexes for " + tableName, connection -> {
+            try (var save = connection.prepareStatement(SAVE_DEFERRED_INDEX_SQL)) {
+                for (final var entry : candidates.entrySet()) {
+                    save.setString(1, tableName);
+                    save.setString(2, entry.getKey());
+                    save.setString(3, entry.getValue());
+                    save.executeUpdate();
+                    executeSql(
+                            connection,
+                            "DROP INDEX " + quoteIdentifier(resolved.schema()) + '.' + quoteIdentifier(entry.getKey()));
+                }
+            }
+        });
+    }
+
+    @Override
+    public void rebuildIndexes(final String tableName) {
+        if (!tableExists("public", "tblDeferredIndex")) {
+            return;
+        }
+        // Includes indexes dropped by an earlier run that did not get to rebuild them
+        final var definitions = new LinkedHashMap<String, String>();
+        final var sql = "SELECT \"IndexName\", \"Definition\" FROM \"tblDeferredIndex\" WHERE \"TableName\" = ?"
+                + " ORDER BY \"IndexName\"";
+        try (var statement = targetConnection().prepareStatement(sql)) {
+            statement.setString(1, tableName);
+            try (var resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    definitions.put(resultSet.getString(1), resultSet.getString(2));
+                }
+            }
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to query deferred indexes for " + tableName, sqle);
+        }
+        @Nullable RuntimeException failure = null;
+        for (final var entry : definitions.entrySet()) {
+            try {
+                inTransaction("Failed to rebuild index " + entry.getKey() + " on " + tableName, connection -> {
+                    executeSql(connection, entry.getValue());
+                    try (var delete = connection.prepareStatement(DELETE_DEFERRED_INDEX_SQL)) {
+                        delete.setString(1, tableName);
+                        delete.setString(2, entry.getKey());
+                        delete.executeUpdate();
+                    }
+                });
+            } catch (final RuntimeException e) {
+                if (null == failure) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (null != failure) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public boolean supportsStreamingImport() {
+        return true;
+    }
+
+    @Override
+    public long streamImport(final DatabaseConnection source, final String tableName, final int batchSize) {
+        try (var sourceConnection = connectionFactory.connect(source, false)) {
+            return new PostgresStreamingImport(
+                            sourceConnection,
+                            copyLoader(tableName, batchSize),
+                            tableName,
+                            tableMetadata(tableName).columns(),
+                            PostgresDbDriver::quoteIdentifier,
+                            batchSize)
+                    .run();
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to stream import into " + tableName, sqle);
+        }
+    }
+
+    @Override
+    public void streamSequenceImport(final DatabaseConnection source, final String sequenceName) {
+        try (var sourceConnection = connectionFactory.connect(source, false);
+                var query = sourceConnection.createStatement();
+                var resultSet = query.executeQuery("SELECT last_value, is_called FROM " + sequenceName)) {
+            if (!resultSet.next()) {
+                throw new DatabaseException("Source sequence " + sequenceName + " returned no value");
+            }
+            try (var statement = targetConnection().prepareStatement("SELECT setval(CAST(? AS regclass), ?, ?)")) {
+                statement.setString(1, sequenceName);
+                statement.setLong(2, resultSet.getLong(1));
+                statement.setBoolean(3, resultSet.getBoolean(2));
+                statement.execute();
+            }
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to stream import sequence " + sequenceName, sqle);
+        }
+    }
+
     @Override
     public void updateSequence(final String sequenceName, final long value) {
         execute("ALTER SEQUENCE " + sequenceName + " RESTART WITH " + value, false);
     }
 
+    @Override
+    public boolean executesImportSqlInControlDatabase() {
+        // PostgreSQL can not query across databases so import SQL runs on the target session and its replication role
+        return false;
+    }
+
+    @Override
+    public void preDatabaseImport(final DatabaseMetadata database, final ImportConfig importConfig) {
+        importedTables.clear();
+        if (database.importReplicaRole()) {
+            enableReplicaRole();
+        }
+    }
+
+    @Override
+    public void abortDatabaseImport(final DatabaseMetadata database, final ImportConfig importConfig) {
+        importedTables.clear();
+        restoreReplicationRole();
+    }
+
     @Override
     public void preTableImport(
-            final DatabaseMetadata database, final ImportConfig importConfig, final String tableName) {}
+            final DatabaseMetadata database, final ImportConfig importConfig, final String tableName) {
+        if (database.importReplicaRole()) {
+            // Parallel import sessions do not see preDatabaseImport so the role is enabled on first use
+            enableReplicaRole();
+        }
+        if (database.importUnloggedTables() && !isReferencedByOtherTables(tableName)) {
+            execute("ALTER TABLE " + tableName + " SET UNLOGGED", false);
+            unloggedTables.add(tableName);
+        }
+    }
 
     @Override
     public void postTableImport(
-            final DatabaseMetadata database, final ImportConfig importConfig, final String tableName) {}
+            final DatabaseMetadata database, final ImportConfig importConfig, final String tableName) {
+        restoreLogged(tableName);
+    }
+
+    @Override
+    public void abortTableImport(
+            final DatabaseMetadata database, final ImportConfig importConfig, final String tableName) {
+        restoreLogged(tableName);
+    }
 
     @Override
     public void postDataModuleImport(
             final DatabaseMetadata database,
             final ImportConfig importConfig,
             final String moduleName,
-            final List<String> tablesInOrder) {}
+            final List<String> tablesInOrder) {
+        if (database.importReplicaRole()) {
+            importedTables.addAll(tablesInOrder);
+        }
+    }
 
     @Override
-    public void postDatabaseImport(final DatabaseMetadata database, final ImportConfig importConfig) {}
+    public Map<String, Long> approximateRowCounts(final DatabaseConnection source, final List<String> tableNames) {
+        final var rowCounts = new LinkedHashMap<String, Long>();
+        try (var sourceConnection = connectionFactory.connect(source, false);
+                var statement = sourceConnection.prepareStatement(
+                        "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = CAST(? AS regclass)")) {
+            for (final var tableName : tableNames) {
+                statement.setString(1, tableName);
+                try (var resultSet = statement.executeQuery()) {
+                    // Tables that have never been analyzed report -1 tuples
+                    if (resultSet.next() && resultSet.getLong(1) >= 0) {
+                        rowCounts.put(tableName, resultSet.getLong(1));
+                    }
+                }
+            }
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to query source row counts", sqle);
+        }
+        return rowCounts;
+    }
 
     @Override
-    public List<String> columnNamesForTable(final String tableName) {
-        final var resolved = parseTableName(tableName);
-        final var sql =
-                "SELECT column_name FROM information_schema.columns WHERE table_schema = ? AND table_name = ? ORDER BY"
-                        + " ordinal_position";
-        final var columns = new ArrayList<String>();
+    public Map<String, String> sourceFingerprints(final DatabaseConnection source, final List<String> tableNames) {
+        try (var sourceConnection = connectionFactory.connect(source, false)) {
+            return fingerprints(sourceConnection, tableNames);
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to query source table fingerprints", sqle);
+        }
+    }
+
+    @Override
+    public Map<String, String> targetFingerprints(final List<String> tableNames) {
+        try {
+            return fingerprints(targetConnection(), tableNames);
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to query table fingerprints", sqle);
+        }
+    }
+
+    private static Map<String, String> fingerprints(final Connection connection, final List<String> tableNames)
+            throws SQLException {
+        final var fingerprints = new LinkedHashMap<String, String>();
+        try (var statement = connection.createStatement()) {
+            for (final var tableName : tableNames) {
+                // Summing the leading 64 bits of each row's md5 is independent of row order and needs no sort
+                try (var resultSet = statement.executeQuery("SELECT COUNT(*), COALESCE(SUM(CAST(CAST('x' ||"
+                        + " SUBSTRING(md5(CAST(T AS TEXT)), 1, 16) AS BIT(64)) AS BIGINT)), 0) FROM " + tableName
+                        + " T")) {
+                    if (resultSet.next()) {
+                        fingerprints.put(tableName, resultSet.getLong(1) + ":" + resultSet.getString(2));
+                    }
+                }
+            }
+        }
+        return fingerprints;
+    }
+
+    @Override
+    public Map<String, ImportFingerprint> importFingerprints(final String importKey) {
+        final var fingerprints = new LinkedHashMap<String, ImportFingerprint>();
+        if (!tableExists("public", "tblImportFingerprint")) {
+            return fingerprints;
+        }
+        final var sql = "SELECT \"TableName\", \"SourceDatabase\", \"SourceFingerprint\", \"TargetFingerprint\""
+                + " FROM \"tblImportFingerprint\" WHERE \"ImportKey\" = ?";
         try (var statement = targetConnection().prepareStatement(sql)) {
-            statement.setString(1, resolved.schema());
-            statement.setString(2, resolved.table());
+            statement.setString(1, importKey);
             try (var resultSet = statement.executeQuery()) {
                 while (resultSet.next()) {
-                    columns.add(quoteIdentifier(resultSet.getString(1)));
+                    fingerprints.put(
+                            resultSet.getString(1),
+                            new ImportFingerprint(
+                                    resultSet.getString(2), resultSet.getString(3), resultSet.getString(4)));
                 }
             }
         } catch (final SQLException sqle) {
-            throw new DatabaseException("Failed to query column metadata for " + tableName, sqle);
+            throw new DatabaseException("Failed to query import fingerprints", sqle);
         }
-        return List.copyOf(columns);
+        return fingerprints;
     }
 
     @Override
-    public List<String> primaryKeyColumnNamesForTable(final String tableName) {
-        final var resolved = parseTableName(tableName);
-        final var sql = "SELECT kcu.column_name FROM information_schema.table_constraints tc "
-                + "JOIN information_schema.key_column_usage kcu ON kcu.constraint_catalog = tc.constraint_catalog "
-                + "AND kcu.constraint_schema = tc.constraint_schema AND kcu.constraint_name = tc.constraint_name "
-                + "WHERE tc.constraint_type = 'PRIMARY KEY' AND tc.table_schema = ? AND tc.table_name = ? "
-                + "ORDER BY kcu.column_name";
-        final var columns = new ArrayList<String>();
+    public void setupImportFingerprints() {
+        if (!tableExists("public", "tblImportFingerprint")) {
+            execute(
+                    "CREATE TABLE \"tblImportFingerprint\"(\"ImportKey\" varchar(100) NOT NULL,\"TableName\""
+                            + " varchar(400) NOT NULL,\"SourceDatabase\" varchar(128) NOT NULL,\"SourceFingerprint\""
+                            + " varchar(100) NOT NULL,\"TargetFingerprint\" varchar(100) NOT NULL,"
+                            + "PRIMARY KEY(\"ImportKey\", \"TableName\"))",
+                    false);
+        }
+    }
+
+    @Override
+    public void recordImportFingerprint(
+            final String importKey, final String tableName, final ImportFingerprint fingerprint) {
+        final var sql = "INSERT INTO \"tblImportFingerprint\"(\"ImportKey\",\"TableName\",\"SourceDatabase\","
+                + "\"SourceFingerprint\",\"TargetFingerprint\") VALUES (?, ?, ?, ?, ?)"
+                + " ON CONFLICT (\"ImportKey\", \"TableName\") DO UPDATE SET"
+                + " \"SourceDatabase\" = EXCLUDED.\"SourceDatabase\","
+                + " \"SourceFingerprint\" = EXCLUDED.\"SourceFingerprint\","
+                + " \"TargetFingerprint\" = EXCLUDED.\"TargetFingerprint\"";
         try (var statement = targetConnection().prepareStatement(sql)) {
-            statement.setString(1, resolved.schema());
-            statement.setString(2, resolved.table());
+            statement.setString(1, importKey);
+            statement.setString(2, tableName);
+            statement.setString(3, fingerprint.sourceDatabase());
+            statement.setString(4, fingerprint.source());
+            statement.setString(5, fingerprint.target());
+            statement.executeUpdate();
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to record import fingerprint for " + tableName, sqle);
+        }
+    }
+
+    @Override
+    public void truncateTables(final List<String> tableNames) {
+        if (!tableNames.isEmpty()) {
+            execute("TRUNCATE TABLE " + String.join(", ", tableNames) + " RESTART IDENTITY", false);
+        }
+    }
+
+    @Override
+    public void postDatabaseImport(final DatabaseMetadata database, final ImportConfig importConfig) {
+        restoreReplicationRole();
+        final var tableNames = List.copyOf(importedTables);
+        importedTables.clear();
+        validateForeignKeys(tableNames);
+    }
+
+    private void enableReplicaRole() {
+        if (null == replicationRoleToRestore) {
+            try (var statement = targetConnection().createStatement();
+                    var resultSet = statement.executeQuery("SHOW session_replication_role")) {
+                replicationRoleToRestore = resultSet.next() ? resultSet.getString(1) : "origin";
+            } catch (final SQLException sqle) {
+                throw new DatabaseException("Failed to query session replication role", sqle);
+            }
+            execute("SET session_replication_role = replica", false);
+        }
+    }
+
+    private void restoreReplicationRole() {
+        final var role = replicationRoleToRestore;
+        if (null != role) {
+            replicationRoleToRestore = null;
+            execute("SET session_replication_role = " + role, false);
+        }
+    }
+
+    private void restoreLogged(final String tableName) {
+        if (unloggedTables.remove(tableName)) {
+            execute("ALTER TABLE " + tableName + " SET LOGGED", false);
+        }
+    }
+
+    private boolean isReferencedByOtherTables(final String tableName) {
+        // PostgreSQL rejects an unlogged table that is referenced by a logged table
+        final var sql = "SELECT COUNT(*) FROM pg_constraint WHERE contype = 'f' AND confrelid = CAST(? AS regclass)"
+                + " AND conrelid <> confrelid";
+        try (var statement = targetConnection().prepareStatement(sql)) {
+            statement.setString(1, tableName);
             try (var resultSet = statement.executeQuery()) {
-                while (resultSet.next()) {
-                    columns.add(quoteIdentifier(resultSet.getString(1)));
+                return resultSet.next() && resultSet.getLong(1) > 0;
+            }
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to query foreign keys referencing " + tableName, sqle);
+        }
+    }
+
+    private void validateForeignKeys(final List<String> tableNames) {
+        final var constraints = new LinkedHashMap<String, String>();
+        final var sql = "SELECT CAST(conrelid AS regclass), quote_ident(conname), pg_get_constraintdef(oid)"
+                + " FROM pg_constraint WHERE contype = 'f'"
+                + " AND (conrelid = CAST(? AS regclass) OR confrelid = CAST(? AS regclass))";
+        try (var statement = targetConnection().prepareStatement(sql)) {
+            for (final var tableName : tableNames) {
+                statement.setString(1, tableName);
+                statement.setString(2, tableName);
+                try (var resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        final var table = resultSet.getString(1);
+                        final var name = resultSet.getString(2);
+                        constraints.put(
+                                table + "." + name,
+                                "ALTER TABLE " + table + " DROP CONSTRAINT " + name + ", ADD CONSTRAINT " + name + " "
+                                        + resultSet.getString(3));
+                    }
                 }
             }
         } catch (final SQLException sqle) {
-            throw new DatabaseException("Failed to query primary key metadata for " + tableName, sqle);
+            throw new DatabaseException("Failed to query foreign keys of imported tables", sqle);
+        }
+        // Re-adding a foreign key checks every existing row with a single query rather than a trigger per row
+        for (final var statement : constraints.values()) {
+            execute(statement, false);
         }
-        return List.copyOf(columns);
+    }
+
+    @Override
+    public List<String> columnNamesForTable(final String tableName) {
+        return tableMetadata(tableName).columns().stream()
+                .map(PostgresDbDriver::quoteIdentifier)
+                .toList();
+    }
+
+    @Override
+    public List<String> primaryKeyColumnNamesForTable(final String tableName) {
+        return tableMetadata(tableName).primaryKey().stream()
+                .map(PostgresDbDriver::quoteIdentifier)
+                .toList();
+    }
+
+    @Override
+    public Map<String, Set<String>> foreignKeyDependencies(final List<String> tableNames) {
+        return ForeignKeyGraph.dependencies(
+                tableNames, tableName -> ForeignKeyGraph.referencedTables(tableMetadata(tableName)));
     }
 
     @Override
@@ -205,7 +694,13 @@ final class PostgresDbDriver implements DbDriver {
         if (!tableExists("public", "tblMigration")) {
             execute(
                     "CREATE TABLE \"tblMigration\"(\"Namespace\" varchar(50),\"Migration\" varchar(255),\"AppliedAt\""
-                            + " timestamp)",
+                            + " timestamp,\"DurationMs\" bigint,\"RowCount\" bigint,\"Checksum\" varchar(64))",
+                    false);
+        } else if (!columnExists("public", "tblMigration", "DurationMs")) {
+            // Tables created by earlier releases gain the timing columns, leaving existing rows untimed
+            execute(
+                    "ALTER TABLE \"tblMigration\" ADD COLUMN \"DurationMs\" bigint,ADD COLUMN \"RowCount\" bigint,"
+                            + "ADD COLUMN \"Checksum\" varchar(64)",
                     false);
         }
     }
@@ -230,9 +725,7 @@ final class PostgresDbDriver implements DbDriver {
 
     @Override
     public void markMigrationAsRun(final String namespace, final String migrationName) {
-        final var sql = "INSERT INTO \"tblMigration\"(\"Namespace\",\"Migration\",\"AppliedAt\") VALUES (?, ?,"
-                + " current_timestamp)";
-        try (var statement = targetConnection().prepareStatement(sql)) {
+        try (var statement = targetConnection().prepareStatement(MARK_MIGRATION_SQL)) {
             statement.setString(1, namespace);
             statement.setString(2, migrationName);
             statement.executeUpdate();
@@ -241,6 +734,87 @@ final class PostgresDbDriver implements DbDriver {
         }
     }
 
+    @Override
+    public void markMigrationAsRun(
+            final String namespace, final String migrationName, final MigrationExecution execution) {
+        try (var statement = targetConnection().prepareStatement(MARK_MIGRATION_EXECUTION_SQL)) {
+            statement.setString(1, namespace);
+            statement.setString(2, migrationName);
+            statement.setLong(3, execution.durationMillis());
+            statement.setLong(4, execution.rowCount());
+            statement.setString(5, execution.checksum());
+            statement.executeUpdate();
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to record migration", sqle);
+        }
+    }
+
+    @Override
+    public Set<String> appliedMigrations(final String namespace, final List<String> migrationNames) {
+        final var applied = new HashSet<String>();
+        if (!tableExists("public", "tblMigration")) {
+            return applied;
+        }
+        final var sql = "SELECT \"Migration\" FROM \"tblMigration\" WHERE \"Namespace\" = ?";
+        try (var statement = targetConnection().prepareStatement(sql)) {
+            statement.setString(1, namespace);
+            try (var resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    applied.add(resultSet.getString(1));
+                }
+            }
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to query migration state", sqle);
+        }
+        return applied;
+    }
+
+    @Override
+    public void markMigrationsAsRun(final String namespace, final List<String> migrationNames) {
+        try (var statement = targetConnection().prepareStatement(MARK_MIGRATION_SQL)) {
+            var pending = 0;
+            for (final var migrationName : migrationNames) {
+                statement.setString(1, namespace);
+                statement.setString(2, migrationName);
+                statement.addBatch();
+                if (++pending == MIGRATION_BATCH_SIZE) {
+                    statement.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                statement.executeBatch();
+            }
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to record migrations", sqle);
+        }
+    }
+
+    @Override
+    public List<MigrationRecord> migrationHistory(final String namespace) {
+        final var history = new ArrayList<MigrationRecord>();
+        // History is read without setupMigrations so reports never alter the table of the database they inspect
+        if (!tableExists("public", "tblMigration")) {
+            return history;
+        }
+        final var timing = columnExists("public", "tblMigration", "DurationMs")
+                ? "\"DurationMs\",\"RowCount\",\"Checksum\""
+                : "NULL,NULL,NULL";
+        final var sql = "SELECT \"Migration\",\"AppliedAt\"," + timing + " FROM \"tblMigration\""
+                + " WHERE \"Namespace\" = ? ORDER BY \"AppliedAt\",\"Migration\"";
+        try (var statement = targetConnection().prepareStatement(sql)) {
+            statement.setString(1, namespace);
+            try (var resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    history.add(MigrationRecord.read(resultSet));
+                }
+            }
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to query migration history", sqle);
+        }
+        return history;
+    }
+
     @Override
     public String generateStandardImportSql(
             final String tableName,
@@ -290,6 +864,21 @@ final class PostgresDbDriver implements DbDriver {
         }
     }
 
+    private boolean columnExists(final String schemaName, final String tableName, final String columnName) {
+        final var sql = "SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = ? AND table_name = ?"
+                + " AND column_name = ?";
+        try (var statement = targetConnection().prepareStatement(sql)) {
+            statement.setString(1, schemaName);
+            statement.setString(2, tableName);
+            statement.setString(3, columnName);
+            try (var resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getLong(1) > 0;
+            }
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to query column metadata", sqle);
+        }
+    }
+
     private boolean tableExists(final String schemaName, final String tableName) {
         final var sql = "SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = ? AND table_name = ?";
         try (var statement = targetConnection().prepareStatement(sql)) {
@@ -303,6 +892,79 @@ final class PostgresDbDriver implements DbDriver {
         }
     }
 
+    private void inTransaction(final String message, final SqlAction action) {
+        final var connection = targetConnection();
+        try {
+            // Joins a transaction that is already open rather than committing it early
+            if (!connection.getAutoCommit()) {
+                action.run(connection);
+                return;
+            }
+            connection.setAutoCommit(false);
+            try {
+                action.run(connection);
+                connection.commit();
+            } catch (final SQLException | RuntimeException e) {
+                try {
+                    connection.rollback();
+                } catch (final SQLException sqle) {
+                    e.addSuppressed(sqle);
+                }
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (final SQLException sqle) {
+            throw new DatabaseException(message, sqle);
+        }
+    }
+
+    private FixtureReconciler reconciler(final String tableName, final int batchSize) {
+        return new FixtureReconciler(
+                targetConnection(),
+                tableName,
+                PostgresDbDriver::quoteIdentifier,
+                tableMetadata(tableName),
+                true,
+                batchSize);
+    }
+
+    private SchemaMetadataCache.TableMetadata tableMetadata(final String tableName) {
+        final var resolved = parseTableName(tableName);
+        return metadata.table(resolved.schema(), resolved.table());
+    }
+
+    private Map<String, SchemaMetadataCache.TableMetadata> loadSchemaMetadata(final String schemaName)
+            throws SQLException {
+        final var sql = "SELECT 'C', c.table_name::text, c.column_name::text, c.udt_name::text, "
+                + "CASE WHEN c.is_identity = 'YES' THEN 1 ELSE 0 END"
+                + " + CASE WHEN c.is_generated = 'ALWAYS' THEN 2 ELSE 0 END, c.ordinal_position::int "
+                + "FROM information_schema.columns c WHERE c.table_schema = ? "
+                + "UNION ALL "
+                + "SELECT 'P', tc.table_name::text, kcu.column_name::text, NULL::text, 0, 0 "
+                + "FROM information_schema.table_constraints tc "
+                + "JOIN information_schema.key_column_usage kcu ON kcu.constraint_catalog = tc.constraint_catalog "
+                + "AND kcu.constraint_schema = tc.constraint_schema AND kcu.constraint_name = tc.constraint_name "
+                + "WHERE tc.constraint_type = 'PRIMARY KEY' AND tc.table_schema = ? "
+                + "UNION ALL "
+                + "SELECT 'F', C.relname::text, R.relname::text, RN.nspname::text, 0, 0 "
+                + "FROM pg_constraint K "
+                + "JOIN pg_class C ON C.oid = K.conrelid "
+                + "JOIN pg_namespace CN ON CN.oid = C.relnamespace "
+                + "JOIN pg_class R ON R.oid = K.confrelid "
+                + "JOIN pg_namespace RN ON RN.oid = R.relnamespace "
+                + "WHERE K.contype = 'f' AND CN.nspname = ? "
+                + "ORDER BY 1, 2, 6, 3";
+        try (var statement = targetConnection().prepareStatement(sql)) {
+            statement.setString(1, schemaName);
+            statement.setString(2, schemaName);
+            statement.setString(3, schemaName);
+            try (var resultSet = statement.executeQuery()) {
+                return SchemaMetadataCache.read(resultSet, SQL_TYPES);
+            }
+        }
+    }
+
     private static SchemaAndTable parseTableName(final String tableName) {
         String value = tableName.trim().replace("[", "").replace("]", "").replace("\"", "");
         final var separator = value.lastIndexOf('.');
@@ -319,6 +981,16 @@ final class PostgresDbDriver implements DbDriver {
         return targetConnection;
     }
 
+    private PostgresCopyLoader copyLoader(final String tableName, final int batchSize) {
+        final CopyManager copyManager;
+        try {
+            copyManager = targetConnection().unwrap(PGConnection.class).getCopyAPI();
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to access PostgreSQL COPY API", sqle);
+        }
+        return new PostgresCopyLoader(copyManager, tableName, PostgresDbDriver::quoteIdentifier, batchSize);
+    }
+
     private Connection controlConnection() {
         if (null == controlConnection) {
             controlConnection = connect(true);
@@ -346,6 +1018,23 @@ final class PostgresDbDriver implements DbDriver {
         }
     }
 
+    private static long executeCountingRows(final Connection connection, final String sql) {
+        try (var statement = connection.createStatement()) {
+            var rowCount = 0L;
+            var hasResultSet = statement.execute(sql);
+            while (true) {
+                final var updateCount = hasResultSet ? 0 : statement.getLargeUpdateCount();
+                if (-1 == updateCount) {
+                    return rowCount;
+                }
+                rowCount += updateCount;
+                hasResultSet = statement.getMoreResults();
+            }
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to execute SQL", sqle);
+        }
+    }
+
     private static String quoteIdentifier(final String value) {
         return '"' + value.replace("\"", "\"\"") + '"';
     }
@@ -353,7 +1042,8 @@ final class PostgresDbDriver implements DbDriver {
     private static Connection openPostgresConnection(final DatabaseConnection config, final boolean controlDatabase)
             throws SQLException {
         final var database = controlDatabase ? "postgres" : config.database();
-        final var jdbcUrl = "jdbc:postgresql://" + config.host() + ':' + config.port() + '/' + database;
+        final var jdbcUrl = "jdbc:postgresql://" + config.host() + ':' + config.port() + '/' + database
+                + "?reWriteBatchedInserts=true";
         return DriverManager.getConnection(jdbcUrl, config.username(), config.password());
     }
 
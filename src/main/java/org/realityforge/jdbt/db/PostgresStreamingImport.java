@@ -0,0 +1,146 @@
+package org.realityforge.jdbt.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.function.UnaryOperator;
+import org.jspecify.annotations.Nullable;
+
+final class PostgresStreamingImport {
+    static final int DEFAULT_QUEUE_CHUNKS = 2;
+
+    private record Chunk(List<Map<String, Object>> rows, boolean last, @Nullable Throwable failure) {}
+
+    private final Connection source;
+    private final PostgresCopyLoader loader;
+    private final String tableName;
+    private final List<String> columns;
+    private final UnaryOperator<String> quoter;
+    private final int batchSize;
+    private final int queueChunks;
+
+    PostgresStreamingImport(
+            final Connection source,
+            final PostgresCopyLoader loader,
+            final String tableName,
+            final List<String> columns,
+            final UnaryOperator<String> quoter,
+            final int batchSize) {
+        this(source, loader, tableName, columns, quoter, batchSize, DEFAULT_QUEUE_CHUNKS);
+    }
+
+    PostgresStreamingImport(
+            final Connection source,
+            final PostgresCopyLoader loader,
+            final String tableName,
+            final List<String> columns,
+            final UnaryOperator<String> quoter,
+            final int batchSize,
+            final int queueChunks) {
+        if (batchSize < 1 || queueChunks < 1) {
+            throw new IllegalArgumentException(
+                    "Invalid streaming import bounds: batchSize=" + batchSize + ", queueChunks=" + queueChunks);
+        }
+        this.source = source;
+        this.loader = loader;
+        this.tableName = tableName;
+        this.columns = List.copyOf(columns);
+        this.quoter = quoter;
+        this.batchSize = batchSize;
+        this.queueChunks = queueChunks;
+    }
+
+    long run() throws SQLException {
+        final var queue = new ArrayBlockingQueue<Chunk>(queueChunks);
+        final var executor = Executors.newSingleThreadExecutor(runnable -> {
+            final var thread = new Thread(runnable, "jdbt-import-reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var count = 0L;
+        try {
+            executor.execute(() -> produce(queue));
+            while (true) {
+                final var chunk = take(queue);
+                for (final var row : chunk.rows()) {
+                    loader.add(row);
+                    count++;
+                }
+                if (chunk.last()) {
+                    break;
+                }
+            }
+            loader.finish();
+        } catch (final SQLException | RuntimeException e) {
+            loader.cancel(e);
+            throw e;
+        } finally {
+            executor.shutdownNow();
+        }
+        return count;
+    }
+
+    String selectSql() {
+        return "SELECT " + String.join(", ", columns.stream().map(quoter).toList()) + " FROM " + tableName;
+    }
+
+    private void produce(final BlockingQueue<Chunk> queue) {
+        try {
+            try {
+                // The PostgreSQL driver only honours fetchSize inside a transaction
+                source.setAutoCommit(false);
+                source.setReadOnly(true);
+                try (var statement = source.createStatement()) {
+                    statement.setFetchSize(batchSize);
+                    try (var resultSet = statement.executeQuery(selectSql())) {
+                        var rows = new ArrayList<Map<String, Object>>(batchSize);
+                        while (resultSet.next()) {
+                            final var row = new LinkedHashMap<String, Object>();
+                            for (int i = 0; i < columns.size(); i++) {
+                                row.put(columns.get(i), resultSet.getObject(i + 1));
+                            }
+                            rows.add(row);
+                            if (rows.size() >= batchSize) {
+                                queue.put(new Chunk(rows, false, null));
+                                rows = new ArrayList<>(batchSize);
+                            }
+                        }
+                        queue.put(new Chunk(rows, true, null));
+                    }
+                }
+                source.rollback();
+            } catch (final SQLException | RuntimeException | Error e) {
+                queue.put(new Chunk(List.of(), true, e));
+            }
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Chunk take(final BlockingQueue<Chunk> queue) throws SQLException {
+        final Chunk chunk;
+        try {
+            chunk = queue.take();
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseException("Interrupted while reading rows for " + tableName, ie);
+        }
+        final var failure = chunk.failure();
+        if (failure instanceof SQLException e) {
+            throw e;
+        } else if (failure instanceof RuntimeException e) {
+            throw e;
+        } else if (failure instanceof Error e) {
+            throw e;
+        } else if (null != failure) {
+            throw new DatabaseException("Failed to read rows for " + tableName, failure);
+        }
+        return chunk;
+    }
+}
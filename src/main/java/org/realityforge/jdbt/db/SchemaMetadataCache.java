@@ -0,0 +1,163 @@
+package org.realityforge.jdbt.db;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+final class SchemaMetadataCache {
+    // Only statements that start with a schema changing keyword count so keywords in literals or names do not match
+    private static final Pattern DDL_PATTERN = Pattern.compile("(?im)(?:^|;)\\s*(?:EXEC(?:UTE)?\\s+)?"
+            + "(?:CREATE|ALTER|DROP|TRUNCATE|RENAME|SP_RENAME|SELECT\\b[^;]*?\\bINTO)\\b");
+
+    @FunctionalInterface
+    interface Loader {
+        Map<String, TableMetadata> load(String schemaName) throws SQLException;
+    }
+
+    record TableMetadata(
+            List<String> columns,
+            Map<String, Integer> columnTypes,
+            List<String> identityColumns,
+            List<String> generatedColumns,
+            List<String> primaryKey,
+            Set<String> referencedTables) {
+        static final TableMetadata EMPTY =
+                new TableMetadata(List.of(), Map.of(), List.of(), List.of(), List.of(), Set.of());
+
+        TableMetadata {
+            columns = List.copyOf(columns);
+            columnTypes = Map.copyOf(columnTypes);
+            identityColumns = List.copyOf(identityColumns);
+            generatedColumns = List.copyOf(generatedColumns);
+            primaryKey = List.copyOf(primaryKey);
+            referencedTables = Collections.unmodifiableSet(new LinkedHashSet<>(referencedTables));
+        }
+
+        boolean hasIdentity() {
+            return !identityColumns.isEmpty();
+        }
+
+        int sqlType(final String column) {
+            final var sqlType = columnTypes.get(column);
+            if (null != sqlType) {
+                return sqlType;
+            }
+            for (final var entry : columnTypes.entrySet()) {
+                if (entry.getKey().equalsIgnoreCase(column)) {
+                    return entry.getValue();
+                }
+            }
+            return Types.OTHER;
+        }
+    }
+
+    private final Loader loader;
+    private final boolean caseSensitive;
+    private final Map<String, Map<String, TableMetadata>> schemas = new HashMap<>();
+
+    SchemaMetadataCache(final Loader loader, final boolean caseSensitive) {
+        this.loader = loader;
+        this.caseSensitive = caseSensitive;
+    }
+
+    TableMetadata table(final String schemaName, final String tableName) {
+        final var schemaKey = key(schemaName);
+        var tables = schemas.get(schemaKey);
+        if (null == tables) {
+            final Map<String, TableMetadata> loaded;
+            try {
+                loaded = loader.load(schemaName);
+            } catch (final SQLException sqle) {
+                throw new DatabaseException("Failed to query schema metadata for " + schemaName, sqle);
+            }
+            tables = new HashMap<>();
+            for (final var entry : loaded.entrySet()) {
+                tables.put(key(entry.getKey()), entry.getValue());
+            }
+            schemas.put(schemaKey, tables);
+        }
+        return tables.getOrDefault(key(tableName), TableMetadata.EMPTY);
+    }
+
+    void invalidate() {
+        schemas.clear();
+    }
+
+    void invalidateIfDdl(final String sql) {
+        if (isDdl(sql)) {
+            invalidate();
+        }
+    }
+
+    static boolean isDdl(final String sql) {
+        return DDL_PATTERN.matcher(sql).find();
+    }
+
+    static Map<String, TableMetadata> read(final ResultSet resultSet, final Map<String, Integer> sqlTypes)
+            throws SQLException {
+        final var builders = new LinkedHashMap<String, Builder>();
+        while (resultSet.next()) {
+            final var kind = resultSet.getString(1);
+            final var builder = builders.computeIfAbsent(resultSet.getString(2), key -> new Builder());
+            final var name = resultSet.getString(3);
+            switch (kind) {
+                case "C" -> {
+                    builder.columns.add(name);
+                    final var typeName = resultSet.getString(4);
+                    final var sqlType = null == typeName ? null : sqlTypes.get(typeName.toLowerCase(Locale.ROOT));
+                    if (null != sqlType) {
+                        builder.columnTypes.put(name, sqlType);
+                    }
+                    // Bit 1 flags identity columns and bit 2 flags computed or otherwise generated columns
+                    final var flags = resultSet.getInt(5);
+                    if (0 != (flags & 1)) {
+                        builder.identityColumns.add(name);
+                    }
+                    if (0 != (flags & 2)) {
+                        builder.generatedColumns.add(name);
+                    }
+                }
+                case "P" -> builder.primaryKey.add(name);
+                case "F" -> builder.referencedTables.add(resultSet.getString(4) + '.' + name);
+                default -> throw new IllegalStateException("Unexpected schema metadata row kind " + kind);
+            }
+        }
+        final var tables = new LinkedHashMap<String, TableMetadata>();
+        for (final var entry : builders.entrySet()) {
+            final var builder = entry.getValue();
+            tables.put(
+                    entry.getKey(),
+                    new TableMetadata(
+                            builder.columns,
+                            builder.columnTypes,
+                            builder.identityColumns,
+                            builder.generatedColumns,
+                            builder.primaryKey,
+                            builder.referencedTables));
+        }
+        return tables;
+    }
+
+    private String key(final String name) {
+        return caseSensitive ? name : name.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Builder {
+        private final List<String> columns = new ArrayList<>();
+        private final Map<String, Integer> columnTypes = new HashMap<>();
+        private final List<String> identityColumns = new ArrayList<>();
+        private final List<String> generatedColumns = new ArrayList<>();
+        private final List<String> primaryKey = new ArrayList<>();
+        private final Set<String> referencedTables = new LinkedHashSet<>();
+    }
+}
@@ -0,0 +1,14 @@
+package org.realityforge.jdbt.db;
+
+public final class SqlBatchException extends RuntimeException {
+    private final int batchIndex;
+
+    public SqlBatchException(final int batchIndex, final Throwable cause) {
+        super("Failed to execute SQL batch " + (batchIndex + 1), cause);
+        this.batchIndex = batchIndex;
+    }
+
+    public int batchIndex() {
+        return batchIndex;
+    }
+}
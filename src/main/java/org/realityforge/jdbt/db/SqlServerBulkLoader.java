@@ -0,0 +1,163 @@
+package org.realityforge.jdbt.db;
+
+import com.microsoft.sqlserver.jdbc.ISQLServerBulkData;
+import com.microsoft.sqlserver.jdbc.SQLServerBulkCopy;
+import com.microsoft.sqlserver.jdbc.SQLServerBulkCopyOptions;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.UnaryOperator;
+import org.jspecify.annotations.Nullable;
+
+final class SqlServerBulkLoader {
+    private final Connection connection;
+    private final String tableName;
+    private final UnaryOperator<String> quoter;
+    private final int batchSize;
+
+    SqlServerBulkLoader(
+            final Connection connection,
+            final String tableName,
+            final UnaryOperator<String> quoter,
+            final int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive but was " + batchSize);
+        }
+        this.connection = connection;
+        this.tableName = tableName;
+        this.quoter = quoter;
+        this.batchSize = batchSize;
+    }
+
+    void load(final Iterator<Map<String, Object>> records) throws SQLException {
+        @Nullable Map<String, Object> next = records.hasNext() ? records.next() : null;
+        while (null != next) {
+            final var columns = List.copyOf(next.keySet());
+            final var data = new FixtureBulkData(columns, columnTypes(columns), next, records);
+            write(data);
+            next = data.remainder();
+        }
+    }
+
+    static SQLServerBulkCopyOptions options(final int batchSize) throws SQLException {
+        final var options = new SQLServerBulkCopyOptions();
+        options.setBatchSize(batchSize);
+        options.setBulkCopyTimeout(0);
+        options.setKeepIdentity(true);
+        options.setKeepNulls(true);
+        options.setTableLock(true);
+        options.setCheckConstraints(true);
+        options.setFireTriggers(true);
+        return options;
+    }
+
+    private void write(final FixtureBulkData data) throws SQLException {
+        try (var bulkCopy = new SQLServerBulkCopy(connection)) {
+            bulkCopy.setBulkCopyOptions(options(batchSize));
+            bulkCopy.setDestinationTableName(tableName);
+            for (int i = 0; i < data.columns.size(); i++) {
+                bulkCopy.addColumnMapping(i + 1, data.columns.get(i));
+            }
+            bulkCopy.writeToServer(data);
+        }
+    }
+
+    private List<ColumnType> columnTypes(final List<String> columns) throws SQLException {
+        final var sql = "SELECT TOP 0 " + String.join(", ", columns.stream().map(quoter).toList()) + " FROM "
+                + tableName;
+        try (var statement = connection.createStatement();
+                var resultSet = statement.executeQuery(sql)) {
+            final var metadata = resultSet.getMetaData();
+            final var types = new ArrayList<ColumnType>(columns.size());
+            for (int i = 1; i <= columns.size(); i++) {
+                types.add(new ColumnType(metadata.getColumnType(i), metadata.getPrecision(i), metadata.getScale(i)));
+            }
+            return List.copyOf(types);
+        }
+    }
+
+    record ColumnType(int sqlType, int precision, int scale) {}
+
+    @SuppressWarnings("serial")
+    static final class FixtureBulkData implements ISQLServerBulkData {
+        private final List<String> columns;
+        private final List<ColumnType> types;
+        private final Iterator<Map<String, Object>> records;
+        private @Nullable Map<String, Object> lookahead;
+        private Object @Nullable [] current;
+
+        FixtureBulkData(
+                final List<String> columns,
+                final List<ColumnType> types,
+                final Map<String, Object> first,
+                final Iterator<Map<String, Object>> records) {
+            this.columns = List.copyOf(columns);
+            this.types = List.copyOf(types);
+            this.records = records;
+            lookahead = first;
+        }
+
+        @Nullable Map<String, Object> remainder() {
+            return lookahead;
+        }
+
+        @Override
+        public Set<Integer> getColumnOrdinals() {
+            final var ordinals = new TreeSet<Integer>();
+            for (int i = 1; i <= columns.size(); i++) {
+                ordinals.add(i);
+            }
+            return ordinals;
+        }
+
+        @Override
+        public String getColumnName(final int column) {
+            return columns.get(column - 1);
+        }
+
+        @Override
+        public int getColumnType(final int column) {
+            return types.get(column - 1).sqlType();
+        }
+
+        @Override
+        public int getPrecision(final int column) {
+            return types.get(column - 1).precision();
+        }
+
+        @Override
+        public int getScale(final int column) {
+            return types.get(column - 1).scale();
+        }
+
+        @Override
+        public Object[] getRowData() {
+            final var row = current;
+            if (null == row) {
+                throw new IllegalStateException("Row data requested before next() for " + columns);
+            }
+            return row;
+        }
+
+        @Override
+        public boolean next() {
+            final var record = lookahead;
+            if (null == record || !columns.equals(List.copyOf(record.keySet()))) {
+                current = null;
+                return false;
+            }
+            final var row = new Object[columns.size()];
+            for (int i = 0; i < columns.size(); i++) {
+                row[i] = JdbcValueConverter.convert(record.get(columns.get(i)), types.get(i).sqlType());
+            }
+            current = row;
+            lookahead = records.hasNext() ? records.next() : null;
+            return true;
+        }
+    }
+}
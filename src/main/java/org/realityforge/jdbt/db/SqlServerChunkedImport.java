@@ -0,0 +1,147 @@
+package org.realityforge.jdbt.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+final class SqlServerChunkedImport {
+    static final String CHECKPOINT_TABLE = "[dbo].[tblImportCheckpoint]";
+
+    private final Connection connection;
+    private final String tableName;
+    private final String targetTable;
+    private final String sourceTable;
+    private final List<String> columns;
+    private final String keyColumn;
+    private final int chunkSize;
+
+    SqlServerChunkedImport(
+            final Connection connection,
+            final String tableName,
+            final String targetDatabase,
+            final String sourceDatabase,
+            final List<String> columns,
+            final String keyColumn,
+            final int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive but was " + chunkSize);
+        }
+        this.connection = connection;
+        this.tableName = tableName;
+        targetTable = '[' + targetDatabase + "]." + tableName;
+        sourceTable = '[' + sourceDatabase + "]." + tableName;
+        this.columns = List.copyOf(columns);
+        this.keyColumn = keyColumn;
+        this.chunkSize = chunkSize;
+    }
+
+    int run(final boolean resume) throws SQLException {
+        var lastKey = resume ? checkpoint() : null;
+        if (resume && null == lastKey) {
+            execute("DELETE FROM " + tableName);
+        } else if (!resume) {
+            clearCheckpoint();
+        }
+        var chunks = 0;
+        while (true) {
+            final var upperKey = upperKey(lastKey);
+            if (null == upperKey) {
+                break;
+            }
+            copyChunk(lastKey, upperKey);
+            lastKey = upperKey;
+            chunks++;
+        }
+        clearCheckpoint();
+        return chunks;
+    }
+
+    String upperKeySql(final boolean first) {
+        return "SELECT MAX(" + keyColumn + ") FROM (SELECT TOP (" + chunkSize + ") " + keyColumn + " FROM "
+                + sourceTable + (first ? "" : " WHERE " + keyColumn + " > ?") + " ORDER BY " + keyColumn
+                + ") AS Chunk";
+    }
+
+    String copySql(final boolean first) {
+        final var columnList = String.join(", ", columns);
+        return "INSERT INTO " + targetTable + '(' + columnList + ")\n  SELECT " + columnList + " FROM " + sourceTable
+                + " WHERE " + (first ? "" : keyColumn + " > ? AND ") + keyColumn + " <= ?";
+    }
+
+    private @Nullable Long checkpoint() throws SQLException {
+        try (var statement =
+                connection.prepareStatement("SELECT [LastKey] FROM " + CHECKPOINT_TABLE + " WHERE [TableName] = ?")) {
+            statement.setString(1, tableName);
+            try (var resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : null;
+            }
+        }
+    }
+
+    private @Nullable Long upperKey(final @Nullable Long lastKey) throws SQLException {
+        try (var statement = connection.prepareStatement(upperKeySql(null == lastKey))) {
+            if (null != lastKey) {
+                statement.setLong(1, lastKey);
+            }
+            try (var resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return null;
+                }
+                final var value = resultSet.getLong(1);
+                return resultSet.wasNull() ? null : value;
+            }
+        }
+    }
+
+    private void copyChunk(final @Nullable Long lastKey, final long upperKey) throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            try (var statement = connection.prepareStatement(copySql(null == lastKey))) {
+                var index = 1;
+                if (null != lastKey) {
+                    statement.setLong(index++, lastKey);
+                }
+                statement.setLong(index, upperKey);
+                statement.executeUpdate();
+            }
+            try (var statement = connection.prepareStatement("UPDATE " + CHECKPOINT_TABLE
+                    + " SET [LastKey] = ?, [Chunks] = [Chunks] + 1 WHERE [TableName] = ?")) {
+                statement.setLong(1, upperKey);
+                statement.setString(2, tableName);
+                if (0 == statement.executeUpdate()) {
+                    try (var insert = connection.prepareStatement("INSERT INTO " + CHECKPOINT_TABLE
+                            + "([TableName], [LastKey], [Chunks]) VALUES (?, ?, 1)")) {
+                        insert.setString(1, tableName);
+                        insert.setLong(2, upperKey);
+                        insert.executeUpdate();
+                    }
+                }
+            }
+            connection.commit();
+        } catch (final SQLException | RuntimeException e) {
+            try {
+                connection.rollback();
+            } catch (final SQLException sqle) {
+                e.addSuppressed(sqle);
+            }
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private void clearCheckpoint() throws SQLException {
+        try (var statement =
+                connection.prepareStatement("DELETE FROM " + CHECKPOINT_TABLE + " WHERE [TableName] = ?")) {
+            statement.setString(1, tableName);
+            statement.executeUpdate();
+        }
+    }
+
+    private void execute(final String sql) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -3,17 +3,60 @@ package org.realityforge.jdbt.db;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.regex.Pattern;
 import org.jspecify.annotations.Nullable;
 import org.realityforge.jdbt.config.ImportConfig;
 
 @SuppressWarnings({"SqlNoDataSourceInspection", "SqlResolve"})
 final class SqlServerDbDriver implements DbDriver {
     private static final Logger LOGGER = Logger.getLogger(SqlServerDbDriver.class.getName());
+    private static final String MARK_MIGRATION_SQL =
+            "INSERT INTO [dbo].[tblMigration]([Namespace],[Migration],[AppliedAt]) VALUES (?, ?, GETDATE())";
+    private static final String MARK_MIGRATION_EXECUTION_SQL =
+            "INSERT INTO [dbo].[tblMigration]([Namespace],[Migration],[AppliedAt],[DurationMs],[RowCount],[Checksum])"
+                    + " VALUES (?, ?, GETDATE(), ?, ?, ?)";
+    private static final int MIGRATION_BATCH_SIZE = 1000;
+    private static final Map<String, Integer> SQL_TYPES = Map.ofEntries(
+            Map.entry("bit", Types.BIT),
+            Map.entry("tinyint", Types.TINYINT),
+            Map.entry("smallint", Types.SMALLINT),
+            Map.entry("int", Types.INTEGER),
+            Map.entry("bigint", Types.BIGINT),
+            Map.entry("decimal", Types.DECIMAL),
+            Map.entry("numeric", Types.NUMERIC),
+            Map.entry("money", Types.DECIMAL),
+            Map.entry("smallmoney", Types.DECIMAL),
+            Map.entry("real", Types.REAL),
+            Map.entry("float", Types.DOUBLE),
+            Map.entry("char", Types.CHAR),
+            Map.entry("varchar", Types.VARCHAR),
+            Map.entry("text", Types.LONGVARCHAR),
+            Map.entry("nchar", Types.NCHAR),
+            Map.entry("nvarchar", Types.NVARCHAR),
+            Map.entry("ntext", Types.LONGNVARCHAR),
+            Map.entry("date", Types.DATE),
+            Map.entry("time", Types.TIME),
+            Map.entry("datetime", Types.TIMESTAMP),
+            Map.entry("datetime2", Types.TIMESTAMP),
+            Map.entry("smalldatetime", Types.TIMESTAMP));
+    private static final double REORGANIZE_FRAGMENTATION = 5;
+    private static final double REBUILD_FRAGMENTATION = 30;
+    private static final long MIN_DEFRAGMENT_PAGES = 1000;
+    private static final Set<Integer> INTEGER_KEY_TYPES =
+            Set.of(Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT);
+    private static final String IMPORT_FINGERPRINT_TABLE = "[dbo].[tblImportFingerprint]";
+    private static final Pattern GROUPED_BATCH_ERROR = Pattern.compile("jdbt batch (\\d+): ");
 
     @FunctionalInterface
     interface ConnectionFactory {
@@ -21,6 +64,9 @@ final class SqlServerDbDriver implements DbDriver {
     }
 
     private final ConnectionFactory connectionFactory;
+    private final SchemaMetadataCache metadata = new SchemaMetadataCache(this::loadSchemaMetadata, false);
+    private final Map<String, List<String>> deferredIndexes = new HashMap<>();
+    private @Nullable String restoreRecoveryModel;
     private @Nullable DatabaseConnection config;
     private @Nullable Connection targetConnection;
     private @Nullable Connection controlConnection;
@@ -50,6 +96,12 @@ final class SqlServerDbDriver implements DbDriver {
         closeQuietly(controlConnection);
         targetConnection = null;
         controlConnection = null;
+        metadata.invalidate();
+    }
+
+    @Override
+    public void invalidateMetadata() {
+        metadata.invalidate();
     }
 
     @Override
@@ -114,6 +166,7 @@ final class SqlServerDbDriver implements DbDriver {
 
     @Override
     public void execute(final String sql, final boolean executeInControlDatabase) {
+        metadata.invalidateIfDdl(sql);
         if (executeInControlDatabase && null != targetConnection) {
             executeInCatalog(targetConnection, "msdb", sql);
         } else {
@@ -122,6 +175,223 @@ final class SqlServerDbDriver implements DbDriver {
         }
     }
 
+    @Override
+    public long executeUpdate(final String sql, final boolean executeInControlDatabase) {
+        if (executeInControlDatabase) {
+            execute(sql, true);
+            return 0;
+        }
+        metadata.invalidateIfDdl(sql);
+        return executeCountingRows(targetConnection(), sql);
+    }
+
+    @Override
+    public boolean supportsBatchGrouping() {
+        return true;
+    }
+
+    @Override
+    public void executeBatches(final List<String> batches, final boolean executeInControlDatabase) {
+        if (executeInControlDatabase) {
+            DbDriver.super.executeBatches(batches, true);
+            return;
+        }
+        batches.forEach(metadata::invalidateIfDdl);
+        try (var statement = targetConnection().createStatement()) {
+            // Errors raised after the first update count are only reported while draining the remaining results
+            var hasResultSet = statement.execute(groupedBatchSql(batches));
+            while (hasResultSet || -1 != statement.getUpdateCount()) {
+                hasResultSet = statement.getMoreResults();
+            }
+        } catch (final SQLException sqle) {
+            final var matcher = GROUPED_BATCH_ERROR.matcher(String.valueOf(sqle.getMessage()));
+            throw new SqlBatchException(
+                    matcher.find() ? Integer.parseInt(matcher.group(1)) : 0,
+                    new DatabaseException("Failed to execute SQL", sqle));
+        }
+    }
+
+    static String groupedBatchSql(final List<String> batches) {
+        // Each batch runs as its own dynamic batch, so CREATE VIEW and CREATE PROCEDURE are still first in their batch
+        final var sql = new StringBuilder("DECLARE @JdbtBatch INT\nBEGIN TRY\n");
+        for (var i = 0; i < batches.size(); i++) {
+            sql.append("SET @JdbtBatch = ")
+                    .append(i)
+                    .append("\nEXEC(N'")
+                    .append(batches.get(i).replace("'", "''"))
+                    .append("')\n");
+        }
+        // The error number, line and procedure are kept so the report matches running the batch on its own
+        return sql.append("END TRY\nBEGIN CATCH\n")
+                .append("DECLARE @JdbtMessage NVARCHAR(2048) = ERROR_MESSAGE()\n")
+                .append("DECLARE @JdbtNumber INT = ERROR_NUMBER()\n")
+                .append("DECLARE @JdbtLine INT = ERROR_LINE()\n")
+                .append("DECLARE @JdbtProcedure NVARCHAR(128) = ISNULL(ERROR_PROCEDURE(), N'-')\n")
+                .append("RAISERROR('jdbt batch %d: Msg %d, Line %d, Procedure %s: %s', 16, 1, @JdbtBatch,")
+                .append(" @JdbtNumber, @JdbtLine, @JdbtProcedure, @JdbtMessage)\n")
+                .append("END CATCH")
+                .toString();
+    }
+
+    @Override
+    public boolean supportsReconcile() {
+        return true;
+    }
+
+    @Override
+    public FixtureReconciliation reconcile(
+            final String tableName, final Iterator<Map<String, Object>> records, final int batchSize) {
+        try {
+            return reconciler(tableName, batchSize).reconcile(records);
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to reconcile records in " + tableName, sqle);
+        }
+    }
+
+    @Override
+    public void deleteRows(final String tableName, final List<Map<String, Object>> keys, final int batchSize) {
+        try {
+            reconciler(tableName, batchSize).delete(keys);
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to delete records from " + tableName, sqle);
+        }
+    }
+
+    @Override
+    public void deferIndexes(final String tableName, final List<String> indexNames) {
+        final var sql = "SELECT I.name, I.is_disabled FROM sys.indexes I WHERE I.object_id = OBJECT_ID(?)"
+                + " AND I.type_desc = 'NONCLUSTERED' AND I.is_unique = 0";
+        final var candidates = new ArrayList<String>();
+        // Indexes left disabled by an interrupted run are rebuilt along with the ones disabled now
+        final var disabled = new ArrayList<String>();
+        try (var statement = targetConnection().prepareStatement(sql)) {
+            statement.setString(1, tableName);
+            try (var resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    final var name = resultSet.getString(1);
+                    if (indexNames.stream().anyMatch(name::equalsIgnoreCase)) {
+                        if (resultSet.getBoolean(2)) {
+                            disabled.add(name);
+                        } else {
+                            candidates.add(name);
+                        }
+                    }
+                }
+            }
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to query indexes for " + tableName, sqle);
+        }
+        deferredIndexes.put(tableName, disabled);
+        for (final var name : candidates) {
+            executeSql(targetConnection(), "ALTER INDEX " + quote(name) + " ON " + tableName + " DISABLE");
+            disabled.add(name);
+        }
+    }
+
+    @Override
+    public void rebuildIndexes(final String tableName) {
+        final var indexes = deferredIndexes.remove(tableName);
+        if (null == indexes) {
+            return;
+        }
+        @Nullable RuntimeException failure = null;
+        for (final var name : indexes) {
+            try {
+                executeSql(targetConnection(), "ALTER INDEX " + quote(name) + " ON " + tableName + " REBUILD");
+            } catch (final RuntimeException e) {
+                if (null == failure) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (null != failure) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public boolean supportsChunkedImport(final String tableName) {
+        final var table = tableMetadata(tableName);
+        return 1 == table.primaryKey().size() && INTEGER_KEY_TYPES.contains(table.sqlType(table.primaryKey().get(0)));
+    }
+
+    @Override
+    public void setupImportCheckpoints() {
+        if (!tableExists(SqlServerChunkedImport.CHECKPOINT_TABLE)) {
+            execute(
+                    "CREATE TABLE " + SqlServerChunkedImport.CHECKPOINT_TABLE + "([TableName] NVARCHAR(400) NOT NULL"
+                            + " PRIMARY KEY,[LastKey] BIGINT NOT NULL,[Chunks] INT NOT NULL)",
+                    false);
+        }
+    }
+
+    @Override
+    public void clearImportCheckpoints() {
+        if (tableExists(SqlServerChunkedImport.CHECKPOINT_TABLE)) {
+            execute("DROP TABLE " + SqlServerChunkedImport.CHECKPOINT_TABLE, false);
+        }
+    }
+
+    @Override
+    public int chunkedImport(
+            final String tableName,
+            final String targetDatabase,
+            final String sourceDatabase,
+            final List<String> columns,
+            final int chunkSize,
+            final boolean resume) {
+        final var keyColumn = quote(tableMetadata(tableName).primaryKey().get(0));
+        try {
+            return new SqlServerChunkedImport(
+                            targetConnection(),
+                            tableName,
+                            targetDatabase,
+                            sourceDatabase,
+                            columns,
+                            keyColumn,
+                            chunkSize)
+                    .run(resume);
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to import " + tableName + " in chunks", sqle);
+        }
+    }
+
+    @Override
+    public void beginTransaction() {
+        try {
+            targetConnection().setAutoCommit(false);
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to begin transaction", sqle);
+        }
+    }
+
+    @Override
+    public void commitTransaction() {
+        final var connection = targetConnection();
+        try {
+            connection.commit();
+            connection.setAutoCommit(true);
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to commit transaction", sqle);
+        }
+    }
+
+    @Override
+    public void rollbackTransaction() {
+        final var connection = targetConnection;
+        if (null == connection) {
+            return;
+        }
+        try {
+            connection.rollback();
+            connection.setAutoCommit(true);
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to rollback transaction", sqle);
+        }
+    }
+
     @Override
     public void preFixtureImport(final String tableName) {
         if (hasIdentityColumn(tableName)) {
@@ -132,14 +402,11 @@ final class SqlServerDbDriver implements DbDriver {
     @Override
     public void insert(final String tableName, final Map<String, Object> record) {
         final var columns = new ArrayList<>(record.keySet());
-        final var columnSql =
-                String.join(", ", columns.stream().map(SqlServerDbDriver::quote).toList());
-        final var placeholderSql =
-                String.join(", ", columns.stream().map(column -> "?").toList());
-        final var sql = "INSERT INTO " + tableName + " (" + columnSql + ") VALUES (" + placeholderSql + ")";
+        final var sql = BatchWriter.insertSql(tableName, columns, SqlServerDbDriver::quote);
         try (var statement = targetConnection().prepareStatement(sql)) {
+            final var table = tableMetadata(tableName);
             for (int i = 0; i < columns.size(); i++) {
-                statement.setObject(i + 1, record.get(columns.get(i)));
+                BatchWriter.bind(statement, i + 1, record.get(columns.get(i)), table.sqlType(columns.get(i)));
             }
             statement.executeUpdate();
         } catch (final SQLException sqle) {
@@ -147,6 +414,35 @@ final class SqlServerDbDriver implements DbDriver {
         }
     }
 
+    @Override
+    public void insertAll(final String tableName, final Iterator<Map<String, Object>> records, final int batchSize) {
+        final var table = tableMetadata(tableName);
+        try (var inserter = BatchWriter.inserts(
+                targetConnection(), tableName, SqlServerDbDriver::quote, batchSize, table::sqlType)) {
+            while (records.hasNext()) {
+                inserter.add(records.next());
+            }
+            inserter.flush();
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to insert records into " + tableName, sqle);
+        }
+    }
+
+    @Override
+    public boolean supportsBulkLoad() {
+        return true;
+    }
+
+    @Override
+    public void bulkLoad(final String tableName, final Iterator<Map<String, Object>> records, final int batchSize) {
+        final var loader = new SqlServerBulkLoader(targetConnection(), tableName, SqlServerDbDriver::quote, batchSize);
+        try {
+            loader.load(records);
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to bulk load records into " + tableName, sqle);
+        }
+    }
+
     @Override
     public void postFixtureImport(final String tableName) {
         if (hasIdentityColumn(tableName)) {
@@ -170,7 +466,14 @@ final class SqlServerDbDriver implements DbDriver {
             final DatabaseMetadata database, final ImportConfig importConfig, final String tableName) {
         postFixtureImport(tableName);
         if (database.reindexOnImport()) {
-            reindex(tableName);
+            final var allRebuilt = defragmentIndexes(tableName);
+            // Rebuilt indexes already carry full scan statistics so only column statistics need refreshing
+            executeSql(
+                    targetConnection(),
+                    "UPDATE STATISTICS " + tableName + " WITH FULLSCAN" + (allRebuilt ? ", COLUMNS" : ""));
+            executeSql(
+                    targetConnection(),
+                    "DBCC UPDATEUSAGE(0, N'" + sqlString(tableName) + "') WITH NO_INFOMSGS, COUNT_ROWS");
         }
     }
 
@@ -186,72 +489,212 @@ final class SqlServerDbDriver implements DbDriver {
             execute(prefix + "DBCC SHRINKDATABASE(@DbName, 10, TRUNCATEONLY) WITH NO_INFOMSGS", false);
             if (database.reindexOnImport()) {
                 for (final var table : tablesInOrder) {
-                    reindex(table);
+                    defragmentIndexes(table);
                 }
             }
         }
     }
 
     @Override
-    public void postDatabaseImport(final DatabaseMetadata database, final ImportConfig importConfig) {
-        if (database.reindexOnImport()) {
-            execute("EXEC dbo.sp_updatestats", false);
-            execute(
-                    "DECLARE @DbName VARCHAR(100); SET @DbName = DB_NAME(); "
-                            + "DBCC UPDATEUSAGE(@DbName) WITH NO_INFOMSGS, COUNT_ROWS",
-                    false);
+    public Map<String, Long> approximateRowCounts(final DatabaseConnection source, final List<String> tableNames) {
+        final var sql = "SELECT SUM(P.rows) FROM " + quote(source.database()) + ".sys.partitions P"
+                + " WHERE P.object_id = OBJECT_ID(?) AND P.index_id IN (0, 1)";
+        final var rowCounts = new LinkedHashMap<String, Long>();
+        try (var statement = targetConnection().prepareStatement(sql)) {
+            for (final var tableName : tableNames) {
+                statement.setString(1, quote(source.database()) + '.' + tableName);
+                try (var resultSet = statement.executeQuery()) {
+                    if (resultSet.next()) {
+                        final var rows = resultSet.getLong(1);
+                        if (!resultSet.wasNull()) {
+                            rowCounts.put(tableName, rows);
+                        }
+                    }
+                }
+            }
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to query source row counts", sqle);
         }
+        return rowCounts;
     }
 
     @Override
-    public boolean supportsAssertMacros() {
-        return true;
+    public Map<String, String> sourceFingerprints(final DatabaseConnection source, final List<String> tableNames) {
+        return fingerprints(quote(source.database()) + '.', tableNames);
     }
 
     @Override
-    public boolean supportsStandardImportScripts() {
-        return true;
+    public Map<String, String> targetFingerprints(final List<String> tableNames) {
+        return fingerprints("", tableNames);
+    }
+
+    private Map<String, String> fingerprints(final String prefix, final List<String> tableNames) {
+        final var fingerprints = new LinkedHashMap<String, String>();
+        try (var statement = targetConnection().createStatement()) {
+            for (final var tableName : tableNames) {
+                // BINARY_CHECKSUM skips text, ntext, image and xml columns so changes confined to them go unnoticed
+                try (var resultSet = statement.executeQuery(
+                        "SELECT COUNT_BIG(*), CHECKSUM_AGG(BINARY_CHECKSUM(*)) FROM " + prefix + tableName)) {
+                    if (resultSet.next()) {
+                        fingerprints.put(tableName, resultSet.getLong(1) + ":" + resultSet.getLong(2));
+                    }
+                }
+            }
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to query table fingerprints", sqle);
+        }
+        return fingerprints;
     }
 
     @Override
-    public List<String> columnNamesForTable(final String tableName) {
-        final var sql = "SELECT C.name AS column_name FROM sys.syscolumns C WHERE C.id = OBJECT_ID(?) ORDER BY C.colid";
-        final var columns = new ArrayList<String>();
+    public Map<String, ImportFingerprint> importFingerprints(final String importKey) {
+        final var fingerprints = new LinkedHashMap<String, ImportFingerprint>();
+        if (!tableExists(IMPORT_FINGERPRINT_TABLE)) {
+            return fingerprints;
+        }
+        final var sql = "SELECT [TableName], [SourceDatabase], [SourceFingerprint], [TargetFingerprint] FROM "
+                + IMPORT_FINGERPRINT_TABLE + " WHERE [ImportKey] = ?";
         try (var statement = targetConnection().prepareStatement(sql)) {
-            statement.setString(1, tableName);
+            statement.setString(1, importKey);
             try (var resultSet = statement.executeQuery()) {
                 while (resultSet.next()) {
-                    columns.add(quote(resultSet.getString(1)));
+                    fingerprints.put(
+                            resultSet.getString(1),
+                            new ImportFingerprint(
+                                    resultSet.getString(2), resultSet.getString(3), resultSet.getString(4)));
                 }
             }
         } catch (final SQLException sqle) {
-            throw new DatabaseException("Failed to query column metadata for " + tableName, sqle);
+            throw new DatabaseException("Failed to query import fingerprints", sqle);
         }
-        return List.copyOf(columns);
+        return fingerprints;
     }
 
     @Override
-    public List<String> primaryKeyColumnNamesForTable(final String tableName) {
-        final var resolved = parseTableName(tableName);
-        final var sql = "SELECT U.COLUMN_NAME "
-                + "FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS C "
-                + "JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE U ON U.CONSTRAINT_CATALOG = C.CONSTRAINT_CATALOG "
-                + "AND U.CONSTRAINT_SCHEMA = C.CONSTRAINT_SCHEMA AND U.CONSTRAINT_NAME = C.CONSTRAINT_NAME "
-                + "WHERE C.CONSTRAINT_TYPE = 'PRIMARY KEY' AND C.TABLE_SCHEMA = ? AND C.TABLE_NAME = ? "
-                + "ORDER BY U.COLUMN_NAME";
-        final var columns = new ArrayList<String>();
-        try (var statement = targetConnection().prepareStatement(sql)) {
-            statement.setString(1, resolved.schema());
-            statement.setString(2, resolved.table());
-            try (var resultSet = statement.executeQuery()) {
-                while (resultSet.next()) {
-                    columns.add(quote(resultSet.getString(1)));
+    public void setupImportFingerprints() {
+        if (!tableExists(IMPORT_FINGERPRINT_TABLE)) {
+            execute(
+                    "CREATE TABLE " + IMPORT_FINGERPRINT_TABLE + "([ImportKey] NVARCHAR(100) NOT NULL,"
+                            + "[TableName] NVARCHAR(400) NOT NULL,[SourceDatabase] NVARCHAR(128) NOT NULL,"
+                            + "[SourceFingerprint] VARCHAR(100) NOT NULL,[TargetFingerprint] VARCHAR(100) NOT NULL,"
+                            + "PRIMARY KEY([ImportKey], [TableName]))",
+                    false);
+        }
+    }
+
+    @Override
+    public void recordImportFingerprint(
+            final String importKey, final String tableName, final ImportFingerprint fingerprint) {
+        try (var delete = targetConnection().prepareStatement(
+                        "DELETE FROM " + IMPORT_FINGERPRINT_TABLE + " WHERE [ImportKey] = ? AND [TableName] = ?");
+                var insert = targetConnection().prepareStatement("INSERT INTO " + IMPORT_FINGERPRINT_TABLE
+                        + "([ImportKey], [TableName], [SourceDatabase], [SourceFingerprint], [TargetFingerprint])"
+                        + " VALUES (?, ?, ?, ?, ?)")) {
+            delete.setString(1, importKey);
+            delete.setString(2, tableName);
+            delete.executeUpdate();
+            insert.setString(1, importKey);
+            insert.setString(2, tableName);
+            insert.setString(3, fingerprint.sourceDatabase());
+            insert.setString(4, fingerprint.source());
+            insert.setString(5, fingerprint.target());
+            insert.executeUpdate();
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to record import fingerprint for " + tableName, sqle);
+        }
+    }
+
+    @Override
+    public void truncateTables(final List<String> tableNames) {
+        if (tableNames.isEmpty()) {
+            return;
+        }
+        try {
+            new SqlServerTableTruncation(targetConnection(), tableNames).run();
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to truncate " + String.join(", ", tableNames), sqle);
+        }
+    }
+
+    @Override
+    public void preDatabaseImport(final DatabaseMetadata database, final ImportConfig importConfig) {
+        final var importRecoveryModel = database.importRecoveryModel();
+        if (null == importRecoveryModel || null != restoreRecoveryModel) {
+            return;
+        }
+        final var current = recoveryModel();
+        // SIMPLE already permits minimal logging and BULK_LOGGED would only add log backups to the chain
+        if (!"SIMPLE".equals(current) && !importRecoveryModel.name().equals(current)) {
+            executeSql(targetConnection(), "ALTER DATABASE CURRENT SET RECOVERY " + importRecoveryModel.name());
+            restoreRecoveryModel = current;
+        }
+    }
+
+    @Override
+    public void abortDatabaseImport(final DatabaseMetadata database, final ImportConfig importConfig) {
+        restoreRecoveryModel();
+    }
+
+    @Override
+    public void postDatabaseImport(final DatabaseMetadata database, final ImportConfig importConfig) {
+        restoreRecoveryModel();
+    }
+
+    private String recoveryModel() {
+        final var sql = "SELECT recovery_model_desc FROM sys.databases WHERE database_id = DB_ID()";
+        try (var statement = targetConnection().createStatement()) {
+            try (var resultSet = statement.executeQuery(sql)) {
+                if (!resultSet.next()) {
+                    throw new DatabaseException("Unable to determine recovery model of the current database");
                 }
+                return resultSet.getString(1);
             }
         } catch (final SQLException sqle) {
-            throw new DatabaseException("Failed to query primary key metadata for " + tableName, sqle);
+            throw new DatabaseException("Failed to query database recovery model", sqle);
+        }
+    }
+
+    private void restoreRecoveryModel() {
+        final var recoveryModel = restoreRecoveryModel;
+        if (null != recoveryModel) {
+            restoreRecoveryModel = null;
+            executeSql(targetConnection(), "ALTER DATABASE CURRENT SET RECOVERY " + recoveryModel);
         }
-        return List.copyOf(columns);
+    }
+
+    @Override
+    public boolean supportsAssertMacros() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsBracketIdentifiers() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsStandardImportScripts() {
+        return true;
+    }
+
+    @Override
+    public List<String> columnNamesForTable(final String tableName) {
+        return tableMetadata(tableName).columns().stream()
+                .map(SqlServerDbDriver::quote)
+                .toList();
+    }
+
+    @Override
+    public List<String> primaryKeyColumnNamesForTable(final String tableName) {
+        return tableMetadata(tableName).primaryKey().stream()
+                .map(SqlServerDbDriver::quote)
+                .toList();
+    }
+
+    @Override
+    public Map<String, Set<String>> foreignKeyDependencies(final List<String> tableNames) {
+        return ForeignKeyGraph.dependencies(
+                tableNames, tableName -> ForeignKeyGraph.referencedTables(tableMetadata(tableName)));
     }
 
     @Override
@@ -289,7 +732,13 @@ final class SqlServerDbDriver implements DbDriver {
         if (!tableExists("[dbo].[tblMigration]")) {
             execute(
                     "CREATE TABLE [dbo].[tblMigration]([Namespace] VARCHAR(50),[Migration] VARCHAR(255),[AppliedAt]"
-                            + " DATETIME)",
+                            + " DATETIME,[DurationMs] BIGINT,[RowCount] BIGINT,[Checksum] VARCHAR(64))",
+                    false);
+        } else if (!columnExists("dbo", "tblMigration", "DurationMs")) {
+            // Tables created by earlier releases gain the timing columns, leaving existing rows untimed
+            execute(
+                    "ALTER TABLE [dbo].[tblMigration] ADD [DurationMs] BIGINT NULL,[RowCount] BIGINT NULL,[Checksum]"
+                            + " VARCHAR(64) NULL",
                     false);
         }
     }
@@ -314,9 +763,7 @@ final class SqlServerDbDriver implements DbDriver {
 
     @Override
     public void markMigrationAsRun(final String namespace, final String migrationName) {
-        final var sql =
-                "INSERT INTO [dbo].[tblMigration]([Namespace],[Migration],[AppliedAt]) VALUES (?, ?, GETDATE())";
-        try (var statement = targetConnection().prepareStatement(sql)) {
+        try (var statement = targetConnection().prepareStatement(MARK_MIGRATION_SQL)) {
             statement.setString(1, namespace);
             statement.setString(2, migrationName);
             statement.executeUpdate();
@@ -325,16 +772,108 @@ final class SqlServerDbDriver implements DbDriver {
         }
     }
 
+    @Override
+    public void markMigrationAsRun(
+            final String namespace, final String migrationName, final MigrationExecution execution) {
+        try (var statement = targetConnection().prepareStatement(MARK_MIGRATION_EXECUTION_SQL)) {
+            statement.setString(1, namespace);
+            statement.setString(2, migrationName);
+            statement.setLong(3, execution.durationMillis());
+            statement.setLong(4, execution.rowCount());
+            statement.setString(5, execution.checksum());
+            statement.executeUpdate();
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to record migration", sqle);
+        }
+    }
+
+    @Override
+    public Set<String> appliedMigrations(final String namespace, final List<String> migrationNames) {
+        final var applied = new HashSet<String>();
+        if (!tableExists("[dbo].[tblMigration]")) {
+            return applied;
+        }
+        final var sql = "SELECT [Migration] FROM [dbo].[tblMigration] WHERE [Namespace] = ?";
+        try (var statement = targetConnection().prepareStatement(sql)) {
+            statement.setString(1, namespace);
+            try (var resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    applied.add(resultSet.getString(1));
+                }
+            }
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to query migration state", sqle);
+        }
+        return applied;
+    }
+
+    @Override
+    public void markMigrationsAsRun(final String namespace, final List<String> migrationNames) {
+        try (var statement = targetConnection().prepareStatement(MARK_MIGRATION_SQL)) {
+            var pending = 0;
+            for (final var migrationName : migrationNames) {
+                statement.setString(1, namespace);
+                statement.setString(2, migrationName);
+                statement.addBatch();
+                if (++pending == MIGRATION_BATCH_SIZE) {
+                    statement.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                statement.executeBatch();
+            }
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to record migrations", sqle);
+        }
+    }
+
+    @Override
+    public List<MigrationRecord> migrationHistory(final String namespace) {
+        final var history = new ArrayList<MigrationRecord>();
+        // History is read without setupMigrations so reports never alter the table of the database they inspect
+        if (!tableExists("[dbo].[tblMigration]")) {
+            return history;
+        }
+        final var timing = columnExists("dbo", "tblMigration", "DurationMs")
+                ? "[DurationMs],[RowCount],[Checksum]"
+                : "NULL,NULL,NULL";
+        final var sql = "SELECT [Migration],[AppliedAt]," + timing + " FROM [dbo].[tblMigration]"
+                + " WHERE [Namespace] = ? ORDER BY [AppliedAt],[Migration]";
+        try (var statement = targetConnection().prepareStatement(sql)) {
+            statement.setString(1, namespace);
+            try (var resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    history.add(MigrationRecord.read(resultSet));
+                }
+            }
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to query migration history", sqle);
+        }
+        return history;
+    }
+
     @Override
     public String generateStandardImportSql(
             final String tableName,
             final String targetDatabase,
             final String sourceDatabase,
             final List<String> columns) {
+        return generateStandardImportSql(tableName, targetDatabase, sourceDatabase, columns, false);
+    }
+
+    @Override
+    public String generateStandardImportSql(
+            final String tableName,
+            final String targetDatabase,
+            final String sourceDatabase,
+            final List<String> columns,
+            final boolean tableLock) {
         return "INSERT INTO ["
                 + targetDatabase
                 + "]."
                 + tableName
+                + (tableLock ? " WITH (TABLOCK)" : "")
                 + '(' + String.join(", ", columns)
                 + ")\n  SELECT "
                 + String.join(", ", columns)
@@ -396,6 +935,21 @@ final class SqlServerDbDriver implements DbDriver {
         }
     }
 
+    private boolean columnExists(final String schemaName, final String tableName, final String columnName) {
+        final var sql = "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ?"
+                + " AND COLUMN_NAME = ?";
+        try (var statement = targetConnection().prepareStatement(sql)) {
+            statement.setString(1, schemaName);
+            statement.setString(2, tableName);
+            statement.setString(3, columnName);
+            try (var resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getLong(1) > 0;
+            }
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to query column metadata", sqle);
+        }
+    }
+
     private boolean tableExists(final String tableName) {
         final var sql =
                 "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE OBJECT_ID(TABLE_SCHEMA + '.' + TABLE_NAME) ="
@@ -411,16 +965,48 @@ final class SqlServerDbDriver implements DbDriver {
     }
 
     private boolean hasIdentityColumn(final String tableName) {
-        final var sql =
-                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS WHERE COLUMNPROPERTY(OBJECT_ID(?), COLUMN_NAME,"
-                        + " 'IsIdentity') = 1";
+        return tableMetadata(tableName).hasIdentity();
+    }
+
+    private FixtureReconciler reconciler(final String tableName, final int batchSize) {
+        return new FixtureReconciler(
+                targetConnection(), tableName, SqlServerDbDriver::quote, tableMetadata(tableName), false, batchSize);
+    }
+
+    private SchemaMetadataCache.TableMetadata tableMetadata(final String tableName) {
+        final var resolved = parseTableName(tableName);
+        return metadata.table(resolved.schema(), resolved.table());
+    }
+
+    private Map<String, SchemaMetadataCache.TableMetadata> loadSchemaMetadata(final String schemaName)
+            throws SQLException {
+        final var sql = "SELECT 'C', O.name, C.name, TYPE_NAME(C.system_type_id), "
+                + "CAST(C.is_identity AS INT)"
+                + " + CASE WHEN C.is_computed = 1 OR TYPE_NAME(C.system_type_id) = 'timestamp' THEN 2 ELSE 0 END,"
+                + " C.column_id "
+                + "FROM sys.objects O JOIN sys.columns C ON C.object_id = O.object_id "
+                + "WHERE O.schema_id = SCHEMA_ID(?) AND O.type IN ('U', 'V') "
+                + "UNION ALL "
+                + "SELECT 'P', T.name, C.name, NULL, 0, 0 "
+                + "FROM sys.tables T "
+                + "JOIN sys.indexes I ON I.object_id = T.object_id AND I.is_primary_key = 1 "
+                + "JOIN sys.index_columns IC ON IC.object_id = I.object_id AND IC.index_id = I.index_id "
+                + "JOIN sys.columns C ON C.object_id = IC.object_id AND C.column_id = IC.column_id "
+                + "WHERE T.schema_id = SCHEMA_ID(?) "
+                + "UNION ALL "
+                + "SELECT 'F', P.name, R.name, SCHEMA_NAME(R.schema_id), 0, 0 "
+                + "FROM sys.foreign_keys FK "
+                + "JOIN sys.tables P ON P.object_id = FK.parent_object_id "
+                + "JOIN sys.tables R ON R.object_id = FK.referenced_object_id "
+                + "WHERE P.schema_id = SCHEMA_ID(?) "
+                + "ORDER BY 1, 2, 6, 3";
         try (var statement = targetConnection().prepareStatement(sql)) {
-            statement.setString(1, tableName);
+            statement.setString(1, schemaName);
+            statement.setString(2, schemaName);
+            statement.setString(3, schemaName);
             try (var resultSet = statement.executeQuery()) {
-                return resultSet.next() && resultSet.getLong(1) > 0;
+                return SchemaMetadataCache.read(resultSet, SQL_TYPES);
             }
-        } catch (final SQLException sqle) {
-            throw new DatabaseException("Failed to query identity metadata", sqle);
         }
     }
 
@@ -483,6 +1069,23 @@ final class SqlServerDbDriver implements DbDriver {
         }
     }
 
+    private static long executeCountingRows(final Connection connection, final String sql) {
+        try (var statement = connection.createStatement()) {
+            var rowCount = 0L;
+            var hasResultSet = statement.execute(sql);
+            while (true) {
+                final var updateCount = hasResultSet ? 0 : statement.getLargeUpdateCount();
+                if (-1 == updateCount) {
+                    return rowCount;
+                }
+                rowCount += updateCount;
+                hasResultSet = statement.getMoreResults();
+            }
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to execute SQL", sqle);
+        }
+    }
+
     private static void executeInCatalog(final Connection connection, final String catalog, final String sql) {
         final String originalCatalog;
         try {
@@ -548,8 +1151,38 @@ final class SqlServerDbDriver implements DbDriver {
                 + actionSql;
     }
 
-    private void reindex(final String tableName) {
-        execute("DBCC DBREINDEX (N'" + sqlString(tableName) + "', '', 0) WITH NO_INFOMSGS", false);
+    private boolean defragmentIndexes(final String tableName) {
+        final var sql = "SELECT I.name, MAX(PS.avg_fragmentation_in_percent), SUM(PS.page_count)"
+                + " FROM sys.dm_db_index_physical_stats(DB_ID(), OBJECT_ID(?), NULL, NULL, 'LIMITED') PS"
+                + " JOIN sys.indexes I ON I.object_id = PS.object_id AND I.index_id = PS.index_id"
+                + " WHERE I.index_id > 0 AND I.is_disabled = 0 AND I.is_hypothetical = 0"
+                + " AND PS.alloc_unit_type_desc = 'IN_ROW_DATA'"
+                + " GROUP BY I.name";
+        final var statements = new ArrayList<String>();
+        var allRebuilt = true;
+        try (var statement = targetConnection().prepareStatement(sql)) {
+            statement.setString(1, tableName);
+            try (var resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    final var fragmentation = resultSet.getDouble(2);
+                    final var prefix = "ALTER INDEX " + quote(resultSet.getString(1)) + " ON " + tableName;
+                    if (resultSet.getLong(3) < MIN_DEFRAGMENT_PAGES || fragmentation < REORGANIZE_FRAGMENTATION) {
+                        allRebuilt = false;
+                    } else if (fragmentation < REBUILD_FRAGMENTATION) {
+                        statements.add(prefix + " REORGANIZE");
+                        allRebuilt = false;
+                    } else {
+                        statements.add(prefix + " REBUILD");
+                    }
+                }
+            }
+        } catch (final SQLException sqle) {
+            throw new DatabaseException("Failed to query index fragmentation for " + tableName, sqle);
+        }
+        for (final var statement : statements) {
+            executeSql(targetConnection(), statement);
+        }
+        return allRebuilt;
     }
 
     private static String quote(final String value) {
@@ -0,0 +1,155 @@
+package org.realityforge.jdbt.db;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import org.jspecify.annotations.Nullable;
+
+final class SqlServerTableTruncation {
+    static final String FOREIGN_KEYS_SQL = "SELECT FK.object_id,"
+            + " QUOTENAME(OBJECT_SCHEMA_NAME(FK.parent_object_id)) + '.' + QUOTENAME(OBJECT_NAME(FK.parent_object_id)),"
+            + " QUOTENAME(FK.name),"
+            + " QUOTENAME(OBJECT_SCHEMA_NAME(FK.referenced_object_id)) + '.'"
+            + " + QUOTENAME(OBJECT_NAME(FK.referenced_object_id)),"
+            + " FK.delete_referential_action_desc, FK.update_referential_action_desc,"
+            + " FK.is_disabled, FK.is_not_trusted, FK.is_not_for_replication,"
+            + " QUOTENAME(PC.name), QUOTENAME(RC.name)"
+            + " FROM sys.foreign_keys FK"
+            + " JOIN sys.foreign_key_columns FKC ON FKC.constraint_object_id = FK.object_id"
+            + " JOIN sys.columns PC ON PC.object_id = FKC.parent_object_id AND PC.column_id = FKC.parent_column_id"
+            + " JOIN sys.columns RC ON RC.object_id = FKC.referenced_object_id"
+            + " AND RC.column_id = FKC.referenced_column_id"
+            + " WHERE FK.referenced_object_id = OBJECT_ID(?)"
+            + " ORDER BY FK.object_id, FKC.constraint_column_id";
+
+    record ForeignKey(
+            String tableName,
+            String name,
+            String referencedTable,
+            List<String> columns,
+            List<String> referencedColumns,
+            String onDelete,
+            String onUpdate,
+            boolean disabled,
+            boolean trusted,
+            boolean notForReplication) {
+        ForeignKey {
+            columns = List.copyOf(columns);
+            referencedColumns = List.copyOf(referencedColumns);
+        }
+
+        String dropSql() {
+            return "ALTER TABLE " + tableName + " DROP CONSTRAINT " + name;
+        }
+
+        List<String> addSql() {
+            final var add = "ALTER TABLE " + tableName + (trusted && !disabled ? " WITH CHECK" : " WITH NOCHECK")
+                    + " ADD CONSTRAINT " + name + " FOREIGN KEY (" + String.join(", ", columns) + ") REFERENCES "
+                    + referencedTable + " (" + String.join(", ", referencedColumns) + ") ON DELETE "
+                    + onDelete.replace('_', ' ') + " ON UPDATE " + onUpdate.replace('_', ' ')
+                    + (notForReplication ? " NOT FOR REPLICATION" : "");
+            return disabled ? List.of(add, "ALTER TABLE " + tableName + " NOCHECK CONSTRAINT " + name) : List.of(add);
+        }
+    }
+
+    private final Connection connection;
+    private final List<String> tableNames;
+
+    SqlServerTableTruncation(final Connection connection, final List<String> tableNames) {
+        this.connection = connection;
+        this.tableNames = List.copyOf(tableNames);
+    }
+
+    void run() throws SQLException {
+        final var foreignKeys = foreignKeys();
+        connection.setAutoCommit(false);
+        try {
+            for (final var foreignKey : foreignKeys) {
+                execute(foreignKey.dropSql());
+            }
+            for (final var tableName : tableNames) {
+                execute("TRUNCATE TABLE " + tableName);
+            }
+            for (final var foreignKey : foreignKeys) {
+                for (final var sql : foreignKey.addSql()) {
+                    execute(sql);
+                }
+            }
+            connection.commit();
+        } catch (final SQLException | RuntimeException e) {
+            try {
+                connection.rollback();
+            } catch (final SQLException sqle) {
+                e.addSuppressed(sqle);
+            }
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    List<ForeignKey> foreignKeys() throws SQLException {
+        final var builders = new LinkedHashMap<Integer, Builder>();
+        try (var statement = connection.prepareStatement(FOREIGN_KEYS_SQL)) {
+            for (final var tableName : tableNames) {
+                statement.setString(1, tableName);
+                try (var resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        final var builder = builders.computeIfAbsent(resultSet.getInt(1), key -> new Builder());
+                        builder.read(resultSet);
+                    }
+                }
+            }
+        }
+        return builders.values().stream().map(Builder::build).toList();
+    }
+
+    private void execute(final String sql) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static final class Builder {
+        private final List<String> columns = new ArrayList<>();
+        private final List<String> referencedColumns = new ArrayList<>();
+        private @Nullable ForeignKey first;
+
+        void read(final ResultSet resultSet) throws SQLException {
+            if (null == first) {
+                first = new ForeignKey(
+                        resultSet.getString(2),
+                        resultSet.getString(3),
+                        resultSet.getString(4),
+                        List.of(),
+                        List.of(),
+                        resultSet.getString(5),
+                        resultSet.getString(6),
+                        resultSet.getBoolean(7),
+                        !resultSet.getBoolean(8),
+                        resultSet.getBoolean(9));
+            }
+            columns.add(resultSet.getString(10));
+            referencedColumns.add(resultSet.getString(11));
+        }
+
+        ForeignKey build() {
+            final var foreignKey = Objects.requireNonNull(first);
+            return new ForeignKey(
+                    foreignKey.tableName(),
+                    foreignKey.name(),
+                    foreignKey.referencedTable(),
+                    columns,
+                    referencedColumns,
+                    foreignKey.onDelete(),
+                    foreignKey.onUpdate(),
+                    foreignKey.disabled(),
+                    foreignKey.trusted(),
+                    foreignKey.notForReplication());
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package org.realityforge.jdbt.files;
 
+import java.io.Reader;
+import java.io.StringReader;
 import java.util.List;
 
 public interface ArtifactContent {
@@ -8,4 +10,8 @@ public interface ArtifactContent {
     List<String> files();
 
     String readText(String path);
+
+    default Reader openReader(final String path) {
+        return new StringReader(readText(path));
+    }
 }
@@ -1,6 +1,9 @@
 package org.realityforge.jdbt.files;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
@@ -32,11 +35,20 @@ public final class ZipArtifactContent implements ArtifactContent {
 
     @Override
     public String readText(final String path) {
+        return new String(entry(path), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Reader openReader(final String path) {
+        return new InputStreamReader(new ByteArrayInputStream(entry(path)), StandardCharsets.UTF_8);
+    }
+
+    private byte[] entry(final String path) {
         final var data = entries.get(path);
         if (null == data) {
             throw new FileCollectionException("Missing artifact path '" + path + "' in artifact '" + id + "'.");
         }
-        return new String(data, StandardCharsets.UTF_8);
+        return data;
     }
 
     private static Map<String, byte[]> loadEntries(final Path zipPath, final String dataPrefix) {
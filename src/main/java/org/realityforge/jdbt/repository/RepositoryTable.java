@@ -70,6 +70,10 @@ public record RepositoryTable(String name, List<String> columns, List<String> in
         Objects.requireNonNull(rowSource);
     }
 
+    public List<String> indexNames() {
+        return indexes.stream().map(RepositoryTable::unquote).toList();
+    }
+
     private static String unquote(final String identifier) {
         if (identifier.startsWith("[")) {
             return identifier.substring(1, identifier.length() - 1).replace("]]", "]");
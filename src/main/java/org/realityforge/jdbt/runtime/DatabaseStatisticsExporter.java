@@ -84,6 +84,68 @@ public final class DatabaseStatisticsExporter {
         return statistics.size();
     }
 
+    static Map<String, Long> readTableRowCounts(final Path statisticsFile, final List<String> tableNames) {
+        final List<String> lines;
+        try {
+            lines = Files.readAllLines(statisticsFile, StandardCharsets.UTF_8);
+        } catch (final IOException ioe) {
+            throw new UncheckedIOException("Failed reading database statistics from " + statisticsFile, ioe);
+        }
+        if (lines.isEmpty() || !CSV_HEADER.equals(lines.get(0) + '\n')) {
+            throw new RuntimeExecutionException("Unexpected database statistics header in " + statisticsFile);
+        }
+        final var tableRows = new HashMap<TableKey, Long>();
+        for (final var line : lines.subList(1, lines.size())) {
+            final var fields = csvFields(line);
+            if (6 == fields.size()
+                    && "table".equals(fields.get(0))
+                    && "approximate_row_count".equals(fields.get(4))) {
+                try {
+                    tableRows.put(new TableKey(fields.get(1), fields.get(2)), Long.parseLong(fields.get(5)));
+                } catch (final NumberFormatException nfe) {
+                    throw new RuntimeExecutionException(
+                            "Invalid row count '" + fields.get(5) + "' in " + statisticsFile, nfe);
+                }
+            }
+        }
+        final var rowCounts = new LinkedHashMap<String, Long>();
+        for (final var tableName : tableNames) {
+            final var identifiers = identifiers(tableName);
+            if (identifiers.size() >= 2) {
+                final var rows = tableRows.get(
+                        new TableKey(identifiers.get(identifiers.size() - 2), identifiers.get(identifiers.size() - 1)));
+                if (null != rows) {
+                    rowCounts.put(tableName, rows);
+                }
+            }
+        }
+        return rowCounts;
+    }
+
+    static List<String> csvFields(final String line) {
+        final var fields = new ArrayList<String>();
+        final var field = new StringBuilder();
+        var quoted = false;
+        for (var index = 0; index < line.length(); index++) {
+            final var character = line.charAt(index);
+            if ('"' == character) {
+                if (quoted && index + 1 < line.length() && '"' == line.charAt(index + 1)) {
+                    field.append(character);
+                    index++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (',' == character && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(character);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
     private static List<Statistic> validateAndCollect(final RepositoryConfig repository, final QueryResult result) {
         if (!CATALOG_COLUMNS.equals(result.columnLabels())) {
             throw new RuntimeExecutionException("Unexpected database statistics columns. Expected " + CATALOG_COLUMNS
@@ -251,7 +313,7 @@ public final class DatabaseStatisticsExporter {
         return csv.toString();
     }
 
-    private static String csv(final String value) {
+    static String csv(final String value) {
         if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
             return value;
         }
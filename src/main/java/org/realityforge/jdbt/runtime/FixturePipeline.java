@@ -0,0 +1,176 @@
+package org.realityforge.jdbt.runtime;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.jspecify.annotations.Nullable;
+
+final class FixturePipeline implements AutoCloseable {
+    static final int DEFAULT_PREFETCH = 2;
+    static final int DEFAULT_QUEUE_CHUNKS = 2;
+
+    @FunctionalInterface
+    interface Opener {
+        Reader open(String sourceName) throws IOException;
+    }
+
+    record Source(String tableName, String sourceName) {}
+
+    private record Chunk(@Nullable List<Map<String, Object>> rows, boolean last, @Nullable Throwable failure) {}
+
+    private static final Chunk ABSENT = new Chunk(null, true, null);
+
+    private final List<Source> sources;
+    private final Opener opener;
+    private final int chunkSize;
+    private final int prefetch;
+    private final int queueChunks;
+    private final List<BlockingQueue<Chunk>> queues = new ArrayList<>();
+    private final ExecutorService executor;
+    private int nextIndex;
+
+    FixturePipeline(final List<Source> sources, final Opener opener, final int chunkSize) {
+        this(sources, opener, chunkSize, DEFAULT_PREFETCH, DEFAULT_QUEUE_CHUNKS);
+    }
+
+    FixturePipeline(
+            final List<Source> sources,
+            final Opener opener,
+            final int chunkSize,
+            final int prefetch,
+            final int queueChunks) {
+        if (chunkSize < 1 || prefetch < 0 || queueChunks < 1) {
+            throw new IllegalArgumentException("Invalid fixture pipeline bounds: chunkSize=" + chunkSize
+                    + ", prefetch=" + prefetch + ", queueChunks=" + queueChunks);
+        }
+        this.sources = List.copyOf(sources);
+        this.opener = opener;
+        this.chunkSize = chunkSize;
+        this.prefetch = prefetch;
+        this.queueChunks = queueChunks;
+        executor = Executors.newFixedThreadPool(prefetch + 1, runnable -> {
+            final var thread = new Thread(runnable, "jdbt-fixture-reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    Rows next() {
+        if (nextIndex >= sources.size()) {
+            throw new NoSuchElementException("No more fixtures in pipeline");
+        }
+        final var limit = Math.min(sources.size(), nextIndex + prefetch + 1);
+        while (queues.size() < limit) {
+            final var source = sources.get(queues.size());
+            final var queue = new ArrayBlockingQueue<Chunk>(queueChunks);
+            queues.add(queue);
+            executor.execute(() -> produce(source, queue));
+        }
+        final var index = nextIndex++;
+        return new Rows(sources.get(index), queues.get(index));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void produce(final Source source, final BlockingQueue<Chunk> queue) {
+        try {
+            try (var reader = opener.open(source.sourceName())) {
+                final var records = new FixtureReader(reader, source.tableName(), source.sourceName());
+                if (!records.hasDocument()) {
+                    queue.put(ABSENT);
+                    return;
+                }
+                var rows = new ArrayList<Map<String, Object>>(chunkSize);
+                while (records.hasNext()) {
+                    rows.add(records.next());
+                    if (rows.size() >= chunkSize) {
+                        queue.put(new Chunk(rows, false, null));
+                        rows = new ArrayList<>(chunkSize);
+                    }
+                }
+                queue.put(new Chunk(rows, true, null));
+            } catch (final IOException ioe) {
+                final var failure = new UncheckedIOException("Failed to read file " + source.sourceName(), ioe);
+                queue.put(new Chunk(null, true, failure));
+            } catch (final RuntimeException | Error e) {
+                queue.put(new Chunk(null, true, e));
+            }
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static final class Rows implements Iterator<Map<String, Object>> {
+        private final Source source;
+        private final BlockingQueue<Chunk> queue;
+        private final boolean hasDocument;
+        private Iterator<Map<String, Object>> current = Collections.emptyIterator();
+        private boolean last;
+
+        private Rows(final Source source, final BlockingQueue<Chunk> queue) {
+            this.source = source;
+            this.queue = queue;
+            final var first = take();
+            hasDocument = null != first.rows();
+            accept(first);
+        }
+
+        boolean hasDocument() {
+            return hasDocument;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext() && !last) {
+                accept(take());
+            }
+            return current.hasNext();
+        }
+
+        @Override
+        public Map<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more fixtures for " + source.tableName());
+            }
+            return current.next();
+        }
+
+        private void accept(final Chunk chunk) {
+            final var rows = chunk.rows();
+            current = null == rows ? Collections.emptyIterator() : rows.iterator();
+            last = chunk.last();
+        }
+
+        private Chunk take() {
+            final Chunk chunk;
+            try {
+                chunk = queue.take();
+            } catch (final InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeExecutionException("Interrupted while reading fixture " + source.sourceName(), ie);
+            }
+            final var failure = chunk.failure();
+            if (failure instanceof RuntimeException e) {
+                throw e;
+            } else if (failure instanceof Error e) {
+                throw e;
+            } else if (null != failure) {
+                throw new RuntimeExecutionException("Failed to read fixture " + source.sourceName(), failure);
+            }
+            return chunk;
+        }
+    }
+}
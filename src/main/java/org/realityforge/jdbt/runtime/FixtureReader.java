@@ -0,0 +1,320 @@
+package org.realityforge.jdbt.runtime;
+
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import org.jspecify.annotations.Nullable;
+import org.realityforge.jdbt.config.YamlMapSupport;
+import org.snakeyaml.engine.v2.api.LoadSettings;
+import org.snakeyaml.engine.v2.constructor.StandardConstructor;
+import org.snakeyaml.engine.v2.events.AliasEvent;
+import org.snakeyaml.engine.v2.events.CollectionStartEvent;
+import org.snakeyaml.engine.v2.events.Event;
+import org.snakeyaml.engine.v2.events.MappingStartEvent;
+import org.snakeyaml.engine.v2.events.NodeEvent;
+import org.snakeyaml.engine.v2.events.ScalarEvent;
+import org.snakeyaml.engine.v2.events.SequenceStartEvent;
+import org.snakeyaml.engine.v2.nodes.MappingNode;
+import org.snakeyaml.engine.v2.nodes.Node;
+import org.snakeyaml.engine.v2.nodes.NodeTuple;
+import org.snakeyaml.engine.v2.nodes.ScalarNode;
+import org.snakeyaml.engine.v2.nodes.SequenceNode;
+import org.snakeyaml.engine.v2.nodes.Tag;
+import org.snakeyaml.engine.v2.parser.Parser;
+import org.snakeyaml.engine.v2.parser.ParserImpl;
+import org.snakeyaml.engine.v2.scanner.StreamReader;
+
+final class FixtureReader implements Iterator<Map<String, Object>> {
+    private enum Kind {
+        ROWS,
+        OMAP_ROWS,
+        GROUPS
+    }
+
+    private record Frame(Kind kind, Set<String> names) {}
+
+    private final String tableName;
+    private final String sourceName;
+    private final LoadSettings settings;
+    private final Parser parser;
+    private final StandardConstructor constructor;
+    private final Map<String, Node> anchors = new HashMap<>();
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private final boolean hasDocument;
+    private @Nullable Iterator<? extends Map.Entry<?, ?>> constructedRows;
+    private @Nullable Map<String, Object> next;
+    private boolean finished;
+
+    FixtureReader(final Reader reader, final String tableName, final String sourceName) {
+        this.tableName = tableName;
+        this.sourceName = sourceName;
+        settings = YamlMapSupport.loadSettings(sourceName);
+        parser = new ParserImpl(settings, new StreamReader(settings, reader));
+        constructor = new StandardConstructor(settings);
+        parser.next();
+        if (parser.checkEvent(Event.ID.StreamEnd)) {
+            hasDocument = false;
+            finished = true;
+        } else {
+            parser.next();
+            hasDocument = beginRoot();
+            finished = !hasDocument;
+        }
+    }
+
+    boolean hasDocument() {
+        return hasDocument;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (null == next) {
+            next = advance();
+        }
+        return null != next;
+    }
+
+    @Override
+    public Map<String, Object> next() {
+        final var row = hasNext() ? next : null;
+        if (null == row) {
+            throw new NoSuchElementException("No more fixtures for " + tableName + " in " + sourceName);
+        }
+        next = null;
+        return row;
+    }
+
+    private boolean beginRoot() {
+        final var event = parser.peekEvent();
+        if (isPlainSequence(event)) {
+            parser.next();
+            frames.push(new Frame(Kind.GROUPS, Set.of()));
+            return true;
+        } else if (beginGroup(event)) {
+            return true;
+        }
+        final var parsed = construct(composeNode());
+        if (null == parsed) {
+            return false;
+        }
+        final var rows = new ArrayList<Map.Entry<?, ?>>();
+        for (final var group : toFixtureGroupList(parsed)) {
+            rows.addAll(group.entrySet());
+        }
+        constructedRows = rows.iterator();
+        return true;
+    }
+
+    private boolean beginGroup(final Event event) {
+        if (isPlainMapping(event)) {
+            parser.next();
+            frames.push(new Frame(Kind.ROWS, new HashSet<>()));
+            return true;
+        } else if (isOmapSequence(event)) {
+            parser.next();
+            frames.push(new Frame(Kind.OMAP_ROWS, new HashSet<>()));
+            return true;
+        }
+        return false;
+    }
+
+    private @Nullable Map<String, Object> advance() {
+        while (!finished) {
+            final var rows = constructedRows;
+            final var frame = frames.peek();
+            if (null != rows) {
+                if (rows.hasNext()) {
+                    final var entry = rows.next();
+                    return toRow(entry.getKey(), entry.getValue());
+                }
+                constructedRows = null;
+            } else if (null == frame) {
+                finishDocument();
+            } else if (Kind.GROUPS == frame.kind()) {
+                if (parser.checkEvent(Event.ID.SequenceEnd)) {
+                    parser.next();
+                    frames.pop();
+                } else if (!beginGroup(parser.peekEvent())) {
+                    final var group = construct(composeNode());
+                    if (!(group instanceof Map<?, ?> map)) {
+                        throw new RuntimeExecutionException("Bad data for " + tableName + " fixture group " + group);
+                    }
+                    constructedRows = map.entrySet().iterator();
+                }
+            } else if (Kind.ROWS == frame.kind()) {
+                if (parser.checkEvent(Event.ID.MappingEnd)) {
+                    parser.next();
+                    frames.pop();
+                } else {
+                    return readRow(frame);
+                }
+            } else if (parser.checkEvent(Event.ID.SequenceEnd)) {
+                parser.next();
+                frames.pop();
+            } else {
+                if (!parser.checkEvent(Event.ID.MappingStart)) {
+                    throw new RuntimeExecutionException(
+                            "Expected !omap entry to be a map in " + tableName + " fixtures from " + sourceName);
+                }
+                parser.next();
+                final var row = readRow(frame);
+                if (!parser.checkEvent(Event.ID.MappingEnd)) {
+                    throw new RuntimeExecutionException("Expected !omap entry to contain exactly one key in "
+                            + tableName + " fixtures from " + sourceName);
+                }
+                parser.next();
+                return row;
+            }
+        }
+        return null;
+    }
+
+    private void finishDocument() {
+        parser.next();
+        if (!parser.checkEvent(Event.ID.StreamEnd)) {
+            throw new RuntimeExecutionException("Expected a single YAML document in " + sourceName);
+        }
+        finished = true;
+    }
+
+    private Map<String, Object> readRow(final Frame frame) {
+        final var key = construct(composeNode());
+        final var value = construct(composeNode());
+        if (!frame.names().add(String.valueOf(key))) {
+            throw new RuntimeExecutionException(
+                    "Duplicate " + tableName + " fixture named " + key + " in " + sourceName);
+        }
+        return toRow(key, value);
+    }
+
+    private Map<String, Object> toRow(final @Nullable Object key, final @Nullable Object value) {
+        if (!(value instanceof Map<?, ?> data)) {
+            throw new RuntimeExecutionException("Bad data for " + tableName + " fixture named " + key + " (not map)");
+        }
+        return toStringObjectMap(data);
+    }
+
+    private List<Map<?, ?>> toFixtureGroupList(final Object parsed) {
+        if (parsed instanceof Map<?, ?> map) {
+            return List.of(map);
+        }
+        if (parsed instanceof List<?> list) {
+            final var groups = new ArrayList<Map<?, ?>>(list.size());
+            for (final var entry : list) {
+                if (!(entry instanceof Map<?, ?> map)) {
+                    throw new RuntimeExecutionException("Bad data for " + tableName + " fixture group " + entry);
+                }
+                groups.add(map);
+            }
+            return groups;
+        }
+        throw new RuntimeExecutionException("Bad data for " + tableName + " fixture payload " + parsed);
+    }
+
+    private static Map<String, Object> toStringObjectMap(final Map<?, ?> data) {
+        final var values = new LinkedHashMap<String, Object>();
+        for (final var entry : data.entrySet()) {
+            values.put(String.valueOf(entry.getKey()), entry.getValue());
+        }
+        return Collections.unmodifiableMap(values);
+    }
+
+    private @Nullable Object construct(final Node node) {
+        return constructor.constructSingleDocument(Optional.of(node));
+    }
+
+    private Node composeNode() {
+        final var event = parser.next();
+        final Node node;
+        if (event instanceof AliasEvent alias) {
+            final var anchored = anchors.get(alias.getAlias().getValue());
+            if (null == anchored) {
+                throw new RuntimeExecutionException(
+                        "Undefined alias *" + alias.getAlias().getValue() + " in " + sourceName);
+            }
+            return anchored;
+        } else if (event instanceof ScalarEvent scalar) {
+            final var tag = scalar.getTag().filter(FixtureReader::isSpecificTag);
+            final var nodeTag = tag.map(Tag::new).orElseGet(() -> settings.getScalarResolver()
+                    .resolve(scalar.getValue(), scalar.getImplicit().canOmitTagInPlainScalar()));
+            node = new ScalarNode(
+                    nodeTag,
+                    tag.isEmpty(),
+                    scalar.getValue(),
+                    scalar.getScalarStyle(),
+                    scalar.getStartMark(),
+                    scalar.getEndMark());
+        } else if (event instanceof SequenceStartEvent sequence) {
+            final var children = new ArrayList<Node>();
+            while (!parser.checkEvent(Event.ID.SequenceEnd)) {
+                children.add(composeNode());
+            }
+            final var end = parser.next();
+            final var tag = sequence.getTag().filter(FixtureReader::isSpecificTag);
+            node = new SequenceNode(
+                    tag.map(Tag::new).orElse(Tag.SEQ),
+                    tag.isEmpty(),
+                    children,
+                    sequence.getFlowStyle(),
+                    sequence.getStartMark(),
+                    end.getEndMark());
+        } else if (event instanceof MappingStartEvent mapping) {
+            final var children = new ArrayList<NodeTuple>();
+            while (!parser.checkEvent(Event.ID.MappingEnd)) {
+                final var key = composeNode();
+                children.add(new NodeTuple(key, composeNode()));
+            }
+            final var end = parser.next();
+            final var tag = mapping.getTag().filter(FixtureReader::isSpecificTag);
+            node = new MappingNode(
+                    tag.map(Tag::new).orElse(Tag.MAP),
+                    tag.isEmpty(),
+                    children,
+                    mapping.getFlowStyle(),
+                    mapping.getStartMark(),
+                    end.getEndMark());
+        } else {
+            throw new RuntimeExecutionException(
+                    "Unexpected YAML event " + event.getEventId() + " in " + sourceName);
+        }
+        if (event instanceof NodeEvent nodeEvent) {
+            nodeEvent.getAnchor().ifPresent(anchor -> anchors.put(anchor.getValue(), node));
+        }
+        return node;
+    }
+
+    private static boolean isSpecificTag(final String tag) {
+        return !"!".equals(tag);
+    }
+
+    private static boolean isPlainMapping(final Event event) {
+        return event instanceof MappingStartEvent mapping && isTag(mapping, Tag.MAP);
+    }
+
+    private static boolean isPlainSequence(final Event event) {
+        return event instanceof SequenceStartEvent sequence && isTag(sequence, Tag.SEQ);
+    }
+
+    private static boolean isOmapSequence(final Event event) {
+        return event instanceof SequenceStartEvent sequence
+                && sequence.getTag().filter(YamlMapSupport::isOmapTag).isPresent();
+    }
+
+    private static boolean isTag(final CollectionStartEvent event, final Tag defaultTag) {
+        return event.getTag()
+                .filter(FixtureReader::isSpecificTag)
+                .map(tag -> tag.equals(defaultTag.getValue()))
+                .orElse(true);
+    }
+}
@@ -0,0 +1,65 @@
+package org.realityforge.jdbt.runtime;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.jspecify.annotations.Nullable;
+import org.realityforge.jdbt.db.ImportFingerprint;
+
+final class ImportDelta {
+    static final ImportDelta NONE = new ImportDelta(Map.of(), Set.of());
+
+    private final Map<String, String> sourceFingerprints;
+    private final Set<String> unchangedTables;
+
+    private ImportDelta(final Map<String, String> sourceFingerprints, final Set<String> unchangedTables) {
+        this.sourceFingerprints = Map.copyOf(sourceFingerprints);
+        this.unchangedTables = Set.copyOf(unchangedTables);
+    }
+
+    static ImportDelta plan(
+            final List<String> tables,
+            final Map<String, Set<String>> dependencies,
+            final String sourceDatabase,
+            final Map<String, String> sourceFingerprints,
+            final Map<String, String> targetFingerprints,
+            final Map<String, ImportFingerprint> recorded) {
+        final var imported = Set.copyOf(tables);
+        final var unchanged = new HashSet<String>();
+        if (dependencies.keySet().containsAll(tables)) {
+            for (final var table : tables) {
+                final var fingerprint = recorded.get(table);
+                if (null != fingerprint
+                        && sourceDatabase.equals(fingerprint.sourceDatabase())
+                        && fingerprint.source().equals(sourceFingerprints.get(table))
+                        && fingerprint.target().equals(targetFingerprints.get(table))) {
+                    unchanged.add(table);
+                }
+            }
+            // Reloading a table deletes its rows first, so every table referencing it must be reloaded as well
+            var changed = true;
+            while (changed) {
+                changed = false;
+                for (final var table : List.copyOf(unchanged)) {
+                    for (final var dependency : dependencies.getOrDefault(table, Set.of())) {
+                        if (imported.contains(dependency) && !unchanged.contains(dependency)) {
+                            unchanged.remove(table);
+                            changed = true;
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        return new ImportDelta(sourceFingerprints, unchanged);
+    }
+
+    boolean unchanged(final String table) {
+        return unchangedTables.contains(table);
+    }
+
+    @Nullable String sourceFingerprint(final String table) {
+        return sourceFingerprints.get(table);
+    }
+}
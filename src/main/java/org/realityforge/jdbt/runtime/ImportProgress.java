@@ -0,0 +1,91 @@
+package org.realityforge.jdbt.runtime;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.jspecify.annotations.Nullable;
+
+final class ImportProgress {
+    private final Map<String, Long> rowCounts;
+    private final LongSupplier nanoTime;
+    private final int tableCount;
+    private final Map<String, Long> startedAt = new HashMap<>();
+    private long remainingRows;
+    private long completedRows;
+    private long completedNanos;
+    private int completedTables;
+    private long firstStartedAt = -1;
+
+    ImportProgress(final List<String> tables, final Map<String, Long> rowCounts, final LongSupplier nanoTime) {
+        this.rowCounts = new HashMap<>();
+        for (final var table : tables) {
+            final var rows = rowCounts.get(table);
+            if (null != rows && rows >= 0) {
+                this.rowCounts.put(table, rows);
+                remainingRows += rows;
+            }
+        }
+        this.nanoTime = nanoTime;
+        tableCount = tables.size();
+    }
+
+    List<String> largestFirst(final List<String> tables) {
+        final var ordered = new ArrayList<>(tables);
+        ordered.sort(Comparator.comparingLong((String table) -> rowCounts.getOrDefault(table, -1L))
+                .reversed());
+        return ordered;
+    }
+
+    synchronized @Nullable String started(final String table) {
+        final var now = nanoTime.getAsLong();
+        if (firstStartedAt < 0) {
+            firstStartedAt = now;
+        }
+        startedAt.put(table, now);
+        final var rows = rowCounts.get(table);
+        if (null == rows) {
+            return null;
+        }
+        // Per-table estimates use the rate of a single session rather than the combined rate of parallel sessions
+        final var estimate = completedRows > 0 && completedNanos > 0
+                ? ", ETA " + duration((long) ((double) rows * completedNanos / completedRows))
+                : "";
+        return "~" + rows + " rows" + estimate;
+    }
+
+    synchronized @Nullable String completed(final String table) {
+        final var now = nanoTime.getAsLong();
+        final var started = startedAt.remove(table);
+        final var rows = rowCounts.get(table);
+        completedTables++;
+        if (null == rows) {
+            return null;
+        }
+        remainingRows -= rows;
+        completedRows += rows;
+        if (null != started) {
+            completedNanos += now - started;
+        }
+        final var elapsed = now - firstStartedAt;
+        final var estimate = completedRows > 0 && elapsed > 0
+                ? ", ETA " + duration((long) ((double) remainingRows * elapsed / completedRows))
+                : "";
+        return completedTables + "/" + tableCount + " tables, ~" + remainingRows + " rows remaining" + estimate;
+    }
+
+    static String duration(final long nanos) {
+        final var seconds = TimeUnit.NANOSECONDS.toSeconds(nanos);
+        if (seconds >= 3600) {
+            return String.format(Locale.ROOT, "%dh%02dm%02ds", seconds / 3600, seconds % 3600 / 60, seconds % 60);
+        } else if (seconds >= 60) {
+            return String.format(Locale.ROOT, "%dm%02ds", seconds / 60, seconds % 60);
+        } else {
+            return seconds + "s";
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package org.realityforge.jdbt.runtime;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.jspecify.annotations.Nullable;
+import org.realityforge.jdbt.db.MigrationExecution;
+import org.realityforge.jdbt.db.MigrationRecord;
+
+public final class MigrationHistory {
+    private static final String CSV_HEADER =
+            "environment,namespace,migration,applied_at,duration_ms,row_count,checksum\n";
+    private static final int REGRESSION_FACTOR = 10;
+    private static final long REGRESSION_MINIMUM_MILLIS = 1000;
+
+    public record Entry(String environment, String namespace, MigrationRecord record) {}
+
+    private MigrationHistory() {}
+
+    public static void write(
+            final Path outputFile,
+            final String environment,
+            final String namespace,
+            final List<MigrationRecord> records) {
+        final var csv = new StringBuilder(CSV_HEADER);
+        for (final var record : records) {
+            final var appliedAt = record.appliedAt();
+            final var execution = record.execution();
+            csv.append(DatabaseStatisticsExporter.csv(environment))
+                    .append(',')
+                    .append(DatabaseStatisticsExporter.csv(namespace))
+                    .append(',')
+                    .append(DatabaseStatisticsExporter.csv(record.migration()))
+                    .append(',')
+                    .append(null == appliedAt ? "" : appliedAt.toString())
+                    .append(',')
+                    .append(null == execution ? "" : String.valueOf(execution.durationMillis()))
+                    .append(',')
+                    .append(null == execution ? "" : String.valueOf(execution.rowCount()))
+                    .append(',')
+                    .append(null == execution ? "" : execution.checksum())
+                    .append('\n');
+        }
+        final var absoluteOutput = outputFile.toAbsolutePath().normalize();
+        try {
+            final var parent = absoluteOutput.getParent();
+            if (null != parent) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(absoluteOutput, csv, StandardCharsets.UTF_8);
+        } catch (final IOException ioe) {
+            throw new UncheckedIOException("Failed writing migration history to " + absoluteOutput, ioe);
+        }
+    }
+
+    public static List<Entry> read(final List<Path> historyFiles) {
+        final var entries = new ArrayList<Entry>();
+        for (final var historyFile : historyFiles) {
+            final List<String> lines;
+            try {
+                lines = Files.readAllLines(historyFile, StandardCharsets.UTF_8);
+            } catch (final IOException ioe) {
+                throw new UncheckedIOException("Failed reading migration history from " + historyFile, ioe);
+            }
+            if (lines.isEmpty() || !CSV_HEADER.equals(lines.get(0) + '\n')) {
+                throw new RuntimeExecutionException("Unexpected migration history header in " + historyFile);
+            }
+            for (final var line : lines.subList(1, lines.size())) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                final var fields = DatabaseStatisticsExporter.csvFields(line);
+                if (7 != fields.size()) {
+                    throw new RuntimeExecutionException("Malformed migration history row '" + line + "' in "
+                            + historyFile);
+                }
+                try {
+                    final var execution = fields.get(4).isEmpty() || fields.get(6).isEmpty()
+                            ? null
+                            : new MigrationExecution(
+                                    Long.parseLong(fields.get(4)),
+                                    fields.get(5).isEmpty() ? 0 : Long.parseLong(fields.get(5)),
+                                    fields.get(6));
+                    final var appliedAt = fields.get(3).isEmpty() ? null : Instant.parse(fields.get(3));
+                    entries.add(new Entry(
+                            fields.get(0), fields.get(1), new MigrationRecord(fields.get(2), appliedAt, execution)));
+                } catch (final NumberFormatException | DateTimeParseException e) {
+                    throw new RuntimeExecutionException(
+                            "Malformed migration history row '" + line + "' in " + historyFile, e);
+                }
+            }
+        }
+        return entries;
+    }
+
+    static String checksum(final String content) {
+        return HexFormat.of().formatHex(sha256().digest(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    static String checksum(final Reader reader) throws IOException {
+        final var checksumReader = new ChecksumReader(reader);
+        final var buffer = new char[8192];
+        while (-1 != checksumReader.read(buffer, 0, buffer.length)) {
+            // Drain the reader so every character is digested
+        }
+        return checksumReader.checksum();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException nsae) {
+            throw new IllegalStateException("Unable to create SHA-256 digest", nsae);
+        }
+    }
+
+    // Digests the UTF-8 encoding of characters as they are read so the result matches checksum(String) over the
+    // same content without holding that content in memory.
+    static final class ChecksumReader extends FilterReader {
+        private final MessageDigest digest = sha256();
+        private @Nullable Character pendingHighSurrogate;
+
+        ChecksumReader(final Reader reader) {
+            super(reader);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final var c = super.read();
+            if (-1 != c) {
+                digest(String.valueOf((char) c));
+            }
+            return c;
+        }
+
+        @Override
+        public int read(final char[] buffer, final int offset, final int length) throws IOException {
+            final var count = super.read(buffer, offset, length);
+            if (count > 0) {
+                digest(new String(buffer, offset, count));
+            }
+            return count;
+        }
+
+        @Override
+        public long skip(final long count) throws IOException {
+            throw new IOException("Skipping would leave characters out of the checksum");
+        }
+
+        String checksum() {
+            final var pending = pendingHighSurrogate;
+            if (null != pending) {
+                pendingHighSurrogate = null;
+                digest.update(String.valueOf(pending).getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        }
+
+        private void digest(final String chars) {
+            final var pending = pendingHighSurrogate;
+            var text = null == pending ? chars : pending + chars;
+            pendingHighSurrogate = null;
+            // A surrogate pair split across reads is encoded once both halves have been read
+            if (Character.isHighSurrogate(text.charAt(text.length() - 1))) {
+                pendingHighSurrogate = text.charAt(text.length() - 1);
+                text = text.substring(0, text.length() - 1);
+            }
+            digest.update(text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    static String plan(
+            final String namespace,
+            final Map<String, String> pendingChecksums,
+            final List<Entry> history) {
+        final var executions = new LinkedHashMap<String, Map<String, MigrationExecution>>();
+        for (final var entry : history) {
+            final var execution = entry.record().execution();
+            if (namespace.equals(entry.namespace()) && null != execution) {
+                executions.computeIfAbsent(entry.record().migration(), k -> new LinkedHashMap<>())
+                        .put(entry.environment(), execution);
+            }
+        }
+
+        final var report = new StringBuilder("Pending Migrations: " + pendingChecksums.size() + '\n');
+        var estimate = 0L;
+        final var changed = new ArrayList<String>();
+        for (final var pending : pendingChecksums.entrySet()) {
+            final var migration = pending.getKey();
+            final var recorded = executions.getOrDefault(migration, Map.of());
+            report.append("  ").append(migration);
+            if (recorded.isEmpty()) {
+                report.append(": no recorded history");
+            } else {
+                var slowest = 0L;
+                var separator = ": ";
+                for (final var environment : recorded.entrySet()) {
+                    final var execution = environment.getValue();
+                    report.append(separator)
+                            .append(environment.getKey())
+                            .append(' ')
+                            .append(execution.durationMillis())
+                            .append(" ms, ")
+                            .append(execution.rowCount())
+                            .append(" rows");
+                    separator = "; ";
+                    slowest = Math.max(slowest, execution.durationMillis());
+                    if (!execution.checksum().equals(pending.getValue())) {
+                        changed.add(migration + " differs from the version applied on " + environment.getKey());
+                    }
+                }
+                estimate += slowest;
+            }
+            report.append('\n');
+        }
+        report.append("Estimated Duration: ").append(estimate).append(" ms\n");
+
+        final var regressions = new ArrayList<String>();
+        for (final var migration : executions.entrySet()) {
+            Map.@Nullable Entry<String, MigrationExecution> fastest = null;
+            Map.@Nullable Entry<String, MigrationExecution> slowest = null;
+            for (final var environment : migration.getValue().entrySet()) {
+                final var durationMillis = environment.getValue().durationMillis();
+                if (null == fastest || durationMillis < fastest.getValue().durationMillis()) {
+                    fastest = environment;
+                }
+                if (null == slowest || durationMillis > slowest.getValue().durationMillis()) {
+                    slowest = environment;
+                }
+            }
+            // Very short migrations are dominated by noise so are never reported as regressions
+            if (null != fastest
+                    && null != slowest
+                    && slowest.getValue().durationMillis() >= REGRESSION_MINIMUM_MILLIS
+                    && slowest.getValue().durationMillis()
+                            >= REGRESSION_FACTOR * Math.max(1, fastest.getValue().durationMillis())) {
+                regressions.add(migration.getKey() + ": " + fastest.getKey() + ' '
+                        + fastest.getValue().durationMillis() + " ms, " + slowest.getKey() + ' '
+                        + slowest.getValue().durationMillis() + " ms");
+            }
+        }
+        if (!regressions.isEmpty()) {
+            report.append("Duration Regressions:\n");
+            regressions.forEach(regression -> report.append("  ").append(regression).append('\n'));
+        }
+        if (!changed.isEmpty()) {
+            report.append("Changed Since Applied:\n");
+            changed.forEach(migration -> report.append("  ").append(migration).append('\n'));
+        }
+        return report.toString();
+    }
+}
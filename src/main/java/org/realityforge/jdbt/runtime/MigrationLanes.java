@@ -0,0 +1,114 @@
+package org.realityforge.jdbt.runtime;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import org.jspecify.annotations.Nullable;
+
+final class MigrationLanes {
+    private static final Pattern LANE_PATTERN = Pattern.compile("(?i)^--\\s*jdbt:lane\\s+(\\S+)\\s*$");
+    private static final Pattern DEPENDS_ON_PATTERN = Pattern.compile("(?i)^--\\s*jdbt:depends-on\\s+(.+)$");
+
+    record Header(@Nullable String lane, List<String> dependsOn) {
+        Header {
+            dependsOn = List.copyOf(dependsOn);
+        }
+
+        boolean annotated() {
+            return null != lane || !dependsOn.isEmpty();
+        }
+    }
+
+    private MigrationLanes() {}
+
+    static Header header(final String migrationName, final Reader sql) throws IOException {
+        @Nullable String lane = null;
+        final var dependsOn = new ArrayList<String>();
+        // Only the leading comment lines are read, so the body of a large migration is never loaded to plan it
+        final var reader = new BufferedReader(sql);
+        String rawLine;
+        while (null != (rawLine = reader.readLine())) {
+            final var line = rawLine.strip();
+            if (line.isEmpty()) {
+                continue;
+            }
+            if (!line.startsWith("--")) {
+                break;
+            }
+            final var laneMatcher = LANE_PATTERN.matcher(line);
+            final var dependsOnMatcher = DEPENDS_ON_PATTERN.matcher(line);
+            if (laneMatcher.matches()) {
+                if (null != lane) {
+                    throw new RuntimeExecutionException("Migration " + migrationName + " declares more than one lane");
+                }
+                lane = laneMatcher.group(1);
+            } else if (dependsOnMatcher.matches()) {
+                for (final var dependency : dependsOnMatcher.group(1).split("[,\\s]+")) {
+                    if (!dependency.isEmpty()) {
+                        dependsOn.add(dependency);
+                    }
+                }
+            }
+        }
+        return new Header(lane, dependsOn);
+    }
+
+    static @Nullable Map<String, Set<String>> dependencies(
+            final Map<String, Header> pending, final Set<String> knownMigrations) {
+        if (pending.values().stream().noneMatch(Header::annotated)) {
+            return null;
+        }
+        final var dependencies = new LinkedHashMap<String, Set<String>>();
+        final var seen = new HashSet<String>();
+        final var sinceBarrier = new ArrayList<String>();
+        final var lastInLane = new HashMap<String, String>();
+        @Nullable String barrier = null;
+        for (final var entry : pending.entrySet()) {
+            final var migration = entry.getKey();
+            final var header = entry.getValue();
+            final var required = new LinkedHashSet<String>();
+            if (null != barrier) {
+                required.add(barrier);
+            }
+            if (header.annotated()) {
+                final var lane = header.lane();
+                if (null != lane) {
+                    final var previous = lastInLane.put(lane, migration);
+                    if (null != previous) {
+                        required.add(previous);
+                    }
+                }
+                for (final var dependency : header.dependsOn()) {
+                    if (seen.contains(dependency)) {
+                        required.add(dependency);
+                    } else if (pending.containsKey(dependency)) {
+                        throw new RuntimeExecutionException(
+                                "Migration " + migration + " depends on later migration " + dependency);
+                    } else if (!knownMigrations.contains(dependency)) {
+                        throw new RuntimeExecutionException(
+                                "Migration " + migration + " depends on unknown migration " + dependency);
+                    }
+                }
+                sinceBarrier.add(migration);
+            } else {
+                // An unannotated migration keeps its place in the total order, waiting for everything before it
+                required.addAll(sinceBarrier);
+                sinceBarrier.clear();
+                lastInLane.clear();
+                barrier = migration;
+            }
+            seen.add(migration);
+            dependencies.put(migration, required);
+        }
+        return dependencies;
+    }
+}
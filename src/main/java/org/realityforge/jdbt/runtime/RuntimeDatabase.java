@@ -6,9 +6,13 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.jspecify.annotations.Nullable;
+import org.realityforge.jdbt.config.DatabaseConfig;
 import org.realityforge.jdbt.config.FilterPropertyConfig;
+import org.realityforge.jdbt.config.FixtureLoadMode;
 import org.realityforge.jdbt.config.ImportConfig;
+import org.realityforge.jdbt.config.ImportRecoveryModel;
 import org.realityforge.jdbt.config.ModuleGroupConfig;
+import org.realityforge.jdbt.config.TransactionMode;
 import org.realityforge.jdbt.files.ArtifactContent;
 import org.realityforge.jdbt.repository.RepositoryConfig;
 import org.realityforge.jdbt.repository.RepositoryTable;
@@ -26,6 +30,20 @@ public record RuntimeDatabase(
         List<String> preCreateDirs,
         List<String> postCreateDirs,
         String fixtureDirName,
+        int fixtureBatchSize,
+        int fixtureLoadParallelism,
+        int importParallelism,
+        int importChunkSize,
+        boolean deferIndexesOnImport,
+        @Nullable String importStatisticsFile,
+        @Nullable ImportRecoveryModel importRecoveryModel,
+        boolean importReplicaRole,
+        boolean importUnloggedTables,
+        TransactionMode transactionMode,
+        int commitInterval,
+        FixtureLoadMode fixtureLoadMode,
+        int sqlBatchGroupSize,
+        int migrationParallelism,
         String datasetsDirName,
         List<String> preDatasetDirs,
         List<String> postDatasetDirs,
@@ -99,6 +117,20 @@ public record RuntimeDatabase(
                 preCreateDirs,
                 postCreateDirs,
                 fixtureDirName,
+                DatabaseConfig.DEFAULT_FIXTURE_BATCH_SIZE,
+                DatabaseConfig.DEFAULT_FIXTURE_LOAD_PARALLELISM,
+                DatabaseConfig.DEFAULT_IMPORT_PARALLELISM,
+                DatabaseConfig.DEFAULT_IMPORT_CHUNK_SIZE,
+                DatabaseConfig.DEFAULT_DEFER_INDEXES_ON_IMPORT,
+                DatabaseConfig.DEFAULT_IMPORT_STATISTICS_FILE,
+                DatabaseConfig.DEFAULT_IMPORT_RECOVERY_MODEL,
+                DatabaseConfig.DEFAULT_IMPORT_REPLICA_ROLE,
+                DatabaseConfig.DEFAULT_IMPORT_UNLOGGED_TABLES,
+                DatabaseConfig.DEFAULT_TRANSACTION_MODE,
+                DatabaseConfig.DEFAULT_COMMIT_INTERVAL,
+                DatabaseConfig.DEFAULT_FIXTURE_LOAD_MODE,
+                DatabaseConfig.DEFAULT_SQL_BATCH_GROUP_SIZE,
+                DatabaseConfig.DEFAULT_MIGRATION_PARALLELISM,
                 datasetsDirName,
                 preDatasetDirs,
                 postDatasetDirs,
@@ -157,6 +189,20 @@ public record RuntimeDatabase(
                 preCreateDirs,
                 postCreateDirs,
                 fixtureDirName,
+                DatabaseConfig.DEFAULT_FIXTURE_BATCH_SIZE,
+                DatabaseConfig.DEFAULT_FIXTURE_LOAD_PARALLELISM,
+                DatabaseConfig.DEFAULT_IMPORT_PARALLELISM,
+                DatabaseConfig.DEFAULT_IMPORT_CHUNK_SIZE,
+                DatabaseConfig.DEFAULT_DEFER_INDEXES_ON_IMPORT,
+                DatabaseConfig.DEFAULT_IMPORT_STATISTICS_FILE,
+                DatabaseConfig.DEFAULT_IMPORT_RECOVERY_MODEL,
+                DatabaseConfig.DEFAULT_IMPORT_REPLICA_ROLE,
+                DatabaseConfig.DEFAULT_IMPORT_UNLOGGED_TABLES,
+                DatabaseConfig.DEFAULT_TRANSACTION_MODE,
+                DatabaseConfig.DEFAULT_COMMIT_INTERVAL,
+                DatabaseConfig.DEFAULT_FIXTURE_LOAD_MODE,
+                DatabaseConfig.DEFAULT_SQL_BATCH_GROUP_SIZE,
+                DatabaseConfig.DEFAULT_MIGRATION_PARALLELISM,
                 datasetsDirName,
                 preDatasetDirs,
                 postDatasetDirs,
@@ -177,6 +223,14 @@ public record RuntimeDatabase(
                 moduleGroups);
     }
 
+    public RuntimeDatabase withTransactionPolicy(final TransactionMode mode, final int interval) {
+        return toBuilder().transactionMode(mode).commitInterval(interval).build();
+    }
+
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
     public String schemaNameForModule(final String moduleName) {
         return repository.schemaNameForModule(moduleName);
     }
@@ -210,4 +264,124 @@ public record RuntimeDatabase(
         }
         return null;
     }
+
+    // Copies a database configuration while overriding its tuning settings
+    public static final class Builder {
+        private final RuntimeDatabase database;
+        private int fixtureLoadParallelism;
+        private int importParallelism;
+        private int importChunkSize;
+        private @Nullable ImportRecoveryModel importRecoveryModel;
+        private TransactionMode transactionMode;
+        private int commitInterval;
+        private FixtureLoadMode fixtureLoadMode;
+        private int sqlBatchGroupSize;
+        private int migrationParallelism;
+
+        private Builder(final RuntimeDatabase database) {
+            this.database = database;
+            fixtureLoadParallelism = database.fixtureLoadParallelism();
+            importParallelism = database.importParallelism();
+            importChunkSize = database.importChunkSize();
+            importRecoveryModel = database.importRecoveryModel();
+            transactionMode = database.transactionMode();
+            commitInterval = database.commitInterval();
+            fixtureLoadMode = database.fixtureLoadMode();
+            sqlBatchGroupSize = database.sqlBatchGroupSize();
+            migrationParallelism = database.migrationParallelism();
+        }
+
+        public Builder fixtureLoadParallelism(final int fixtureLoadParallelism) {
+            this.fixtureLoadParallelism = fixtureLoadParallelism;
+            return this;
+        }
+
+        public Builder importParallelism(final int importParallelism) {
+            this.importParallelism = importParallelism;
+            return this;
+        }
+
+        public Builder importChunkSize(final int importChunkSize) {
+            this.importChunkSize = importChunkSize;
+            return this;
+        }
+
+        public Builder importRecoveryModel(final @Nullable ImportRecoveryModel importRecoveryModel) {
+            this.importRecoveryModel = importRecoveryModel;
+            return this;
+        }
+
+        public Builder transactionMode(final TransactionMode transactionMode) {
+            this.transactionMode = transactionMode;
+            return this;
+        }
+
+        public Builder commitInterval(final int commitInterval) {
+            this.commitInterval = commitInterval;
+            return this;
+        }
+
+        public Builder fixtureLoadMode(final FixtureLoadMode fixtureLoadMode) {
+            this.fixtureLoadMode = fixtureLoadMode;
+            return this;
+        }
+
+        public Builder sqlBatchGroupSize(final int sqlBatchGroupSize) {
+            this.sqlBatchGroupSize = sqlBatchGroupSize;
+            return this;
+        }
+
+        public Builder migrationParallelism(final int migrationParallelism) {
+            this.migrationParallelism = migrationParallelism;
+            return this;
+        }
+
+        public RuntimeDatabase build() {
+            return new RuntimeDatabase(
+                    database.key(),
+                    database.repository(),
+                    database.searchDirs(),
+                    database.preDbArtifacts(),
+                    database.postDbArtifacts(),
+                    database.indexFileName(),
+                    database.upDirs(),
+                    database.downDirs(),
+                    database.finalizeDirs(),
+                    database.preCreateDirs(),
+                    database.postCreateDirs(),
+                    database.fixtureDirName(),
+                    database.fixtureBatchSize(),
+                    fixtureLoadParallelism,
+                    importParallelism,
+                    importChunkSize,
+                    database.deferIndexesOnImport(),
+                    database.importStatisticsFile(),
+                    importRecoveryModel,
+                    database.importReplicaRole(),
+                    database.importUnloggedTables(),
+                    transactionMode,
+                    commitInterval,
+                    fixtureLoadMode,
+                    sqlBatchGroupSize,
+                    migrationParallelism,
+                    database.datasetsDirName(),
+                    database.preDatasetDirs(),
+                    database.postDatasetDirs(),
+                    database.datasets(),
+                    database.migrationsEnabled(),
+                    database.migrationsAppliedAtCreate(),
+                    database.migrationsDirName(),
+                    database.version(),
+                    database.schemaHash(),
+                    database.dataPath(),
+                    database.logPath(),
+                    database.forceDrop(),
+                    database.deleteBackupHistory(),
+                    database.reindexOnImport(),
+                    database.shrinkOnImport(),
+                    database.filterProperties(),
+                    database.imports(),
+                    database.moduleGroups());
+        }
+    }
 }
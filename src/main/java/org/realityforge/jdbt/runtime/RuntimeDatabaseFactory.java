@@ -30,6 +30,20 @@ public final class RuntimeDatabaseFactory {
                 database.preCreateDirs(),
                 database.postCreateDirs(),
                 database.fixtureDirName(),
+                database.fixtureBatchSize(),
+                database.fixtureLoadParallelism(),
+                database.importParallelism(),
+                database.importChunkSize(),
+                database.deferIndexesOnImport(),
+                database.importStatisticsFile(),
+                database.importRecoveryModel(),
+                database.importReplicaRole(),
+                database.importUnloggedTables(),
+                database.transactionMode(),
+                database.commitInterval(),
+                database.fixtureLoadMode(),
+                database.sqlBatchGroupSize(),
+                database.migrationParallelism(),
                 database.datasetsDirName(),
                 database.preDatasetDirs(),
                 database.postDatasetDirs(),
@@ -2,6 +2,8 @@ package org.realityforge.jdbt.runtime;
 
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -19,37 +21,60 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.regex.Pattern;
 import org.jspecify.annotations.Nullable;
 import org.realityforge.jdbt.config.FilterPropertyConfig;
+import org.realityforge.jdbt.config.FixtureLoadMode;
 import org.realityforge.jdbt.config.ImportConfig;
+import org.realityforge.jdbt.config.ImportDeleteStrategy;
 import org.realityforge.jdbt.config.ModuleGroupConfig;
+import org.realityforge.jdbt.config.TransactionMode;
 import org.realityforge.jdbt.config.YamlMapSupport;
 import org.realityforge.jdbt.db.DatabaseConnection;
+import org.realityforge.jdbt.db.DatabaseException;
 import org.realityforge.jdbt.db.DatabaseMetadata;
 import org.realityforge.jdbt.db.DbDriver;
+import org.realityforge.jdbt.db.ImportFingerprint;
+import org.realityforge.jdbt.db.MigrationExecution;
+import org.realityforge.jdbt.db.MigrationRecord;
 import org.realityforge.jdbt.db.QueryResult;
+import org.realityforge.jdbt.db.SqlBatchException;
 import org.realityforge.jdbt.files.FileResolver;
 import org.realityforge.jdbt.repository.RowSource;
 
 public final class RuntimeEngine {
     private static final Pattern ARTIFACT_FILE_PATTERN = Pattern.compile("^zip:([^:]+):(.+)$");
-    private static final Pattern GO_SPLIT_PATTERN = Pattern.compile("(?im)^\\s*GO\\s*$");
+    private static final Pattern GROUPABLE_BATCH_PATTERN = Pattern.compile(
+            "(?is)\\s*(?:(?:--[^\\n]*\\n|/\\*.*?\\*/)\\s*)*(?:CREATE|ALTER|DROP|GRANT|REVOKE|DENY)\\s+(?!DATABASE\\b)");
+    private static final Pattern SELF_CONTAINED_BATCH_PATTERN = Pattern.compile(
+            "(?is)\\s*(?:(?:--[^\\n]*\\n|/\\*.*?\\*/)\\s*)*(?:(?:CREATE|ALTER)\\s+(?:OR\\s+ALTER\\s+)?"
+                    + "(?:VIEW|PROC|PROCEDURE|FUNCTION|TRIGGER)|GRANT|REVOKE|DENY)\\b");
+    private static final Pattern RESULT_STATEMENT_PATTERN =
+            Pattern.compile("(?i)\\b(?:SELECT|PRINT|RAISERROR|EXEC|EXECUTE)\\b");
     private static final DateTimeFormatter FIXTURE_DATE_TIME_FORMAT =
             DateTimeFormatter.ofPattern("dd MMM yyyy HH:mm:ss", Locale.ENGLISH);
     private static final DateTimeFormatter FIXTURE_DATE_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE;
     private static final DateTimeFormatter FIXTURE_TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss", Locale.ROOT);
 
     private final DbDriver db;
+    private final @Nullable Supplier<DbDriver> sessionFactory;
     private final FileResolver fileResolver;
     private final Consumer<String> output;
+    private @Nullable DatabaseConnection currentTarget;
 
     public RuntimeEngine(final DbDriver db, final FileResolver fileResolver) {
         this(db, fileResolver, System.out::println);
@@ -57,6 +82,18 @@ public final class RuntimeEngine {
 
     public RuntimeEngine(final DbDriver db, final FileResolver fileResolver, final Consumer<String> output) {
         this.db = db;
+        this.sessionFactory = null;
+        this.fileResolver = fileResolver;
+        this.output = Objects.requireNonNull(output);
+    }
+
+    public RuntimeEngine(
+            final DbDriver db,
+            final Supplier<DbDriver> sessionFactory,
+            final FileResolver fileResolver,
+            final Consumer<String> output) {
+        this.db = db;
+        this.sessionFactory = Objects.requireNonNull(sessionFactory);
         this.fileResolver = fileResolver;
         this.output = Objects.requireNonNull(output);
     }
@@ -137,6 +174,39 @@ public final class RuntimeEngine {
                 target, false, () -> performMigration(database, MigrationAction.PERFORM, declaredFilters));
     }
 
+    public String planMigrations(
+            final RuntimeDatabase database,
+            final DatabaseConnection target,
+            final List<MigrationHistory.Entry> history) {
+        final var files = migrationFiles(database);
+        final var versionIndex = releaseVersionIndex(database, files);
+        final var pending = new LinkedHashMap<String, String>();
+        withDatabaseConnection(target, false, () -> {
+            final var migrationNames = files.stream()
+                    .map(file -> basenameWithoutExtension(file, ".sql"))
+                    .toList();
+            final var applied = new HashSet<>(db.appliedMigrations(database.key(), migrationNames));
+            for (int i = 0; i < files.size(); i++) {
+                final var migrationName = migrationNames.get(i);
+                if (applied.add(migrationName) && (null == versionIndex || versionIndex < i)) {
+                    pending.put(migrationName, migrationChecksum(database, files.get(i)));
+                }
+            }
+        });
+        return MigrationHistory.plan(database.key(), pending, history);
+    }
+
+    public int exportMigrationHistory(
+            final RuntimeDatabase database,
+            final DatabaseConnection target,
+            final String environment,
+            final Path outputFile) {
+        final var history = new ArrayList<MigrationRecord>();
+        withDatabaseConnection(target, false, () -> history.addAll(db.migrationHistory(database.key())));
+        MigrationHistory.write(outputFile, environment, database.key(), history);
+        return history.size();
+    }
+
     public void upModuleGroup(
             final RuntimeDatabase database,
             final String moduleGroupKey,
@@ -266,6 +336,21 @@ public final class RuntimeEngine {
             final DatabaseConnection source,
             final @Nullable String resumeAt,
             final Map<String, String> filterProperties) {
+        databaseImport(database, importKey, moduleGroupKey, target, source, resumeAt, false, filterProperties);
+    }
+
+    public void databaseImport(
+            final RuntimeDatabase database,
+            final String importKey,
+            final @Nullable String moduleGroupKey,
+            final DatabaseConnection target,
+            final DatabaseConnection source,
+            final @Nullable String resumeAt,
+            final boolean delta,
+            final Map<String, String> filterProperties) {
+        if (delta && null != resumeAt) {
+            throw new RuntimeExecutionException("Delta import can not be combined with resuming at " + resumeAt);
+        }
         final var declaredFilters = resolveDeclaredFilterValues(database, filterProperties);
         final var importConfig = importByKey(database, importKey);
         final var moduleGroup = null == moduleGroupKey ? null : moduleGroup(database, moduleGroupKey);
@@ -284,6 +369,7 @@ public final class RuntimeEngine {
                         true,
                         moduleGroup,
                         resumeAt,
+                        delta,
                         declaredFilters));
     }
 
@@ -311,7 +397,7 @@ public final class RuntimeEngine {
                 performCreateAction(database, ModuleMode.UP, declaredFilters);
             }
             performImportAction(
-                    database, metadata, importConfig, target, source, false, null, resumeAt, declaredFilters);
+                    database, metadata, importConfig, target, source, false, null, resumeAt, false, declaredFilters);
             performCreateAction(database, ModuleMode.FINALIZE, declaredFilters);
             for (final var dir : database.postCreateDirs()) {
                 processCreationDirSet(database, dir, declaredFilters);
@@ -329,51 +415,74 @@ public final class RuntimeEngine {
             final boolean shouldPerformDelete,
             final @Nullable ModuleGroupConfig moduleGroup,
             final @Nullable String resumeAtInput,
+            final boolean delta,
             final Map<String, String> declaredFilters) {
         final var resumeAt = new ResumeState(resumeAtInput);
         final var selectedModules = selectedImportModules(database, importConfig, moduleGroup);
 
-        if (null == moduleGroup && null == resumeAt.value) {
-            for (final var dir : importConfig.preImportDirs()) {
-                processImportDirSet(database, dir, target, source, declaredFilters);
+        db.preDatabaseImport(metadata, importConfig);
+        try {
+            if (database.importChunkSize() > 0) {
+                // Created once here as parallel import sessions would race to create it on their first chunk
+                db.setupImportCheckpoints();
             }
-        }
-
-        if (shouldPerformDelete && null != moduleGroup && null == resumeAt.value) {
-            final var deleteOrder = new ArrayList<String>();
-            for (final var moduleName : selectedModules) {
-                final var tables = new ArrayList<>(importTableOrdering(database, moduleName));
-                Collections.reverse(tables);
-                deleteOrder.addAll(tables);
+            if (null == moduleGroup && null == resumeAt.value) {
+                for (final var dir : importConfig.preImportDirs()) {
+                    processImportDirSet(database, dir, target, source, declaredFilters);
+                }
             }
-            for (final var table : deleteOrder) {
-                db.execute("DELETE FROM " + table, false);
+
+            final var importDelta =
+                    delta ? importDelta(database, importConfig, source, selectedModules) : ImportDelta.NONE;
+            // PostgreSQL rejects a TRUNCATE of a table referenced from a table outside the same statement,
+            // so the truncate strategy always clears every module being imported in a single call
+            final var truncate = ImportDeleteStrategy.TRUNCATE == importConfig.deleteStrategy();
+            final var deleteWithinModule = shouldPerformDelete && null == moduleGroup && !truncate;
+            if (shouldPerformDelete && !deleteWithinModule && (null == moduleGroup || null == resumeAt.value)) {
+                final var deleteOrder = new ArrayList<String>();
+                for (final var moduleName : modulesAfterResumePoint(database, selectedModules, resumeAt.value)) {
+                    final var tables = new ArrayList<>(importTableOrdering(database, moduleName));
+                    Collections.reverse(tables);
+                    deleteOrder.addAll(tables);
+                }
+                deleteOrder.removeIf(importDelta::unchanged);
+                clearImportTables(importConfig, deleteOrder);
             }
-        }
 
-        final var deleteWithinModule = shouldPerformDelete && null == moduleGroup;
-        for (final var moduleName : selectedModules) {
-            importModule(
-                    database,
-                    metadata,
-                    importConfig,
-                    target,
-                    source,
-                    moduleName,
-                    deleteWithinModule,
-                    resumeAt,
-                    declaredFilters);
-        }
+            for (final var moduleName : selectedModules) {
+                importModule(
+                        database,
+                        metadata,
+                        importConfig,
+                        target,
+                        source,
+                        moduleName,
+                        deleteWithinModule,
+                        resumeAt,
+                        importDelta,
+                        declaredFilters);
+            }
 
-        if (null != resumeAt.value) {
-            throw new RuntimeExecutionException(
-                    "Partial import unable to be completed as bad table name supplied " + resumeAt.value);
-        }
+            if (null != resumeAt.value) {
+                throw new RuntimeExecutionException(
+                        "Partial import unable to be completed as bad table name supplied " + resumeAt.value);
+            }
 
-        if (null == moduleGroup) {
-            for (final var dir : importConfig.postImportDirs()) {
-                processImportDirSet(database, dir, target, source, declaredFilters);
+            if (null == moduleGroup) {
+                for (final var dir : importConfig.postImportDirs()) {
+                    processImportDirSet(database, dir, target, source, declaredFilters);
+                }
+            }
+            if (database.importChunkSize() > 0) {
+                db.clearImportCheckpoints();
             }
+        } catch (final RuntimeException e) {
+            try {
+                db.abortDatabaseImport(metadata, importConfig);
+            } catch (final RuntimeException re) {
+                e.addSuppressed(re);
+            }
+            throw e;
         }
         db.postDatabaseImport(metadata, importConfig);
     }
@@ -395,6 +504,22 @@ public final class RuntimeEngine {
         return List.copyOf(selectedModules);
     }
 
+    private static List<String> modulesAfterResumePoint(
+            final RuntimeDatabase database, final List<String> selectedModules, final @Nullable String resumeAt) {
+        if (null == resumeAt) {
+            return selectedModules;
+        }
+        for (var i = 0; i < selectedModules.size(); i++) {
+            final var moduleName = selectedModules.get(i);
+            final var objects = new ArrayList<>(importTableOrdering(database, moduleName));
+            objects.addAll(database.sequenceOrdering(moduleName));
+            if (objects.stream().anyMatch(object -> cleanObjectName(object).equals(resumeAt))) {
+                return selectedModules.subList(i + 1, selectedModules.size());
+            }
+        }
+        return List.of();
+    }
+
     private void importModule(
             final RuntimeDatabase database,
             final DatabaseMetadata metadata,
@@ -404,6 +529,7 @@ public final class RuntimeEngine {
             final String moduleName,
             final boolean shouldPerformDelete,
             final ResumeState resumeAt,
+            final ImportDelta importDelta,
             final Map<String, String> declaredFilters) {
         final var orderedTables = new ArrayList<>(importTableOrdering(database, moduleName));
         final var orderedSequences = new ArrayList<>(database.sequenceOrdering(moduleName));
@@ -411,25 +537,84 @@ public final class RuntimeEngine {
         if (shouldPerformDelete && null == resumeAt.value) {
             final var deleteOrder = new ArrayList<>(orderedTables);
             Collections.reverse(deleteOrder);
-            for (final var table : deleteOrder) {
-                db.execute("DELETE FROM " + table, false);
-            }
+            deleteOrder.removeIf(importDelta::unchanged);
+            clearImportTables(importConfig, deleteOrder);
         }
 
+        final var resumeTable = null == resumeAt.value
+                ? null
+                : orderedTables.stream()
+                        .filter(table -> cleanObjectName(table).equals(resumeAt.value))
+                        .findFirst()
+                        .orElse(null);
+        final var pendingTables = new ArrayList<String>();
         for (final var table : orderedTables) {
-            final var cleanName = cleanObjectName(table);
-            if (cleanName.equals(resumeAt.value)) {
-                db.execute("DELETE FROM " + table, false);
+            if (table.equals(resumeTable)) {
                 resumeAt.value = null;
             }
-            if (null == resumeAt.value) {
+            // The table being resumed holds a partial import so it is never skipped as unchanged
+            if (null == resumeAt.value && !table.equals(resumeTable) && importDelta.unchanged(table)) {
+                output.accept(paddedLabel(moduleName) + "Unchanged " + cleanObjectName(table));
+            } else if (null == resumeAt.value) {
+                pendingTables.add(table);
+            }
+        }
+
+        final var dependencies = parallelDependencies(database.importParallelism(), pendingTables);
+        final var progress = importProgress(database, source, moduleName, pendingTables);
+        if (null != resumeTable) {
+            // A failed parallel import may also have completed tables after the resume point
+            final var deleteOrder = new ArrayList<>(null == dependencies ? List.of(resumeTable) : pendingTables);
+            Collections.reverse(deleteOrder);
+            for (final var table : deleteOrder) {
+                // A chunked import continues the resumed table from its checkpoint instead of reloading it
+                if (!table.equals(resumeTable) || !resumesFromCheckpoint(database, importConfig, moduleName, table)) {
+                    db.execute("DELETE FROM " + table, false);
+                }
+            }
+        }
+        if (null != dependencies) {
+            importTablesInParallel(
+                    database,
+                    metadata,
+                    importConfig,
+                    target,
+                    source,
+                    moduleName,
+                    pendingTables,
+                    dependencies,
+                    resumeTable,
+                    progress,
+                    importDelta,
+                    declaredFilters);
+        } else {
+            for (final var table : pendingTables) {
+                final var cleanName = cleanObjectName(table);
+                reportProgress(moduleName, "Estimated", table, progress.started(table));
                 db.preTableImport(metadata, importConfig, table);
                 try {
-                    performImport(database, importConfig, target, source, moduleName, table, declaredFilters);
+                    withDeferredIndexes(
+                            db,
+                            database,
+                            moduleName,
+                            table,
+                            () -> performImport(
+                                    db,
+                                    database,
+                                    importConfig,
+                                    target,
+                                    source,
+                                    moduleName,
+                                    table,
+                                    table.equals(resumeTable),
+                                    declaredFilters));
                 } catch (final RuntimeException e) {
+                    abortTableImport(db, metadata, importConfig, table, e);
                     throw importFailure(cleanName, e);
                 }
                 db.postTableImport(metadata, importConfig, table);
+                recordImportFingerprint(db, importConfig, source, importDelta, table);
+                reportProgress(moduleName, "Imported", table, progress.completed(table));
             }
         }
 
@@ -453,6 +638,203 @@ public final class RuntimeEngine {
         }
     }
 
+    private ImportProgress importProgress(
+            final RuntimeDatabase database,
+            final DatabaseConnection source,
+            final String moduleName,
+            final List<String> tables) {
+        final var statisticsFile = database.importStatisticsFile();
+        final var rowCounts = tables.isEmpty()
+                ? Map.<String, Long>of()
+                : null == statisticsFile
+                ? approximateRowCounts(source, moduleName, tables)
+                : DatabaseStatisticsExporter.readTableRowCounts(
+                        database.searchDirs().get(0).resolve(statisticsFile), tables);
+        return new ImportProgress(tables, rowCounts, System::nanoTime);
+    }
+
+    private Map<String, Long> approximateRowCounts(
+            final DatabaseConnection source, final String moduleName, final List<String> tables) {
+        try {
+            return db.approximateRowCounts(source, tables);
+        } catch (final DatabaseException e) {
+            // Estimates only order and report progress so a catalog failure must not abort the import
+            output.accept(paddedLabel(moduleName) + "Unable to estimate table sizes: " + e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private ImportDelta importDelta(
+            final RuntimeDatabase database,
+            final ImportConfig importConfig,
+            final DatabaseConnection source,
+            final List<String> selectedModules) {
+        final var tables = new ArrayList<String>();
+        final var fingerprinted = new ArrayList<String>();
+        for (final var moduleName : selectedModules) {
+            for (final var table : importTableOrdering(database, moduleName)) {
+                tables.add(table);
+                // Import Fixtures and Explicit Import SQL may not copy the source as is, so they are always reloaded
+                if (!hasImportFile(database, importConfig, moduleName, table)) {
+                    fingerprinted.add(table);
+                }
+            }
+        }
+        if (fingerprinted.isEmpty()) {
+            return ImportDelta.NONE;
+        }
+        // Created once here as parallel import sessions would race to create it when recording fingerprints
+        db.setupImportFingerprints();
+        return ImportDelta.plan(
+                tables,
+                db.foreignKeyDependencies(tables),
+                source.database(),
+                db.sourceFingerprints(source, fingerprinted),
+                db.targetFingerprints(fingerprinted),
+                db.importFingerprints(importConfig.key()));
+    }
+
+    private static void recordImportFingerprint(
+            final DbDriver session,
+            final ImportConfig importConfig,
+            final DatabaseConnection source,
+            final ImportDelta importDelta,
+            final String table) {
+        final var sourceFingerprint = importDelta.sourceFingerprint(table);
+        if (null != sourceFingerprint) {
+            final var targetFingerprint = session.targetFingerprints(List.of(table)).get(table);
+            if (null != targetFingerprint) {
+                session.recordImportFingerprint(
+                        importConfig.key(),
+                        table,
+                        new ImportFingerprint(source.database(), sourceFingerprint, targetFingerprint));
+            }
+        }
+    }
+
+    private void reportProgress(
+            final String moduleName, final String action, final String table, final @Nullable String progress) {
+        if (null != progress) {
+            output.accept(paddedLabel(moduleName) + action + ' ' + cleanObjectName(table) + ": " + progress);
+        }
+    }
+
+    private void clearImportTables(final ImportConfig importConfig, final List<String> deleteOrder) {
+        if (ImportDeleteStrategy.TRUNCATE == importConfig.deleteStrategy()) {
+            db.truncateTables(deleteOrder);
+        } else {
+            for (final var table : deleteOrder) {
+                db.execute("DELETE FROM " + table, false);
+            }
+        }
+    }
+
+    private void importTablesInParallel(
+            final RuntimeDatabase database,
+            final DatabaseMetadata metadata,
+            final ImportConfig importConfig,
+            final DatabaseConnection target,
+            final DatabaseConnection source,
+            final String moduleName,
+            final List<String> tables,
+            final Map<String, Set<String>> dependencies,
+            final @Nullable String resumeTable,
+            final ImportProgress progress,
+            final ImportDelta importDelta,
+            final Map<String, String> declaredFilters) {
+        final var completed = ConcurrentHashMap.<String>newKeySet();
+        final var failed = new ConcurrentLinkedQueue<String>();
+        try {
+            // Starting the largest ready tables first keeps one long table from finishing alone at the end
+            runInParallel(
+                    database.importParallelism(),
+                    "import",
+                    "tables",
+                    progress.largestFirst(tables),
+                    dependencies,
+                    table -> {},
+                    (session, table) -> {
+                        try {
+                            reportProgress(moduleName, "Estimated", table, progress.started(table));
+                            session.preTableImport(metadata, importConfig, table);
+                            withDeferredIndexes(
+                                    session,
+                                    database,
+                                    moduleName,
+                                    table,
+                                    () -> performImport(
+                                            session,
+                                            database,
+                                            importConfig,
+                                            target,
+                                            source,
+                                            moduleName,
+                                            table,
+                                            table.equals(resumeTable),
+                                            declaredFilters));
+                            session.postTableImport(metadata, importConfig, table);
+                            recordImportFingerprint(session, importConfig, source, importDelta, table);
+                        } catch (final RuntimeException e) {
+                            failed.add(table);
+                            abortTableImport(session, metadata, importConfig, table, e);
+                            throw e;
+                        }
+                        completed.add(table);
+                        reportProgress(moduleName, "Imported", table, progress.completed(table));
+                    });
+        } catch (final RuntimeException e) {
+            final var resumeAt = tables.stream()
+                    .filter(table -> !completed.contains(table))
+                    .findFirst()
+                    .orElse(tables.get(0));
+            final var failedTable = failed.isEmpty() ? resumeAt : failed.element();
+            throw importFailure(cleanObjectName(failedTable), cleanObjectName(resumeAt), e);
+        }
+    }
+
+    private static void abortTableImport(
+            final DbDriver session,
+            final DatabaseMetadata metadata,
+            final ImportConfig importConfig,
+            final String table,
+            final RuntimeException failure) {
+        try {
+            session.abortTableImport(metadata, importConfig, table);
+        } catch (final RuntimeException re) {
+            failure.addSuppressed(re);
+        }
+    }
+
+    private static void withDeferredIndexes(
+            final DbDriver session,
+            final RuntimeDatabase database,
+            final String moduleName,
+            final String tableName,
+            final Runnable action) {
+        final var indexNames = database.deferIndexesOnImport()
+                ? database.tablesForModule(moduleName).stream()
+                        .filter(table -> table.name().equals(tableName))
+                        .flatMap(table -> table.indexNames().stream())
+                        .toList()
+                : List.<String>of();
+        if (indexNames.isEmpty()) {
+            action.run();
+            return;
+        }
+        try {
+            session.deferIndexes(tableName, indexNames);
+            action.run();
+        } catch (final RuntimeException e) {
+            try {
+                session.rebuildIndexes(tableName);
+            } catch (final RuntimeException rebuildFailure) {
+                e.addSuppressed(rebuildFailure);
+            }
+            throw e;
+        }
+        session.rebuildIndexes(tableName);
+    }
+
     private static List<String> importTableOrdering(final RuntimeDatabase database, final String moduleName) {
         return database.tablesForModule(moduleName).stream()
                 .filter(table -> RowSource.IMPORT == table.rowSource())
@@ -527,22 +909,29 @@ public final class RuntimeEngine {
     }
 
     private static RuntimeExecutionException importFailure(final String cleanObjectName, final RuntimeException cause) {
+        return importFailure(cleanObjectName, cleanObjectName, cause);
+    }
+
+    private static RuntimeExecutionException importFailure(
+            final String cleanObjectName, final String resumeAt, final RuntimeException cause) {
         return new RuntimeExecutionException(
                 "Problem importing "
                         + cleanObjectName
                         + ". Fix the problem and retry import specifying --resume-at="
-                        + cleanObjectName
+                        + resumeAt
                         + " to re-attempt import from current position.",
                 cause);
     }
 
     private void performImport(
+            final DbDriver session,
             final RuntimeDatabase database,
             final ImportConfig importConfig,
             final DatabaseConnection target,
             final DatabaseConnection source,
             final String moduleName,
             final String tableName,
+            final boolean resume,
             final Map<String, String> declaredFilters) {
         final var fixtureFile = fileResolver.findFileInModule(
                 database.searchDirs(),
@@ -568,11 +957,40 @@ public final class RuntimeEngine {
 
         logImport(moduleName, tableName, fixtureFile, sqlFile);
         if (null != fixtureFile) {
-            loadFixture(tableName, fixtureFile, loadData(database, fixtureFile));
+            loadFixture(session, database, tableName, fixtureFile, true);
         } else if (null != sqlFile) {
-            runImportSql(tableName, loadData(database, sqlFile), target.database(), source.database(), declaredFilters);
+            inTransaction(
+                    session,
+                    database,
+                    () -> streamSqlFile(
+                            session,
+                            database,
+                            sqlFile,
+                            importSqlFilter(session, tableName, target.database(), source.database(), declaredFilters),
+                            session.executesImportSqlInControlDatabase()));
+        } else if (importInChunks(session, database, tableName)) {
+            // Each chunk commits with its checkpoint so the table is not wrapped in the transaction policy
+            session.chunkedImport(
+                    tableName,
+                    target.database(),
+                    source.database(),
+                    session.columnNamesForTable(tableName),
+                    database.importChunkSize(),
+                    resume);
+        } else if (streamImport(session, target, source)) {
+            inTransaction(
+                    session, database, () -> session.streamImport(source, tableName, database.fixtureBatchSize()));
         } else {
-            performStandardImport(tableName, target.database(), source.database(), declaredFilters);
+            inTransaction(
+                    session,
+                    database,
+                    () -> performStandardImport(
+                            session,
+                            tableName,
+                            target.database(),
+                            source.database(),
+                            null != database.importRecoveryModel(),
+                            declaredFilters));
         }
     }
 
@@ -616,9 +1034,17 @@ public final class RuntimeEngine {
             loadSequenceFixture(sequenceName, fixtureFile, loadData(database, fixtureFile));
         } else if (null != sqlFile) {
             runImportSql(
-                    sequenceName, loadData(database, sqlFile), target.database(), source.database(), declaredFilters);
+                    db,
+                    sequenceName,
+                    loadData(database, sqlFile),
+                    target.database(),
+                    source.database(),
+                    declaredFilters);
+        } else if (streamImport(db, target, source)) {
+            db.streamSequenceImport(source, sequenceName);
         } else {
             runImportSql(
+                    db,
                     sequenceName,
                     db.generateStandardSequenceImportSql(sequenceName, target.database(), source.database()),
                     target.database(),
@@ -627,34 +1053,95 @@ public final class RuntimeEngine {
         }
     }
 
+    private static boolean importInChunks(
+            final DbDriver session, final RuntimeDatabase database, final String tableName) {
+        return database.importChunkSize() > 0 && session.supportsChunkedImport(tableName);
+    }
+
+    private boolean resumesFromCheckpoint(
+            final RuntimeDatabase database,
+            final ImportConfig importConfig,
+            final String moduleName,
+            final String tableName) {
+        return importInChunks(db, database, tableName) && !hasImportFile(database, importConfig, moduleName, tableName);
+    }
+
+    private boolean hasImportFile(
+            final RuntimeDatabase database,
+            final ImportConfig importConfig,
+            final String moduleName,
+            final String tableName) {
+        for (final var extension : List.of("yml", "sql")) {
+            final var file = fileResolver.findFileInModule(
+                    database.searchDirs(),
+                    moduleName,
+                    importConfig.dir(),
+                    tableName,
+                    extension,
+                    database.postDbArtifacts(),
+                    database.preDbArtifacts());
+            if (null != file) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean streamImport(
+            final DbDriver session, final DatabaseConnection target, final DatabaseConnection source) {
+        return session.supportsStreamingImport()
+                && !(target.host().equals(source.host())
+                        && target.port() == source.port()
+                        && target.database().equals(source.database()));
+    }
+
     private void performStandardImport(
+            final DbDriver session,
             final String tableName,
             final String targetDatabase,
             final String sourceDatabase,
+            final boolean tableLock,
             final Map<String, String> declaredFilters) {
-        final var columns = db.columnNamesForTable(tableName);
+        final var columns = session.columnNamesForTable(tableName);
         runImportSql(
+                session,
                 tableName,
-                db.generateStandardImportSql(tableName, targetDatabase, sourceDatabase, columns),
+                session.generateStandardImportSql(tableName, targetDatabase, sourceDatabase, columns, tableLock),
                 targetDatabase,
                 sourceDatabase,
                 declaredFilters);
     }
 
     private void runImportSql(
+            final DbDriver session,
             final @Nullable String tableName,
             final String sql,
             final String targetDatabase,
             final String sourceDatabase,
             final Map<String, String> declaredFilters) {
-        var effectiveSql = db.supportsAssertMacros() ? SqlServerAssertExpander.expandImportSql(sql) : sql;
-        effectiveSql = applyDeclaredFilterProperties(effectiveSql, declaredFilters);
-        if (null != tableName) {
-            effectiveSql = effectiveSql.replace("__TABLE__", tableName);
-        }
-        effectiveSql = effectiveSql.replace("__SOURCE__", sourceDatabase);
-        effectiveSql = effectiveSql.replace("__TARGET__", targetDatabase);
-        runSqlBatch(effectiveSql, true);
+        runSqlBatch(
+                session,
+                sql,
+                importSqlFilter(session, tableName, targetDatabase, sourceDatabase, declaredFilters),
+                session.executesImportSqlInControlDatabase(),
+                "inline SQL");
+    }
+
+    private static UnaryOperator<String> importSqlFilter(
+            final DbDriver session,
+            final @Nullable String tableName,
+            final String targetDatabase,
+            final String sourceDatabase,
+            final Map<String, String> declaredFilters) {
+        return sql -> {
+            var effectiveSql = session.supportsAssertMacros() ? SqlServerAssertExpander.expandImportSql(sql) : sql;
+            effectiveSql = applyDeclaredFilterProperties(effectiveSql, declaredFilters);
+            if (null != tableName) {
+                effectiveSql = effectiveSql.replace("__TABLE__", tableName);
+            }
+            effectiveSql = effectiveSql.replace("__SOURCE__", sourceDatabase);
+            return effectiveSql.replace("__TARGET__", targetDatabase);
+        };
     }
 
     private void runSqlFile(
@@ -665,11 +1152,31 @@ public final class RuntimeEngine {
             final Map<String, String> declaredFilters,
             final boolean expandDatabaseVersionAssert) {
         logSqlFile(label, file);
-        var sql = loadData(database, file);
-        if (expandDatabaseVersionAssert && db.supportsAssertMacros()) {
-            sql = SqlServerAssertExpander.expandCreationSql(sql);
-        }
-        runSqlBatch(applyDeclaredFilterProperties(sql, declaredFilters), executeInControlDatabase, file);
+        runSqlFile(db, database, file, executeInControlDatabase, declaredFilters, expandDatabaseVersionAssert);
+    }
+
+    private static long runSqlFile(
+            final DbDriver session,
+            final RuntimeDatabase database,
+            final String file,
+            final boolean executeInControlDatabase,
+            final Map<String, String> declaredFilters,
+            final boolean expandDatabaseVersionAssert) {
+        return streamSqlFile(
+                session,
+                database,
+                file,
+                sqlFileFilter(session, declaredFilters, expandDatabaseVersionAssert),
+                executeInControlDatabase);
+    }
+
+    private static UnaryOperator<String> sqlFileFilter(
+            final DbDriver session,
+            final Map<String, String> declaredFilters,
+            final boolean expandDatabaseVersionAssert) {
+        final var expandAssert = expandDatabaseVersionAssert && session.supportsAssertMacros();
+        return sql -> applyDeclaredFilterProperties(
+                expandAssert ? SqlServerAssertExpander.expandCreationSql(sql) : sql, declaredFilters);
     }
 
     private void processImportDirSet(
@@ -687,7 +1194,12 @@ public final class RuntimeEngine {
                 database.preDbArtifacts());
         for (final var file : files) {
             logSqlFile(fileLabel("", dir), file);
-            runImportSql(null, loadData(database, file), target.database(), source.database(), declaredFilters);
+            streamSqlFile(
+                    db,
+                    database,
+                    file,
+                    importSqlFilter(db, null, target.database(), source.database(), declaredFilters),
+                    db.executesImportSqlInControlDatabase());
         }
     }
 
@@ -799,15 +1311,18 @@ public final class RuntimeEngine {
 
     private static DatabaseMetadata databaseMetadata(final RuntimeDatabase database) {
         return new DatabaseMetadata(
-                database.key(),
-                database.version(),
-                database.schemaHash(),
-                database.dataPath(),
-                database.logPath(),
-                database.forceDrop(),
-                database.deleteBackupHistory(),
-                database.reindexOnImport(),
-                database.shrinkOnImport());
+                        database.key(),
+                        database.version(),
+                        database.schemaHash(),
+                        database.dataPath(),
+                        database.logPath(),
+                        database.forceDrop(),
+                        database.deleteBackupHistory(),
+                        database.reindexOnImport(),
+                        database.shrinkOnImport(),
+                        database.importRecoveryModel())
+                .withImportReplicaRole(database.importReplicaRole())
+                .withImportUnloggedTables(database.importUnloggedTables());
     }
 
     private void performPostCreateMigrationsSetup(
@@ -833,26 +1348,135 @@ public final class RuntimeEngine {
             final MigrationAction action,
             final Map<String, String> declaredFilters,
             final boolean expandDatabaseVersionAssert) {
-        final var files = fileResolver.collectFiles(
+        final var files = migrationFiles(database);
+        final var versionIndex = releaseVersionIndex(database, files);
+        final var migrationNames = files.stream()
+                .map(file -> basenameWithoutExtension(file, ".sql"))
+                .toList();
+        if (action == MigrationAction.PERFORM) {
+            // appliedMigrations only reads so the table is created or upgraded before migrations are recorded
+            db.setupMigrations();
+        }
+        final var applied = action == MigrationAction.PERFORM
+                ? new HashSet<>(db.appliedMigrations(database.key(), migrationNames))
+                : new HashSet<String>();
+        // Migrations recorded without running are written in batches, but one that runs is recorded straight away
+        final var unrecorded = new ArrayList<String>();
+        final var runnable = new LinkedHashMap<String, String>();
+        for (int i = 0; i < files.size(); i++) {
+            final var migrationName = migrationNames.get(i);
+            if (applied.add(migrationName)) {
+                final var shouldRun =
+                        action != MigrationAction.RECORD && (null == versionIndex || versionIndex < i);
+                if (shouldRun) {
+                    runnable.put(migrationName, files.get(i));
+                } else {
+                    unrecorded.add(migrationName);
+                }
+            }
+        }
+        // Only migrations before the release version boundary are skipped, so they all precede those that run
+        recordMigrations(database, unrecorded);
+
+        final var dependencies = migrationLaneDependencies(database, runnable, migrationNames);
+        if (null != dependencies) {
+            runInParallel(
+                    database.migrationParallelism(),
+                    "run migration",
+                    "migrations",
+                    List.copyOf(runnable.keySet()),
+                    dependencies,
+                    migrationName -> logSqlFile("Migration: ", Objects.requireNonNull(runnable.get(migrationName))),
+                    (session, migrationName) -> runMigration(
+                            session,
+                            database,
+                            migrationName,
+                            Objects.requireNonNull(runnable.get(migrationName)),
+                            declaredFilters,
+                            expandDatabaseVersionAssert));
+        } else {
+            for (final var migration : runnable.entrySet()) {
+                logSqlFile("Migration: ", migration.getValue());
+                runMigration(
+                        db,
+                        database,
+                        migration.getKey(),
+                        migration.getValue(),
+                        declaredFilters,
+                        expandDatabaseVersionAssert);
+            }
+        }
+    }
+
+    private @Nullable Map<String, Set<String>> migrationLaneDependencies(
+            final RuntimeDatabase database, final Map<String, String> runnable, final List<String> migrationNames) {
+        if (database.migrationParallelism() < 2
+                || null == sessionFactory
+                || null == currentTarget
+                || runnable.size() < 2) {
+            return null;
+        }
+        final var headers = new LinkedHashMap<String, MigrationLanes.Header>();
+        for (final var migration : runnable.entrySet()) {
+            try (var reader = openData(database, migration.getValue())) {
+                headers.put(migration.getKey(), MigrationLanes.header(migration.getKey(), reader));
+            } catch (final IOException ioe) {
+                throw new UncheckedIOException("Failed to read file " + migration.getValue(), ioe);
+            }
+        }
+        return MigrationLanes.dependencies(headers, Set.copyOf(migrationNames));
+    }
+
+    private static void runMigration(
+            final DbDriver session,
+            final RuntimeDatabase database,
+            final String migrationName,
+            final String file,
+            final Map<String, String> declaredFilters,
+            final boolean expandDatabaseVersionAssert) {
+        final var filter = sqlFileFilter(session, declaredFilters, expandDatabaseVersionAssert);
+        // Outside autocommit the migration and its record commit together, so a failure cannot leave it applied but
+        // unrecorded. Autocommit keeps migrations free to use statements that cannot run inside a transaction
+        inTransaction(session, database, () -> {
+            final var startedAt = System.nanoTime();
+            final long rowCount;
+            final String checksum;
+            // The checksum is digested as the batches are read so the migration is only read once. Batches are never
+            // grouped because grouped batches report no row counts and run in the scope of a nested EXEC
+            try (var reader = new MigrationHistory.ChecksumReader(openData(database, file))) {
+                rowCount = runSqlBatches(session, reader, filter, false, file, 1);
+                checksum = reader.checksum();
+            } catch (final IOException ioe) {
+                throw new UncheckedIOException("Failed to read file " + file, ioe);
+            }
+            final var durationMillis = (System.nanoTime() - startedAt) / 1_000_000;
+            session.markMigrationAsRun(
+                    database.key(), migrationName, new MigrationExecution(durationMillis, rowCount, checksum));
+        });
+    }
+
+    private static String migrationChecksum(final RuntimeDatabase database, final String file) {
+        try (var reader = openData(database, file)) {
+            return MigrationHistory.checksum(reader);
+        } catch (final IOException ioe) {
+            throw new UncheckedIOException("Failed to read file " + file, ioe);
+        }
+    }
+
+    private List<String> migrationFiles(final RuntimeDatabase database) {
+        return fileResolver.collectFiles(
                 database.searchDirs(),
                 database.migrationsDirName(),
                 "sql",
                 database.indexFileName(),
                 database.postDbArtifacts(),
                 database.preDbArtifacts());
+    }
 
-        final var versionIndex = releaseVersionIndex(database, files);
-        for (int i = 0; i < files.size(); i++) {
-            final var filename = files.get(i);
-            final var migrationName = basenameWithoutExtension(filename, ".sql");
-            final var shouldCheck = action == MigrationAction.PERFORM;
-            if (!shouldCheck || db.shouldMigrate(database.key(), migrationName)) {
-                final var shouldRun = action != MigrationAction.RECORD && (null == versionIndex || versionIndex < i);
-                if (shouldRun) {
-                    runSqlFile(database, "Migration: ", filename, false, declaredFilters, expandDatabaseVersionAssert);
-                }
-                db.markMigrationAsRun(database.key(), migrationName);
-            }
+    private void recordMigrations(final RuntimeDatabase database, final List<String> migrationNames) {
+        if (!migrationNames.isEmpty()) {
+            db.markMigrationsAsRun(database.key(), List.copyOf(migrationNames));
+            migrationNames.clear();
         }
     }
 
@@ -877,9 +1501,11 @@ public final class RuntimeEngine {
     private void withDatabaseConnection(
             final DatabaseConnection target, final boolean openControlDatabase, final Runnable action) {
         db.open(target, openControlDatabase);
+        currentTarget = openControlDatabase ? null : target;
         try {
             action.run();
         } finally {
+            currentTarget = null;
             db.close();
         }
     }
@@ -1005,9 +1631,11 @@ public final class RuntimeEngine {
         for (final var moduleName : reversedModules) {
             downFixtures(database, moduleName, fixtures);
         }
+        final var staleRows = new LinkedHashMap<String, List<Map<String, Object>>>();
         for (final var moduleName : modules) {
-            upFixtures(database, moduleName, fixtures);
+            upFixtures(database, moduleName, fixtures, true, staleRows);
         }
+        deleteStaleFixtureRows(database, staleRows);
     }
 
     private static Map<String, String> loadExportProperties(final Path propertiesFile) {
@@ -1244,7 +1872,9 @@ public final class RuntimeEngine {
     private void loadFixturesFromDir(final RuntimeDatabase database, final String moduleName, final String subdir) {
         final var fixtures = collectFixtures(database, moduleName, subdir);
         downFixtures(database, moduleName, fixtures);
-        upFixtures(database, moduleName, fixtures);
+        final var staleRows = new LinkedHashMap<String, List<Map<String, Object>>>();
+        upFixtures(database, moduleName, fixtures, false, staleRows);
+        deleteStaleFixtureRows(database, staleRows);
     }
 
     private Map<String, String> collectFixtures(
@@ -1260,10 +1890,29 @@ public final class RuntimeEngine {
 
     private void downFixtures(
             final RuntimeDatabase database, final String moduleName, final Map<String, String> fixtures) {
-        final var tables = new ArrayList<>(database.tableOrdering(moduleName));
-        Collections.reverse(tables);
-        for (final var tableName : tables) {
+        final var tables = new ArrayList<String>();
+        for (final var tableName : database.tableOrdering(moduleName)) {
             if (fixtures.containsKey(tableName)) {
+                tables.add(tableName);
+            }
+        }
+        Collections.reverse(tables);
+        if (reconcileFixtures(database)) {
+            // Reconciled tables keep their rows; stale rows are deleted once the fixtures have been applied
+            tables.clear();
+        }
+        final var dependencies = parallelFixtureDependencies(database, tables);
+        if (null != dependencies) {
+            runInParallel(
+                    database.fixtureLoadParallelism(),
+                    "delete fixtures from",
+                    "tables",
+                    tables,
+                    TableDependencyScheduler.reverse(dependencies),
+                    tableName -> {},
+                    (session, tableName) -> session.execute("DELETE FROM " + tableName, false));
+        } else {
+            for (final var tableName : tables) {
                 db.execute("DELETE FROM " + tableName, false);
             }
         }
@@ -1278,12 +1927,46 @@ public final class RuntimeEngine {
     }
 
     private void upFixtures(
-            final RuntimeDatabase database, final String moduleName, final Map<String, String> fixtures) {
+            final RuntimeDatabase database,
+            final String moduleName,
+            final Map<String, String> fixtures,
+            final boolean bulkLoad,
+            final Map<String, List<Map<String, Object>>> staleRows) {
+        final var sources = new ArrayList<FixturePipeline.Source>();
         for (final var tableName : database.tableOrdering(moduleName)) {
             final var fixture = fixtures.get(tableName);
             if (null != fixture) {
-                output.accept(paddedLabel("Fixture") + cleanObjectName(tableName));
-                loadFixture(tableName, fixture, loadData(database, fixture));
+                sources.add(new FixturePipeline.Source(tableName, fixture));
+            }
+        }
+        final var tables = sources.stream().map(FixturePipeline.Source::tableName).toList();
+        final var dependencies = parallelFixtureDependencies(database, tables);
+        if (null != dependencies) {
+            runInParallel(
+                    database.fixtureLoadParallelism(),
+                    "load fixture into",
+                    "tables",
+                    tables,
+                    dependencies,
+                    tableName -> output.accept(paddedLabel("Fixture") + cleanObjectName(tableName)),
+                    (session, tableName) -> loadFixture(
+                            session,
+                            database,
+                            tableName,
+                            Objects.requireNonNull(fixtures.get(tableName)),
+                            bulkLoad));
+        } else if (!sources.isEmpty()) {
+            try (var pipeline = new FixturePipeline(
+                    sources, fixture -> openData(database, fixture), database.fixtureBatchSize())) {
+                for (final var source : sources) {
+                    output.accept(paddedLabel("Fixture") + cleanObjectName(source.tableName()));
+                    final var records = pipeline.next();
+                    if (reconcileFixtures(database)) {
+                        reconcileFixtureRows(database, source.tableName(), records, staleRows);
+                    } else if (records.hasDocument()) {
+                        insertFixtureRows(db, database, source.tableName(), records, bulkLoad);
+                    }
+                }
             }
         }
 
@@ -1296,24 +1979,179 @@ public final class RuntimeEngine {
         }
     }
 
-    private void loadFixture(final String tableName, final String sourceName, final String content) {
-        final var parsed = parseYaml(content, sourceName);
-        if (null == parsed) {
+    private @Nullable Map<String, Set<String>> parallelFixtureDependencies(
+            final RuntimeDatabase database, final List<String> tables) {
+        return reconcileFixtures(database) ? null : parallelDependencies(database.fixtureLoadParallelism(), tables);
+    }
+
+    private @Nullable Map<String, Set<String>> parallelDependencies(
+            final int parallelism, final List<String> tables) {
+        if (parallelism < 2
+                || null == sessionFactory
+                || null == currentTarget
+                || tables.size() < 2) {
+            return null;
+        }
+        final Map<String, Set<String>> dependencies;
+        try {
+            dependencies = db.foreignKeyDependencies(tables);
+        } catch (final DatabaseException e) {
+            // Without foreign key metadata the safe order is the serial one
+            return null;
+        }
+        // Tables whose metadata could not be found are absent, so their dependencies are unknown
+        if (!dependencies.keySet().containsAll(tables) || !TableDependencyScheduler.isAcyclic(tables, dependencies)) {
+            return null;
+        }
+        return dependencies;
+    }
+
+    private void runInParallel(
+            final int parallelism,
+            final String operation,
+            final String items,
+            final List<String> itemsInOrder,
+            final Map<String, Set<String>> dependencies,
+            final Consumer<String> onStart,
+            final TableDependencyScheduler.TableAction action) {
+        try {
+            new TableDependencyScheduler(
+                            Objects.requireNonNull(sessionFactory),
+                            Objects.requireNonNull(currentTarget),
+                            parallelism,
+                            operation,
+                            items)
+                    .run(itemsInOrder, dependencies, onStart, action);
+        } finally {
+            // Schema changes made on the parallel sessions are not seen by the metadata cached for this session
+            db.invalidateMetadata();
+        }
+    }
+
+    private static void loadFixture(
+            final DbDriver session,
+            final RuntimeDatabase database,
+            final String tableName,
+            final String sourceName,
+            final boolean bulkLoad) {
+        try (var reader = openData(database, sourceName)) {
+            final var records = new FixtureReader(reader, tableName, sourceName);
+            if (records.hasDocument()) {
+                insertFixtureRows(session, database, tableName, records, bulkLoad);
+            }
+        } catch (final IOException ioe) {
+            throw new UncheckedIOException("Failed to read file " + sourceName, ioe);
+        }
+    }
+
+    private static void insertFixtureRows(
+            final DbDriver session,
+            final RuntimeDatabase database,
+            final String tableName,
+            final Iterator<Map<String, Object>> records,
+            final boolean bulkLoad) {
+        inTransaction(session, database, () -> {
+            if (bulkLoad && session.supportsBulkLoad()) {
+                session.bulkLoad(tableName, records, database.fixtureBatchSize());
+            } else {
+                session.preFixtureImport(tableName);
+                insertInCommitIntervals(session, database, tableName, records);
+                session.postFixtureImport(tableName);
+            }
+        });
+    }
+
+    private boolean reconcileFixtures(final RuntimeDatabase database) {
+        return FixtureLoadMode.RECONCILE == database.fixtureLoadMode() && db.supportsReconcile();
+    }
+
+    private void reconcileFixtureRows(
+            final RuntimeDatabase database,
+            final String tableName,
+            final Iterator<Map<String, Object>> records,
+            final Map<String, List<Map<String, Object>>> staleRows) {
+        inTransaction(db, database, () -> {
+            db.preFixtureImport(tableName);
+            final var reconciliation = db.reconcile(tableName, records, database.fixtureBatchSize());
+            db.postFixtureImport(tableName);
+            staleRows.put(tableName, reconciliation.staleKeys());
+            output.accept(paddedLabel("Reconciled") + cleanObjectName(tableName) + ": "
+                    + reconciliation.inserted() + " inserted, " + reconciliation.updated() + " updated, "
+                    + reconciliation.staleKeys().size() + " deleted");
+        });
+    }
+
+    private void deleteStaleFixtureRows(
+            final RuntimeDatabase database, final Map<String, List<Map<String, Object>>> staleRows) {
+        final var tables = new ArrayList<>(staleRows.keySet());
+        Collections.reverse(tables);
+        for (final var tableName : tables) {
+            final var keys = staleRows.getOrDefault(tableName, List.of());
+            if (!keys.isEmpty()) {
+                inTransaction(db, database, () -> db.deleteRows(tableName, keys, database.fixtureBatchSize()));
+            }
+        }
+    }
+
+    private static void inTransaction(final DbDriver session, final RuntimeDatabase database, final Runnable action) {
+        if (TransactionMode.AUTOCOMMIT == database.transactionMode()) {
+            action.run();
             return;
         }
+        session.beginTransaction();
+        try {
+            action.run();
+        } catch (final RuntimeException e) {
+            try {
+                session.rollbackTransaction();
+            } catch (final RuntimeException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+            }
+            throw e;
+        }
+        session.commitTransaction();
+    }
 
-        final var fixtureGroups = toFixtureGroupList(parsed, tableName);
-        db.preFixtureImport(tableName);
-        for (final var fixtureGroup : fixtureGroups) {
-            for (final var fixture : fixtureGroup.entrySet()) {
-                if (!(fixture.getValue() instanceof Map<?, ?> data)) {
-                    throw new RuntimeExecutionException(
-                            "Bad data for " + tableName + " fixture named " + fixture.getKey() + " (not map)");
-                }
-                db.insert(tableName, toStringObjectMap(data));
+    private static void insertInCommitIntervals(
+            final DbDriver session,
+            final RuntimeDatabase database,
+            final String tableName,
+            final Iterator<Map<String, Object>> records) {
+        if (TransactionMode.ROWS != database.transactionMode()) {
+            session.insertAll(tableName, records, database.fixtureBatchSize());
+            return;
+        }
+        // Each interval is inserted by its own insertAll so every queued batch is flushed before the commit, leaving
+        // exactly the committed rows in place if a later interval fails
+        final var commitInterval = database.commitInterval();
+        while (true) {
+            session.insertAll(tableName, limit(records, commitInterval), database.fixtureBatchSize());
+            if (!records.hasNext()) {
+                return;
             }
+            session.commitTransaction();
+            session.beginTransaction();
         }
-        db.postFixtureImport(tableName);
+    }
+
+    private static Iterator<Map<String, Object>> limit(final Iterator<Map<String, Object>> records, final int maximum) {
+        return new Iterator<>() {
+            private int remaining = maximum;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0 && records.hasNext();
+            }
+
+            @Override
+            public Map<String, Object> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                remaining--;
+                return records.next();
+            }
+        };
     }
 
     private void loadSequenceFixture(final String sequenceName, final String sourceName, final String content) {
@@ -1333,31 +2171,6 @@ public final class RuntimeEngine {
         db.updateSequence(sequenceName, value);
     }
 
-    private static List<Map<String, Object>> toFixtureGroupList(final Object parsed, final String tableName) {
-        if (parsed instanceof Map<?, ?> map) {
-            return List.of(toStringObjectMap(map));
-        }
-        if (parsed instanceof List<?> list) {
-            final var groups = new ArrayList<Map<String, Object>>(list.size());
-            for (final var entry : list) {
-                if (!(entry instanceof Map<?, ?> map)) {
-                    throw new RuntimeExecutionException("Bad data for " + tableName + " fixture group " + entry);
-                }
-                groups.add(toStringObjectMap(map));
-            }
-            return List.copyOf(groups);
-        }
-        throw new RuntimeExecutionException("Bad data for " + tableName + " fixture payload " + parsed);
-    }
-
-    private static Map<String, Object> toStringObjectMap(final Map<?, ?> data) {
-        final var values = new LinkedHashMap<String, Object>();
-        for (final var entry : data.entrySet()) {
-            values.put(String.valueOf(entry.getKey()), entry.getValue());
-        }
-        return Collections.unmodifiableMap(values);
-    }
-
     private static @Nullable Object parseYaml(final String content, final String sourceName) {
         return YamlMapSupport.parseDocument(content, sourceName);
     }
@@ -1380,21 +2193,146 @@ public final class RuntimeEngine {
         }
     }
 
+    private static Reader openData(final RuntimeDatabase database, final String location) throws IOException {
+        final var matcher = ARTIFACT_FILE_PATTERN.matcher(location);
+        if (matcher.matches()) {
+            final var artifactId = matcher.group(1);
+            final var path = matcher.group(2);
+            final var artifact = database.artifactById(artifactId);
+            if (null == artifact) {
+                throw new RuntimeExecutionException("Unable to locate artifact with id '" + artifactId + "'.");
+            }
+            return artifact.openReader(path);
+        }
+        return Files.newBufferedReader(Path.of(location), StandardCharsets.UTF_8);
+    }
+
     private void runSqlBatch(final String sql, final boolean executeInControlDatabase) {
         runSqlBatch(sql, executeInControlDatabase, "inline SQL");
     }
 
     private void runSqlBatch(final String sql, final boolean executeInControlDatabase, final String sourceName) {
-        final var normalizedSql = sql.replace("\r", "");
-        for (final var batch : GO_SPLIT_PATTERN.splitAsStream(normalizedSql).toList()) {
-            if (!batch.trim().isEmpty()) {
-                try {
-                    db.execute(batch, executeInControlDatabase);
-                } catch (final RuntimeException e) {
-                    throw new RuntimeExecutionException("Failed to execute SQL batch from " + sourceName, e);
+        runSqlBatch(db, sql, UnaryOperator.identity(), executeInControlDatabase, sourceName);
+    }
+
+    private static void runSqlBatch(
+            final DbDriver session,
+            final String sql,
+            final UnaryOperator<String> filter,
+            final boolean executeInControlDatabase,
+            final String sourceName) {
+        try {
+            runSqlBatches(session, new StringReader(sql), filter, executeInControlDatabase, sourceName, 1);
+        } catch (final IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+
+    private static long streamSqlFile(
+            final DbDriver session,
+            final RuntimeDatabase database,
+            final String file,
+            final UnaryOperator<String> filter,
+            final boolean executeInControlDatabase) {
+        try (var reader = openData(database, file)) {
+            return runSqlBatches(session, reader, filter, executeInControlDatabase, file, database.sqlBatchGroupSize());
+        } catch (final IOException ioe) {
+            throw new UncheckedIOException("Failed to read file " + file, ioe);
+        }
+    }
+
+    private static long runSqlBatches(
+            final DbDriver session,
+            final Reader reader,
+            final UnaryOperator<String> filter,
+            final boolean executeInControlDatabase,
+            final String sourceName,
+            final int groupSize)
+            throws IOException {
+        // Each batch is executed as soon as it is read so large scripts are never held in memory as a whole
+        final var batches = new SqlBatchReader(reader, session.supportsBracketIdentifiers());
+        final var grouping = groupSize > 1 && session.supportsBatchGrouping();
+        final var pending = new ArrayList<String>();
+        final var pendingIndexes = new ArrayList<Integer>();
+        var index = 0;
+        var rowCount = 0L;
+        for (var batch = batches.next(); null != batch; batch = batches.next()) {
+            index++;
+            final var sql = filter.apply(batch.sql());
+            // Expanded assert macros carry their own GO separators
+            final var parts = sql.equals(batch.sql())
+                    ? List.of(new SqlBatchReader.Batch(sql, 1))
+                    : SqlBatchReader.readAll(sql, session.supportsBracketIdentifiers());
+            for (var i = 0; i < batch.count(); i++) {
+                for (final var part : parts) {
+                    for (var j = 0; j < part.count(); j++) {
+                        if (grouping && isGroupableBatch(part.sql())) {
+                            pending.add(part.sql());
+                            pendingIndexes.add(index);
+                            if (pending.size() >= groupSize) {
+                                executeBatchGroup(
+                                        session, pending, pendingIndexes, executeInControlDatabase, sourceName);
+                            }
+                        } else {
+                            executeBatchGroup(session, pending, pendingIndexes, executeInControlDatabase, sourceName);
+                            rowCount +=
+                                    executeBatch(session, part.sql(), executeInControlDatabase, sourceName, index);
+                        }
+                    }
                 }
             }
         }
+        executeBatchGroup(session, pending, pendingIndexes, executeInControlDatabase, sourceName);
+        return rowCount;
+    }
+
+    private static boolean isGroupableBatch(final String sql) {
+        // Only definitions and permissions are grouped as they return no results and rely on no session state
+        if (sql.contains("#") || !GROUPABLE_BATCH_PATTERN.matcher(sql).lookingAt()) {
+            return false;
+        }
+        // A view, routine or trigger definition is its whole batch, so a SELECT in its body returns nothing here.
+        // Other definitions are only grouped when no later statement in the batch could return results or messages.
+        return SELF_CONTAINED_BATCH_PATTERN.matcher(sql).lookingAt()
+                || !RESULT_STATEMENT_PATTERN.matcher(sql).find();
+    }
+
+    private static void executeBatchGroup(
+            final DbDriver session,
+            final List<String> pending,
+            final List<Integer> pendingIndexes,
+            final boolean executeInControlDatabase,
+            final String sourceName) {
+        if (1 == pending.size()) {
+            executeBatch(session, pending.get(0), executeInControlDatabase, sourceName, pendingIndexes.get(0));
+        } else if (!pending.isEmpty()) {
+            try {
+                session.executeBatches(pending, executeInControlDatabase);
+            } catch (final SqlBatchException e) {
+                final var index = pendingIndexes.get(Math.min(e.batchIndex(), pendingIndexes.size() - 1));
+                throw batchFailure(sourceName, index, Objects.requireNonNullElse(e.getCause(), e));
+            }
+        }
+        pending.clear();
+        pendingIndexes.clear();
+    }
+
+    private static long executeBatch(
+            final DbDriver session,
+            final String sql,
+            final boolean executeInControlDatabase,
+            final String sourceName,
+            final int index) {
+        try {
+            return session.executeUpdate(sql, executeInControlDatabase);
+        } catch (final RuntimeException e) {
+            throw batchFailure(sourceName, index, e);
+        }
+    }
+
+    private static RuntimeExecutionException batchFailure(
+            final String sourceName, final int index, final Throwable cause) {
+        return new RuntimeExecutionException("Failed to execute SQL batch " + index + " from " + sourceName, cause);
     }
 
     private static Map<String, String> resolveDeclaredFilterValues(
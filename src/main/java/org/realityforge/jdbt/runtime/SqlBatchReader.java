@@ -0,0 +1,177 @@
+package org.realityforge.jdbt.runtime;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.jspecify.annotations.Nullable;
+
+final class SqlBatchReader {
+    private static final Pattern GO_PATTERN = Pattern.compile("(?i)\\s*GO(?:\\s+(\\d{1,9}))?\\s*");
+
+    record Batch(String sql, int count) {}
+
+    private enum State {
+        CODE,
+        SINGLE_QUOTE,
+        ESCAPED_QUOTE,
+        DOUBLE_QUOTE,
+        BRACKET,
+        DOLLAR_QUOTE,
+        BLOCK_COMMENT
+    }
+
+    private final BufferedReader reader;
+    // Only SQL Server quotes identifiers in brackets, elsewhere brackets are array subscripts that nest
+    private final boolean bracketIdentifiers;
+    private State state = State.CODE;
+    private int commentDepth;
+    private String dollarTag = "";
+
+    SqlBatchReader(final Reader reader, final boolean bracketIdentifiers) {
+        this.reader = reader instanceof BufferedReader bufferedReader ? bufferedReader : new BufferedReader(reader);
+        this.bracketIdentifiers = bracketIdentifiers;
+    }
+
+    static List<Batch> readAll(final String sql, final boolean bracketIdentifiers) {
+        final var batches = new ArrayList<Batch>();
+        final var reader = new SqlBatchReader(new StringReader(sql), bracketIdentifiers);
+        try {
+            for (var batch = reader.next(); null != batch; batch = reader.next()) {
+                batches.add(batch);
+            }
+        } catch (final IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+        return batches;
+    }
+
+    @Nullable Batch next() throws IOException {
+        var sql = new StringBuilder();
+        var blank = true;
+        String line;
+        while (null != (line = reader.readLine())) {
+            if (State.CODE == state) {
+                final var matcher = GO_PATTERN.matcher(line);
+                if (matcher.matches()) {
+                    if (!blank) {
+                        final var count = matcher.group(1);
+                        return new Batch(sql.toString(), null == count ? 1 : Integer.parseInt(count));
+                    }
+                    sql = new StringBuilder();
+                    continue;
+                }
+            }
+            if (!sql.isEmpty()) {
+                sql.append('\n');
+            }
+            sql.append(line);
+            blank &= line.isBlank();
+            scan(line);
+        }
+        return blank ? null : new Batch(sql.toString(), 1);
+    }
+
+    private void scan(final String line) {
+        final var length = line.length();
+        for (var i = 0; i < length; i++) {
+            final var c = line.charAt(i);
+            final var next = i + 1 < length ? line.charAt(i + 1) : '\0';
+            switch (state) {
+                case CODE -> {
+                    if ('\'' == c) {
+                        state = isEscapeStringPrefix(line, i) ? State.ESCAPED_QUOTE : State.SINGLE_QUOTE;
+                    } else if ('"' == c) {
+                        state = State.DOUBLE_QUOTE;
+                    } else if ('[' == c && bracketIdentifiers) {
+                        state = State.BRACKET;
+                    } else if ('-' == c && '-' == next) {
+                        return;
+                    } else if ('/' == c && '*' == next) {
+                        state = State.BLOCK_COMMENT;
+                        commentDepth = 1;
+                        i++;
+                    } else if ('$' == c && (0 == i || !isIdentifierPart(line.charAt(i - 1)))) {
+                        final var end = dollarTagEnd(line, i);
+                        if (-1 != end) {
+                            dollarTag = line.substring(i, end + 1);
+                            state = State.DOLLAR_QUOTE;
+                            i = end;
+                        }
+                    }
+                }
+                case SINGLE_QUOTE -> {
+                    if ('\'' == c) {
+                        state = State.CODE;
+                    }
+                }
+                case ESCAPED_QUOTE -> {
+                    if ('\\' == c) {
+                        i++;
+                    } else if ('\'' == c) {
+                        state = State.CODE;
+                    }
+                }
+                case DOUBLE_QUOTE -> {
+                    if ('"' == c) {
+                        state = State.CODE;
+                    }
+                }
+                case BRACKET -> {
+                    if (']' == c) {
+                        if (']' == next) {
+                            i++;
+                        } else {
+                            state = State.CODE;
+                        }
+                    }
+                }
+                case DOLLAR_QUOTE -> {
+                    if (line.startsWith(dollarTag, i)) {
+                        state = State.CODE;
+                        i += dollarTag.length() - 1;
+                    }
+                }
+                case BLOCK_COMMENT -> {
+                    if ('/' == c && '*' == next) {
+                        commentDepth++;
+                        i++;
+                    } else if ('*' == c && '/' == next) {
+                        commentDepth--;
+                        i++;
+                        if (0 == commentDepth) {
+                            state = State.CODE;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isEscapeStringPrefix(final String line, final int quote) {
+        // PostgreSQL E'...' strings allow backslash escaped quotes
+        return quote > 0
+                && ('E' == line.charAt(quote - 1) || 'e' == line.charAt(quote - 1))
+                && (1 == quote || !isIdentifierPart(line.charAt(quote - 2)));
+    }
+
+    private static int dollarTagEnd(final String line, final int start) {
+        for (var i = start + 1; i < line.length(); i++) {
+            final var c = line.charAt(i);
+            if ('$' == c) {
+                return i;
+            } else if (!(Character.isLetter(c) || '_' == c || (i > start + 1 && Character.isDigit(c)))) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isIdentifierPart(final char c) {
+        return Character.isLetterOrDigit(c) || '_' == c || '$' == c;
+    }
+}
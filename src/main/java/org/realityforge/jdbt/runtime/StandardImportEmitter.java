@@ -66,7 +66,11 @@ public final class StandardImportEmitter {
                             paths,
                             importDirectory.resolve(pathSegment(cleanObjectName(table.name()), "table") + ".sql"),
                             driver.generateStandardImportSql(
-                                    table.name(), TARGET_DATABASE, SOURCE_DATABASE, table.columns()));
+                                    table.name(),
+                                    TARGET_DATABASE,
+                                    SOURCE_DATABASE,
+                                    table.columns(),
+                                    null != database.importRecoveryModel()));
                 }
             }
             for (final var sequence : database.sequenceOrdering(moduleName)) {
@@ -0,0 +1,213 @@
+package org.realityforge.jdbt.runtime;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.jspecify.annotations.Nullable;
+import org.realityforge.jdbt.db.DatabaseConnection;
+import org.realityforge.jdbt.db.DbDriver;
+
+final class TableDependencyScheduler {
+    @FunctionalInterface
+    interface TableAction {
+        void run(DbDriver session, String tableName);
+    }
+
+    private final Supplier<DbDriver> sessionFactory;
+    private final DatabaseConnection target;
+    private final int parallelism;
+    private final String operation;
+    private final String items;
+    private final ConcurrentLinkedQueue<DbDriver> idleSessions = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<DbDriver> openedSessions = new ConcurrentLinkedQueue<>();
+
+    TableDependencyScheduler(
+            final Supplier<DbDriver> sessionFactory,
+            final DatabaseConnection target,
+            final int parallelism,
+            final String operation,
+            final String items) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive but was " + parallelism);
+        }
+        this.sessionFactory = sessionFactory;
+        this.target = target;
+        this.parallelism = parallelism;
+        this.operation = operation;
+        this.items = items;
+    }
+
+    void run(
+            final List<String> tablesInOrder,
+            final Map<String, Set<String>> dependencies,
+            final Consumer<String> onStart,
+            final TableAction action) {
+        final var order = new HashMap<String, Integer>();
+        for (final var table : tablesInOrder) {
+            order.put(table, order.size());
+        }
+        final var waitingOn = new HashMap<String, Integer>();
+        final var dependents = new HashMap<String, List<String>>();
+        for (final var table : tablesInOrder) {
+            final var required = requiredBefore(table, dependencies, order.keySet());
+            waitingOn.put(table, required.size());
+            for (final var dependency : required) {
+                dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(table);
+            }
+        }
+        final var ready = new PriorityQueue<String>(Comparator.comparingInt(table -> order.getOrDefault(table, 0)));
+        for (final var table : tablesInOrder) {
+            if (0 == waitingOn.getOrDefault(table, 0)) {
+                ready.add(table);
+            }
+        }
+
+        final var executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            final var thread = new Thread(runnable, "jdbt-table-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final var completion = new ExecutorCompletionService<String>(executor);
+        final var running = new HashMap<Future<String>, String>();
+        @Nullable RuntimeException failure = null;
+        var completed = 0;
+        try {
+            while (true) {
+                while (null == failure && !ready.isEmpty() && running.size() < parallelism) {
+                    final var table = ready.remove();
+                    onStart.accept(table);
+                    running.put(completion.submit(() -> runOnSession(table, action)), table);
+                }
+                if (running.isEmpty()) {
+                    break;
+                }
+                final Future<String> future;
+                try {
+                    future = completion.take();
+                } catch (final InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeExecutionException("Interrupted while waiting for " + items, ie);
+                }
+                final var table = Objects.requireNonNull(running.remove(future));
+                try {
+                    future.get();
+                    completed++;
+                    for (final var dependent : dependents.getOrDefault(table, List.of())) {
+                        final var remaining = waitingOn.getOrDefault(dependent, 1) - 1;
+                        waitingOn.put(dependent, remaining);
+                        if (0 == remaining) {
+                            ready.add(dependent);
+                        }
+                    }
+                } catch (final ExecutionException | InterruptedException e) {
+                    final var cause = new RuntimeExecutionException(
+                            "Failed to " + operation + ' ' + table, null == e.getCause() ? e : e.getCause());
+                    if (null == failure) {
+                        failure = cause;
+                    } else {
+                        failure.addSuppressed(cause);
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+            closeSessions(failure);
+        }
+        if (null != failure) {
+            throw failure;
+        }
+        if (completed != tablesInOrder.size()) {
+            throw new RuntimeExecutionException("Unable to order " + items + " with cyclic dependencies");
+        }
+    }
+
+    static boolean isAcyclic(final List<String> tables, final Map<String, Set<String>> dependencies) {
+        final var remaining = new LinkedHashSet<>(tables);
+        var progressed = true;
+        while (!remaining.isEmpty() && progressed) {
+            progressed = remaining.removeIf(table -> requiredBefore(table, dependencies, remaining).isEmpty());
+        }
+        return remaining.isEmpty();
+    }
+
+    static Map<String, Set<String>> reverse(final Map<String, Set<String>> dependencies) {
+        final var reversed = new LinkedHashMap<String, Set<String>>();
+        for (final var table : dependencies.keySet()) {
+            reversed.put(table, new LinkedHashSet<>());
+        }
+        for (final var entry : dependencies.entrySet()) {
+            for (final var dependency : entry.getValue()) {
+                reversed.computeIfAbsent(dependency, key -> new LinkedHashSet<>()).add(entry.getKey());
+            }
+        }
+        return reversed;
+    }
+
+    private static Set<String> requiredBefore(
+            final String table, final Map<String, Set<String>> dependencies, final Set<String> candidates) {
+        final var required = new LinkedHashSet<String>();
+        for (final var dependency : dependencies.getOrDefault(table, Set.of())) {
+            if (!dependency.equals(table) && candidates.contains(dependency)) {
+                required.add(dependency);
+            }
+        }
+        return required;
+    }
+
+    private String runOnSession(final String table, final TableAction action) {
+        final var session = borrowSession();
+        try {
+            action.run(session, table);
+        } finally {
+            idleSessions.add(session);
+        }
+        return table;
+    }
+
+    private DbDriver borrowSession() {
+        final var idle = idleSessions.poll();
+        if (null != idle) {
+            return idle;
+        }
+        final var session = sessionFactory.get();
+        openedSessions.add(session);
+        session.open(target, false);
+        return session;
+    }
+
+    private void closeSessions(final @Nullable RuntimeException failure) {
+        @Nullable RuntimeException closeFailure = null;
+        for (final var session : openedSessions) {
+            try {
+                session.close();
+            } catch (final RuntimeException e) {
+                if (null != failure) {
+                    failure.addSuppressed(e);
+                } else if (null == closeFailure) {
+                    closeFailure = e;
+                } else {
+                    closeFailure.addSuppressed(e);
+                }
+            }
+        }
+        openedSessions.clear();
+        idleSessions.clear();
+        if (null != closeFailure) {
+            throw closeFailure;
+        }
+    }
+}
@@ -44,14 +44,15 @@ final class DefaultCommandRunnerTest {
             System.setOut(originalOut);
         }
 
-        runner.create("default", "noop", target, true, Map.of());
-        runner.createWithDataset("default", "noop", target, true, "seed", Map.of());
+        runner.create("default", "noop", target, true, TransactionOverride.NONE, Map.of());
+        runner.createWithDataset("default", "noop", target, true, "seed", TransactionOverride.NONE, Map.of());
         runner.drop("default", "noop", target, Map.of());
         runner.migrate("default", "noop", target, Map.of());
-        runner.databaseImport("default", "noop", null, null, target, source, null, Map.of());
-        runner.createByImport("default", "noop", null, target, source, null, true, Map.of());
-        runner.loadDataset("default", "noop", "seed", target, Map.of());
-        runner.upModuleGroup("default", "noop", "all", target, Map.of());
+        runner.databaseImport(
+                "default", "noop", null, null, target, source, null, false, TransactionOverride.NONE, Map.of());
+        runner.createByImport("default", "noop", null, target, source, null, true, TransactionOverride.NONE, Map.of());
+        runner.loadDataset("default", "noop", "seed", target, TransactionOverride.NONE, Map.of());
+        runner.upModuleGroup("default", "noop", "all", target, TransactionOverride.NONE, Map.of());
         runner.downModuleGroup("default", "noop", "all", target, Map.of());
         runner.verifyConstraints("default", "noop", target, List.of("MyModule"), List.of(), Map.of());
 
@@ -122,7 +123,17 @@ final class DefaultCommandRunnerTest {
         final var runner =
                 new DefaultCommandRunner(new ProjectRuntimeLoader(consumer), driverFactory, new FileResolver());
 
-        runner.databaseImport("default", "recording", "default", null, target, source, null, Map.of());
+        runner.databaseImport(
+                "default",
+                "recording",
+                "default",
+                null,
+                target,
+                source,
+                null,
+                false,
+                TransactionOverride.NONE,
+                Map.of());
 
         assertThat(driverFactory.driver.transcript()).isEqualTo("""
             open target
@@ -210,8 +221,17 @@ final class DefaultCommandRunnerTest {
         writeFile(tempDir, "repository.yml", repositoryConfig());
         final var runner = createRunner(tempDir);
 
-        assertThatThrownBy(
-                        () -> runner.databaseImport("default", "sqlserver", null, null, target, source, null, Map.of()))
+        assertThatThrownBy(() -> runner.databaseImport(
+                        "default",
+                        "sqlserver",
+                        null,
+                        null,
+                        target,
+                        source,
+                        null,
+                        false,
+                        TransactionOverride.NONE,
+                        Map.of()))
                 .isInstanceOf(RuntimeExecutionException.class)
                 .hasMessageContaining("Unable to locate import definition by key");
     }
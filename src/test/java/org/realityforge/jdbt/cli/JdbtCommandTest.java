@@ -11,6 +11,7 @@ import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 import org.jspecify.annotations.Nullable;
 import org.junit.jupiter.api.Test;
+import org.realityforge.jdbt.config.TransactionMode;
 import org.realityforge.jdbt.db.DatabaseConnection;
 
 final class JdbtCommandTest {
@@ -138,6 +139,60 @@ final class JdbtCommandTest {
         assertThat(runner.filterProperties).containsExactly(entry("region", "au"), entry("mode", "full"));
     }
 
+    @Test
+    void loadDatasetPassesTransactionOverride() {
+        final var runner = new RecordingRunner();
+
+        final var exitCode = JdbtCommand.execute(
+                new String[] {
+                    "load-dataset",
+                    "myset",
+                    "--target-host",
+                    "localhost",
+                    "--target-port",
+                    "1433",
+                    "--target-database",
+                    "db",
+                    "--target-username",
+                    "sa",
+                    "--password",
+                    "secret",
+                    "--transaction-mode",
+                    "rows",
+                    "--commit-interval",
+                    "250"
+                },
+                runner,
+                new PasswordResolver(Map.of(), new ByteArrayInputStream(new byte[0])));
+
+        assertThat(exitCode).isZero();
+        assertThat(runner.lastCall).isEqualTo("load-dataset");
+        assertThat(runner.transaction).isEqualTo(new TransactionOverride(TransactionMode.ROWS, 250));
+    }
+
+    @Test
+    void createDefaultsToNoTransactionOverride() {
+        final var runner = new RecordingRunner();
+
+        final var exitCode = JdbtCommand.execute(
+                new String[] {
+                    "create",
+                    "--target-host",
+                    "localhost",
+                    "--target-database",
+                    "db",
+                    "--target-username",
+                    "sa",
+                    "--password",
+                    "secret"
+                },
+                runner,
+                new PasswordResolver(Map.of(), new ByteArrayInputStream(new byte[0])));
+
+        assertThat(exitCode).isZero();
+        assertThat(runner.transaction).isEqualTo(TransactionOverride.NONE);
+    }
+
     @Test
     void createWithDatasetDispatchesDatasetAndNoCreateFlag() {
         final var runner = new RecordingRunner();
@@ -213,12 +268,47 @@ final class JdbtCommandTest {
         assertThat(runner.importKey).isEqualTo("full");
         assertThat(runner.moduleGroup).isEqualTo("core");
         assertThat(runner.resumeAt).isEqualTo("Core.Table");
+        assertThat(runner.delta).isFalse();
         assertThat(runner.targetConnection)
                 .isEqualTo(new DatabaseConnection("thost", 1433, "tdb", "tuser", "target-secret"));
         assertThat(runner.sourceConnection)
                 .isEqualTo(new DatabaseConnection("shost", 1432, "sdb", "suser", "source-secret"));
     }
 
+    @Test
+    void importDispatchesDelta() {
+        final var runner = new RecordingRunner();
+        final var exitCode = JdbtCommand.execute(
+                new String[] {
+                    "import",
+                    "--delta",
+                    "--target-host",
+                    "thost",
+                    "--target-database",
+                    "tdb",
+                    "--target-username",
+                    "tuser",
+                    "--password-env",
+                    "T_PASS",
+                    "--source-host",
+                    "shost",
+                    "--source-database",
+                    "sdb",
+                    "--source-username",
+                    "suser",
+                    "--source-password-env",
+                    "S_PASS"
+                },
+                runner,
+                new PasswordResolver(
+                        Map.of("T_PASS", "target-secret", "S_PASS", "source-secret"),
+                        new ByteArrayInputStream(new byte[0])));
+
+        assertThat(exitCode).isZero();
+        assertThat(runner.lastCall).isEqualTo("import");
+        assertThat(runner.delta).isTrue();
+    }
+
     @Test
     void createByImportSupportsStdinPasswords() {
         final var runner = new RecordingRunner();
@@ -467,6 +557,89 @@ final class JdbtCommandTest {
         assertThat(runner.outputFile).isEqualTo(Path.of("statistics.csv"));
     }
 
+    @Test
+    void migratePlanDispatchesHistoryFiles() {
+        final var runner = new RecordingRunner();
+
+        final var exitCode = JdbtCommand.execute(
+                new String[] {
+                    "migrate",
+                    "--plan",
+                    "--history",
+                    "staging.csv",
+                    "--history",
+                    "production.csv",
+                    "--target-host",
+                    "localhost",
+                    "--target-database",
+                    "rose",
+                    "--target-username",
+                    "admin",
+                    "--password",
+                    "secret"
+                },
+                runner,
+                new PasswordResolver(Map.of(), new ByteArrayInputStream(new byte[0])));
+
+        assertThat(exitCode).isZero();
+        assertThat(runner.lastCall).isEqualTo("plan-migrations");
+        assertThat(runner.historyFiles).containsExactly(Path.of("staging.csv"), Path.of("production.csv"));
+    }
+
+    @Test
+    void migrateRejectsHistoryWithoutPlan() {
+        final var runner = new RecordingRunner();
+
+        final var exitCode = JdbtCommand.execute(
+                new String[] {
+                    "migrate",
+                    "--history",
+                    "staging.csv",
+                    "--target-host",
+                    "localhost",
+                    "--target-database",
+                    "rose",
+                    "--target-username",
+                    "admin",
+                    "--password",
+                    "secret"
+                },
+                runner,
+                new PasswordResolver(Map.of(), new ByteArrayInputStream(new byte[0])));
+
+        assertThat(exitCode).isEqualTo(JdbtCommand.USAGE_EXIT_CODE);
+        assertThat(runner.lastCall).isEmpty();
+    }
+
+    @Test
+    void exportMigrationHistoryDispatchesEnvironmentAndOutput() {
+        final var runner = new RecordingRunner();
+
+        final var exitCode = JdbtCommand.execute(
+                new String[] {
+                    "export-migration-history",
+                    "--environment",
+                    "staging",
+                    "--output",
+                    "history.csv",
+                    "--target-host",
+                    "localhost",
+                    "--target-database",
+                    "rose",
+                    "--target-username",
+                    "admin",
+                    "--password",
+                    "secret"
+                },
+                runner,
+                new PasswordResolver(Map.of(), new ByteArrayInputStream(new byte[0])));
+
+        assertThat(exitCode).isZero();
+        assertThat(runner.lastCall).isEqualTo("export-migration-history");
+        assertThat(runner.environment).isEqualTo("staging");
+        assertThat(runner.outputFile).isEqualTo(Path.of("history.csv"));
+    }
+
     @Test
     void exportDatabaseStatisticsRequiresOutput() {
         final var runner = new RecordingRunner();
@@ -531,17 +704,21 @@ final class JdbtCommandTest {
         private @Nullable String importKey;
         private @Nullable String moduleGroup;
         private @Nullable String resumeAt;
+        private boolean delta;
         private @Nullable String dataset;
         private @Nullable DatabaseConnection targetConnection;
         private @Nullable DatabaseConnection sourceConnection;
         private boolean noCreate;
         private @Nullable Path outputFile;
+        private List<Path> historyFiles = List.of();
+        private String environment = "";
         private @Nullable Path propertiesFile;
         private @Nullable Path outputDirectory;
         private boolean replace;
         private List<String> schemas = List.of();
         private List<String> checkQueries = List.of();
         private Map<String, String> filterProperties = Map.of();
+        private TransactionOverride transaction = TransactionOverride.NONE;
 
         @Override
         public void validateProject(final @Nullable String databaseKey) {
@@ -562,12 +739,14 @@ final class JdbtCommandTest {
                 final String driver,
                 final DatabaseConnection target,
                 final boolean noCreate,
+                final TransactionOverride transaction,
                 final Map<String, String> filterProperties) {
             this.lastCall = "create";
             this.databaseKey = databaseKey;
             this.driver = driver;
             this.targetConnection = target;
             this.noCreate = noCreate;
+            this.transaction = transaction;
             this.filterProperties = filterProperties;
         }
 
@@ -578,6 +757,7 @@ final class JdbtCommandTest {
                 final DatabaseConnection target,
                 final boolean noCreate,
                 final String dataset,
+                final TransactionOverride transaction,
                 final Map<String, String> filterProperties) {
             this.lastCall = "create-with-dataset";
             this.databaseKey = databaseKey;
@@ -585,6 +765,7 @@ final class JdbtCommandTest {
             this.targetConnection = target;
             this.noCreate = noCreate;
             this.dataset = dataset;
+            this.transaction = transaction;
             this.filterProperties = filterProperties;
         }
 
@@ -614,6 +795,19 @@ final class JdbtCommandTest {
             this.filterProperties = filterProperties;
         }
 
+        @Override
+        public void planMigrations(
+                final @Nullable String databaseKey,
+                final String driver,
+                final DatabaseConnection target,
+                final List<Path> historyFiles) {
+            this.lastCall = "plan-migrations";
+            this.databaseKey = databaseKey;
+            this.driver = driver;
+            this.targetConnection = target;
+            this.historyFiles = historyFiles;
+        }
+
         @Override
         public void databaseImport(
                 final @Nullable String databaseKey,
@@ -623,6 +817,8 @@ final class JdbtCommandTest {
                 final DatabaseConnection target,
                 final DatabaseConnection source,
                 final @Nullable String resumeAt,
+                final boolean delta,
+                final TransactionOverride transaction,
                 final Map<String, String> filterProperties) {
             this.lastCall = "import";
             this.databaseKey = databaseKey;
@@ -632,6 +828,8 @@ final class JdbtCommandTest {
             this.targetConnection = target;
             this.sourceConnection = source;
             this.resumeAt = resumeAt;
+            this.delta = delta;
+            this.transaction = transaction;
             this.filterProperties = filterProperties;
         }
 
@@ -644,6 +842,7 @@ final class JdbtCommandTest {
                 final DatabaseConnection source,
                 final @Nullable String resumeAt,
                 final boolean noCreate,
+                final TransactionOverride transaction,
                 final Map<String, String> filterProperties) {
             this.lastCall = "create-by-import";
             this.databaseKey = databaseKey;
@@ -653,6 +852,7 @@ final class JdbtCommandTest {
             this.sourceConnection = source;
             this.resumeAt = resumeAt;
             this.noCreate = noCreate;
+            this.transaction = transaction;
             this.filterProperties = filterProperties;
         }
 
@@ -662,11 +862,13 @@ final class JdbtCommandTest {
                 final String driver,
                 final String dataset,
                 final DatabaseConnection target,
+                final TransactionOverride transaction,
                 final Map<String, String> filterProperties) {
             this.lastCall = "load-dataset";
             this.databaseKey = databaseKey;
             this.driver = driver;
             this.targetConnection = target;
+            this.transaction = transaction;
             this.filterProperties = filterProperties;
         }
 
@@ -676,12 +878,14 @@ final class JdbtCommandTest {
                 final String driver,
                 final String moduleGroup,
                 final DatabaseConnection target,
+                final TransactionOverride transaction,
                 final Map<String, String> filterProperties) {
             this.lastCall = "up-module-group";
             this.databaseKey = databaseKey;
             this.driver = driver;
             this.moduleGroup = moduleGroup;
             this.targetConnection = target;
+            this.transaction = transaction;
             this.filterProperties = filterProperties;
         }
 
@@ -764,5 +968,20 @@ final class JdbtCommandTest {
             this.targetConnection = target;
             this.outputFile = outputFile;
         }
+
+        @Override
+        public void exportMigrationHistory(
+                final @Nullable String databaseKey,
+                final String driver,
+                final DatabaseConnection target,
+                final String environment,
+                final Path outputFile) {
+            this.lastCall = "export-migration-history";
+            this.databaseKey = databaseKey;
+            this.driver = driver;
+            this.targetConnection = target;
+            this.environment = environment;
+            this.outputFile = outputFile;
+        }
     }
 }
@@ -57,6 +57,187 @@ final class JdbtProjectConfigLoaderTest {
         assertThat(database.shrinkOnImport()).isTrue();
     }
 
+    @Test
+    void loadParsesFixtureBatchSize() {
+        assertThat(loader.load("{}", "jdbt.yml", repositoryModules).database().fixtureBatchSize())
+                .isEqualTo(DatabaseConfig.DEFAULT_FIXTURE_BATCH_SIZE);
+        assertThat(loader.load("""
+                fixtureBatchSize: 250
+                """, "jdbt.yml", repositoryModules).database().fixtureBatchSize())
+                .isEqualTo(250);
+        assertThatThrownBy(() -> loader.load("""
+                fixtureBatchSize: 0
+                """, "jdbt.yml", repositoryModules))
+                .isInstanceOf(ConfigException.class)
+                .hasMessageContaining("fixtureBatchSize must be a positive integer");
+    }
+
+    @Test
+    void loadParsesFixtureLoadParallelism() {
+        assertThat(loader.load("{}", "jdbt.yml", repositoryModules).database().fixtureLoadParallelism())
+                .isEqualTo(DatabaseConfig.DEFAULT_FIXTURE_LOAD_PARALLELISM);
+        assertThat(loader.load("""
+                fixtureLoadParallelism: 4
+                """, "jdbt.yml", repositoryModules).database().fixtureLoadParallelism())
+                .isEqualTo(4);
+        assertThatThrownBy(() -> loader.load("""
+                fixtureLoadParallelism: 0
+                """, "jdbt.yml", repositoryModules))
+                .isInstanceOf(ConfigException.class)
+                .hasMessageContaining("fixtureLoadParallelism must be a positive integer");
+    }
+
+    @Test
+    void loadParsesImportParallelism() {
+        assertThat(loader.load("{}", "jdbt.yml", repositoryModules).database().importParallelism())
+                .isEqualTo(DatabaseConfig.DEFAULT_IMPORT_PARALLELISM);
+        assertThat(loader.load("""
+                importParallelism: 8
+                """, "jdbt.yml", repositoryModules).database().importParallelism())
+                .isEqualTo(8);
+        assertThatThrownBy(() -> loader.load("""
+                importParallelism: 0
+                """, "jdbt.yml", repositoryModules))
+                .isInstanceOf(ConfigException.class)
+                .hasMessageContaining("importParallelism must be a positive integer");
+    }
+
+    @Test
+    void loadParsesImportChunkSize() {
+        assertThat(loader.load("{}", "jdbt.yml", repositoryModules).database().importChunkSize())
+                .isZero();
+        assertThat(loader.load("""
+                importChunkSize: 500000
+                """, "jdbt.yml", repositoryModules).database().importChunkSize())
+                .isEqualTo(500000);
+        assertThatThrownBy(() -> loader.load("""
+                importChunkSize: -1
+                """, "jdbt.yml", repositoryModules))
+                .isInstanceOf(ConfigException.class)
+                .hasMessageContaining("importChunkSize must be zero or a positive integer");
+    }
+
+    @Test
+    void loadParsesDeferIndexesOnImport() {
+        assertThat(loader.load("{}", "jdbt.yml", repositoryModules).database().deferIndexesOnImport())
+                .isFalse();
+        assertThat(loader.load("""
+                deferIndexesOnImport: true
+                """, "jdbt.yml", repositoryModules).database().deferIndexesOnImport())
+                .isTrue();
+    }
+
+    @Test
+    void loadParsesImportStatisticsFile() {
+        assertThat(loader.load("{}", "jdbt.yml", repositoryModules).database().importStatisticsFile())
+                .isNull();
+        assertThat(loader.load("""
+                importStatisticsFile: stats/production.csv
+                """, "jdbt.yml", repositoryModules).database().importStatisticsFile())
+                .isEqualTo("stats/production.csv");
+    }
+
+    @Test
+    void loadParsesImportRecoveryModel() {
+        assertThat(loader.load("{}", "jdbt.yml", repositoryModules).database().importRecoveryModel())
+                .isNull();
+        assertThat(loader.load("""
+                importRecoveryModel: bulk_logged
+                """, "jdbt.yml", repositoryModules).database().importRecoveryModel())
+                .isEqualTo(ImportRecoveryModel.BULK_LOGGED);
+        assertThatThrownBy(() -> loader.load("""
+                importRecoveryModel: full
+                """, "jdbt.yml", repositoryModules))
+                .isInstanceOf(ConfigException.class)
+                .hasMessageContaining("importRecoveryModel must be one of [bulk_logged, simple]");
+    }
+
+    @Test
+    void loadParsesImportReplicaRoleAndUnloggedTables() {
+        final var defaults = loader.load("{}", "jdbt.yml", repositoryModules).database();
+        assertThat(defaults.importReplicaRole()).isFalse();
+        assertThat(defaults.importUnloggedTables()).isFalse();
+
+        final var database = loader.load("""
+                importReplicaRole: true
+                importUnloggedTables: true
+                """, "jdbt.yml", repositoryModules).database();
+        assertThat(database.importReplicaRole()).isTrue();
+        assertThat(database.importUnloggedTables()).isTrue();
+    }
+
+    @Test
+    void loadParsesTransactionModeAndCommitInterval() {
+        final var defaults = loader.load("{}", "jdbt.yml", repositoryModules).database();
+        assertThat(defaults.transactionMode()).isEqualTo(TransactionMode.AUTOCOMMIT);
+        assertThat(defaults.commitInterval()).isEqualTo(DatabaseConfig.DEFAULT_COMMIT_INTERVAL);
+
+        final var database = loader.load("""
+                transactionMode: rows
+                commitInterval: 500
+                """, "jdbt.yml", repositoryModules).database();
+        assertThat(database.transactionMode()).isEqualTo(TransactionMode.ROWS);
+        assertThat(database.commitInterval()).isEqualTo(500);
+
+        assertThatThrownBy(() -> loader.load("""
+                transactionMode: batch
+                """, "jdbt.yml", repositoryModules))
+                .isInstanceOf(ConfigException.class)
+                .hasMessageContaining("transactionMode must be one of [autocommit, table, rows] but was 'batch'");
+        assertThatThrownBy(() -> loader.load("""
+                commitInterval: 0
+                """, "jdbt.yml", repositoryModules))
+                .isInstanceOf(ConfigException.class)
+                .hasMessageContaining("commitInterval must be a positive integer");
+    }
+
+    @Test
+    void loadParsesFixtureLoadMode() {
+        final var defaults = loader.load("{}", "jdbt.yml", repositoryModules).database();
+        assertThat(defaults.fixtureLoadMode()).isEqualTo(FixtureLoadMode.REPLACE);
+
+        final var database = loader.load("""
+                fixtureLoadMode: reconcile
+                """, "jdbt.yml", repositoryModules).database();
+        assertThat(database.fixtureLoadMode()).isEqualTo(FixtureLoadMode.RECONCILE);
+
+        assertThatThrownBy(() -> loader.load("""
+                fixtureLoadMode: merge
+                """, "jdbt.yml", repositoryModules))
+                .isInstanceOf(ConfigException.class)
+                .hasMessageContaining("fixtureLoadMode must be one of [replace, reconcile] but was 'merge'");
+    }
+
+    @Test
+    void loadParsesSqlBatchGroupSize() {
+        assertThat(loader.load("{}", "jdbt.yml", repositoryModules).database().sqlBatchGroupSize())
+                .isEqualTo(DatabaseConfig.DEFAULT_SQL_BATCH_GROUP_SIZE);
+        assertThat(loader.load("""
+                sqlBatchGroupSize: 50
+                """, "jdbt.yml", repositoryModules).database().sqlBatchGroupSize())
+                .isEqualTo(50);
+        assertThatThrownBy(() -> loader.load("""
+                sqlBatchGroupSize: 0
+                """, "jdbt.yml", repositoryModules))
+                .isInstanceOf(ConfigException.class)
+                .hasMessageContaining("sqlBatchGroupSize must be a positive integer");
+    }
+
+    @Test
+    void loadParsesMigrationParallelism() {
+        assertThat(loader.load("{}", "jdbt.yml", repositoryModules).database().migrationParallelism())
+                .isEqualTo(DatabaseConfig.DEFAULT_MIGRATION_PARALLELISM);
+        assertThat(loader.load("""
+                migrationParallelism: 4
+                """, "jdbt.yml", repositoryModules).database().migrationParallelism())
+                .isEqualTo(4);
+        assertThatThrownBy(() -> loader.load("""
+                migrationParallelism: 0
+                """, "jdbt.yml", repositoryModules))
+                .isInstanceOf(ConfigException.class)
+                .hasMessageContaining("migrationParallelism must be a positive integer");
+    }
+
     @Test
     void loadUsesRepositoryModulesWhenImportModulesMissing() {
         final var config = loader.load("""
@@ -70,6 +251,29 @@ final class JdbtProjectConfigLoaderTest {
         assertThat(importConfig.dir()).isEqualTo("import");
     }
 
+    @Test
+    void loadParsesImportDeleteStrategy() {
+        final var config = loader.load("""
+            imports:
+              default: {}
+              fast:
+                deleteStrategy: truncate
+            """, "jdbt.yml", repositoryModules);
+
+        final var imports = config.database().imports();
+        assertThat(Objects.requireNonNull(imports.get("default")).deleteStrategy())
+                .isEqualTo(ImportDeleteStrategy.DELETE);
+        assertThat(Objects.requireNonNull(imports.get("fast")).deleteStrategy())
+                .isEqualTo(ImportDeleteStrategy.TRUNCATE);
+        assertThatThrownBy(() -> loader.load("""
+            imports:
+              default:
+                deleteStrategy: drop
+            """, "jdbt.yml", repositoryModules))
+                .isInstanceOf(ConfigException.class)
+                .hasMessageContaining("deleteStrategy must be one of [delete, truncate] but was 'drop'");
+    }
+
     @Test
     void loadDefaultsMigrationsAppliedAtCreateToMigrationsValue() {
         final var config = loader.load("""
@@ -17,6 +17,8 @@ final class DbDriverFactoryTest {
                 .isTrue();
         assertThat(new DbDriverFactory().create("sqlserver").supportsStandardImportScripts())
                 .isTrue();
+        assertThat(new DbDriverFactory().create("sqlserver").supportsBracketIdentifiers())
+                .isTrue();
         assertThat(new DbDriverFactory().create("SQLSERVER")).isInstanceOf(SqlServerDbDriver.class);
     }
 
@@ -30,6 +32,8 @@ final class DbDriverFactoryTest {
         assertThat(new DbDriverFactory().create("postgres")).isInstanceOf(PostgresDbDriver.class);
         assertThat(new DbDriverFactory().create("postgres").supportsAssertMacros())
                 .isFalse();
+        assertThat(new DbDriverFactory().create("postgres").supportsBracketIdentifiers())
+                .isFalse();
         assertThat(new DbDriverFactory().create("POSTGRES")).isInstanceOf(PostgresDbDriver.class);
     }
 
@@ -0,0 +1,161 @@
+package org.realityforge.jdbt.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+final class FixtureReconcilerTest {
+    private static final String SELECT_SQL = "SELECT [ID], [Name], [Note] FROM [dbo].[tblThing]";
+    private static final String INSERT_SQL = "INSERT INTO [dbo].[tblThing] ([ID], [Name]) VALUES (?, ?)";
+    private static final String UPDATE_SQL = "UPDATE [dbo].[tblThing] SET [Note] = ? WHERE [ID] = ?";
+
+    @Test
+    void reconcileInsertsChangedAndNewRowsAndReportsStaleKeys() throws Exception {
+        final var connection = mock(Connection.class);
+        final var statement = mock(Statement.class);
+        final var existing = mock(ResultSet.class);
+        final var insert = mock(PreparedStatement.class);
+        final var update = mock(PreparedStatement.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(SELECT_SQL)).thenReturn(existing);
+        when(existing.next()).thenReturn(true, true, true, true, false);
+        when(existing.getObject(1)).thenReturn(1, 2, 3, 5);
+        when(existing.getObject(2)).thenReturn("a", "b", "c", "e");
+        when(existing.getObject(3)).thenReturn(null, "x", null, null);
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> {
+            final var sql = invocation.<String>getArgument(0);
+            if (INSERT_SQL.equals(sql)) {
+                return insert;
+            }
+            if (UPDATE_SQL.equals(sql)) {
+                return update;
+            }
+            throw new IllegalStateException("Unexpected sql " + sql);
+        });
+
+        final var reconciliation = reconciler(connection, List.of("ID"))
+                .reconcile(List.of(
+                                // Unchanged: a NULL in the fixture matches a NULL in the table
+                                row(1, "a", null),
+                                // Changed to NULL
+                                row(2, "b", null),
+                                // Changed from NULL
+                                row(5, "e", "new"),
+                                // New row without the nullable column
+                                row(4, "d"))
+                        .iterator());
+
+        assertThat(reconciliation).isEqualTo(new FixtureReconciliation(1, 2, List.of(Map.of("ID", 3))));
+        verify(update).setNull(1, Types.VARCHAR);
+        verify(update).setObject(2, 2, Types.INTEGER);
+        verify(update).setObject(1, "new", Types.VARCHAR);
+        verify(update).setObject(2, 5, Types.INTEGER);
+        verify(update, times(2)).addBatch();
+        verify(update).executeBatch();
+        verify(insert).setObject(1, 4, Types.INTEGER);
+        verify(insert).setObject(2, "d", Types.VARCHAR);
+        verify(insert).addBatch();
+        verify(insert).executeBatch();
+        verify(update, never()).setObject(2, 1, Types.INTEGER);
+    }
+
+    @Test
+    void reconcileResetsColumnsOmittedByTheFixtureToTheirDefaults() throws Exception {
+        final var connection = mock(Connection.class);
+        final var statement = mock(Statement.class);
+        final var existing = mock(ResultSet.class);
+        final var reset = mock(PreparedStatement.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(SELECT_SQL)).thenReturn(existing);
+        when(existing.next()).thenReturn(true, true, false);
+        when(existing.getObject(1)).thenReturn(1, 2);
+        when(existing.getObject(2)).thenReturn("a", "b");
+        when(existing.getObject(3)).thenReturn("x", null);
+        when(connection.prepareStatement("UPDATE [dbo].[tblThing] SET [Note] = DEFAULT WHERE [ID] = ?"))
+                .thenReturn(reset);
+
+        final var reconciliation = reconciler(connection, List.of("ID"))
+                .reconcile(List.of(row(1, "a"), row(2, "b")).iterator());
+
+        assertThat(reconciliation).isEqualTo(new FixtureReconciliation(0, 1, List.of()));
+        verify(reset).setObject(1, 1, Types.INTEGER);
+        verify(reset, never()).setObject(1, 2, Types.INTEGER);
+        verify(reset).addBatch();
+        verify(reset).executeBatch();
+        verify(reset).close();
+    }
+
+    @Test
+    void reconcileReplacesRowsOfTablesWithoutPrimaryKey() throws Exception {
+        final var connection = mock(Connection.class);
+        final var statement = mock(Statement.class);
+        final var insert = mock(PreparedStatement.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.prepareStatement(INSERT_SQL)).thenReturn(insert);
+
+        final var reconciliation = reconciler(connection, List.of())
+                .reconcile(List.of(row(1, "a"), row(2, "b")).iterator());
+
+        assertThat(reconciliation).isEqualTo(new FixtureReconciliation(2, 0, List.of()));
+        final var order = inOrder(statement, insert);
+        order.verify(statement).execute("DELETE FROM [dbo].[tblThing]");
+        order.verify(insert, times(2)).addBatch();
+        order.verify(insert).executeBatch();
+        verify(statement, never()).executeQuery(anyString());
+    }
+
+    @Test
+    void deleteRemovesStaleRowsByPrimaryKey() throws Exception {
+        final var connection = mock(Connection.class);
+        final var delete = mock(PreparedStatement.class);
+        when(connection.prepareStatement("DELETE FROM [dbo].[tblThing] WHERE [ID] = ?")).thenReturn(delete);
+
+        reconciler(connection, List.of("ID")).delete(List.of(Map.of("ID", 3), Map.of("ID", 6)));
+
+        verify(delete).setObject(1, 3, Types.INTEGER);
+        verify(delete).setObject(1, 6, Types.INTEGER);
+        verify(delete, times(2)).addBatch();
+        verify(delete).executeBatch();
+    }
+
+    private static FixtureReconciler reconciler(final Connection connection, final List<String> primaryKey) {
+        final var table = new SchemaMetadataCache.TableMetadata(
+                List.of("ID", "Name", "Note"),
+                Map.of("ID", Types.INTEGER, "Name", Types.VARCHAR, "Note", Types.VARCHAR),
+                List.of(),
+                List.of(),
+                primaryKey,
+                Set.of());
+        return new FixtureReconciler(connection, "[dbo].[tblThing]", column -> '[' + column + ']', table, false, 100);
+    }
+
+    private static Map<String, Object> row(final int id, final String name) {
+        final var row = new LinkedHashMap<String, Object>();
+        row.put("ID", id);
+        row.put("Name", name);
+        return row;
+    }
+
+    private static Map<String, Object> row(final int id, final String name, final @Nullable String note) {
+        final var row = row(id, name);
+        row.put("Note", note);
+        return row;
+    }
+}
@@ -0,0 +1,101 @@
+package org.realityforge.jdbt.db;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Compares the COPY FROM STDIN bulk load with the batched and row-by-row insert paths on a live PostgreSQL database.
+// Usage: postgres_bulk_load_benchmark <host> <port> <database> <username> <password> [rows] [iterations]
+final class PostgresBulkLoadBenchmark {
+    private static final String TABLE_NAME = "public.jdbt_bulk_load_benchmark";
+    private static final int BATCH_SIZE = 1000;
+    // Notes exercise the characters COPY has to escape
+    private static final List<String> NOTES = List.of("tab\there", "line\nbreak", "back\\slash", "\\N", "plain");
+
+    private PostgresBulkLoadBenchmark() {}
+
+    public static void main(final String[] args) {
+        if (args.length < 5) {
+            throw new IllegalArgumentException(
+                    "Usage: postgres_bulk_load_benchmark <host> <port> <database> <username> <password>"
+                            + " [rows] [iterations]");
+        }
+        final var connection = new DatabaseConnection(args[0], Integer.parseInt(args[1]), args[2], args[3], args[4]);
+        final var rowCount = args.length > 5 ? Integer.parseInt(args[5]) : 100_000;
+        final var iterations = args.length > 6 ? Integer.parseInt(args[6]) : 5;
+        final var records = records(rowCount);
+
+        final var driver = new PostgresDbDriver();
+        driver.open(connection, false);
+        try {
+            driver.execute("DROP TABLE IF EXISTS " + TABLE_NAME, false);
+            driver.execute(
+                    "CREATE TABLE " + TABLE_NAME + " (\"ID\" INTEGER PRIMARY KEY, \"Name\" TEXT NOT NULL,"
+                            + " \"Note\" TEXT, \"Amount\" NUMERIC(12, 2))",
+                    false);
+            // Row-by-row inserts are an order of magnitude slower so they load a tenth of the rows
+            final var rowByRow = records.subList(0, Math.max(1, rowCount / 10));
+            run(driver, "insert", iterations, rowByRow.size(), () -> {
+                for (final var record : rowByRow) {
+                    driver.insert(TABLE_NAME, record);
+                }
+            });
+            run(driver, "insertAll", iterations, rowCount, () -> {
+                driver.insertAll(TABLE_NAME, records.iterator(), BATCH_SIZE);
+            });
+            run(driver, "bulkLoad", iterations, rowCount, () -> {
+                driver.bulkLoad(TABLE_NAME, records.iterator(), BATCH_SIZE);
+            });
+            driver.execute("DROP TABLE " + TABLE_NAME, false);
+        } finally {
+            driver.close();
+        }
+    }
+
+    private static void run(
+            final PostgresDbDriver driver,
+            final String label,
+            final int iterations,
+            final int rowCount,
+            final Runnable load) {
+        // The first iteration warms up the JIT and the statement caches and is not reported
+        final var timings = new ArrayList<Long>();
+        for (var i = 0; i <= iterations; i++) {
+            driver.execute("TRUNCATE TABLE " + TABLE_NAME, false);
+            driver.beginTransaction();
+            final var start = System.nanoTime();
+            load.run();
+            driver.commitTransaction();
+            final var elapsed = System.nanoTime() - start;
+            if (i > 0) {
+                timings.add(elapsed);
+            }
+        }
+        final var sorted = timings.stream().sorted().toList();
+        final var median = sorted.get(sorted.size() / 2);
+        System.out.println(String.format(
+                Locale.ROOT,
+                "%-10s rows=%d median=%.1fms best=%.1fms rows/s=%.0f",
+                label,
+                rowCount,
+                median / 1_000_000.0,
+                sorted.get(0) / 1_000_000.0,
+                rowCount / (median / 1_000_000_000.0)));
+    }
+
+    private static List<Map<String, Object>> records(final int rowCount) {
+        final var records = new ArrayList<Map<String, Object>>(rowCount);
+        for (var i = 0; i < rowCount; i++) {
+            final var record = new LinkedHashMap<String, Object>();
+            record.put("ID", i);
+            record.put("Name", "Name " + i);
+            record.put("Note", 0 == i % 7 ? null : NOTES.get(i % NOTES.size()));
+            record.put("Amount", BigDecimal.valueOf(i, 2));
+            records.add(record);
+        }
+        return records;
+    }
+}
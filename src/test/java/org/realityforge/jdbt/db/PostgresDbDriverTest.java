@@ -2,12 +2,19 @@ package org.realityforge.jdbt.db;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -15,7 +22,12 @@ import java.sql.ResultSetMetaData;
 import java.sql.Statement;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.realityforge.jdbt.config.ImportConfig;
 
 final class PostgresDbDriverTest {
     private final DatabaseConnection config = new DatabaseConnection("127.0.0.1", 5432, "db", "postgres", "secret");
@@ -71,7 +83,9 @@ final class PostgresDbDriverTest {
         });
         when(columns.executeQuery()).thenReturn(columnResults);
         when(columnResults.next()).thenReturn(true, true, false);
-        when(columnResults.getString(1)).thenReturn("id", "name");
+        when(columnResults.getString(1)).thenReturn("C", "C");
+        when(columnResults.getString(2)).thenReturn("tbl", "tbl");
+        when(columnResults.getString(3)).thenReturn("id", "name");
 
         final var driver = new PostgresDbDriver((connection, controlDatabase) -> target);
         driver.open(config, false);
@@ -88,6 +102,140 @@ final class PostgresDbDriverTest {
         assertThat(columnsResult).containsExactly("\"id\"", "\"name\"");
     }
 
+    @Test
+    void insertAllReusesStatementPerColumnSignatureAndFlushesAtBatchSize() throws Exception {
+        final var target = mock(Connection.class);
+        final var idAndName = mock(PreparedStatement.class);
+        final var idOnly = mock(PreparedStatement.class);
+        when(target.prepareStatement("INSERT INTO public.tbl (\"id\", \"name\") VALUES (?, ?)"))
+                .thenReturn(idAndName);
+        when(target.prepareStatement("INSERT INTO public.tbl (\"id\") VALUES (?)")).thenReturn(idOnly);
+
+        final var driver = new PostgresDbDriver((connection, controlDatabase) -> target);
+        driver.open(config, false);
+
+        final var records = List.<Map<String, Object>>of(
+                row("id", 1, "name", "A"),
+                row("id", 2, "name", "B"),
+                row("id", 3, "name", "C"),
+                Map.of("id", 4),
+                row("id", 5, "name", "E"));
+        driver.insertAll("public.tbl", records.iterator(), 2);
+
+        final var order = inOrder(idAndName, idOnly);
+        order.verify(idAndName, times(2)).addBatch();
+        order.verify(idAndName).executeBatch();
+        order.verify(idAndName).addBatch();
+        order.verify(idAndName).executeBatch();
+        order.verify(idOnly).addBatch();
+        order.verify(idOnly).executeBatch();
+        order.verify(idAndName).addBatch();
+        order.verify(idAndName).executeBatch();
+        verify(target, times(1)).prepareStatement("INSERT INTO public.tbl (\"id\", \"name\") VALUES (?, ?)");
+        verify(idAndName).close();
+        verify(idOnly).close();
+    }
+
+    @Test
+    void bulkLoadStreamsEscapedRowsThroughCopyPerColumnSignature() throws Exception {
+        final var target = mock(Connection.class);
+        final var pgConnection = mock(PGConnection.class);
+        final var copyManager = mock(CopyManager.class);
+        final var firstCopy = mock(CopyIn.class);
+        final var secondCopy = mock(CopyIn.class);
+        when(target.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn("COPY public.tbl (\"id\", \"name\") FROM STDIN")).thenReturn(firstCopy);
+        when(copyManager.copyIn("COPY public.tbl (\"id\") FROM STDIN")).thenReturn(secondCopy);
+        final var firstPayload = new StringBuilder();
+        final var secondPayload = new StringBuilder();
+        doAnswer(invocation -> firstPayload.append(
+                        new String(invocation.<byte[]>getArgument(0), StandardCharsets.UTF_8)))
+                .when(firstCopy)
+                .writeToCopy(any(byte[].class), anyInt(), anyInt());
+        doAnswer(invocation -> secondPayload.append(
+                        new String(invocation.<byte[]>getArgument(0), StandardCharsets.UTF_8)))
+                .when(secondCopy)
+                .writeToCopy(any(byte[].class), anyInt(), anyInt());
+
+        final var driver = new PostgresDbDriver((connection, controlDatabase) -> target);
+        driver.open(config, false);
+
+        final var withNull = new LinkedHashMap<String, Object>();
+        withNull.put("id", 2);
+        withNull.put("name", null);
+        final var records = List.<Map<String, Object>>of(
+                row("id", 1, "name", "a\tb\nc\\d"), withNull, Map.of("id", 3));
+
+        assertThat(driver.supportsBulkLoad()).isTrue();
+        driver.bulkLoad("public.tbl", records.iterator(), 1000);
+
+        assertThat(firstPayload.toString()).isEqualTo("1\ta\\tb\\nc\\\\d\n2\t\\N\n");
+        assertThat(secondPayload.toString()).isEqualTo("3\n");
+        final var order = inOrder(firstCopy, secondCopy);
+        order.verify(firstCopy).endCopy();
+        order.verify(secondCopy).endCopy();
+    }
+
+    @Test
+    void streamImportCopiesRowsFromSourceConnectionUsingFetchSize() throws Exception {
+        final var target = mock(Connection.class);
+        final var columns = mock(PreparedStatement.class);
+        final var columnsResult = mock(ResultSet.class);
+        when(target.prepareStatement(contains("information_schema"))).thenReturn(columns);
+        when(columns.executeQuery()).thenReturn(columnsResult);
+        when(columnsResult.next()).thenReturn(true, true, false);
+        when(columnsResult.getString(1)).thenReturn("C", "C");
+        when(columnsResult.getString(2)).thenReturn("tbl", "tbl");
+        when(columnsResult.getString(3)).thenReturn("id", "name");
+        final var pgConnection = mock(PGConnection.class);
+        final var copyManager = mock(CopyManager.class);
+        final var copy = mock(CopyIn.class);
+        when(target.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn("COPY public.tbl (\"id\", \"name\") FROM STDIN")).thenReturn(copy);
+        final var payload = new StringBuilder();
+        doAnswer(invocation -> payload.append(new String(invocation.<byte[]>getArgument(0), StandardCharsets.UTF_8)))
+                .when(copy)
+                .writeToCopy(any(byte[].class), anyInt(), anyInt());
+
+        final var source = mock(Connection.class);
+        final var statement = mock(Statement.class);
+        final var rows = mock(ResultSet.class);
+        when(source.createStatement()).thenReturn(statement);
+        when(statement.executeQuery("SELECT \"id\", \"name\" FROM public.tbl")).thenReturn(rows);
+        when(rows.next()).thenReturn(true, true, true, false);
+        when(rows.getObject(1)).thenReturn(1, 2, 3);
+        when(rows.getObject(2)).thenReturn("a", null, "c");
+
+        final var sourceConfig = new DatabaseConnection("10.0.0.2", 5432, "src", "postgres", "secret");
+        final var driver = new PostgresDbDriver(
+                (connection, controlDatabase) -> "src".equals(connection.database()) ? source : target);
+        driver.open(config, false);
+
+        assertThat(driver.supportsStreamingImport()).isTrue();
+        assertThat(driver.streamImport(sourceConfig, "public.tbl", 2)).isEqualTo(3L);
+
+        assertThat(payload.toString()).isEqualTo("1\ta\n2\t\\N\n3\tc\n");
+        verify(source).setAutoCommit(false);
+        verify(statement).setFetchSize(2);
+        verify(copy).endCopy();
+        verify(source).close();
+    }
+
+    @Test
+    void copyRowsEncodeBooleansAndBinaryValues() {
+        final var output = new StringBuilder();
+        final var record = new LinkedHashMap<String, Object>();
+        record.put("flag", true);
+        record.put("data", new byte[] {0x01, (byte) 0xAB});
+        record.put("amount", 1.5D);
+
+        PostgresCopyLoader.appendRow(output, List.of("flag", "data", "amount"), record);
+
+        assertThat(output.toString()).isEqualTo("t\t\\\\x01ab\t1.5\n");
+    }
+
     @Test
     void primaryKeysAndQueryUseJdbcMetadata() throws Exception {
         final var target = mock(Connection.class);
@@ -97,7 +245,9 @@ final class PostgresDbDriverTest {
                 .thenReturn(primaryKeys);
         when(primaryKeys.executeQuery()).thenReturn(primaryKeyResult);
         when(primaryKeyResult.next()).thenReturn(true, true, false);
-        when(primaryKeyResult.getString(1)).thenReturn("a", "b");
+        when(primaryKeyResult.getString(1)).thenReturn("P", "P");
+        when(primaryKeyResult.getString(2)).thenReturn("tbl", "tbl");
+        when(primaryKeyResult.getString(3)).thenReturn("a", "b");
 
         final var statement = mock(Statement.class);
         final var queryResult = mock(ResultSet.class);
@@ -132,7 +282,7 @@ final class PostgresDbDriverTest {
         final var markMigration = mock(PreparedStatement.class);
         when(target.prepareStatement(anyString())).thenAnswer(invocation -> {
             final var sql = invocation.<String>getArgument(0);
-            if (sql.contains("information_schema.tables")) {
+            if (sql.contains("information_schema.")) {
                 return tableExists;
             }
             if (sql.contains("FROM \"tblMigration\" WHERE")) {
@@ -159,6 +309,13 @@ final class PostgresDbDriverTest {
         verify(markMigration).setString(1, "default");
         verify(markMigration).setString(2, "001");
         verify(markMigration).executeUpdate();
+
+        driver.markMigrationsAsRun("default", List.of("002", "003"));
+
+        verify(markMigration).setString(2, "002");
+        verify(markMigration).setString(2, "003");
+        verify(markMigration, times(2)).addBatch();
+        verify(markMigration, times(1)).executeBatch();
     }
 
     @Test
@@ -172,4 +329,167 @@ final class PostgresDbDriverTest {
                 .contains("INSERT INTO public.tbl")
                 .contains("SELECT \"id\"");
     }
+
+    @Test
+    void replicaRoleImportRestoresRoleAndRevalidatesForeignKeysOnce() throws Exception {
+        final var target = mock(Connection.class);
+        final var statement = mock(Statement.class);
+        final var roleResult = mock(ResultSet.class);
+        final var foreignKeys = mock(PreparedStatement.class);
+        final var foreignKeyResults = mock(ResultSet.class);
+        when(target.createStatement()).thenReturn(statement);
+        when(statement.executeQuery("SHOW session_replication_role")).thenReturn(roleResult);
+        when(roleResult.next()).thenReturn(true);
+        when(roleResult.getString(1)).thenReturn("origin");
+        when(target.prepareStatement(contains("FROM pg_constraint WHERE contype = 'f' AND (conrelid")))
+                .thenReturn(foreignKeys);
+        when(foreignKeys.executeQuery()).thenReturn(foreignKeyResults);
+        when(foreignKeyResults.next()).thenReturn(true, false, true, false);
+        when(foreignKeyResults.getString(1)).thenReturn("public.child", "public.child");
+        when(foreignKeyResults.getString(2)).thenReturn("fk_parent", "fk_parent");
+        when(foreignKeyResults.getString(3)).thenReturn("FOREIGN KEY (parent_id) REFERENCES public.parent(id)");
+
+        final var driver = new PostgresDbDriver((connection, controlDatabase) -> target);
+        driver.open(config, false);
+        final var metadata = new DatabaseMetadata("default", "1", "hash").withImportReplicaRole(true);
+        final var importConfig = new ImportConfig("default", List.of("Core"), "import", List.of(), List.of());
+
+        driver.preDatabaseImport(metadata, importConfig);
+        driver.preTableImport(metadata, importConfig, "public.parent");
+        driver.postDataModuleImport(metadata, importConfig, "Core", List.of("public.parent", "public.child"));
+        driver.postDatabaseImport(metadata, importConfig);
+
+        final var order = inOrder(statement);
+        order.verify(statement).execute("SET session_replication_role = replica");
+        order.verify(statement).execute("SET session_replication_role = origin");
+        order.verify(statement)
+                .execute("ALTER TABLE public.child DROP CONSTRAINT fk_parent, ADD CONSTRAINT fk_parent"
+                        + " FOREIGN KEY (parent_id) REFERENCES public.parent(id)");
+        verify(statement, times(1)).execute("SET session_replication_role = replica");
+        verify(foreignKeys).setString(1, "public.parent");
+        verify(foreignKeys).setString(1, "public.child");
+    }
+
+    @Test
+    void replicaRoleIsSetOnTheConnectionThatRunsImportSql() throws Exception {
+        final var target = mock(Connection.class);
+        final var control = mock(Connection.class);
+        final var statement = mock(Statement.class);
+        final var roleResult = mock(ResultSet.class);
+        when(target.createStatement()).thenReturn(statement);
+        when(statement.executeQuery("SHOW session_replication_role")).thenReturn(roleResult);
+        when(roleResult.next()).thenReturn(true);
+        when(roleResult.getString(1)).thenReturn("origin");
+
+        final var driver =
+                new PostgresDbDriver((connection, controlDatabase) -> controlDatabase ? control : target);
+        driver.open(config, false);
+        final var metadata = new DatabaseMetadata("default", "1", "hash").withImportReplicaRole(true);
+        final var importConfig = new ImportConfig("default", List.of("Core"), "import", List.of(), List.of());
+
+        driver.preDatabaseImport(metadata, importConfig);
+        driver.execute("INSERT INTO public.tbl SELECT 1", driver.executesImportSqlInControlDatabase());
+
+        final var order = inOrder(statement);
+        order.verify(statement).execute("SET session_replication_role = replica");
+        order.verify(statement).execute("INSERT INTO public.tbl SELECT 1");
+        verify(control, never()).createStatement();
+    }
+
+    @Test
+    void unloggedTableImportSkipsReferencedTablesAndRestoresLogging() throws Exception {
+        final var target = mock(Connection.class);
+        final var statement = mock(Statement.class);
+        final var references = mock(PreparedStatement.class);
+        final var referenceResults = mock(ResultSet.class);
+        when(target.createStatement()).thenReturn(statement);
+        when(target.prepareStatement(contains("AND conrelid <> confrelid"))).thenReturn(references);
+        when(references.executeQuery()).thenReturn(referenceResults);
+        when(referenceResults.next()).thenReturn(true);
+        when(referenceResults.getLong(1)).thenReturn(2L, 0L, 0L);
+
+        final var driver = new PostgresDbDriver((connection, controlDatabase) -> target);
+        driver.open(config, false);
+        final var metadata = new DatabaseMetadata("default", "1", "hash").withImportUnloggedTables(true);
+        final var importConfig = new ImportConfig("default", List.of("Core"), "import", List.of(), List.of());
+
+        driver.preTableImport(metadata, importConfig, "public.parent");
+        driver.postTableImport(metadata, importConfig, "public.parent");
+        driver.preTableImport(metadata, importConfig, "public.child");
+        driver.postTableImport(metadata, importConfig, "public.child");
+        driver.preTableImport(metadata, importConfig, "public.failed");
+        driver.abortTableImport(metadata, importConfig, "public.failed");
+
+        verify(statement, never()).execute("ALTER TABLE public.parent SET UNLOGGED");
+        verify(statement).execute("ALTER TABLE public.child SET UNLOGGED");
+        verify(statement).execute("ALTER TABLE public.child SET LOGGED");
+        verify(statement).execute("ALTER TABLE public.failed SET UNLOGGED");
+        verify(statement).execute("ALTER TABLE public.failed SET LOGGED");
+        verify(statement, never()).execute(contains("session_replication_role"));
+    }
+
+    @Test
+    void deferredIndexDefinitionsAreSavedWithTheDropAndRebuiltFromTheSavedTable() throws Exception {
+        final var target = mock(Connection.class);
+        final var statement = mock(Statement.class);
+        final var indexes = mock(PreparedStatement.class);
+        final var indexResults = mock(ResultSet.class);
+        final var tableExists = mock(PreparedStatement.class);
+        final var tableExistsResults = mock(ResultSet.class);
+        final var save = mock(PreparedStatement.class);
+        final var saved = mock(PreparedStatement.class);
+        final var savedResults = mock(ResultSet.class);
+        final var delete = mock(PreparedStatement.class);
+        when(target.createStatement()).thenReturn(statement);
+        when(target.getAutoCommit()).thenReturn(true);
+        when(target.prepareStatement(contains("pg_indexes"))).thenReturn(indexes);
+        when(indexes.executeQuery()).thenReturn(indexResults);
+        when(indexResults.next()).thenReturn(true, true, false);
+        when(indexResults.getString(1)).thenReturn("ix_a", "ix_a", "ix_unlisted");
+        when(indexResults.getString(2)).thenReturn("CREATE INDEX ix_a ON core.foo USING btree (a)");
+        when(target.prepareStatement(contains("information_schema.tables"))).thenReturn(tableExists);
+        when(tableExists.executeQuery()).thenReturn(tableExistsResults);
+        when(tableExistsResults.next()).thenReturn(true);
+        when(tableExistsResults.getLong(1)).thenReturn(0L, 1L);
+        when(target.prepareStatement(contains("INSERT INTO \"tblDeferredIndex\""))).thenReturn(save);
+        when(target.prepareStatement(contains("SELECT \"IndexName\""))).thenReturn(saved);
+        when(saved.executeQuery()).thenReturn(savedResults);
+        when(savedResults.next()).thenReturn(true, true, false);
+        // ix_old was dropped by an earlier run that failed before rebuilding it
+        when(savedResults.getString(1)).thenReturn("ix_a", "ix_old");
+        when(savedResults.getString(2))
+                .thenReturn(
+                        "CREATE INDEX ix_a ON core.foo USING btree (a)",
+                        "CREATE INDEX ix_old ON core.foo USING btree (b)");
+        when(target.prepareStatement(contains("DELETE FROM \"tblDeferredIndex\""))).thenReturn(delete);
+
+        final var driver = new PostgresDbDriver((connection, controlDatabase) -> target);
+        driver.open(config, false);
+        driver.deferIndexes("core.foo", List.of("ix_a", "ix_old"));
+
+        verify(statement).execute(contains("CREATE TABLE \"tblDeferredIndex\""));
+        final var order = inOrder(target, save, statement);
+        order.verify(target).setAutoCommit(false);
+        order.verify(save).executeUpdate();
+        order.verify(statement).execute("DROP INDEX \"core\".\"ix_a\"");
+        order.verify(target).commit();
+        verify(save).setString(3, "CREATE INDEX ix_a ON core.foo USING btree (a)");
+
+        driver.rebuildIndexes("core.foo");
+
+        verify(statement).execute("CREATE INDEX ix_a ON core.foo USING btree (a)");
+        verify(statement).execute("CREATE INDEX ix_old ON core.foo USING btree (b)");
+        verify(delete).setString(2, "ix_a");
+        verify(delete).setString(2, "ix_old");
+        verify(delete, times(2)).executeUpdate();
+        verify(target, times(3)).commit();
+    }
+
+    private static Map<String, Object> row(
+            final String key1, final Object value1, final String key2, final Object value2) {
+        final var row = new LinkedHashMap<String, Object>();
+        row.put(key1, value1);
+        row.put(key2, value2);
+        return row;
+    }
 }
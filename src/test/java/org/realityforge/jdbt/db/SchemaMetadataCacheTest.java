@@ -0,0 +1,29 @@
+package org.realityforge.jdbt.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+final class SchemaMetadataCacheTest {
+    @Test
+    void statementsStartingWithSchemaChangingKeywordsAreDdl() {
+        assertThat(SchemaMetadataCache.isDdl("CREATE TABLE [Core].[tblA]([ID] INT)")).isTrue();
+        assertThat(SchemaMetadataCache.isDdl("  alter table core.a add b int")).isTrue();
+        assertThat(SchemaMetadataCache.isDdl("-- drop the old table\nDROP TABLE [Core].[tblA]")).isTrue();
+        assertThat(SchemaMetadataCache.isDdl("TRUNCATE TABLE [Core].[tblA]")).isTrue();
+        assertThat(SchemaMetadataCache.isDdl("EXEC sp_rename 'Core.tblA', 'tblB'")).isTrue();
+        assertThat(SchemaMetadataCache.isDdl("SELECT * INTO [Core].[tblCopy] FROM [Core].[tblA]")).isTrue();
+        assertThat(SchemaMetadataCache.isDdl("UPDATE [Core].[tblA] SET [X] = 1; DROP TABLE [Core].[tblB]"))
+                .isTrue();
+    }
+
+    @Test
+    void keywordsInsideLiteralsAndIdentifiersAreNotDdl() {
+        assertThat(SchemaMetadataCache.isDdl("INSERT INTO [Core].[tblAudit]([Action]) VALUES ('CREATE')"))
+                .isFalse();
+        assertThat(SchemaMetadataCache.isDdl("UPDATE [Core].[tblDrop] SET [AlterDate] = NULL")).isFalse();
+        assertThat(SchemaMetadataCache.isDdl("INSERT INTO [Core].[tblA] SELECT * FROM [Core].[tblB]"))
+                .isFalse();
+        assertThat(SchemaMetadataCache.isDdl("DELETE FROM [Core].[tblA] WHERE [Name] = 'drop'")).isFalse();
+    }
+}
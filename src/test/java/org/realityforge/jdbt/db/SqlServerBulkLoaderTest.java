@@ -0,0 +1,82 @@
+package org.realityforge.jdbt.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+final class SqlServerBulkLoaderTest {
+    @Test
+    void bulkDataStopsAtColumnSignatureChangeAndConvertsValuesToDestinationTypes() {
+        final var first = row("ID", "1", "Active", 1, "CreatedAt", "2020-01-02 03:04:05");
+        final var second = row("ID", 2, "Active", "false", "CreatedAt", "2020-01-03");
+        final Map<String, Object> third = new LinkedHashMap<>();
+        third.put("ID", 3);
+        final var columns = List.of("ID", "Active", "CreatedAt");
+        final var types = List.of(
+                new SqlServerBulkLoader.ColumnType(Types.INTEGER, 10, 0),
+                new SqlServerBulkLoader.ColumnType(Types.BIT, 1, 0),
+                new SqlServerBulkLoader.ColumnType(Types.TIMESTAMP, 23, 3));
+        final var data = new SqlServerBulkLoader.FixtureBulkData(
+                columns, types, first, List.of(second, third).iterator());
+
+        assertThat(data.getColumnOrdinals()).containsExactly(1, 2, 3);
+        assertThat(data.getColumnName(2)).isEqualTo("Active");
+        assertThat(data.getColumnType(3)).isEqualTo(Types.TIMESTAMP);
+        assertThat(data.getPrecision(3)).isEqualTo(23);
+        assertThat(data.getScale(3)).isEqualTo(3);
+
+        assertThat(data.next()).isTrue();
+        assertThat(data.getRowData()).containsExactly(1, true, Timestamp.valueOf("2020-01-02 03:04:05"));
+        assertThat(data.next()).isTrue();
+        assertThat(data.getRowData()).containsExactly(2, false, Timestamp.valueOf("2020-01-03 00:00:00"));
+        assertThat(data.next()).isFalse();
+        assertThat(data.remainder()).isSameAs(third);
+    }
+
+    @Test
+    void bulkCopyOptionsKeepIdentityAndLockTable() throws Exception {
+        final var options = SqlServerBulkLoader.options(250);
+
+        assertThat(options.getBatchSize()).isEqualTo(250);
+        assertThat(options.getBulkCopyTimeout()).isZero();
+        assertThat(options.isKeepIdentity()).isTrue();
+        assertThat(options.isKeepNulls()).isTrue();
+        assertThat(options.isTableLock()).isTrue();
+        assertThat(options.isCheckConstraints()).isTrue();
+        assertThat(options.isFireTriggers()).isTrue();
+    }
+
+    @Test
+    void valueConverterParsesFixtureTimestampsAndRejectsMalformedNumbers() {
+        assertThat(JdbcValueConverter.convert("02 Jan 2020 03:04:05", Types.TIMESTAMP))
+                .isEqualTo(Timestamp.valueOf("2020-01-02 03:04:05"));
+        assertThat(JdbcValueConverter.convert("2020-01-02T03:04:05.123", Types.TIMESTAMP))
+                .isEqualTo(Timestamp.valueOf("2020-01-02 03:04:05.123"));
+        assertThat(JdbcValueConverter.convert("7", Types.VARCHAR)).isEqualTo("7");
+        assertThat(JdbcValueConverter.convert(7, Types.VARCHAR)).isEqualTo(7);
+        assertThat(JdbcValueConverter.convert(Boolean.TRUE, Types.NVARCHAR)).isEqualTo(Boolean.TRUE);
+        assertThatThrownBy(() -> JdbcValueConverter.convert("abc", Types.INTEGER))
+                .isInstanceOf(DatabaseException.class)
+                .hasMessageContaining("Unable to convert value 'abc'");
+    }
+
+    private static Map<String, Object> row(
+            final String k1,
+            final Object v1,
+            final String k2,
+            final Object v2,
+            final String k3,
+            final Object v3) {
+        final Map<String, Object> row = new LinkedHashMap<>();
+        row.put(k1, v1);
+        row.put(k2, v2);
+        row.put(k3, v3);
+        return row;
+    }
+}
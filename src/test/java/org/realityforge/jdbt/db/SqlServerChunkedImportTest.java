@@ -0,0 +1,85 @@
+package org.realityforge.jdbt.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+final class SqlServerChunkedImportTest {
+    @Test
+    void chunkSqlCopiesPrimaryKeyRangesAcrossDatabases() {
+        final var chunked = chunkedImport(mock(Connection.class));
+
+        assertThat(chunked.upperKeySql(true))
+                .isEqualTo("SELECT MAX([ID]) FROM (SELECT TOP (50) [ID] FROM [SRC].[dbo].[tblA] ORDER BY [ID])"
+                        + " AS Chunk");
+        assertThat(chunked.upperKeySql(false)).contains("WHERE [ID] > ? ORDER BY [ID]");
+        assertThat(chunked.copySql(true))
+                .isEqualTo("INSERT INTO [DST].[dbo].[tblA]([ID], [Name])\n"
+                        + "  SELECT [ID], [Name] FROM [SRC].[dbo].[tblA] WHERE [ID] <= ?");
+        assertThat(chunked.copySql(false)).endsWith(" WHERE [ID] > ? AND [ID] <= ?");
+    }
+
+    @Test
+    void resumeContinuesAfterCheckpointAndCommitsEachChunkWithItsCheckpoint() throws Exception {
+        final var connection = mock(Connection.class);
+        final var checkpoint = mock(PreparedStatement.class);
+        final var checkpointResult = mock(ResultSet.class);
+        final var upperKey = mock(PreparedStatement.class);
+        final var upperKeyResult = mock(ResultSet.class);
+        final var copy = mock(PreparedStatement.class);
+        final var updateCheckpoint = mock(PreparedStatement.class);
+        final var clearCheckpoint = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> {
+            final var sql = invocation.<String>getArgument(0);
+            if (sql.startsWith("SELECT [LastKey]")) {
+                return checkpoint;
+            } else if (sql.startsWith("SELECT MAX")) {
+                return upperKey;
+            } else if (sql.startsWith("INSERT INTO [DST]")) {
+                return copy;
+            } else if (sql.startsWith("UPDATE")) {
+                return updateCheckpoint;
+            } else if (sql.startsWith("DELETE FROM [dbo].[tblImportCheckpoint]")) {
+                return clearCheckpoint;
+            }
+            throw new IllegalStateException("Unexpected SQL " + sql);
+        });
+        when(checkpoint.executeQuery()).thenReturn(checkpointResult);
+        when(checkpointResult.next()).thenReturn(true);
+        when(checkpointResult.getLong(1)).thenReturn(100L);
+        when(upperKey.executeQuery()).thenReturn(upperKeyResult);
+        when(upperKeyResult.next()).thenReturn(true, true);
+        when(upperKeyResult.getLong(1)).thenReturn(150L, 0L);
+        when(upperKeyResult.wasNull()).thenReturn(false, true);
+        when(updateCheckpoint.executeUpdate()).thenReturn(1);
+
+        assertThat(chunkedImport(connection).run(true)).isEqualTo(1);
+
+        verify(upperKey).setLong(1, 100L);
+        verify(copy).setLong(1, 100L);
+        verify(copy).setLong(2, 150L);
+        verify(updateCheckpoint).setLong(1, 150L);
+        verify(connection, never()).createStatement();
+        final var order = inOrder(copy, updateCheckpoint, connection, clearCheckpoint);
+        order.verify(connection).setAutoCommit(false);
+        order.verify(copy).executeUpdate();
+        order.verify(updateCheckpoint).executeUpdate();
+        order.verify(connection).commit();
+        order.verify(clearCheckpoint).executeUpdate();
+    }
+
+    private static SqlServerChunkedImport chunkedImport(final Connection connection) {
+        return new SqlServerChunkedImport(
+                connection, "[dbo].[tblA]", "DST", "SRC", List.of("[ID]", "[Name]"), "[ID]", 50);
+    }
+}
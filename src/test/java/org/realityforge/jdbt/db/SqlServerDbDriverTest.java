@@ -18,10 +18,17 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 import org.realityforge.jdbt.config.ImportConfig;
+import org.realityforge.jdbt.config.ImportRecoveryModel;
 
 final class SqlServerDbDriverTest {
     private final DatabaseConnection config = new DatabaseConnection("127.0.0.1", 1433, "DB", "sa", "secret");
@@ -61,6 +68,49 @@ final class SqlServerDbDriverTest {
         verify(control, never()).createStatement();
     }
 
+    @Test
+    void executeBatchesSendsGroupedDynamicBatchesInOneRoundTrip() throws Exception {
+        final var target = mock(Connection.class);
+        final var statement = mock(Statement.class);
+        when(target.createStatement()).thenReturn(statement);
+        when(statement.execute(anyString())).thenReturn(false);
+        when(statement.getUpdateCount()).thenReturn(-1);
+        final var driver = new SqlServerDbDriver((connection, controlDatabase) -> target);
+        driver.open(config, false);
+
+        driver.executeBatches(List.of("CREATE VIEW V AS SELECT 'a' AS A", "GRANT SELECT ON V TO R"), false);
+
+        verify(statement)
+                .execute("DECLARE @JdbtBatch INT\nBEGIN TRY\n"
+                        + "SET @JdbtBatch = 0\nEXEC(N'CREATE VIEW V AS SELECT ''a'' AS A')\n"
+                        + "SET @JdbtBatch = 1\nEXEC(N'GRANT SELECT ON V TO R')\n"
+                        + "END TRY\nBEGIN CATCH\n"
+                        + "DECLARE @JdbtMessage NVARCHAR(2048) = ERROR_MESSAGE()\n"
+                        + "DECLARE @JdbtNumber INT = ERROR_NUMBER()\n"
+                        + "DECLARE @JdbtLine INT = ERROR_LINE()\n"
+                        + "DECLARE @JdbtProcedure NVARCHAR(128) = ISNULL(ERROR_PROCEDURE(), N'-')\n"
+                        + "RAISERROR('jdbt batch %d: Msg %d, Line %d, Procedure %s: %s', 16, 1, @JdbtBatch,"
+                        + " @JdbtNumber, @JdbtLine, @JdbtProcedure, @JdbtMessage)\n"
+                        + "END CATCH");
+        verify(target, times(1)).createStatement();
+    }
+
+    @Test
+    void executeBatchesReportsIndexOfFailedBatch() throws Exception {
+        final var target = mock(Connection.class);
+        final var statement = mock(Statement.class);
+        when(target.createStatement()).thenReturn(statement);
+        when(statement.execute(anyString()))
+                .thenThrow(new SQLException("jdbt batch 1: Msg 208, Line 1, Procedure -: Invalid object name 'T'."));
+        final var driver = new SqlServerDbDriver((connection, controlDatabase) -> target);
+        driver.open(config, false);
+
+        assertThatThrownBy(() -> driver.executeBatches(List.of("CREATE VIEW V AS SELECT 1 AS A", "DROP VIEW T"), false))
+                .isInstanceOf(SqlBatchException.class)
+                .satisfies(e -> assertThat(((SqlBatchException) e).batchIndex()).isEqualTo(1))
+                .hasRootCauseMessage("jdbt batch 1: Msg 208, Line 1, Procedure -: Invalid object name 'T'.");
+    }
+
     @Test
     void executeRestoresTargetCatalogWhenControlSqlFails() throws Exception {
         final var target = mock(Connection.class);
@@ -92,10 +142,13 @@ final class SqlServerDbDriverTest {
         final var identityQuery = mock(PreparedStatement.class);
         final var identityResult = mock(ResultSet.class);
         final var statement = mock(Statement.class);
-        when(target.prepareStatement(contains("COLUMNPROPERTY"))).thenReturn(identityQuery);
+        when(target.prepareStatement(contains("is_identity"))).thenReturn(identityQuery);
         when(identityQuery.executeQuery()).thenReturn(identityResult);
-        when(identityResult.next()).thenReturn(true, true);
-        when(identityResult.getLong(1)).thenReturn(1L, 1L);
+        when(identityResult.next()).thenReturn(true, false);
+        when(identityResult.getString(1)).thenReturn("C");
+        when(identityResult.getString(2)).thenReturn("tbl");
+        when(identityResult.getString(3)).thenReturn("ID");
+        when(identityResult.getInt(5)).thenReturn(1);
         when(target.getCatalog()).thenReturn("DB");
         when(target.createStatement()).thenReturn(statement);
         final var driver = new SqlServerDbDriver((connection, controlDatabase) -> controlDatabase ? control : target);
@@ -195,7 +248,9 @@ final class SqlServerDbDriverTest {
         });
         when(columns.executeQuery()).thenReturn(columnResult);
         when(columnResult.next()).thenReturn(true, true, false);
-        when(columnResult.getString(1)).thenReturn("ID", "NAME");
+        when(columnResult.getString(1)).thenReturn("C", "C");
+        when(columnResult.getString(2)).thenReturn("tbl", "tbl");
+        when(columnResult.getString(3)).thenReturn("ID", "NAME");
         final var driver = new SqlServerDbDriver((connection, controlDatabase) -> target);
         driver.open(config, false);
 
@@ -211,16 +266,61 @@ final class SqlServerDbDriverTest {
         assertThat(columnNames).containsExactly("[ID]", "[NAME]");
     }
 
+    @Test
+    void insertAllBindsParametersUsingCatalogColumnTypes() throws Exception {
+        final var target = mock(Connection.class);
+        final var insert = mock(PreparedStatement.class);
+        final var columns = mock(PreparedStatement.class);
+        final var columnResult = mock(ResultSet.class);
+        when(target.prepareStatement(anyString())).thenAnswer(invocation -> {
+            final var sql = invocation.<String>getArgument(0);
+            return sql.startsWith("INSERT INTO") ? insert : columns;
+        });
+        when(columns.executeQuery()).thenReturn(columnResult);
+        when(columnResult.next()).thenReturn(true, true, true, true, false);
+        when(columnResult.getString(1)).thenReturn("C", "C", "C", "C");
+        when(columnResult.getString(2)).thenReturn("tbl", "tbl", "tbl", "tbl");
+        when(columnResult.getString(3)).thenReturn("ID", "Name", "CreatedAt", "Tag");
+        when(columnResult.getString(4)).thenReturn("int", "nvarchar", "datetime2", "uniqueidentifier");
+        final var driver = new SqlServerDbDriver((connection, controlDatabase) -> target);
+        driver.open(config, false);
+
+        final var first = new LinkedHashMap<String, Object>();
+        first.put("ID", "1");
+        first.put("NAME", 42);
+        first.put("CreatedAt", "2024-01-02 03:04:05");
+        first.put("Tag", "x");
+        final var second = new LinkedHashMap<String, Object>();
+        second.put("ID", 2);
+        second.put("NAME", null);
+        second.put("CreatedAt", null);
+        second.put("Tag", null);
+        driver.insertAll("[dbo].[tbl]", List.<Map<String, Object>>of(first, second).iterator(), 10);
+
+        verify(insert).setObject(1, 1, Types.INTEGER);
+        verify(insert).setObject(2, "42", Types.NVARCHAR);
+        verify(insert).setObject(3, Timestamp.valueOf("2024-01-02 03:04:05"), Types.TIMESTAMP);
+        verify(insert).setObject(4, "x");
+        verify(insert).setObject(1, 2, Types.INTEGER);
+        verify(insert).setNull(2, Types.NVARCHAR);
+        verify(insert).setNull(3, Types.TIMESTAMP);
+        verify(insert).setObject(4, null);
+        verify(insert, times(2)).addBatch();
+        verify(insert).executeBatch();
+        verify(columns, times(1)).executeQuery();
+    }
+
     @Test
     void primaryKeysAndQueryUseJdbcMetadata() throws Exception {
         final var target = mock(Connection.class);
         final var primaryKeys = mock(PreparedStatement.class);
         final var primaryKeyResult = mock(ResultSet.class);
-        when(target.prepareStatement(contains("INFORMATION_SCHEMA.TABLE_CONSTRAINTS")))
-                .thenReturn(primaryKeys);
+        when(target.prepareStatement(contains("is_primary_key"))).thenReturn(primaryKeys);
         when(primaryKeys.executeQuery()).thenReturn(primaryKeyResult);
         when(primaryKeyResult.next()).thenReturn(true, true, false);
-        when(primaryKeyResult.getString(1)).thenReturn("A", "B");
+        when(primaryKeyResult.getString(1)).thenReturn("P", "P");
+        when(primaryKeyResult.getString(2)).thenReturn("tbl", "tbl");
+        when(primaryKeyResult.getString(3)).thenReturn("A", "B");
 
         final var statement = mock(Statement.class);
         final var queryResult = mock(ResultSet.class);
@@ -251,13 +351,16 @@ final class SqlServerDbDriverTest {
         final var target = mock(Connection.class);
         final var identityQuery = mock(PreparedStatement.class);
         final var identityResult = mock(ResultSet.class);
-        when(target.prepareStatement(
-                        "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS WHERE COLUMNPROPERTY(OBJECT_ID(?),"
-                                + " COLUMN_NAME, 'IsIdentity') = 1"))
-                .thenReturn(identityQuery);
+        when(target.prepareStatement(contains("is_identity"))).thenReturn(identityQuery);
         when(identityQuery.executeQuery()).thenReturn(identityResult);
-        when(identityResult.next()).thenReturn(true, true);
-        when(identityResult.getLong(1)).thenReturn(1L, 1L);
+        when(identityResult.next()).thenReturn(true, false);
+        when(identityResult.getString(1)).thenReturn("C");
+        when(identityResult.getString(2)).thenReturn("tbl");
+        when(identityResult.getString(3)).thenReturn("ID");
+        when(identityResult.getInt(5)).thenReturn(1);
+        final var fragmentationQuery = mock(PreparedStatement.class);
+        when(target.prepareStatement(contains("dm_db_index_physical_stats"))).thenReturn(fragmentationQuery);
+        when(fragmentationQuery.executeQuery()).thenReturn(mock(ResultSet.class));
 
         final var statement = mock(Statement.class);
         when(target.createStatement()).thenReturn(statement);
@@ -274,7 +377,10 @@ final class SqlServerDbDriverTest {
 
         verify(statement, times(2)).execute("SET IDENTITY_INSERT [dbo].[tbl] ON");
         verify(statement, times(2)).execute("SET IDENTITY_INSERT [dbo].[tbl] OFF");
-        verify(statement).execute("DBCC DBREINDEX (N'[dbo].[tbl]', '', 0) WITH NO_INFOMSGS");
+        verify(statement).execute("UPDATE STATISTICS [dbo].[tbl] WITH FULLSCAN, COLUMNS");
+        verify(statement).execute("DBCC UPDATEUSAGE(0, N'[dbo].[tbl]') WITH NO_INFOMSGS, COUNT_ROWS");
+        verify(identityQuery).setString(1, "dbo");
+        verify(identityQuery, times(1)).executeQuery();
     }
 
     @Test
@@ -282,10 +388,12 @@ final class SqlServerDbDriverTest {
         final var target = mock(Connection.class);
         final var identityQuery = mock(PreparedStatement.class);
         final var identityResult = mock(ResultSet.class);
-        when(target.prepareStatement(contains("COLUMNPROPERTY"))).thenReturn(identityQuery);
+        when(target.prepareStatement(contains("is_identity"))).thenReturn(identityQuery);
         when(identityQuery.executeQuery()).thenReturn(identityResult);
-        when(identityResult.next()).thenReturn(true, true);
-        when(identityResult.getLong(1)).thenReturn(0L, 0L);
+        when(identityResult.next()).thenReturn(true, false);
+        when(identityResult.getString(1)).thenReturn("C");
+        when(identityResult.getString(2)).thenReturn("tbl");
+        when(identityResult.getString(3)).thenReturn("ID");
         final var statement = mock(Statement.class);
         when(target.createStatement()).thenReturn(statement);
         final var driver = new SqlServerDbDriver((connection, controlDatabase) -> target);
@@ -297,11 +405,108 @@ final class SqlServerDbDriverTest {
         verify(statement, never()).execute(contains("IDENTITY_INSERT"));
     }
 
+    @Test
+    void schemaMetadataIsLoadedOncePerSchemaUntilDdlIsExecuted() throws Exception {
+        final var target = mock(Connection.class);
+        final var metadataQuery = mock(PreparedStatement.class);
+        final var metadataResult = mock(ResultSet.class);
+        when(target.prepareStatement(contains("sys.foreign_keys"))).thenReturn(metadataQuery);
+        when(metadataQuery.executeQuery()).thenReturn(metadataResult);
+        when(metadataResult.next()).thenReturn(true, true, true, true, false, false);
+        when(metadataResult.getString(1)).thenReturn("C", "C", "F", "P");
+        when(metadataResult.getString(2)).thenReturn("Child", "Child", "Child", "Child");
+        when(metadataResult.getString(3)).thenReturn("ID", "ParentID", "Parent", "ID");
+        when(metadataResult.getString(4)).thenReturn("Core");
+        final var statement = mock(Statement.class);
+        when(target.createStatement()).thenReturn(statement);
+        final var driver = new SqlServerDbDriver((connection, controlDatabase) -> target);
+        driver.open(config, false);
+
+        assertThat(driver.columnNamesForTable("[Core].[child]")).containsExactly("[ID]", "[ParentID]");
+        assertThat(driver.primaryKeyColumnNamesForTable("[Core].[Child]")).containsExactly("[ID]");
+        assertThat(driver.columnNamesForTable("[Core].[Missing]")).isEmpty();
+        // [Core].[Parent] has no metadata, so it is left out rather than reported as referencing nothing
+        assertThat(driver.foreignKeyDependencies(List.of("[Core].[Parent]", "[Core].[Child]")))
+                .containsExactly(Map.entry("[Core].[Child]", Set.of("[Core].[Parent]")));
+        driver.execute("DELETE FROM [Core].[Child]", false);
+        driver.columnNamesForTable("[Core].[Child]");
+        verify(metadataQuery, times(1)).executeQuery();
+
+        driver.execute("ALTER TABLE [Core].[Child] ADD [Name] VARCHAR(50)", false);
+        assertThat(driver.columnNamesForTable("[Core].[Child]")).isEmpty();
+        verify(metadataQuery, times(2)).executeQuery();
+    }
+
+    @Test
+    void importRecoveryModelIsSwitchedForImportAndRestoredAfterMaintenance() throws Exception {
+        final var target = mock(Connection.class);
+        final var statement = mock(Statement.class);
+        final var resultSet = mock(ResultSet.class);
+        when(target.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(contains("recovery_model_desc"))).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getString(1)).thenReturn("FULL");
+        final var driver = new SqlServerDbDriver((connection, controlDatabase) -> target);
+        driver.open(config, false);
+        final var importConfig = new ImportConfig("default", List.of("Core"), "import", List.of(), List.of());
+        final var metadata = new DatabaseMetadata(
+                "default", "1", "hash", null, null, false, true, true, false, ImportRecoveryModel.BULK_LOGGED);
+
+        driver.preDatabaseImport(metadata, importConfig);
+        driver.postDatabaseImport(metadata, importConfig);
+        driver.abortDatabaseImport(metadata, importConfig);
+
+        final var order = inOrder(statement);
+        order.verify(statement).execute("ALTER DATABASE CURRENT SET RECOVERY BULK_LOGGED");
+        order.verify(statement).execute("ALTER DATABASE CURRENT SET RECOVERY FULL");
+        verify(statement, times(1)).execute("ALTER DATABASE CURRENT SET RECOVERY FULL");
+        assertThat(driver.generateStandardImportSql("[dbo].[tblA]", "DST", "SRC", List.of("[ID]"), true))
+                .isEqualTo("INSERT INTO [DST].[dbo].[tblA] WITH (TABLOCK)([ID])\n"
+                        + "  SELECT [ID] FROM [SRC].[dbo].[tblA]\n");
+    }
+
+    @Test
+    void importRecoveryModelIsRestoredWhenImportIsAbortedAndLeftAloneForSimpleDatabases() throws Exception {
+        final var target = mock(Connection.class);
+        final var statement = mock(Statement.class);
+        final var resultSet = mock(ResultSet.class);
+        when(target.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(contains("recovery_model_desc"))).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getString(1)).thenReturn("FULL", "SIMPLE");
+        final var driver = new SqlServerDbDriver((connection, controlDatabase) -> target);
+        driver.open(config, false);
+        final var importConfig = new ImportConfig("default", List.of("Core"), "import", List.of(), List.of());
+        final var metadata = new DatabaseMetadata(
+                "default", "1", "hash", null, null, false, true, false, false, ImportRecoveryModel.SIMPLE);
+
+        driver.preDatabaseImport(metadata, importConfig);
+        driver.abortDatabaseImport(metadata, importConfig);
+        driver.preDatabaseImport(metadata, importConfig);
+        driver.postDatabaseImport(metadata, importConfig);
+
+        verify(statement).execute("ALTER DATABASE CURRENT SET RECOVERY SIMPLE");
+        verify(statement).execute("ALTER DATABASE CURRENT SET RECOVERY FULL");
+    }
+
     @Test
     void postImportMaintenanceHonorsReindexAndShrinkOptions() throws Exception {
         final var target = mock(Connection.class);
         final var statement = mock(Statement.class);
         when(target.createStatement()).thenReturn(statement);
+        final var fragmentationQuery = mock(PreparedStatement.class);
+        final var fooFragmentation = mock(ResultSet.class);
+        final var barFragmentation = mock(ResultSet.class);
+        when(target.prepareStatement(contains("dm_db_index_physical_stats"))).thenReturn(fragmentationQuery);
+        when(fragmentationQuery.executeQuery()).thenReturn(fooFragmentation, barFragmentation);
+        when(fooFragmentation.next()).thenReturn(true, true, true, false);
+        when(fooFragmentation.getString(1)).thenReturn("PK_foo", "IX_foo_A", "IX_foo_B");
+        when(fooFragmentation.getDouble(2)).thenReturn(45.0, 12.0, 2.0);
+        when(fooFragmentation.getLong(3)).thenReturn(5000L);
+        when(barFragmentation.next()).thenReturn(true, false);
+        when(barFragmentation.getString(1)).thenReturn("PK_bar");
+        when(barFragmentation.getDouble(2)).thenReturn(80.0);
+        when(barFragmentation.getLong(3)).thenReturn(10L);
         final var driver = new SqlServerDbDriver((connection, controlDatabase) -> target);
         driver.open(config, false);
         final var importConfig = new ImportConfig("default", List.of("Core"), "import", List.of(), List.of());
@@ -310,9 +515,8 @@ final class SqlServerDbDriverTest {
         driver.postDatabaseImport(noMaintenance, importConfig);
         driver.postDataModuleImport(noMaintenance, importConfig, "Core", List.of("[Core].[foo]"));
 
-        verify(statement, never()).execute(contains("sp_updatestats"));
         verify(statement, never()).execute(contains("SHRINKDATABASE"));
-        verify(statement, never()).execute(contains("DBREINDEX"));
+        verify(target, never()).prepareStatement(contains("dm_db_index_physical_stats"));
 
         final var shrinkAndReindex = new DatabaseMetadata("default", "1", "hash", null, null, false, true, true, true);
         driver.postDataModuleImport(shrinkAndReindex, importConfig, "Core", List.of("[Core].[foo]", "[Core].[bar]"));
@@ -324,12 +528,71 @@ final class SqlServerDbDriverTest {
         verify(statement)
                 .execute("DECLARE @DbName VARCHAR(100); SET @DbName = DB_NAME(); DBCC SHRINKDATABASE(@DbName, 10,"
                         + " TRUNCATEONLY) WITH NO_INFOMSGS");
-        verify(statement).execute("DBCC DBREINDEX (N'[Core].[foo]', '', 0) WITH NO_INFOMSGS");
-        verify(statement).execute("DBCC DBREINDEX (N'[Core].[bar]', '', 0) WITH NO_INFOMSGS");
-        verify(statement).execute("EXEC dbo.sp_updatestats");
-        verify(statement)
-                .execute("DECLARE @DbName VARCHAR(100); SET @DbName = DB_NAME(); DBCC UPDATEUSAGE(@DbName) WITH"
-                        + " NO_INFOMSGS, COUNT_ROWS");
+        verify(fragmentationQuery).setString(1, "[Core].[foo]");
+        verify(fragmentationQuery).setString(1, "[Core].[bar]");
+        verify(statement).execute("ALTER INDEX [PK_foo] ON [Core].[foo] REBUILD");
+        verify(statement).execute("ALTER INDEX [IX_foo_A] ON [Core].[foo] REORGANIZE");
+        verify(statement, never()).execute(contains("[IX_foo_B]"));
+        verify(statement, never()).execute(contains("[PK_bar]"));
+        verify(statement, never()).execute(contains("sp_updatestats"));
+        verify(statement, never()).execute(contains("DBREINDEX"));
+    }
+
+    @Test
+    void deferredIndexesAreDisabledAndRebuiltEvenWhenOneRebuildFails() throws Exception {
+        final var target = mock(Connection.class);
+        final var indexes = mock(PreparedStatement.class);
+        final var indexResult = mock(ResultSet.class);
+        final var statement = mock(Statement.class);
+        when(target.prepareStatement(contains("sys.indexes"))).thenReturn(indexes);
+        when(indexes.executeQuery()).thenReturn(indexResult);
+        when(indexResult.next()).thenReturn(true, true, true, false);
+        when(indexResult.getString(1)).thenReturn("IX_foo_A", "IX_foo_B", "IX_foo_Unlisted");
+        when(target.createStatement()).thenReturn(statement);
+        doThrow(new SQLException("rebuild failed"))
+                .when(statement)
+                .execute("ALTER INDEX [IX_foo_A] ON [Core].[foo] REBUILD");
+        final var driver = new SqlServerDbDriver((connection, controlDatabase) -> target);
+        driver.open(config, false);
+
+        driver.deferIndexes("[Core].[foo]", List.of("ix_foo_a", "IX_foo_B"));
+
+        verify(indexes).setString(1, "[Core].[foo]");
+        verify(statement).execute("ALTER INDEX [IX_foo_A] ON [Core].[foo] DISABLE");
+        verify(statement).execute("ALTER INDEX [IX_foo_B] ON [Core].[foo] DISABLE");
+        verify(statement, never()).execute(contains("IX_foo_Unlisted"));
+
+        assertThatThrownBy(() -> driver.rebuildIndexes("[Core].[foo]"))
+                .isInstanceOf(DatabaseException.class)
+                .hasRootCauseMessage("rebuild failed");
+        verify(statement).execute("ALTER INDEX [IX_foo_B] ON [Core].[foo] REBUILD");
+
+        driver.rebuildIndexes("[Core].[foo]");
+        verify(statement, times(1)).execute("ALTER INDEX [IX_foo_B] ON [Core].[foo] REBUILD");
+    }
+
+    @Test
+    void deferredIndexesIncludeIndexesLeftDisabledByAnInterruptedRun() throws Exception {
+        final var target = mock(Connection.class);
+        final var indexes = mock(PreparedStatement.class);
+        final var indexResult = mock(ResultSet.class);
+        final var statement = mock(Statement.class);
+        when(target.prepareStatement(contains("sys.indexes"))).thenReturn(indexes);
+        when(indexes.executeQuery()).thenReturn(indexResult);
+        when(indexResult.next()).thenReturn(true, true, false);
+        when(indexResult.getString(1)).thenReturn("IX_foo_A", "IX_foo_B");
+        when(indexResult.getBoolean(2)).thenReturn(true, false);
+        when(target.createStatement()).thenReturn(statement);
+        final var driver = new SqlServerDbDriver((connection, controlDatabase) -> target);
+        driver.open(config, false);
+
+        driver.deferIndexes("[Core].[foo]", List.of("IX_foo_A", "IX_foo_B"));
+        driver.rebuildIndexes("[Core].[foo]");
+
+        verify(statement, never()).execute("ALTER INDEX [IX_foo_A] ON [Core].[foo] DISABLE");
+        verify(statement).execute("ALTER INDEX [IX_foo_B] ON [Core].[foo] DISABLE");
+        verify(statement).execute("ALTER INDEX [IX_foo_A] ON [Core].[foo] REBUILD");
+        verify(statement).execute("ALTER INDEX [IX_foo_B] ON [Core].[foo] REBUILD");
     }
 
     @Test
@@ -342,7 +605,7 @@ final class SqlServerDbDriverTest {
         final var markMigration = mock(PreparedStatement.class);
         when(target.prepareStatement(anyString())).thenAnswer(invocation -> {
             final var sql = invocation.<String>getArgument(0);
-            if (sql.contains("INFORMATION_SCHEMA.TABLES")) {
+            if (sql.contains("INFORMATION_SCHEMA.")) {
                 return tableExists;
             }
             if (sql.contains("FROM [dbo].[tblMigration] WHERE")) {
@@ -370,4 +633,263 @@ final class SqlServerDbDriverTest {
         verify(markMigration).setString(2, "001_init");
         verify(markMigration).executeUpdate();
     }
+
+    @Test
+    void migrationStateIsLoadedInOneQueryAndRecordedInBatches() throws Exception {
+        final var target = mock(Connection.class);
+        final var tableExists = mock(PreparedStatement.class);
+        final var tableExistsResult = mock(ResultSet.class);
+        final var applied = mock(PreparedStatement.class);
+        final var appliedResult = mock(ResultSet.class);
+        final var markMigration = mock(PreparedStatement.class);
+        when(target.prepareStatement(anyString())).thenAnswer(invocation -> {
+            final var sql = invocation.<String>getArgument(0);
+            if (sql.contains("INFORMATION_SCHEMA.")) {
+                return tableExists;
+            }
+            if (sql.equals("SELECT [Migration] FROM [dbo].[tblMigration] WHERE [Namespace] = ?")) {
+                return applied;
+            }
+            if (sql.startsWith("INSERT INTO [dbo].[tblMigration]")) {
+                return markMigration;
+            }
+            throw new IllegalStateException("Unexpected sql " + sql);
+        });
+        when(tableExists.executeQuery()).thenReturn(tableExistsResult);
+        when(tableExistsResult.next()).thenReturn(true);
+        when(tableExistsResult.getLong(1)).thenReturn(1L);
+        when(applied.executeQuery()).thenReturn(appliedResult);
+        when(appliedResult.next()).thenReturn(true, true, false);
+        when(appliedResult.getString(1)).thenReturn("001_init", "002_next");
+
+        final var driver = new SqlServerDbDriver((connection, controlDatabase) -> target);
+        driver.open(config, false);
+
+        assertThat(driver.appliedMigrations("default", List.of("001_init", "002_next", "003_new")))
+                .containsExactlyInAnyOrder("001_init", "002_next");
+        verify(applied).setString(1, "default");
+
+        driver.markMigrationsAsRun(
+                "default", IntStream.range(0, 1500).mapToObj(i -> "m" + i).toList());
+
+        verify(target, times(1)).prepareStatement(contains("INSERT INTO [dbo].[tblMigration]"));
+        verify(markMigration, times(1500)).addBatch();
+        verify(markMigration, times(2)).executeBatch();
+        verify(markMigration, never()).executeUpdate();
+    }
+
+    @Test
+    void migrationTableGainsTimingColumnsAndRecordsExecutionHistory() throws Exception {
+        final var target = mock(Connection.class);
+        final var statement = mock(Statement.class);
+        final var tableExists = mock(PreparedStatement.class);
+        final var tableExistsResult = mock(ResultSet.class);
+        final var columnExists = mock(PreparedStatement.class);
+        final var columnExistsResult = mock(ResultSet.class);
+        final var markMigration = mock(PreparedStatement.class);
+        final var history = mock(PreparedStatement.class);
+        final var historyResult = mock(ResultSet.class);
+        when(target.createStatement()).thenReturn(statement);
+        when(target.prepareStatement(anyString())).thenAnswer(invocation -> {
+            final var sql = invocation.<String>getArgument(0);
+            if (sql.contains("INFORMATION_SCHEMA.TABLES")) {
+                return tableExists;
+            }
+            if (sql.contains("INFORMATION_SCHEMA.COLUMNS")) {
+                return columnExists;
+            }
+            if (sql.startsWith("INSERT INTO [dbo].[tblMigration]")) {
+                return markMigration;
+            }
+            if (sql.startsWith("SELECT [Migration],[AppliedAt],[DurationMs],[RowCount],[Checksum]")) {
+                return history;
+            }
+            throw new IllegalStateException("Unexpected sql " + sql);
+        });
+        when(tableExists.executeQuery()).thenReturn(tableExistsResult);
+        when(tableExistsResult.next()).thenReturn(true);
+        when(tableExistsResult.getLong(1)).thenReturn(1L);
+        when(columnExists.executeQuery()).thenReturn(columnExistsResult);
+        when(columnExistsResult.next()).thenReturn(true);
+        when(columnExistsResult.getLong(1)).thenReturn(0L, 1L);
+        when(history.executeQuery()).thenReturn(historyResult);
+        when(historyResult.next()).thenReturn(true, true, false);
+        when(historyResult.getString(1)).thenReturn("001_old", "002_new");
+        when(historyResult.getTimestamp(2))
+                .thenReturn(Timestamp.from(Instant.parse("2024-01-01T00:00:00Z")), (Timestamp) null);
+        when(historyResult.getLong(3)).thenReturn(0L, 1500L);
+        when(historyResult.wasNull()).thenReturn(true, false);
+        when(historyResult.getLong(4)).thenReturn(0L, 42L);
+        when(historyResult.getString(5)).thenReturn(null, "abc");
+
+        final var driver = new SqlServerDbDriver((connection, controlDatabase) -> target);
+        driver.open(config, false);
+
+        driver.setupMigrations();
+        driver.markMigrationAsRun("default", "002_new", new MigrationExecution(1500, 42, "abc"));
+
+        verify(statement).execute(contains("ALTER TABLE [dbo].[tblMigration] ADD [DurationMs] BIGINT NULL"));
+        verify(target).prepareStatement(contains("[Checksum]) VALUES (?, ?, GETDATE(), ?, ?, ?)"));
+        verify(markMigration).setLong(3, 1500L);
+        verify(markMigration).setLong(4, 42L);
+        verify(markMigration).setString(5, "abc");
+        assertThat(driver.migrationHistory("default"))
+                .containsExactly(
+                        new MigrationRecord("001_old", Instant.parse("2024-01-01T00:00:00Z"), null),
+                        new MigrationRecord("002_new", null, new MigrationExecution(1500, 42, "abc")));
+    }
+
+    @Test
+    void migrationStateIsReadWithoutCreatingOrAlteringTheMigrationTable() throws Exception {
+        final var target = mock(Connection.class);
+        final var tableExists = mock(PreparedStatement.class);
+        final var tableExistsResult = mock(ResultSet.class);
+        final var columnExists = mock(PreparedStatement.class);
+        final var columnExistsResult = mock(ResultSet.class);
+        final var history = mock(PreparedStatement.class);
+        final var historyResult = mock(ResultSet.class);
+        when(target.prepareStatement(anyString())).thenAnswer(invocation -> {
+            final var sql = invocation.<String>getArgument(0);
+            if (sql.contains("INFORMATION_SCHEMA.TABLES")) {
+                return tableExists;
+            }
+            if (sql.contains("INFORMATION_SCHEMA.COLUMNS")) {
+                return columnExists;
+            }
+            if (sql.startsWith("SELECT [Migration],[AppliedAt],NULL,NULL,NULL FROM [dbo].[tblMigration]")) {
+                return history;
+            }
+            throw new IllegalStateException("Unexpected sql " + sql);
+        });
+        when(tableExists.executeQuery()).thenReturn(tableExistsResult);
+        when(tableExistsResult.next()).thenReturn(true);
+        when(tableExistsResult.getLong(1)).thenReturn(0L, 0L, 1L);
+        when(columnExists.executeQuery()).thenReturn(columnExistsResult);
+        when(columnExistsResult.next()).thenReturn(true);
+        when(columnExistsResult.getLong(1)).thenReturn(0L);
+        when(history.executeQuery()).thenReturn(historyResult);
+        when(historyResult.next()).thenReturn(true, false);
+        when(historyResult.getString(1)).thenReturn("001_old");
+        when(historyResult.getTimestamp(2)).thenReturn(Timestamp.from(Instant.parse("2024-01-01T00:00:00Z")));
+        when(historyResult.wasNull()).thenReturn(true);
+
+        final var driver = new SqlServerDbDriver((connection, controlDatabase) -> target);
+        driver.open(config, false);
+
+        assertThat(driver.appliedMigrations("default", List.of("001_old"))).isEmpty();
+        assertThat(driver.migrationHistory("default")).isEmpty();
+        assertThat(driver.migrationHistory("default"))
+                .containsExactly(new MigrationRecord("001_old", Instant.parse("2024-01-01T00:00:00Z"), null));
+        verify(target, never()).createStatement();
+    }
+
+    @Test
+    void executeUpdateSumsUpdateCountsAcrossResults() throws Exception {
+        final var target = mock(Connection.class);
+        final var statement = mock(Statement.class);
+        when(target.createStatement()).thenReturn(statement);
+        when(statement.execute("UPDATE A SET X = 1 UPDATE B SET X = 1")).thenReturn(false);
+        when(statement.getLargeUpdateCount()).thenReturn(3L, 4L, -1L);
+        when(statement.getMoreResults()).thenReturn(false);
+
+        final var driver = new SqlServerDbDriver((connection, controlDatabase) -> target);
+        driver.open(config, false);
+
+        assertThat(driver.executeUpdate("UPDATE A SET X = 1 UPDATE B SET X = 1", false)).isEqualTo(7L);
+    }
+
+    @Test
+    void fingerprintsChecksumSourceTablesAcrossDatabasesAndTargetTablesInPlace() throws Exception {
+        final var target = mock(Connection.class);
+        final var statement = mock(Statement.class);
+        final var sourceResult = mock(ResultSet.class);
+        final var targetResult = mock(ResultSet.class);
+        when(target.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(
+                        "SELECT COUNT_BIG(*), CHECKSUM_AGG(BINARY_CHECKSUM(*)) FROM [IMPORT_DB].[Core].[foo]"))
+                .thenReturn(sourceResult);
+        when(statement.executeQuery("SELECT COUNT_BIG(*), CHECKSUM_AGG(BINARY_CHECKSUM(*)) FROM [Core].[foo]"))
+                .thenReturn(targetResult);
+        when(sourceResult.next()).thenReturn(true);
+        when(sourceResult.getLong(1)).thenReturn(12L);
+        when(sourceResult.getLong(2)).thenReturn(-345L);
+        when(targetResult.next()).thenReturn(true);
+        when(targetResult.getLong(1)).thenReturn(0L);
+        when(targetResult.getLong(2)).thenReturn(0L);
+        final var driver = new SqlServerDbDriver((connection, controlDatabase) -> target);
+        driver.open(config, false);
+
+        final var source = new DatabaseConnection("127.0.0.1", 1433, "IMPORT_DB", "sa", "secret");
+        assertThat(driver.sourceFingerprints(source, List.of("[Core].[foo]")))
+                .containsExactly(Map.entry("[Core].[foo]", "12:-345"));
+        assertThat(driver.targetFingerprints(List.of("[Core].[foo]")))
+                .containsExactly(Map.entry("[Core].[foo]", "0:0"));
+    }
+
+    @Test
+    void importCheckpointsAreCreatedOnSetupAndDroppedWhenCleared() throws Exception {
+        final var target = mock(Connection.class);
+        final var tableExists = mock(PreparedStatement.class);
+        final var tableExistsResult = mock(ResultSet.class);
+        final var statement = mock(Statement.class);
+        when(target.createStatement()).thenReturn(statement);
+        when(target.prepareStatement(contains("INFORMATION_SCHEMA.TABLES"))).thenReturn(tableExists);
+        when(tableExists.executeQuery()).thenReturn(tableExistsResult);
+        when(tableExistsResult.next()).thenReturn(true);
+        when(tableExistsResult.getLong(1)).thenReturn(0L, 1L);
+        final var driver = new SqlServerDbDriver((connection, controlDatabase) -> target);
+        driver.open(config, false);
+
+        driver.setupImportCheckpoints();
+        driver.clearImportCheckpoints();
+
+        final var order = inOrder(statement);
+        order.verify(statement).execute(contains("CREATE TABLE [dbo].[tblImportCheckpoint]"));
+        order.verify(statement).execute("DROP TABLE [dbo].[tblImportCheckpoint]");
+        verify(tableExists, times(2)).setString(1, "[dbo].[tblImportCheckpoint]");
+    }
+
+    @Test
+    void importFingerprintsCreateTableOnSetupAndReplaceTableRow() throws Exception {
+        final var target = mock(Connection.class);
+        final var tableExists = mock(PreparedStatement.class);
+        final var tableExistsResult = mock(ResultSet.class);
+        final var delete = mock(PreparedStatement.class);
+        final var insert = mock(PreparedStatement.class);
+        final var statement = mock(Statement.class);
+        when(target.createStatement()).thenReturn(statement);
+        when(target.prepareStatement(anyString())).thenAnswer(invocation -> {
+            final var sql = invocation.<String>getArgument(0);
+            if (sql.contains("INFORMATION_SCHEMA.TABLES")) {
+                return tableExists;
+            }
+            if (sql.startsWith("DELETE FROM [dbo].[tblImportFingerprint]")) {
+                return delete;
+            }
+            if (sql.startsWith("INSERT INTO [dbo].[tblImportFingerprint]")) {
+                return insert;
+            }
+            throw new IllegalStateException("Unexpected sql " + sql);
+        });
+        when(tableExists.executeQuery()).thenReturn(tableExistsResult);
+        when(tableExistsResult.next()).thenReturn(true);
+        when(tableExistsResult.getLong(1)).thenReturn(0L);
+        final var driver = new SqlServerDbDriver((connection, controlDatabase) -> target);
+        driver.open(config, false);
+
+        assertThat(driver.importFingerprints("default")).isEmpty();
+        driver.setupImportFingerprints();
+        driver.recordImportFingerprint("default", "[Core].[foo]", new ImportFingerprint("IMPORT_DB", "12:7", "12:7"));
+
+        verify(statement, times(1)).execute(contains("CREATE TABLE [dbo].[tblImportFingerprint]"));
+        verify(tableExists, times(2)).executeQuery();
+        verify(delete).setString(1, "default");
+        verify(delete).setString(2, "[Core].[foo]");
+        final var ordered = inOrder(delete, insert);
+        ordered.verify(delete).executeUpdate();
+        ordered.verify(insert).executeUpdate();
+        verify(insert).setString(3, "IMPORT_DB");
+        verify(insert).setString(4, "12:7");
+        verify(insert).setString(5, "12:7");
+    }
 }
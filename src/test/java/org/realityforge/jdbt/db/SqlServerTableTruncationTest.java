@@ -0,0 +1,79 @@
+package org.realityforge.jdbt.db;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+final class SqlServerTableTruncationTest {
+    @Test
+    void foreignKeysAreDroppedAroundTruncateAndReaddedWithCheckInOneTransaction() throws Exception {
+        final var connection = mock(Connection.class);
+        final var statement = mock(Statement.class);
+        when(connection.createStatement()).thenReturn(statement);
+        mockForeignKeys(connection);
+
+        new SqlServerTableTruncation(connection, List.of("[Core].[tblChild]", "[Core].[tblParent]")).run();
+
+        final var order = inOrder(connection, statement);
+        order.verify(connection).setAutoCommit(false);
+        order.verify(statement).execute("ALTER TABLE [Core].[tblChild] DROP CONSTRAINT [FK_Child_Parent]");
+        order.verify(statement).execute("TRUNCATE TABLE [Core].[tblChild]");
+        order.verify(statement).execute("TRUNCATE TABLE [Core].[tblParent]");
+        order.verify(statement)
+                .execute("ALTER TABLE [Core].[tblChild] WITH CHECK ADD CONSTRAINT [FK_Child_Parent] FOREIGN KEY"
+                        + " ([ParentID], [Kind]) REFERENCES [Core].[tblParent] ([ID], [Kind]) ON DELETE NO ACTION"
+                        + " ON UPDATE SET NULL");
+        order.verify(connection).commit();
+        order.verify(connection).setAutoCommit(true);
+    }
+
+    @Test
+    void failedTruncateRollsBackDroppedForeignKeys() throws Exception {
+        final var connection = mock(Connection.class);
+        final var statement = mock(Statement.class);
+        when(connection.createStatement()).thenReturn(statement);
+        doThrow(new SQLException("referenced by view")).when(statement).execute("TRUNCATE TABLE [Core].[tblParent]");
+        mockForeignKeys(connection);
+
+        assertThatThrownBy(() -> new SqlServerTableTruncation(
+                                connection, List.of("[Core].[tblChild]", "[Core].[tblParent]"))
+                        .run())
+                .isInstanceOf(SQLException.class)
+                .hasMessage("referenced by view");
+
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+        verify(statement, never()).execute(startsWith("ALTER TABLE [Core].[tblChild] WITH"));
+        verify(connection).setAutoCommit(true);
+    }
+
+    private static void mockForeignKeys(final Connection connection) throws SQLException {
+        final var foreignKeys = mock(PreparedStatement.class);
+        final var none = mock(ResultSet.class);
+        final var parentKeys = mock(ResultSet.class);
+        when(connection.prepareStatement(SqlServerTableTruncation.FOREIGN_KEYS_SQL)).thenReturn(foreignKeys);
+        when(foreignKeys.executeQuery()).thenReturn(none, parentKeys);
+        when(parentKeys.next()).thenReturn(true, true, false);
+        when(parentKeys.getInt(1)).thenReturn(7);
+        when(parentKeys.getString(2)).thenReturn("[Core].[tblChild]");
+        when(parentKeys.getString(3)).thenReturn("[FK_Child_Parent]");
+        when(parentKeys.getString(4)).thenReturn("[Core].[tblParent]");
+        when(parentKeys.getString(5)).thenReturn("NO_ACTION");
+        when(parentKeys.getString(6)).thenReturn("SET_NULL");
+        when(parentKeys.getString(10)).thenReturn("[ParentID]", "[Kind]");
+        when(parentKeys.getString(11)).thenReturn("[ID]", "[Kind]");
+    }
+}
@@ -65,6 +65,32 @@ final class DatabaseStatisticsExporterTest {
         assertThat(driver.query).contains("sys.partitions", "SUM(rows)", "HAS_PERMS_BY_NAME");
     }
 
+    @Test
+    void readsTableRowCountsFromExportedStatistics(@TempDir final Path tempDir) throws IOException {
+        final var statistics = tempDir.resolve("statistics.csv");
+        Files.writeString(statistics, """
+            object_type,schema,table,index,metric,value
+            table,"A,Schema","A""Table",,approximate_row_count,12
+            index,"A,Schema","A""Table",PK_A,approximate_row_count,12
+            table,Core,tblA,,approximate_row_count,40
+            """, StandardCharsets.UTF_8);
+
+        final var rowCounts = DatabaseStatisticsExporter.readTableRowCounts(
+                statistics, List.of("[Core].[tblA]", "[A,Schema].[A\"Table]", "[Core].[tblMissing]"));
+
+        assertThat(rowCounts).containsExactly(Map.entry("[Core].[tblA]", 40L), Map.entry("[A,Schema].[A\"Table]", 12L));
+    }
+
+    @Test
+    void readTableRowCountsRejectsUnexpectedHeader(@TempDir final Path tempDir) throws IOException {
+        final var statistics = tempDir.resolve("statistics.csv");
+        Files.writeString(statistics, "schema,table,rows\n", StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> DatabaseStatisticsExporter.readTableRowCounts(statistics, List.of("[Core].[tblA]")))
+                .isInstanceOf(RuntimeExecutionException.class)
+                .hasMessageContaining("Unexpected database statistics header");
+    }
+
     @Test
     void aggregatesModeledDriftAndPreservesExistingOutput(@TempDir final Path tempDir) throws IOException {
         final var driver = new RecordingDriver(new QueryResult(
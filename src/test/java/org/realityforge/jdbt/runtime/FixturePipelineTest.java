@@ -0,0 +1,68 @@
+package org.realityforge.jdbt.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.FileNotFoundException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+final class FixturePipelineTest {
+    private static final Map<String, String> FILES = Map.of(
+            "a.yml", "r1:\n  ID: 1\nr2:\n  ID: 2\nr3:\n  ID: 3\n",
+            "b.yml", "",
+            "c.yml", "r1:\n  ID: 4\n",
+            "bad.yml", "3\n");
+
+    @Test
+    void deliversFixturesInSourceOrderAcrossChunks() {
+        final var sources = List.of(source("a.yml"), source("b.yml"), source("c.yml"));
+        try (var pipeline = new FixturePipeline(sources, FixturePipelineTest::open, 2, 1, 1)) {
+            final var first = pipeline.next();
+            assertThat(first.hasDocument()).isTrue();
+            assertThat(rows(first)).containsExactly(Map.of("ID", 1), Map.of("ID", 2), Map.of("ID", 3));
+
+            final var second = pipeline.next();
+            assertThat(second.hasDocument()).isFalse();
+            assertThat(second.hasNext()).isFalse();
+
+            assertThat(rows(pipeline.next())).containsExactly(Map.of("ID", 4));
+        }
+    }
+
+    @Test
+    void reportsReaderFailuresWhenTheFailingFixtureIsReached() {
+        final var sources = List.of(source("a.yml"), source("bad.yml"), source("missing.yml"));
+        try (var pipeline = new FixturePipeline(sources, FixturePipelineTest::open, 1)) {
+            assertThat(rows(pipeline.next())).hasSize(3);
+            assertThatThrownBy(pipeline::next)
+                    .isInstanceOf(RuntimeExecutionException.class)
+                    .hasMessage("Bad data for T fixture payload 3");
+            assertThatThrownBy(pipeline::next)
+                    .isInstanceOf(UncheckedIOException.class)
+                    .hasMessage("Failed to read file missing.yml");
+        }
+    }
+
+    private static FixturePipeline.Source source(final String sourceName) {
+        return new FixturePipeline.Source("T", sourceName);
+    }
+
+    private static StringReader open(final String sourceName) throws FileNotFoundException {
+        final var content = FILES.get(sourceName);
+        if (null == content) {
+            throw new FileNotFoundException(sourceName);
+        }
+        return new StringReader(content);
+    }
+
+    private static List<Map<String, Object>> rows(final FixturePipeline.Rows rows) {
+        final var result = new ArrayList<Map<String, Object>>();
+        rows.forEachRemaining(result::add);
+        return result;
+    }
+}
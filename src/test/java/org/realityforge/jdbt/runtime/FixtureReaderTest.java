@@ -0,0 +1,80 @@
+package org.realityforge.jdbt.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+final class FixtureReaderTest {
+    @Test
+    void readsRowsFromRootMappingInFixtureOrder() {
+        final var reader = reader("2:\n  ID: 2\n  Name: \"b\"\n1:\n  ID: 1\n  Flag: true\nr3: {}\n");
+
+        assertThat(reader.hasDocument()).isTrue();
+        assertThat(rows(reader))
+                .containsExactly(Map.of("ID", 2, "Name", "b"), Map.of("ID", 1, "Flag", true), Map.of());
+    }
+
+    @Test
+    void readsRowsFromGroupListsAndOrderedMaps() {
+        final var reader = reader("- r1:\n    ID: 1\n- !!omap\n  - r2:\n      ID: 2\n  - r3:\n      ID: 3\n"
+                + "- !omap\n  - r1:\n      ID: 4\n");
+
+        assertThat(rows(reader))
+                .containsExactly(Map.of("ID", 1), Map.of("ID", 2), Map.of("ID", 3), Map.of("ID", 4));
+    }
+
+    @Test
+    void emptyDocumentHasNoPayloadButEmptyMapDoes() {
+        assertThat(reader("").hasDocument()).isFalse();
+        assertThat(reader("---\n").hasDocument()).isFalse();
+
+        final var empty = reader("{}\n");
+        assertThat(empty.hasDocument()).isTrue();
+        assertThat(empty.hasNext()).isFalse();
+    }
+
+    @Test
+    void rejectsDuplicateFixtureNamesAndNonMapRowsNamingTheFixture() {
+        final var duplicate = reader("r1:\n  ID: 1\nr1:\n  ID: 2\n");
+        assertThat(duplicate.next()).isEqualTo(Map.of("ID", 1));
+        assertThatThrownBy(duplicate::next)
+                .isInstanceOf(RuntimeExecutionException.class)
+                .hasMessage("Duplicate MyModule.foo fixture named r1 in MyModule.foo.yml");
+
+        assertThatThrownBy(() -> rows(reader("r1: 3\n")))
+                .isInstanceOf(RuntimeExecutionException.class)
+                .hasMessage("Bad data for MyModule.foo fixture named r1 (not map)");
+        assertThatThrownBy(() -> rows(reader("- 3\n")))
+                .isInstanceOf(RuntimeExecutionException.class)
+                .hasMessage("Bad data for MyModule.foo fixture group 3");
+        assertThatThrownBy(() -> reader("3\n"))
+                .isInstanceOf(RuntimeExecutionException.class)
+                .hasMessage("Bad data for MyModule.foo fixture payload 3");
+        assertThatThrownBy(() -> rows(reader("r1:\n  ID: 1\n  ID: 2\n")))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("MyModule.foo.yml");
+    }
+
+    @Test
+    void yieldsEachRowBeforeParsingTheRemainderOfTheFile() {
+        final var reader = reader("r1:\n  ID: 1\nr2: [unterminated\n");
+
+        assertThat(reader.next()).isEqualTo(Map.of("ID", 1));
+        assertThatThrownBy(reader::next).isInstanceOf(RuntimeException.class);
+    }
+
+    private static FixtureReader reader(final String yaml) {
+        return new FixtureReader(new StringReader(yaml), "MyModule.foo", "MyModule.foo.yml");
+    }
+
+    private static List<Map<String, Object>> rows(final FixtureReader reader) {
+        final var rows = new ArrayList<Map<String, Object>>();
+        reader.forEachRemaining(rows::add);
+        return rows;
+    }
+}
@@ -0,0 +1,62 @@
+package org.realityforge.jdbt.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.realityforge.jdbt.db.ImportFingerprint;
+
+final class ImportDeltaTest {
+    private static final List<String> TABLES = List.of("A", "B", "C", "D");
+    private static final Map<String, Set<String>> DEPENDENCIES =
+            Map.of("A", Set.of(), "B", Set.of("A"), "C", Set.of("B"), "D", Set.of());
+    private static final Map<String, String> FINGERPRINTS = Map.of("A", "1:1", "B", "2:2", "C", "3:3", "D", "4:4");
+
+    @Test
+    void tablesMatchingTheirRecordedFingerprintsAreUnchanged() {
+        final var delta = ImportDelta.plan(TABLES, DEPENDENCIES, "SRC", FINGERPRINTS, FINGERPRINTS, recorded("SRC"));
+
+        assertThat(TABLES).allMatch(delta::unchanged);
+        assertThat(delta.sourceFingerprint("C")).isEqualTo("3:3");
+    }
+
+    @Test
+    void changedTablesAreReloadedWithEveryTableReferencingThem() {
+        final var source = Map.of("A", "9:9", "B", "2:2", "C", "3:3", "D", "4:4");
+
+        final var delta = ImportDelta.plan(TABLES, DEPENDENCIES, "SRC", source, FINGERPRINTS, recorded("SRC"));
+
+        assertThat(TABLES.stream().filter(delta::unchanged)).containsExactly("D");
+    }
+
+    @Test
+    void targetChangesSourceChangesAndMissingFingerprintsReloadTables() {
+        final var target = Map.of("A", "1:1", "B", "2:2", "C", "3:3", "D", "5:5");
+        final var source = Map.of("A", "1:1", "B", "2:2", "D", "4:4");
+
+        final var delta = ImportDelta.plan(TABLES, DEPENDENCIES, "SRC", source, target, recorded("SRC"));
+
+        assertThat(TABLES.stream().filter(delta::unchanged)).containsExactly("A", "B");
+        assertThat(ImportDelta.plan(TABLES, DEPENDENCIES, "OTHER", FINGERPRINTS, FINGERPRINTS, recorded("SRC"))
+                        .unchanged("A"))
+                .isFalse();
+    }
+
+    @Test
+    void incompleteDependenciesReloadEveryTable() {
+        final var delta = ImportDelta.plan(
+                TABLES, Map.of("A", Set.of()), "SRC", FINGERPRINTS, FINGERPRINTS, recorded("SRC"));
+
+        assertThat(TABLES).noneMatch(delta::unchanged);
+    }
+
+    private static Map<String, ImportFingerprint> recorded(final String sourceDatabase) {
+        return Map.of(
+                "A", new ImportFingerprint(sourceDatabase, "1:1", "1:1"),
+                "B", new ImportFingerprint(sourceDatabase, "2:2", "2:2"),
+                "C", new ImportFingerprint(sourceDatabase, "3:3", "3:3"),
+                "D", new ImportFingerprint(sourceDatabase, "4:4", "4:4"));
+    }
+}
@@ -0,0 +1,42 @@
+package org.realityforge.jdbt.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+final class ImportProgressTest {
+    @Test
+    void largestFirstOrdersKnownTablesByRowCountAndKeepsUnknownTablesLast() {
+        final var progress = new ImportProgress(
+                List.of("A", "B", "C", "D"), Map.of("B", 10L, "C", 500L, "D", 10L), System::nanoTime);
+
+        assertThat(progress.largestFirst(List.of("A", "B", "C", "D"))).containsExactly("C", "B", "D", "A");
+    }
+
+    @Test
+    void reportsRowsAndEstimatesFromCompletedTables() {
+        final var clock = new AtomicLong();
+        final var progress = new ImportProgress(
+                List.of("A", "B", "C"), Map.of("A", 100L, "B", 300L), clock::get);
+
+        assertThat(progress.started("A")).isEqualTo("~100 rows");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertThat(progress.completed("A")).isEqualTo("1/3 tables, ~300 rows remaining, ETA 30s");
+        assertThat(progress.started("B")).isEqualTo("~300 rows, ETA 30s");
+        assertThat(progress.started("C")).isNull();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertThat(progress.completed("C")).isNull();
+        assertThat(progress.completed("B")).isEqualTo("3/3 tables, ~0 rows remaining, ETA 0s");
+    }
+
+    @Test
+    void durationFormatsHoursMinutesAndSeconds() {
+        assertThat(ImportProgress.duration(TimeUnit.SECONDS.toNanos(12))).isEqualTo("12s");
+        assertThat(ImportProgress.duration(TimeUnit.SECONDS.toNanos(125))).isEqualTo("2m05s");
+        assertThat(ImportProgress.duration(TimeUnit.SECONDS.toNanos(3723))).isEqualTo("1h02m03s");
+    }
+}
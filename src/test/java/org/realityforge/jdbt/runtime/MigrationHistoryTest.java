@@ -0,0 +1,98 @@
+package org.realityforge.jdbt.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.realityforge.jdbt.db.MigrationExecution;
+import org.realityforge.jdbt.db.MigrationRecord;
+
+final class MigrationHistoryTest {
+    @Test
+    void writesAndReadsHistoryIncludingUntimedMigrations(@TempDir final Path tempDir) {
+        final var output = tempDir.resolve("nested/history.csv");
+        final var records = List.of(
+                new MigrationRecord("001_old", Instant.parse("2024-01-01T00:00:00Z"), null),
+                new MigrationRecord(
+                        "002_a,b", Instant.parse("2024-02-01T10:15:30Z"), new MigrationExecution(1500, 42, "abc")));
+
+        MigrationHistory.write(output, "production", "default", records);
+
+        assertThat(MigrationHistory.read(List.of(output)))
+                .containsExactly(
+                        new MigrationHistory.Entry("production", "default", records.get(0)),
+                        new MigrationHistory.Entry("production", "default", records.get(1)));
+    }
+
+    @Test
+    void readRejectsUnexpectedHeader(@TempDir final Path tempDir) throws IOException {
+        final var history = tempDir.resolve("history.csv");
+        Files.writeString(history, "migration,duration\n", StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> MigrationHistory.read(List.of(history)))
+                .isInstanceOf(RuntimeExecutionException.class)
+                .hasMessageContaining("Unexpected migration history header");
+    }
+
+    @Test
+    void planReportsDurationsEstimateRegressionsAndChangedMigrations() {
+        final var history = List.of(
+                entry("staging", "default", "001_fast", 100, 10, "c1"),
+                entry("production", "default", "001_fast", 2000, 900, "c1"),
+                entry("staging", "default", "002_new", 400, 5, "old"),
+                entry("staging", "other", "003_none", 9000, 0, "c3"),
+                entry("staging", "default", "004_tiny", 1, 0, "c4"),
+                entry("production", "default", "004_tiny", 90, 0, "c4"));
+        final var pending = new LinkedHashMap<String, String>();
+        pending.put("002_new", "new");
+        pending.put("003_none", "c3");
+
+        assertThat(MigrationHistory.plan("default", pending, history))
+                .isEqualTo("""
+                    Pending Migrations: 2
+                      002_new: staging 400 ms, 5 rows
+                      003_none: no recorded history
+                    Estimated Duration: 400 ms
+                    Duration Regressions:
+                      001_fast: staging 100 ms, production 2000 ms
+                    Changed Since Applied:
+                      002_new differs from the version applied on staging
+                    """);
+    }
+
+    @Test
+    void checksumReaderDigestsCharactersAsTheyAreRead() throws IOException {
+        final var content = "SELECT 1\nGO\n-- caf\u00e9 \ud83d\ude00\n";
+        try (var reader = new MigrationHistory.ChecksumReader(new StringReader(content))) {
+            // Reading one char at a time splits the surrogate pair across reads
+            final var buffer = new char[1];
+            while (-1 != reader.read(buffer, 0, 1)) {
+                // Drain the reader
+            }
+            assertThat(reader.checksum()).isEqualTo(MigrationHistory.checksum(content));
+        }
+        assertThat(MigrationHistory.checksum(new StringReader(content))).isEqualTo(MigrationHistory.checksum(content));
+    }
+
+    private static MigrationHistory.Entry entry(
+            final String environment,
+            final String namespace,
+            final String migration,
+            final long durationMillis,
+            final long rowCount,
+            final String checksum) {
+        return new MigrationHistory.Entry(
+                environment,
+                namespace,
+                new MigrationRecord(migration, null, new MigrationExecution(durationMillis, rowCount, checksum)));
+    }
+}
@@ -0,0 +1,88 @@
+package org.realityforge.jdbt.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+final class MigrationLanesTest {
+    private static final MigrationLanes.Header UNANNOTATED = new MigrationLanes.Header(null, List.of());
+
+    @Test
+    void headerReadsLaneAndDependenciesFromLeadingComments() throws IOException {
+        final var header = MigrationLanes.header(
+                "003_c",
+                new StringReader("\n-- Backfill reporting\n--jdbt:lane reporting\n-- JDBT:depends-on 001_a, 002_b\n"
+                        + "UPDATE T SET X = 1\n-- jdbt:depends-on 009_z\n"));
+
+        assertThat(header).isEqualTo(new MigrationLanes.Header("reporting", List.of("001_a", "002_b")));
+        assertThat(header.annotated()).isTrue();
+        assertThat(MigrationLanes.header("001_a", new StringReader("UPDATE T SET X = 1")).annotated())
+                .isFalse();
+    }
+
+    @Test
+    void headerRejectsMultipleLanes() {
+        assertThatThrownBy(() -> MigrationLanes.header(
+                        "001_a", new StringReader("-- jdbt:lane a\n-- jdbt:lane b\nSELECT 1")))
+                .isInstanceOf(RuntimeExecutionException.class)
+                .hasMessage("Migration 001_a declares more than one lane");
+    }
+
+    @Test
+    void dependenciesAreAbsentWhenNoMigrationIsAnnotated() {
+        final var pending = new LinkedHashMap<String, MigrationLanes.Header>();
+        pending.put("001_a", UNANNOTATED);
+        pending.put("002_b", UNANNOTATED);
+
+        assertThat(MigrationLanes.dependencies(pending, pending.keySet())).isNull();
+    }
+
+    @Test
+    void lanesRunInOrderBetweenUnannotatedBarriers() {
+        final var pending = new LinkedHashMap<String, MigrationLanes.Header>();
+        pending.put("001_a", UNANNOTATED);
+        pending.put("002_b", new MigrationLanes.Header("x", List.of()));
+        pending.put("003_c", new MigrationLanes.Header("y", List.of()));
+        pending.put("004_d", new MigrationLanes.Header("x", List.of()));
+        pending.put("005_e", new MigrationLanes.Header(null, List.of("003_c", "000_applied")));
+        pending.put("006_f", UNANNOTATED);
+        pending.put("007_g", new MigrationLanes.Header("x", List.of()));
+
+        final var known = Set.of("000_applied", "001_a", "002_b", "003_c", "004_d", "005_e", "006_f", "007_g");
+
+        assertThat(MigrationLanes.dependencies(pending, known))
+                .isEqualTo(Map.of(
+                        "001_a", Set.of(),
+                        "002_b", Set.of("001_a"),
+                        "003_c", Set.of("001_a"),
+                        "004_d", Set.of("001_a", "002_b"),
+                        "005_e", Set.of("001_a", "003_c"),
+                        "006_f", Set.of("001_a", "002_b", "003_c", "004_d", "005_e"),
+                        "007_g", Set.of("006_f")));
+    }
+
+    @Test
+    void dependenciesMustReferToEarlierOrKnownMigrations() {
+        final var later = new LinkedHashMap<String, MigrationLanes.Header>();
+        later.put("001_a", new MigrationLanes.Header(null, List.of("002_b")));
+        later.put("002_b", UNANNOTATED);
+
+        assertThatThrownBy(() -> MigrationLanes.dependencies(later, later.keySet()))
+                .isInstanceOf(RuntimeExecutionException.class)
+                .hasMessage("Migration 001_a depends on later migration 002_b");
+
+        final var unknown = new LinkedHashMap<String, MigrationLanes.Header>();
+        unknown.put("001_a", new MigrationLanes.Header("x", List.of("000_missing")));
+
+        assertThatThrownBy(() -> MigrationLanes.dependencies(unknown, unknown.keySet()))
+                .isInstanceOf(RuntimeExecutionException.class)
+                .hasMessage("Migration 001_a depends on unknown migration 000_missing");
+    }
+}
@@ -14,18 +14,33 @@ import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.realityforge.jdbt.config.DatabaseConfig;
 import org.realityforge.jdbt.config.FilterPropertyConfig;
+import org.realityforge.jdbt.config.FixtureLoadMode;
 import org.realityforge.jdbt.config.ImportConfig;
+import org.realityforge.jdbt.config.ImportDeleteStrategy;
 import org.realityforge.jdbt.config.ModuleGroupConfig;
+import org.realityforge.jdbt.config.TransactionMode;
 import org.realityforge.jdbt.db.DatabaseConnection;
+import org.realityforge.jdbt.db.DatabaseException;
 import org.realityforge.jdbt.db.DatabaseMetadata;
 import org.realityforge.jdbt.db.DbDriver;
+import org.realityforge.jdbt.db.FixtureReconciliation;
+import org.realityforge.jdbt.db.ImportFingerprint;
+import org.realityforge.jdbt.db.MigrationExecution;
+import org.realityforge.jdbt.db.MigrationRecord;
 import org.realityforge.jdbt.db.QueryResult;
+import org.realityforge.jdbt.db.SqlBatchException;
 import org.realityforge.jdbt.files.ArtifactContent;
 import org.realityforge.jdbt.files.FileResolver;
 import org.realityforge.jdbt.repository.RepositoryConfig;
@@ -33,6 +48,11 @@ import org.realityforge.jdbt.repository.RepositoryTable;
 import org.realityforge.jdbt.repository.RowSource;
 
 final class RuntimeEngineTest {
+    private static final Map<String, Set<String>> PARALLEL_IMPORT_DEPENDENCIES = Map.of(
+            "[MyModule].[foo]", Set.of(),
+            "[MyModule].[bar]", Set.of("[MyModule].[foo]"),
+            "[MyModule].[baz]", Set.of());
+
     private final DatabaseConnection connection = new DatabaseConnection("127.0.0.1", 1433, "DBT_TEST", "sa", "secret");
     private final DatabaseConnection sourceConnection =
             new DatabaseConnection("127.0.0.1", 1433, "IMPORT_DB", "sa", "secret");
@@ -409,6 +429,220 @@ final class RuntimeEngineTest {
         assertThat(firstImport).isGreaterThan(secondDelete).isGreaterThan(thirdDelete);
     }
 
+    @Test
+    void importWithTruncateStrategyClearsModuleGroupTablesInOneCall(@TempDir final Path tempDir) {
+        final var driver = new RecordingDriver();
+        final var engine = new RuntimeEngine(driver, new FileResolver());
+        final var repository = RepositoryConfigTestData.twoModules();
+        final var importConfig = new ImportConfig(
+                "default", repository.modules(), "import", List.of(), List.of(), ImportDeleteStrategy.TRUNCATE);
+        final var database = runtimeDatabase(
+                "default",
+                repository,
+                List.of(tempDir.resolve("db")),
+                Map.of("grp", new ModuleGroupConfig("grp", List.of("MyModule", "MyOtherModule"), true)),
+                List.of(),
+                Map.of("default", importConfig));
+
+        engine.databaseImport(database, "default", "grp", connection, sourceConnection, null, Map.of());
+
+        assertThat(driver.calls)
+                .containsSubsequence(
+                        "truncateTables([[MyModule].[bar], [MyModule].[foo], [MyOtherModule].[bark],"
+                                + " [MyOtherModule].[baz]])",
+                        "preTableImport(default,[MyModule].[foo])");
+        assertThat(String.join("\n", driver.calls)).doesNotContain("DELETE FROM");
+    }
+
+    @Test
+    void importWithTruncateStrategyClearsEveryModuleInOneCall(@TempDir final Path tempDir) {
+        final var driver = new RecordingDriver();
+        final var engine = new RuntimeEngine(driver, new FileResolver());
+        final var repository = RepositoryConfigTestData.twoModules();
+        final var importConfig = new ImportConfig(
+                "default", repository.modules(), "import", List.of(), List.of(), ImportDeleteStrategy.TRUNCATE);
+        final var database = runtimeDatabase(
+                "default",
+                repository,
+                List.of(tempDir.resolve("db")),
+                Map.of(),
+                List.of(),
+                Map.of("default", importConfig));
+
+        engine.databaseImport(database, "default", null, connection, sourceConnection, null, Map.of());
+
+        assertThat(driver.calls)
+                .containsSubsequence(
+                        "truncateTables([[MyModule].[bar], [MyModule].[foo], [MyOtherModule].[bark],"
+                                + " [MyOtherModule].[baz]])",
+                        "preTableImport(default,[MyModule].[foo])");
+        assertThat(driver.calls.stream().filter(call -> call.startsWith("truncateTables")))
+                .hasSize(1);
+        assertThat(String.join("\n", driver.calls)).doesNotContain("DELETE FROM");
+    }
+
+    @Test
+    void resumedImportWithTruncateStrategyClearsOnlyModulesAfterTheResumePoint(@TempDir final Path tempDir) {
+        final var driver = new RecordingDriver();
+        final var engine = new RuntimeEngine(driver, new FileResolver());
+        final var repository = RepositoryConfigTestData.twoModules();
+        final var importConfig = new ImportConfig(
+                "default", repository.modules(), "import", List.of(), List.of(), ImportDeleteStrategy.TRUNCATE);
+        final var database = runtimeDatabase(
+                "default",
+                repository,
+                List.of(tempDir.resolve("db")),
+                Map.of(),
+                List.of(),
+                Map.of("default", importConfig));
+
+        engine.databaseImport(database, "default", null, connection, sourceConnection, "MyModule.bar", Map.of());
+
+        assertThat(driver.calls)
+                .containsSubsequence(
+                        "truncateTables([[MyOtherModule].[bark], [MyOtherModule].[baz]])",
+                        "execute(false):DELETE FROM [MyModule].[bar]",
+                        "preTableImport(default,[MyModule].[bar])")
+                .doesNotContain("preTableImport(default,[MyModule].[foo])");
+    }
+
+    @Test
+    void parallelImportStartsEachTableAfterTheTablesItReferences(@TempDir final Path tempDir) {
+        final var driver = new RecordingDriver();
+        final var sessionCalls = Collections.synchronizedList(new ArrayList<String>());
+        final var engine = new RuntimeEngine(
+                driver, () -> new RecordingDriver(sessionCalls), new FileResolver(), output -> {});
+        driver.dependencies.putAll(PARALLEL_IMPORT_DEPENDENCIES);
+
+        engine.databaseImport(
+                parallelImportDatabase(tempDir), "default", null, connection, sourceConnection, null, Map.of());
+
+        assertThat(driver.calls)
+                .containsSubsequence(
+                        "execute(false):DELETE FROM [MyModule].[baz]",
+                        "execute(false):DELETE FROM [MyModule].[bar]",
+                        "execute(false):DELETE FROM [MyModule].[foo]")
+                .noneMatch(call -> call.startsWith("preTableImport"));
+        assertThat(sessionCalls)
+                .containsSubsequence(
+                        "postTableImport(default,[MyModule].[foo])", "preTableImport(default,[MyModule].[bar])")
+                .contains("postTableImport(default,[MyModule].[bar])", "postTableImport(default,[MyModule].[baz])");
+    }
+
+    @Test
+    void parallelImportFailureNamesTheFailingTableAndTheResumePoint(@TempDir final Path tempDir) {
+        final var driver = new RecordingDriver();
+        final var sessionCalls = Collections.synchronizedList(new ArrayList<String>());
+        final var engine = new RuntimeEngine(
+                driver,
+                () -> {
+                    final var session = new RecordingDriver(sessionCalls);
+                    session.failingSql = "INSERT INTO [DBT_TEST].[MyModule].[bar]([ID])\n"
+                            + "  SELECT [ID] FROM [IMPORT_DB].[MyModule].[bar]";
+                    return session;
+                },
+                new FileResolver(),
+                output -> {});
+        driver.dependencies.putAll(PARALLEL_IMPORT_DEPENDENCIES);
+
+        assertThatThrownBy(() -> engine.databaseImport(
+                        parallelImportDatabase(tempDir), "default", null, connection, sourceConnection, null, Map.of()))
+                .isInstanceOf(RuntimeExecutionException.class)
+                .hasMessage("Problem importing MyModule.bar. Fix the problem and retry import specifying"
+                        + " --resume-at=MyModule.bar to re-attempt import from current position.");
+        assertThat(sessionCalls)
+                .contains(
+                        "postTableImport(default,[MyModule].[foo])",
+                        "abortTableImport(default,[MyModule].[bar])",
+                        "postTableImport(default,[MyModule].[baz])")
+                .doesNotContain("postTableImport(default,[MyModule].[bar])");
+    }
+
+    @Test
+    void resumedParallelImportSkipsTablesBeforeTheResumePoint(@TempDir final Path tempDir) {
+        final var driver = new RecordingDriver();
+        final var sessionCalls = Collections.synchronizedList(new ArrayList<String>());
+        final var engine = new RuntimeEngine(
+                driver, () -> new RecordingDriver(sessionCalls), new FileResolver(), output -> {});
+        driver.dependencies.putAll(PARALLEL_IMPORT_DEPENDENCIES);
+
+        engine.databaseImport(
+                parallelImportDatabase(tempDir),
+                "default",
+                null,
+                connection,
+                sourceConnection,
+                "MyModule.bar",
+                Map.of());
+
+        assertThat(driver.calls)
+                .containsSubsequence(
+                        "execute(false):DELETE FROM [MyModule].[baz]", "execute(false):DELETE FROM [MyModule].[bar]")
+                .doesNotContain("execute(false):DELETE FROM [MyModule].[foo]");
+        assertThat(sessionCalls)
+                .contains("postTableImport(default,[MyModule].[bar])", "postTableImport(default,[MyModule].[baz])");
+        assertThat(String.join("\n", sessionCalls)).doesNotContain("[MyModule].[foo]");
+    }
+
+    @Test
+    void deltaImportSkipsUnchangedTablesAndTablesOnlyReferencingThem(@TempDir final Path tempDir) {
+        final var driver = new RecordingDriver();
+        final var output = new ArrayList<String>();
+        final var engine = new RuntimeEngine(driver, new FileResolver(), output::add);
+        final var repository = RepositoryConfigTestData.twoModules();
+        final var database = runtimeDatabase(
+                "default",
+                repository,
+                List.of(tempDir.resolve("db")),
+                Map.of(),
+                List.of(),
+                Map.of("default", new ImportConfig("default", repository.modules(), "import", List.of(), List.of())));
+        driver.dependencies.putAll(Map.of(
+                "[MyModule].[foo]", Set.of(),
+                "[MyModule].[bar]", Set.of("[MyModule].[foo]"),
+                "[MyOtherModule].[baz]", Set.of(),
+                "[MyOtherModule].[bark]", Set.of("[MyOtherModule].[baz]")));
+        for (final var table : driver.dependencies.keySet()) {
+            driver.fingerprints.put(table, "1:1");
+            driver.importFingerprints.put(table, new ImportFingerprint("IMPORT_DB", "1:1", "1:1"));
+        }
+        driver.fingerprints.put("[MyModule].[foo]", "2:2");
+
+        engine.databaseImport(database, "default", null, connection, sourceConnection, null, true, Map.of());
+
+        assertThat(driver.calls)
+                .containsSubsequence(
+                        "setupImportFingerprints",
+                        "execute(false):DELETE FROM [MyModule].[bar]",
+                        "execute(false):DELETE FROM [MyModule].[foo]",
+                        "preTableImport(default,[MyModule].[foo])",
+                        "recordImportFingerprint(default,[MyModule].[foo],IMPORT_DB,2:2,2:2)",
+                        "preTableImport(default,[MyModule].[bar])",
+                        "recordImportFingerprint(default,[MyModule].[bar],IMPORT_DB,1:1,1:1)");
+        assertThat(String.join("\n", driver.calls)).doesNotContain("[MyOtherModule].[baz]", "[MyOtherModule].[bark]");
+        assertThat(output)
+                .contains(
+                        "MyOtherModule  : Unchanged MyOtherModule.baz",
+                        "MyOtherModule  : Unchanged MyOtherModule.bark");
+    }
+
+    @Test
+    void deltaImportRejectsResumeAt(@TempDir final Path tempDir) {
+        final var engine = new RuntimeEngine(new RecordingDriver(), new FileResolver());
+        final var database = runtimeDatabase(
+                "default",
+                RepositoryConfigTestData.singleModule(),
+                List.of(tempDir.resolve("db")),
+                Map.of(),
+                List.of(),
+                Map.of("default", new ImportConfig("default", List.of("MyModule"), "import", List.of(), List.of())));
+
+        assertThatThrownBy(() -> engine.databaseImport(
+                        database, "default", null, connection, sourceConnection, "MyModule.foo", true, Map.of()))
+                .isInstanceOf(RuntimeExecutionException.class)
+                .hasMessage("Delta import can not be combined with resuming at MyModule.foo");
+    }
+
     @Test
     void standaloneImportUsesImportModuleOrderAndDeletesEachModuleBeforeImport(@TempDir final Path tempDir) {
         final var driver = new RecordingDriver();
@@ -440,93 +674,509 @@ final class RuntimeEngineTest {
     }
 
     @Test
-    void importRejectsUnexpectedImportFiles(@TempDir final Path tempDir) throws IOException {
-        createFile(tempDir, "db/MyModule/import/unexpected.sql", "SELECT 1");
+    void importRejectsUnexpectedImportFiles(@TempDir final Path tempDir) throws IOException {
+        createFile(tempDir, "db/MyModule/import/unexpected.sql", "SELECT 1");
+        final var driver = new RecordingDriver();
+        final var engine = new RuntimeEngine(driver, new FileResolver());
+        final var database =
+                runtimeDatabase("default", RepositoryConfigTestData.singleModule(), List.of(tempDir.resolve("db")));
+
+        assertThatThrownBy(() ->
+                        engine.databaseImport(database, "default", null, connection, sourceConnection, null, Map.of()))
+                .isInstanceOf(RuntimeExecutionException.class)
+                .hasMessageContaining("Discovered additional files in import directory");
+        assertThat(driver.calls).isEmpty();
+    }
+
+    @Test
+    void createStreamsSqlBatchesHonouringCommentsAndRepeatCounts(@TempDir final Path tempDir) throws IOException {
+        createFile(tempDir, "db/MyModule/./up.sql", "UP /*\nGO\n*/\nGO\nINSERT\nGO 2\n");
+
+        final var driver = new RecordingDriver();
+        final var engine = new RuntimeEngine(driver, new FileResolver());
+        final var database = runtimeDatabase(
+                "default",
+                singleModuleRepository(table("[MyModule].[foo]", RowSource.DEPLOYMENT)),
+                List.of(tempDir.resolve("db")));
+
+        engine.create(database, connection, false, Map.of());
+
+        assertThat(driver.calls)
+                .containsSubsequence(
+                        "createSchema(MyModule)",
+                        "execute(false):UP /*\nGO\n*/",
+                        "execute(false):INSERT",
+                        "execute(false):INSERT",
+                        "setupMigrations");
+    }
+
+    @Test
+    void createGroupsConsecutiveDefinitionBatchesUpToGroupSize(@TempDir final Path tempDir) throws IOException {
+        createFile(
+                tempDir,
+                "db/MyModule/./up.sql",
+                "CREATE VIEW A\nGO\nCREATE VIEW B\nGO\nGRANT C\nGO\nSET X\nGO\n-- comment\nDROP VIEW D\nGO\n");
+
+        final var driver = new RecordingDriver();
+        driver.supportsBatchGrouping = true;
+        final var engine = new RuntimeEngine(driver, new FileResolver());
+        final var database = runtimeDatabase(
+                        "default",
+                        singleModuleRepository(table("[MyModule].[foo]", RowSource.DEPLOYMENT)),
+                        List.of(tempDir.resolve("db")))
+                .toBuilder()
+                .sqlBatchGroupSize(2)
+                .build();
+
+        engine.create(database, connection, false, Map.of());
+
+        assertThat(driver.calls)
+                .containsSubsequence(
+                        "createSchema(MyModule)",
+                        "executeBatches(false):[CREATE VIEW A, CREATE VIEW B]",
+                        "execute(false):GRANT C",
+                        "execute(false):SET X",
+                        "execute(false):-- comment\nDROP VIEW D",
+                        "setupMigrations");
+    }
+
+    @Test
+    void definitionBatchesWithStatementsReturningResultsAreNotGrouped(@TempDir final Path tempDir)
+            throws IOException {
+        createFile(
+                tempDir,
+                "db/MyModule/./up.sql",
+                "CREATE VIEW A AS SELECT 1 AS X\nGO\nCREATE TABLE T (ID INT)\nGO\n"
+                        + "CREATE TABLE U (ID INT)\nSELECT * FROM U\nGO\nGRANT SELECT ON A TO R\nGO\n");
+
+        final var driver = new RecordingDriver();
+        driver.supportsBatchGrouping = true;
+        final var engine = new RuntimeEngine(driver, new FileResolver());
+        final var database = runtimeDatabase(
+                        "default",
+                        singleModuleRepository(table("[MyModule].[foo]", RowSource.DEPLOYMENT)),
+                        List.of(tempDir.resolve("db")))
+                .toBuilder()
+                .sqlBatchGroupSize(10)
+                .build();
+
+        engine.create(database, connection, false, Map.of());
+
+        assertThat(driver.calls)
+                .containsSubsequence(
+                        "executeBatches(false):[CREATE VIEW A AS SELECT 1 AS X, CREATE TABLE T (ID INT)]",
+                        "execute(false):CREATE TABLE U (ID INT)\nSELECT * FROM U",
+                        "execute(false):GRANT SELECT ON A TO R");
+    }
+
+    @Test
+    void groupedBatchFailureReportsFileAndBatchIndex(@TempDir final Path tempDir) throws IOException {
+        createFile(tempDir, "db/MyModule/./up.sql", "SET X\nGO\nCREATE VIEW A\nGO\nCREATE VIEW B\nGO\n");
+
+        final var driver = new RecordingDriver();
+        driver.supportsBatchGrouping = true;
+        driver.failingSql = "CREATE VIEW B";
+        final var engine = new RuntimeEngine(driver, new FileResolver());
+        final var database = runtimeDatabase(
+                        "default",
+                        singleModuleRepository(table("[MyModule].[foo]", RowSource.DEPLOYMENT)),
+                        List.of(tempDir.resolve("db")))
+                .toBuilder()
+                .sqlBatchGroupSize(10)
+                .build();
+
+        assertThatThrownBy(() -> engine.create(database, connection, false, Map.of()))
+                .isInstanceOf(RuntimeExecutionException.class)
+                .hasMessageContaining("Failed to execute SQL batch 3 from ")
+                .hasMessageContaining("up.sql")
+                .hasRootCauseMessage("Failed executing CREATE VIEW B");
+    }
+
+    @Test
+    void createWithDatasetRunsDatasetHooksAndFixtureLoad(@TempDir final Path tempDir) throws IOException {
+        createFile(tempDir, "db/MyModule/./up.sql", "UP");
+        createFile(tempDir, "db/MyModule/finalize/final.sql", "FINAL");
+        createFile(
+                tempDir,
+                "db/datasets/myset/pre/pre.sql",
+                "ASSERT_DATABASE_VERSION('Version_2')\nSELECT 'go up' AS Direction\nGO\nDSPRE");
+        createFile(tempDir, "db/datasets/myset/post/post.sql", "DSPOST");
+        createFile(tempDir, "db/MyModule/datasets/myset/MyModule.foo.yml", """
+            - r1:
+                ID: 2
+            - r2:
+                ID: 3
+            """);
+        createFile(tempDir, "db/MyModule/datasets/myset/MyModule.bar.yml", """
+            r1:
+              ID: 4
+            """);
+        createFile(tempDir, "db/MyModule/datasets/myset/MyModule.baz.yml", "[]\n");
+
+        final var driver = new RecordingDriver(true);
+        final var engine = new RuntimeEngine(driver, new FileResolver());
+        final var database = runtimeDatabase(
+                "default",
+                singleModuleRepository(
+                        table("[MyModule].[foo]", RowSource.IMPORT),
+                        table("[MyModule].[bar]", RowSource.DEPLOYMENT),
+                        table("[MyModule].[baz]", RowSource.DEPLOYMENT)),
+                List.of(tempDir.resolve("db")),
+                Map.of(),
+                List.of("myset"));
+
+        engine.createWithDataset(database, connection, false, "myset", Map.of());
+
+        assertThat(driver.calls)
+                .containsSubsequence(
+                        "open(true)",
+                        "drop(default)",
+                        "createDatabase(default)",
+                        "open(false)",
+                        "createSchema(MyModule)",
+                        "execute(false):UP",
+                        "execute(false):SELECT 'go up' AS Direction",
+                        "execute(false):DSPRE",
+                        "execute(false):DELETE FROM [MyModule].[bar]",
+                        "execute(false):DELETE FROM [MyModule].[foo]",
+                        "preFixtureImport([MyModule].[foo])",
+                        "insert([MyModule].[foo],{ID=2})",
+                        "insert([MyModule].[foo],{ID=3})",
+                        "postFixtureImport([MyModule].[foo])",
+                        "preFixtureImport([MyModule].[bar])",
+                        "insert([MyModule].[bar],{ID=4})",
+                        "postFixtureImport([MyModule].[bar])",
+                        "preFixtureImport([MyModule].[baz])",
+                        "postFixtureImport([MyModule].[baz])",
+                        "execute(false):DSPOST",
+                        "execute(false):FINAL");
+        assertThat(driver.calls)
+                .filteredOn(call -> call.contains("FixtureImport") || call.startsWith("insert([MyModule]"))
+                .containsExactly(
+                        "preFixtureImport([MyModule].[foo])",
+                        "insert([MyModule].[foo],{ID=2})",
+                        "insert([MyModule].[foo],{ID=3})",
+                        "postFixtureImport([MyModule].[foo])",
+                        "preFixtureImport([MyModule].[bar])",
+                        "insert([MyModule].[bar],{ID=4})",
+                        "postFixtureImport([MyModule].[bar])",
+                        "preFixtureImport([MyModule].[baz])",
+                        "postFixtureImport([MyModule].[baz])");
+        assertThat(String.join("\n", driver.calls))
+                .doesNotContain("ASSERT_DATABASE_VERSION")
+                .contains("Expected DatabaseSchemaVersion in current database");
+    }
+
+    @Test
+    void loadDatasetCommitsEveryCommitIntervalRowsInRowsTransactionMode(@TempDir final Path tempDir)
+            throws IOException {
+        createFile(tempDir, "db/MyModule/datasets/myset/MyModule.foo.yml", """
+            r1:
+              ID: 1
+            r2:
+              ID: 2
+            r3:
+              ID: 3
+            """);
+
+        final var driver = new RecordingDriver();
+        final var engine = new RuntimeEngine(driver, new FileResolver());
+        final var database = runtimeDatabase(
+                        "default",
+                        singleModuleRepository(table("[MyModule].[foo]", RowSource.DEPLOYMENT)),
+                        List.of(tempDir.resolve("db")),
+                        Map.of(),
+                        List.of("myset"))
+                .withTransactionPolicy(TransactionMode.ROWS, 2);
+
+        engine.loadDataset(database, "myset", connection, Map.of());
+
+        assertThat(driver.calls)
+                .containsExactly(
+                        "open(false)",
+                        "execute(false):DELETE FROM [MyModule].[foo]",
+                        "beginTransaction",
+                        "preFixtureImport([MyModule].[foo])",
+                        "insert([MyModule].[foo],{ID=1})",
+                        "insert([MyModule].[foo],{ID=2})",
+                        "commitTransaction",
+                        "beginTransaction",
+                        "insert([MyModule].[foo],{ID=3})",
+                        "postFixtureImport([MyModule].[foo])",
+                        "commitTransaction",
+                        "close");
+    }
+
+    @Test
+    void loadDatasetCommitsOnlyAfterEachIntervalIsFlushed(@TempDir final Path tempDir) throws IOException {
+        createFile(tempDir, "db/MyModule/datasets/myset/MyModule.foo.yml", """
+            r1:
+              ID: 1
+            r2:
+              ID: 2
+            r3:
+              ID: 3
+            r4:
+              ID: 4
+            """);
+
+        final var driver = new RecordingDriver();
+        driver.batchInserts = true;
+        final var engine = new RuntimeEngine(driver, new FileResolver());
+        final var database = runtimeDatabase(
+                        "default",
+                        singleModuleRepository(table("[MyModule].[foo]", RowSource.DEPLOYMENT)),
+                        List.of(tempDir.resolve("db")),
+                        Map.of(),
+                        List.of("myset"))
+                .withTransactionPolicy(TransactionMode.ROWS, 2);
+
+        engine.loadDataset(database, "myset", connection, Map.of());
+
+        assertThat(driver.calls)
+                .containsExactly(
+                        "open(false)",
+                        "execute(false):DELETE FROM [MyModule].[foo]",
+                        "beginTransaction",
+                        "preFixtureImport([MyModule].[foo])",
+                        "insertAll([MyModule].[foo],[{ID=1}, {ID=2}])",
+                        "commitTransaction",
+                        "beginTransaction",
+                        "insertAll([MyModule].[foo],[{ID=3}, {ID=4}])",
+                        "postFixtureImport([MyModule].[foo])",
+                        "commitTransaction",
+                        "close");
+    }
+
+    @Test
+    void parallelFixtureLoadRunsSeriallyWhenATableHasNoForeignKeyMetadata(@TempDir final Path tempDir)
+            throws IOException {
+        final var driver = new RecordingDriver();
+        // [MyModule].[bar] is missing, as when its metadata lookup found nothing
+        driver.dependencies.put("[MyModule].[foo]", Set.of());
+        assertFixturesLoadSerially(tempDir, driver);
+    }
+
+    @Test
+    void parallelFixtureLoadRunsSeriallyWhenForeignKeyLookupFails(@TempDir final Path tempDir) throws IOException {
+        final var driver = new RecordingDriver();
+        driver.failForeignKeys = true;
+        assertFixturesLoadSerially(tempDir, driver);
+    }
+
+    private void assertFixturesLoadSerially(final Path tempDir, final RecordingDriver driver) throws IOException {
+        createFile(tempDir, "db/MyModule/datasets/myset/MyModule.foo.yml", "r1:\n  ID: 1\n");
+        createFile(tempDir, "db/MyModule/datasets/myset/MyModule.bar.yml", "r2:\n  ID: 2\n");
+        final var sessionCalls = Collections.synchronizedList(new ArrayList<String>());
+        final var engine = new RuntimeEngine(
+                driver, () -> new RecordingDriver(sessionCalls), new FileResolver(), output -> {});
+        final var database = runtimeDatabase(
+                        "default",
+                        RepositoryConfigTestData.twoModules(),
+                        List.of(tempDir.resolve("db")),
+                        Map.of(),
+                        List.of("myset"))
+                .toBuilder()
+                .fixtureLoadParallelism(2)
+                .build();
+
+        engine.loadDataset(database, "myset", connection, Map.of());
+
+        assertThat(driver.calls)
+                .containsSubsequence(
+                        "execute(false):DELETE FROM [MyModule].[bar]",
+                        "execute(false):DELETE FROM [MyModule].[foo]",
+                        "insert([MyModule].[foo],{ID=1})",
+                        "insert([MyModule].[bar],{ID=2})");
+        assertThat(sessionCalls).isEmpty();
+    }
+
+    @Test
+    void loadDatasetReconcilesFixturesAndDeletesStaleRowsInReverseOrder(@TempDir final Path tempDir)
+            throws IOException {
+        createFile(tempDir, "db/MyModule/datasets/myset/MyModule.foo.yml", """
+            r1:
+              ID: 1
+            """);
+        createFile(tempDir, "db/MyModule/datasets/myset/MyModule.bar.yml", """
+            r1:
+              ID: 3
+            """);
+
+        final var driver = new RecordingDriver();
+        driver.supportsReconcile = true;
+        driver.staleKeys.put("[MyModule].[foo]", List.of(Map.of("ID", 2)));
+        driver.staleKeys.put("[MyModule].[bar]", List.of(Map.of("ID", 4)));
+        final var engine = new RuntimeEngine(driver, new FileResolver());
+        final var database = runtimeDatabase(
+                        "default",
+                        singleModuleRepository(
+                                table("[MyModule].[foo]", RowSource.DEPLOYMENT),
+                                table("[MyModule].[bar]", RowSource.DEPLOYMENT)),
+                        List.of(tempDir.resolve("db")),
+                        Map.of(),
+                        List.of("myset"))
+                .toBuilder()
+                .fixtureLoadMode(FixtureLoadMode.RECONCILE)
+                .build();
+
+        engine.loadDataset(database, "myset", connection, Map.of());
+
+        assertThat(driver.calls)
+                .containsExactly(
+                        "open(false)",
+                        "preFixtureImport([MyModule].[foo])",
+                        "reconcile([MyModule].[foo],[{ID=1}])",
+                        "postFixtureImport([MyModule].[foo])",
+                        "preFixtureImport([MyModule].[bar])",
+                        "reconcile([MyModule].[bar],[{ID=3}])",
+                        "postFixtureImport([MyModule].[bar])",
+                        "deleteRows([MyModule].[bar],[{ID=4}])",
+                        "deleteRows([MyModule].[foo],[{ID=2}])",
+                        "close");
+    }
+
+    @Test
+    void importRollsBackTableTransactionAndReportsResumePointOnFailure(@TempDir final Path tempDir)
+            throws IOException {
+        createFile(tempDir, "db/MyModule/import/MyModule.foo.sql", "SELECT 1");
+
+        final var driver = new RecordingDriver();
+        driver.failingSql = "SELECT 1";
+        final var engine = new RuntimeEngine(driver, new FileResolver());
+        final var database = runtimeDatabase(
+                        "default",
+                        singleModuleRepository(table("[MyModule].[foo]", RowSource.IMPORT)),
+                        List.of(tempDir.resolve("db")))
+                .withTransactionPolicy(TransactionMode.TABLE, DatabaseConfig.DEFAULT_COMMIT_INTERVAL);
+
+        assertThatThrownBy(() ->
+                        engine.databaseImport(database, "default", null, connection, sourceConnection, null, Map.of()))
+                .isInstanceOf(RuntimeExecutionException.class)
+                .hasMessageContaining("--resume-at=MyModule.foo");
+        assertThat(driver.calls)
+                .containsSubsequence(
+                        "preTableImport(default,[MyModule].[foo])",
+                        "beginTransaction",
+                        "execute(true):SELECT 1",
+                        "rollbackTransaction",
+                        "abortTableImport(default,[MyModule].[foo])")
+                .doesNotContain("commitTransaction", "postTableImport(default,[MyModule].[foo])");
+    }
+
+    @Test
+    void importRunsImportSqlOnTargetWhenDriverCanNotQueryAcrossDatabases(@TempDir final Path tempDir)
+            throws IOException {
+        createFile(tempDir, "db/MyModule/import/MyModule.foo.sql", "SELECT 1");
+
+        final var driver = new RecordingDriver();
+        driver.importSqlInControlDatabase = false;
+        final var engine = new RuntimeEngine(driver, new FileResolver());
+        final var database = runtimeDatabase(
+                "default",
+                singleModuleRepository(table("[MyModule].[foo]", RowSource.IMPORT)),
+                List.of(tempDir.resolve("db")));
+
+        engine.databaseImport(database, "default", null, connection, sourceConnection, null, Map.of());
+
+        assertThat(driver.calls)
+                .containsSubsequence(
+                        "open(false)", "preTableImport(default,[MyModule].[foo])", "execute(false):SELECT 1")
+                .doesNotContain("execute(true):SELECT 1");
+    }
+
+    @Test
+    void importContinuesWithoutEstimatesWhenRowCountQueryFails(@TempDir final Path tempDir) {
+        final var driver = new RecordingDriver();
+        driver.failRowCounts = true;
+        final var output = new ArrayList<String>();
+        final var engine = new RuntimeEngine(driver, new FileResolver(), output::add);
+        final var database = runtimeDatabase(
+                "default",
+                singleModuleRepository(table("[MyModule].[foo]", RowSource.IMPORT)),
+                List.of(tempDir.resolve("db")));
+
+        engine.databaseImport(database, "default", null, connection, sourceConnection, null, Map.of());
+
+        assertThat(driver.calls)
+                .containsSubsequence(
+                        "approximateRowCounts([[MyModule].[foo]])",
+                        "preTableImport(default,[MyModule].[foo])",
+                        "postTableImport(default,[MyModule].[foo])");
+        assertThat(output)
+                .anyMatch(line -> line.endsWith("Unable to estimate table sizes: Failed to query source row counts"));
+    }
+
+    @Test
+    void chunkedImportCreatesCheckpointsOnceAndClearsThemOnSuccess(@TempDir final Path tempDir) {
+        final var driver = new RecordingDriver();
+        final var engine = new RuntimeEngine(driver, new FileResolver());
+        final var database = runtimeDatabase(
+                        "default",
+                        singleModuleRepository(table("[MyModule].[foo]", RowSource.IMPORT)),
+                        List.of(tempDir.resolve("db")))
+                .toBuilder()
+                .importChunkSize(1000)
+                .build();
+
+        engine.databaseImport(database, "default", null, connection, sourceConnection, null, Map.of());
+
+        assertThat(driver.calls)
+                .containsSubsequence(
+                        "setupImportCheckpoints",
+                        "preTableImport(default,[MyModule].[foo])",
+                        "postTableImport(default,[MyModule].[foo])",
+                        "clearImportCheckpoints");
+    }
+
+    @Test
+    void chunkedImportKeepsCheckpointsWhenImportFails(@TempDir final Path tempDir) throws IOException {
+        createFile(tempDir, "db/MyModule/import/MyModule.foo.sql", "SELECT 1");
+
         final var driver = new RecordingDriver();
+        driver.failingSql = "SELECT 1";
         final var engine = new RuntimeEngine(driver, new FileResolver());
-        final var database =
-                runtimeDatabase("default", RepositoryConfigTestData.singleModule(), List.of(tempDir.resolve("db")));
+        final var database = runtimeDatabase(
+                        "default",
+                        singleModuleRepository(table("[MyModule].[foo]", RowSource.IMPORT)),
+                        List.of(tempDir.resolve("db")))
+                .toBuilder()
+                .importChunkSize(1000)
+                .build();
 
         assertThatThrownBy(() ->
                         engine.databaseImport(database, "default", null, connection, sourceConnection, null, Map.of()))
-                .isInstanceOf(RuntimeExecutionException.class)
-                .hasMessageContaining("Discovered additional files in import directory");
-        assertThat(driver.calls).isEmpty();
+                .isInstanceOf(RuntimeExecutionException.class);
+        assertThat(driver.calls).contains("setupImportCheckpoints").doesNotContain("clearImportCheckpoints");
     }
 
     @Test
-    void createWithDatasetRunsDatasetHooksAndFixtureLoad(@TempDir final Path tempDir) throws IOException {
-        createFile(tempDir, "db/MyModule/./up.sql", "UP");
-        createFile(tempDir, "db/MyModule/finalize/final.sql", "FINAL");
-        createFile(
-                tempDir,
-                "db/datasets/myset/pre/pre.sql",
-                "ASSERT_DATABASE_VERSION('Version_2')\nSELECT 'go up' AS Direction\nGO\nDSPRE");
-        createFile(tempDir, "db/datasets/myset/post/post.sql", "DSPOST");
+    void loadDatasetUsesBulkLoadWhenDriverSupportsIt(@TempDir final Path tempDir) throws IOException {
         createFile(tempDir, "db/MyModule/datasets/myset/MyModule.foo.yml", """
-            - r1:
-                ID: 2
-            - r2:
-                ID: 3
-            """);
-        createFile(tempDir, "db/MyModule/datasets/myset/MyModule.bar.yml", """
             r1:
-              ID: 4
+              ID: 1
+            r2:
+              ID: 2
             """);
-        createFile(tempDir, "db/MyModule/datasets/myset/MyModule.baz.yml", "[]\n");
 
-        final var driver = new RecordingDriver(true);
+        final var driver = new RecordingDriver();
+        driver.supportsBulkLoad = true;
         final var engine = new RuntimeEngine(driver, new FileResolver());
         final var database = runtimeDatabase(
                 "default",
-                singleModuleRepository(
-                        table("[MyModule].[foo]", RowSource.IMPORT),
-                        table("[MyModule].[bar]", RowSource.DEPLOYMENT),
-                        table("[MyModule].[baz]", RowSource.DEPLOYMENT)),
+                singleModuleRepository(table("[MyModule].[foo]", RowSource.DEPLOYMENT)),
                 List.of(tempDir.resolve("db")),
                 Map.of(),
                 List.of("myset"));
 
-        engine.createWithDataset(database, connection, false, "myset", Map.of());
+        engine.loadDataset(database, "myset", connection, Map.of());
 
         assertThat(driver.calls)
-                .containsSubsequence(
-                        "open(true)",
-                        "drop(default)",
-                        "createDatabase(default)",
+                .containsExactly(
                         "open(false)",
-                        "createSchema(MyModule)",
-                        "execute(false):UP",
-                        "execute(false):SELECT 'go up' AS Direction",
-                        "execute(false):DSPRE",
-                        "execute(false):DELETE FROM [MyModule].[bar]",
                         "execute(false):DELETE FROM [MyModule].[foo]",
-                        "preFixtureImport([MyModule].[foo])",
-                        "insert([MyModule].[foo],{ID=2})",
-                        "insert([MyModule].[foo],{ID=3})",
-                        "postFixtureImport([MyModule].[foo])",
-                        "preFixtureImport([MyModule].[bar])",
-                        "insert([MyModule].[bar],{ID=4})",
-                        "postFixtureImport([MyModule].[bar])",
-                        "preFixtureImport([MyModule].[baz])",
-                        "postFixtureImport([MyModule].[baz])",
-                        "execute(false):DSPOST",
-                        "execute(false):FINAL");
-        assertThat(driver.calls)
-                .filteredOn(call -> call.contains("FixtureImport") || call.startsWith("insert([MyModule]"))
-                .containsExactly(
-                        "preFixtureImport([MyModule].[foo])",
-                        "insert([MyModule].[foo],{ID=2})",
-                        "insert([MyModule].[foo],{ID=3})",
-                        "postFixtureImport([MyModule].[foo])",
-                        "preFixtureImport([MyModule].[bar])",
-                        "insert([MyModule].[bar],{ID=4})",
-                        "postFixtureImport([MyModule].[bar])",
-                        "preFixtureImport([MyModule].[baz])",
-                        "postFixtureImport([MyModule].[baz])");
-        assertThat(String.join("\n", driver.calls))
-                .doesNotContain("ASSERT_DATABASE_VERSION")
-                .contains("Expected DatabaseSchemaVersion in current database");
+                        "bulkLoad([MyModule].[foo],[{ID=1}, {ID=2}])",
+                        "close");
     }
 
     @Test
@@ -1036,8 +1686,8 @@ final class RuntimeEngineTest {
         assertThat(driver.calls)
                 .containsSubsequence(
                         "open(false)",
-                        "shouldMigrate(default,001_a)",
-                        "shouldMigrate(default,002_b)",
+                        "setupMigrations",
+                        "appliedMigrations(default,[001_a, 002_b])",
                         "execute(false):M2",
                         "markMigrationAsRun(default,002_b)",
                         "close");
@@ -1045,6 +1695,117 @@ final class RuntimeEngineTest {
         assertThat(output).containsExactly("Migration: 002_b.sql");
     }
 
+    @Test
+    void migrateRecordsDurationRowCountAndChecksumOfExecutedMigrations(@TempDir final Path tempDir)
+            throws IOException {
+        createFile(tempDir, "db/migrations/001_a.sql", "UPDATE A SET X = 1\nGO\nUPDATE B SET X = 1\n");
+
+        final var driver = new RecordingDriver();
+        driver.updateCount = 3;
+        final var engine = new RuntimeEngine(driver, new FileResolver());
+        final var database =
+                runtimeDatabase("default", RepositoryConfigTestData.singleModule(), List.of(tempDir.resolve("db")));
+
+        engine.migrate(database, connection, Map.of());
+
+        final var execution = Objects.requireNonNull(driver.migrationExecutions.get("001_a"));
+        assertThat(execution.rowCount()).isEqualTo(6);
+        assertThat(execution.durationMillis()).isNotNegative();
+        assertThat(execution.checksum())
+                .isEqualTo(MigrationHistory.checksum("UPDATE A SET X = 1\nGO\nUPDATE B SET X = 1\n"));
+    }
+
+    @Test
+    void migrateNeverGroupsBatchesSoEveryRowCountIsRecorded(@TempDir final Path tempDir) throws IOException {
+        createFile(tempDir, "db/migrations/001_a.sql", "CREATE VIEW A\nGO\nALTER TABLE B ADD X INT\n");
+
+        final var driver = new RecordingDriver();
+        driver.supportsBatchGrouping = true;
+        driver.updateCount = 2;
+        final var engine = new RuntimeEngine(driver, new FileResolver());
+        final var database = runtimeDatabase(
+                        "default", RepositoryConfigTestData.singleModule(), List.of(tempDir.resolve("db")))
+                .toBuilder()
+                .sqlBatchGroupSize(10)
+                .build();
+
+        engine.migrate(database, connection, Map.of());
+
+        assertThat(driver.calls)
+                .containsSubsequence("execute(false):CREATE VIEW A", "execute(false):ALTER TABLE B ADD X INT")
+                .noneMatch(call -> call.startsWith("executeBatches"));
+        assertThat(Objects.requireNonNull(driver.migrationExecutions.get("001_a")).rowCount())
+                .isEqualTo(4);
+    }
+
+    @Test
+    void migrateRecordsEachMigrationInTheTransactionThatRunsIt(@TempDir final Path tempDir) throws IOException {
+        createFile(tempDir, "db/migrations/001_a.sql", "M1");
+        createFile(tempDir, "db/migrations/002_b.sql", "M2");
+
+        final var driver = new RecordingDriver();
+        driver.failingSql = "M2";
+        final var engine = new RuntimeEngine(driver, new FileResolver());
+        final var database = runtimeDatabase(
+                        "default", RepositoryConfigTestData.singleModule(), List.of(tempDir.resolve("db")))
+                .withTransactionPolicy(TransactionMode.TABLE, DatabaseConfig.DEFAULT_COMMIT_INTERVAL);
+
+        assertThatThrownBy(() -> engine.migrate(database, connection, Map.of()))
+                .isInstanceOf(RuntimeExecutionException.class)
+                .hasRootCauseMessage("Failed executing M2");
+
+        assertThat(driver.calls)
+                .containsSubsequence(
+                        "beginTransaction",
+                        "execute(false):M1",
+                        "markMigrationAsRun(default,001_a)",
+                        "commitTransaction",
+                        "beginTransaction",
+                        "execute(false):M2",
+                        "rollbackTransaction")
+                .doesNotContain("markMigrationAsRun(default,002_b)");
+    }
+
+    @Test
+    void planMigrationsReportsPendingMigrationsWithoutRunningThem(@TempDir final Path tempDir) throws IOException {
+        createFile(tempDir, "db/migrations/001_a.sql", "M1");
+        createFile(tempDir, "db/migrations/002_b.sql", "M2");
+
+        final var driver = new RecordingDriver();
+        driver.migrateDecision.put("001_a", false);
+        final var engine = new RuntimeEngine(driver, new FileResolver());
+        final var database =
+                runtimeDatabase("default", RepositoryConfigTestData.singleModule(), List.of(tempDir.resolve("db")));
+        final var history = List.of(new MigrationHistory.Entry(
+                "staging",
+                "default",
+                new MigrationRecord("002_b", null, new MigrationExecution(250, 7, MigrationHistory.checksum("M2")))));
+
+        final var plan = engine.planMigrations(database, connection, history);
+
+        assertThat(plan)
+                .isEqualTo("Pending Migrations: 1\n  002_b: staging 250 ms, 7 rows\nEstimated Duration: 250 ms\n");
+        assertThat(driver.calls)
+                .containsExactly("open(false)", "appliedMigrations(default,[001_a, 002_b])", "close");
+    }
+
+    @Test
+    void exportMigrationHistoryWritesRecordedMigrations(@TempDir final Path tempDir) {
+        final var driver = new RecordingDriver();
+        driver.migrationHistory.add(new MigrationRecord(
+                "001_a", Instant.parse("2024-01-01T00:00:00Z"), new MigrationExecution(12, 3, "abc")));
+        final var engine = new RuntimeEngine(driver, new FileResolver());
+        final var database =
+                runtimeDatabase("default", RepositoryConfigTestData.singleModule(), List.of(tempDir.resolve("db")));
+        final var output = tempDir.resolve("history.csv");
+
+        final var count = engine.exportMigrationHistory(database, connection, "staging", output);
+
+        assertThat(count).isEqualTo(1);
+        assertThat(MigrationHistory.read(List.of(output)))
+                .containsExactly(new MigrationHistory.Entry("staging", "default", driver.migrationHistory.get(0)));
+    }
+
     @Test
     void migrateSkipsExecutionBeforeReleaseVersionBoundary(@TempDir final Path tempDir) throws IOException {
         createFile(tempDir, "db/migrations/001_x.sql", "M1");
@@ -1069,16 +1830,53 @@ final class RuntimeEngineTest {
 
         assertThat(driver.calls)
                 .containsSubsequence(
-                        "shouldMigrate(default,001_x)",
-                        "markMigrationAsRun(default,001_x)",
-                        "shouldMigrate(default,002_Release-Version_1)",
-                        "markMigrationAsRun(default,002_Release-Version_1)",
-                        "shouldMigrate(default,003_z)",
+                        "appliedMigrations(default,[001_x, 002_Release-Version_1, 003_z])",
+                        "markMigrationsAsRun(default,[001_x, 002_Release-Version_1])",
                         "execute(false):M3",
                         "markMigrationAsRun(default,003_z)");
         assertThat(driver.calls).doesNotContain("execute(false):M1", "execute(false):M2");
     }
 
+    @Test
+    void migrateRunsAnnotatedMigrationsConcurrentlyOnSessions(@TempDir final Path tempDir) throws IOException {
+        createFile(tempDir, "db/migrations/001_a.sql", "-- jdbt:lane x\nM1");
+        createFile(tempDir, "db/migrations/002_b.sql", "-- jdbt:lane y\nM2");
+        createFile(tempDir, "db/migrations/003_c.sql", "M3");
+
+        final var driver = new RecordingDriver();
+        final var sessions = new ArrayList<RecordingDriver>();
+        final var output = new ArrayList<String>();
+        final var engine = new RuntimeEngine(
+                driver,
+                () -> {
+                    final var session = new RecordingDriver();
+                    synchronized (sessions) {
+                        sessions.add(session);
+                    }
+                    return session;
+                },
+                new FileResolver(),
+                output::add);
+        final var database =
+                runtimeDatabase("default", RepositoryConfigTestData.singleModule(), List.of(tempDir.resolve("db")));
+
+        engine.migrate(database.toBuilder().migrationParallelism(2).build(), connection, Map.of());
+
+        final var sessionCalls = sessions.stream().flatMap(session -> session.calls.stream()).toList();
+        assertThat(sessionCalls)
+                .contains(
+                        "execute(false):-- jdbt:lane x\nM1",
+                        "markMigrationAsRun(default,001_a)",
+                        "execute(false):-- jdbt:lane y\nM2",
+                        "markMigrationAsRun(default,002_b)",
+                        "execute(false):M3",
+                        "markMigrationAsRun(default,003_c)");
+        assertThat(driver.calls).noneMatch(call -> call.startsWith("execute(false):"));
+        assertThat(driver.metadataInvalidations).isEqualTo(1);
+        assertThat(output.subList(0, 2)).containsExactlyInAnyOrder("Migration: 001_a.sql", "Migration: 002_b.sql");
+        assertThat(output.get(2)).isEqualTo("Migration: 003_c.sql");
+    }
+
     @Test
     void createUsesMigrationRecordModeWhenConfigured(@TempDir final Path tempDir) throws IOException {
         createFile(tempDir, "db/migrations/001_x.sql", "M1");
@@ -1099,8 +1897,8 @@ final class RuntimeEngineTest {
 
         engine.create(database, connection, false, Map.of());
 
-        assertThat(driver.calls).containsSubsequence("setupMigrations", "markMigrationAsRun(default,001_x)");
-        assertThat(driver.calls).doesNotContain("execute(false):M1", "shouldMigrate(default,001_x)");
+        assertThat(driver.calls).containsSubsequence("setupMigrations", "markMigrationsAsRun(default,[001_x])");
+        assertThat(driver.calls).doesNotContain("execute(false):M1", "appliedMigrations(default,[001_x])");
     }
 
     @SuppressWarnings("SameParameterValue")
@@ -1205,18 +2003,43 @@ final class RuntimeEngineTest {
     }
 
     private static final class RecordingDriver implements DbDriver {
-        private final List<String> calls = new ArrayList<>();
+        private final List<String> calls;
         private final Map<String, Boolean> migrateDecision = new LinkedHashMap<>();
         private final Map<String, QueryResult> queryResults = new LinkedHashMap<>();
         private final boolean supportsAssertMacros;
         private List<String> primaryKeyColumnNames = List.of("[ID]");
+        private boolean supportsBulkLoad;
+        private boolean supportsBatchGrouping;
+        private String failingSql = "";
+        private boolean supportsReconcile;
+        private boolean importSqlInControlDatabase = true;
+        private boolean failRowCounts;
+        private boolean batchInserts;
+        private boolean failForeignKeys;
+        private final Map<String, List<Map<String, Object>>> staleKeys = new LinkedHashMap<>();
+        private final Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+        private final Map<String, String> fingerprints = new LinkedHashMap<>();
+        private final Map<String, ImportFingerprint> importFingerprints = new LinkedHashMap<>();
+        private final Map<String, MigrationExecution> migrationExecutions = new LinkedHashMap<>();
+        private final List<MigrationRecord> migrationHistory = new ArrayList<>();
+        private long updateCount;
+        private int metadataInvalidations;
 
         private RecordingDriver() {
             this(false);
         }
 
         private RecordingDriver(final boolean supportsAssertMacros) {
+            this(supportsAssertMacros, new ArrayList<>());
+        }
+
+        private RecordingDriver(final List<String> calls) {
+            this(false, calls);
+        }
+
+        private RecordingDriver(final boolean supportsAssertMacros, final List<String> calls) {
             this.supportsAssertMacros = supportsAssertMacros;
+            this.calls = calls;
         }
 
         @Override
@@ -1252,6 +2075,71 @@ final class RuntimeEngineTest {
         @Override
         public void execute(final String sql, final boolean executeInControlDatabase) {
             calls.add("execute(" + executeInControlDatabase + "):" + sql.trim());
+            if (sql.trim().equals(failingSql)) {
+                throw new IllegalStateException("Failed executing " + failingSql);
+            }
+        }
+
+        @Override
+        public long executeUpdate(final String sql, final boolean executeInControlDatabase) {
+            execute(sql, executeInControlDatabase);
+            return updateCount;
+        }
+
+        @Override
+        public void invalidateMetadata() {
+            metadataInvalidations++;
+        }
+
+        @Override
+        public void truncateTables(final List<String> tableNames) {
+            calls.add("truncateTables(" + tableNames + ")");
+        }
+
+        @Override
+        public Map<String, Set<String>> foreignKeyDependencies(final List<String> tableNames) {
+            if (failForeignKeys) {
+                throw new DatabaseException("Failed to query schema metadata");
+            }
+            return dependencies;
+        }
+
+        @Override
+        public Map<String, String> sourceFingerprints(
+                final DatabaseConnection source, final List<String> tableNames) {
+            return fingerprints;
+        }
+
+        @Override
+        public Map<String, String> targetFingerprints(final List<String> tableNames) {
+            return fingerprints;
+        }
+
+        @Override
+        public Map<String, ImportFingerprint> importFingerprints(final String importKey) {
+            return importFingerprints;
+        }
+
+        @Override
+        public void setupImportCheckpoints() {
+            calls.add("setupImportCheckpoints");
+        }
+
+        @Override
+        public void clearImportCheckpoints() {
+            calls.add("clearImportCheckpoints");
+        }
+
+        @Override
+        public void setupImportFingerprints() {
+            calls.add("setupImportFingerprints");
+        }
+
+        @Override
+        public void recordImportFingerprint(
+                final String importKey, final String tableName, final ImportFingerprint fingerprint) {
+            calls.add("recordImportFingerprint(" + importKey + ',' + tableName + ',' + fingerprint.sourceDatabase()
+                    + ',' + fingerprint.source() + ',' + fingerprint.target() + ")");
         }
 
         @Override
@@ -1264,11 +2152,100 @@ final class RuntimeEngineTest {
             calls.add("insert(" + tableName + "," + new LinkedHashMap<>(record) + ")");
         }
 
+        @Override
+        public void insertAll(
+                final String tableName, final Iterator<Map<String, Object>> records, final int batchSize) {
+            if (!batchInserts) {
+                DbDriver.super.insertAll(tableName, records, batchSize);
+                return;
+            }
+            // Rows are only recorded once the iterator is drained, like a batch writer flushing its queue
+            final var batch = new ArrayList<Map<String, Object>>();
+            records.forEachRemaining(batch::add);
+            calls.add("insertAll(" + tableName + "," + batch + ")");
+        }
+
         @Override
         public void postFixtureImport(final String tableName) {
             calls.add("postFixtureImport(" + tableName + ")");
         }
 
+        @Override
+        public boolean supportsBulkLoad() {
+            return supportsBulkLoad;
+        }
+
+        @Override
+        public boolean supportsBatchGrouping() {
+            return supportsBatchGrouping;
+        }
+
+        @Override
+        public boolean executesImportSqlInControlDatabase() {
+            return importSqlInControlDatabase;
+        }
+
+        @Override
+        public Map<String, Long> approximateRowCounts(
+                final DatabaseConnection source, final List<String> tableNames) {
+            calls.add("approximateRowCounts(" + tableNames + ")");
+            if (failRowCounts) {
+                throw new DatabaseException("Failed to query source row counts");
+            }
+            return Map.of();
+        }
+
+        @Override
+        public void executeBatches(final List<String> batches, final boolean executeInControlDatabase) {
+            calls.add("executeBatches(" + executeInControlDatabase + "):" + batches);
+            final var failed = batches.indexOf(failingSql);
+            if (-1 != failed) {
+                throw new SqlBatchException(failed, new IllegalStateException("Failed executing " + failingSql));
+            }
+        }
+
+        @Override
+        public void bulkLoad(
+                final String tableName, final Iterator<Map<String, Object>> records, final int batchSize) {
+            final var rows = new ArrayList<Map<String, Object>>();
+            records.forEachRemaining(record -> rows.add(new LinkedHashMap<>(record)));
+            calls.add("bulkLoad(" + tableName + "," + rows + ")");
+        }
+
+        @Override
+        public void beginTransaction() {
+            calls.add("beginTransaction");
+        }
+
+        @Override
+        public void commitTransaction() {
+            calls.add("commitTransaction");
+        }
+
+        @Override
+        public void rollbackTransaction() {
+            calls.add("rollbackTransaction");
+        }
+
+        @Override
+        public boolean supportsReconcile() {
+            return supportsReconcile;
+        }
+
+        @Override
+        public FixtureReconciliation reconcile(
+                final String tableName, final Iterator<Map<String, Object>> records, final int batchSize) {
+            final var rows = new ArrayList<Map<String, Object>>();
+            records.forEachRemaining(record -> rows.add(new LinkedHashMap<>(record)));
+            calls.add("reconcile(" + tableName + "," + rows + ")");
+            return new FixtureReconciliation(rows.size(), 0, staleKeys.getOrDefault(tableName, List.of()));
+        }
+
+        @Override
+        public void deleteRows(final String tableName, final List<Map<String, Object>> keys, final int batchSize) {
+            calls.add("deleteRows(" + tableName + "," + keys + ")");
+        }
+
         @Override
         public void updateSequence(final String sequenceName, final long value) {
             calls.add("updateSequence(" + sequenceName + ',' + value + ")");
@@ -1286,6 +2263,12 @@ final class RuntimeEngineTest {
             calls.add("postTableImport(" + importConfig.key() + ',' + tableName + ")");
         }
 
+        @Override
+        public void abortTableImport(
+                final DatabaseMetadata database, final ImportConfig importConfig, final String tableName) {
+            calls.add("abortTableImport(" + importConfig.key() + ',' + tableName + ")");
+        }
+
         @Override
         public void postDataModuleImport(
                 final DatabaseMetadata database,
@@ -1347,6 +2330,32 @@ final class RuntimeEngineTest {
             calls.add("markMigrationAsRun(" + namespace + ',' + migrationName + ")");
         }
 
+        @Override
+        public void markMigrationAsRun(
+                final String namespace, final String migrationName, final MigrationExecution execution) {
+            markMigrationAsRun(namespace, migrationName);
+            migrationExecutions.put(migrationName, execution);
+        }
+
+        @Override
+        public List<MigrationRecord> migrationHistory(final String namespace) {
+            calls.add("migrationHistory(" + namespace + ")");
+            return migrationHistory;
+        }
+
+        @Override
+        public Set<String> appliedMigrations(final String namespace, final List<String> migrationNames) {
+            calls.add("appliedMigrations(" + namespace + ',' + migrationNames + ")");
+            return migrationNames.stream()
+                    .filter(name -> !migrateDecision.getOrDefault(name, true))
+                    .collect(Collectors.toSet());
+        }
+
+        @Override
+        public void markMigrationsAsRun(final String namespace, final List<String> migrationNames) {
+            calls.add("markMigrationsAsRun(" + namespace + ',' + migrationNames + ")");
+        }
+
         @Override
         public String generateStandardImportSql(
                 final String tableName,
@@ -1409,6 +2418,25 @@ final class RuntimeEngineTest {
         }
     }
 
+    private static RuntimeDatabase parallelImportDatabase(final Path tempDir) {
+        final var repository = new RepositoryConfig(
+                List.of("MyModule"),
+                Map.of(),
+                Map.of("MyModule", tables("[MyModule].[foo]", "[MyModule].[bar]", "[MyModule].[baz]")),
+                Map.of("MyModule", List.of()));
+        final var importConfig = new ImportConfig("default", List.of("MyModule"), "import", List.of(), List.of());
+        return runtimeDatabase(
+                        "default",
+                        repository,
+                        List.of(tempDir.resolve("db")),
+                        Map.of(),
+                        List.of(),
+                        Map.of("default", importConfig))
+                .toBuilder()
+                .importParallelism(2)
+                .build();
+    }
+
     private static List<RepositoryTable> tables(final String... names) {
         return Arrays.stream(names).map(name -> table(name, RowSource.IMPORT)).toList();
     }
@@ -0,0 +1,78 @@
+package org.realityforge.jdbt.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringReader;
+import org.junit.jupiter.api.Test;
+
+final class SqlBatchReaderTest {
+    @Test
+    void splitsOnGoLinesAndSkipsBlankBatches() {
+        assertThat(SqlBatchReader.readAll("SELECT 1\r\n go \r\n\r\nGO\nSELECT 2\nGo\n", true))
+                .containsExactly(new SqlBatchReader.Batch("SELECT 1", 1), new SqlBatchReader.Batch("SELECT 2", 1));
+    }
+
+    @Test
+    void readsRepeatCounts() {
+        assertThat(SqlBatchReader.readAll("INSERT INTO T DEFAULT VALUES\nGO 3\nSELECT 1", true))
+                .containsExactly(
+                        new SqlBatchReader.Batch("INSERT INTO T DEFAULT VALUES", 3),
+                        new SqlBatchReader.Batch("SELECT 1", 1));
+    }
+
+    @Test
+    void ignoresGoInsideStringsIdentifiersAndComments() {
+        final var sql = String.join(
+                "\n",
+                "SELECT 'it''s",
+                "GO",
+                "' AS [a]]",
+                "GO",
+                "], \"b",
+                "GO",
+                "\" -- not a string '",
+                "/* outer /* nested */",
+                "GO",
+                "*/",
+                "GO",
+                "SELECT 2");
+
+        assertThat(SqlBatchReader.readAll(sql, true))
+                .containsExactly(
+                        new SqlBatchReader.Batch(sql.substring(0, sql.lastIndexOf("\nGO\n")), 1),
+                        new SqlBatchReader.Batch("SELECT 2", 1));
+    }
+
+    @Test
+    void ignoresGoInsidePostgresDollarQuotesAndEscapeStrings() {
+        final var sql = String.join(
+                "\n",
+                "CREATE FUNCTION f() RETURNS text AS $body$",
+                "GO",
+                "SELECT 'x' || $1",
+                "$body$ LANGUAGE sql;",
+                "SELECT E'\\'",
+                "GO",
+                "'");
+
+        assertThat(SqlBatchReader.readAll(sql + "\nGO\nSELECT 2", false))
+                .containsExactly(new SqlBatchReader.Batch(sql, 1), new SqlBatchReader.Batch("SELECT 2", 1));
+    }
+
+    @Test
+    void treatsBracketsAsArraySubscriptsWithoutBracketIdentifiers() {
+        final var sql = "SELECT a[b[1]] FROM t";
+
+        assertThat(SqlBatchReader.readAll(sql + "\nGO\nSELECT 2", false))
+                .containsExactly(new SqlBatchReader.Batch(sql, 1), new SqlBatchReader.Batch("SELECT 2", 1));
+    }
+
+    @Test
+    void nextReturnsBatchesIncrementallyFromReader() throws Exception {
+        final var reader = new SqlBatchReader(new StringReader("SELECT 1\nGO\nSELECT 2\nGO\n"), false);
+
+        assertThat(reader.next()).isEqualTo(new SqlBatchReader.Batch("SELECT 1", 1));
+        assertThat(reader.next()).isEqualTo(new SqlBatchReader.Batch("SELECT 2", 1));
+        assertThat(reader.next()).isNull();
+    }
+}
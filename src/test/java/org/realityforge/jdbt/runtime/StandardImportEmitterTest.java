@@ -13,6 +13,7 @@ import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.realityforge.jdbt.config.ImportConfig;
+import org.realityforge.jdbt.config.ImportRecoveryModel;
 import org.realityforge.jdbt.db.DbDriverFactory;
 import org.realityforge.jdbt.repository.RepositoryConfig;
 import org.realityforge.jdbt.repository.RepositoryTable;
@@ -80,6 +81,24 @@ final class StandardImportEmitterTest {
         assertThat(output.resolve("Core/import/Core.tbl.sql")).exists();
     }
 
+    @Test
+    void emitsTableLockHintWhenImportRecoveryModelIsConfigured(@TempDir final Path project) throws IOException {
+        final var database = database(project, repository(), imports())
+                .toBuilder()
+                .importRecoveryModel(ImportRecoveryModel.BULK_LOGGED)
+                .build();
+
+        final var output = new StandardImportEmitter(new DbDriverFactory().create("sqlserver"))
+                .emit(database, "default", null, false);
+
+        assertThat(output.resolve("Core/import/Core.tbl.sql"))
+                .content(StandardCharsets.UTF_8)
+                .isEqualTo("""
+                    INSERT INTO [__TARGET__].[Core].[tbl] WITH (TABLOCK)([ID])
+                      SELECT [ID] FROM [__SOURCE__].[Core].[tbl]
+                    """);
+    }
+
     @Test
     void nonEmptyCustomOutputRequiresReplace(@TempDir final Path project) throws IOException {
         final var database = database(project, repository(), imports());
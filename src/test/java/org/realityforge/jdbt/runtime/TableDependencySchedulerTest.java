@@ -0,0 +1,102 @@
+package org.realityforge.jdbt.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.realityforge.jdbt.db.DatabaseConnection;
+import org.realityforge.jdbt.db.DbDriver;
+
+final class TableDependencySchedulerTest {
+    private static final DatabaseConnection CONNECTION =
+            new DatabaseConnection("localhost", 1433, "DB", "sa", "secret");
+
+    private final AtomicInteger opened = new AtomicInteger();
+    private final AtomicInteger closed = new AtomicInteger();
+
+    @Test
+    void runsEachTableAfterTheTablesItReferences() {
+        final var tables = List.of("A", "B", "C", "D");
+        final var dependencies =
+                Map.of("A", Set.<String>of(), "B", Set.of("A"), "C", Set.of("A"), "D", Set.of("B", "C"));
+        final var started = Collections.synchronizedList(new ArrayList<String>());
+        final var completed = Collections.synchronizedList(new ArrayList<String>());
+
+        new TableDependencyScheduler(this::session, CONNECTION, 2, "load", "tables")
+                .run(tables, dependencies, started::add, (session, table) -> {
+                    for (final var dependency : dependencies.getOrDefault(table, Set.of())) {
+                        assertThat(completed).contains(dependency);
+                    }
+                    completed.add(table);
+                });
+
+        assertThat(started).containsExactlyInAnyOrderElementsOf(tables);
+        assertThat(started.get(0)).isEqualTo("A");
+        assertThat(started.get(3)).isEqualTo("D");
+        assertThat(opened.get()).isBetween(1, 2);
+        assertThat(closed.get()).isEqualTo(opened.get());
+    }
+
+    @Test
+    void reportsFailingTableAndSkipsItsDependents() {
+        final var tables = List.of("A", "B", "C");
+        final var dependencies = Map.of("A", Set.<String>of(), "B", Set.of("A"), "C", Set.of("B"));
+        final var completed = Collections.synchronizedList(new ArrayList<String>());
+        final var scheduler = new TableDependencyScheduler(this::session, CONNECTION, 3, "load fixture into", "tables");
+
+        assertThatThrownBy(() -> scheduler.run(tables, dependencies, table -> {}, (session, table) -> {
+                    if ("B".equals(table)) {
+                        throw new IllegalStateException("boom");
+                    }
+                    completed.add(table);
+                }))
+                .isInstanceOf(RuntimeExecutionException.class)
+                .hasMessage("Failed to load fixture into B")
+                .hasRootCauseMessage("boom");
+        assertThat(completed).containsExactly("A");
+        assertThat(closed.get()).isEqualTo(opened.get());
+    }
+
+    @Test
+    void namesTheScheduledItemsWhenDependenciesAreCyclic() {
+        final var tables = List.of("001_a", "002_b");
+        final var dependencies = Map.of("001_a", Set.of("002_b"), "002_b", Set.of("001_a"));
+
+        final var scheduler = new TableDependencyScheduler(this::session, CONNECTION, 2, "run migration", "migrations");
+
+        assertThatThrownBy(() -> scheduler.run(tables, dependencies, table -> {}, (session, table) -> {}))
+                .isInstanceOf(RuntimeExecutionException.class)
+                .hasMessage("Unable to order migrations with cyclic dependencies");
+    }
+
+    @Test
+    void detectsCyclesAndReversesDependencies() {
+        final var tables = List.of("A", "B", "C");
+        final var dependencies = Map.of("A", Set.<String>of(), "B", Set.of("A"), "C", Set.of("A", "B"));
+
+        assertThat(TableDependencyScheduler.isAcyclic(tables, dependencies)).isTrue();
+        assertThat(TableDependencyScheduler.isAcyclic(tables, Map.of("A", Set.of("C"), "C", Set.of("A"))))
+                .isFalse();
+        assertThat(TableDependencyScheduler.reverse(dependencies))
+                .isEqualTo(Map.of("A", Set.of("B", "C"), "B", Set.of("C"), "C", Set.of()));
+    }
+
+    private DbDriver session() {
+        return (DbDriver) Proxy.newProxyInstance(
+                DbDriver.class.getClassLoader(), new Class<?>[] {DbDriver.class}, (proxy, method, args) -> {
+                    if ("open".equals(method.getName())) {
+                        opened.incrementAndGet();
+                    } else if ("close".equals(method.getName())) {
+                        closed.incrementAndGet();
+                    }
+                    return null;
+                });
+    }
+}